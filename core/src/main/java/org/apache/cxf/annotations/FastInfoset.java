@@ -39,6 +39,12 @@ public @interface FastInfoset {
      */
     boolean force() default false;
 
+    /**
+     * Set to true in order to negotiate an external vocabulary built from the element and
+     * attribute names of the service schemas
+     */
+    boolean vocabulary() default false;
+
     /**
      * Sets the property <code>attributeValueMapMemoryLimit</code> on FastInfoset StAX Serializers. The property
      * controls attribute value map size and can be used to control the memory and (indirectly) CPU footprint of
@@ -19,18 +19,24 @@
 
 package org.apache.cxf.attachment;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 
 import javax.activation.DataSource;
 
 import org.apache.cxf.helpers.IOUtils;
 import org.apache.cxf.io.CacheSizeExceededException;
 import org.apache.cxf.io.CachedOutputStream;
+import org.apache.cxf.io.Transferable;
 import org.apache.cxf.message.Message;
 
-public class AttachmentDataSource implements DataSource {
+public class AttachmentDataSource implements DataSource, Transferable {
+    static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
 
     private final String ct;
     private CachedOutputStream cache;
@@ -75,6 +81,36 @@ public class AttachmentDataSource implements DataSource {
         }
     }
 
+    /**
+     * Writes the attachment into the file, see {@link #transferTo(WritableByteChannel)}.
+     */
+    public void transferTo(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE)) {
+            transferTo(channel);
+        }
+    }
+
+    /**
+     * Writes the attachment into the channel. An attachment that is still being streamed is
+     * copied straight from the MIME stream without being cached, afterwards its content is
+     * consumed the same way as if it had been read from {@link #getInputStream()}.
+     * @return the number of bytes written
+     */
+    public long transferTo(WritableByteChannel channel) throws IOException {
+        if (cache != null) {
+            try (InputStream in = cache.getInputStream()) {
+                return IOUtils.copy(in, channel, TRANSFER_BUFFER_SIZE);
+            }
+        }
+        InputStream in = delegate != null ? delegate : ins;
+        if (in == null) {
+            throw new IOException("Attachment content is not available");
+        }
+        return IOUtils.copy(in, channel, TRANSFER_BUFFER_SIZE);
+    }
+
     public String getContentType() {
         return ct;
     }
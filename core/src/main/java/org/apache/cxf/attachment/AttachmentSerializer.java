@@ -19,13 +19,16 @@
 
 package org.apache.cxf.attachment;
 
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.net.URLDecoder;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -33,6 +36,8 @@ import java.util.List;
 import java.util.Map;
 
 import javax.activation.DataHandler;
+import javax.activation.DataSource;
+import javax.activation.FileDataSource;
 
 import org.apache.cxf.common.util.Base64Utility;
 import org.apache.cxf.helpers.IOUtils;
@@ -45,6 +50,7 @@ import org.apache.cxf.message.Message;
 public class AttachmentSerializer {
     // http://tools.ietf.org/html/rfc2387
     private static final String DEFAULT_MULTIPART_TYPE = "multipart/related";
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
 
     private String contentTransferEncoding = "binary";
 
@@ -282,7 +288,7 @@ public class AttachmentSerializer {
                         encodeBase64(inputStream, out, IOUtils.DEFAULT_BUFFER_SIZE);
                     }
                 } else {
-                    handler.writeTo(out);
+                    writeContent(handler);
                 }
             }
         }
@@ -294,6 +300,41 @@ public class AttachmentSerializer {
         out.flush();
     }
 
+    /**
+     * Writes the binary content of the attachment. Byte array and file backed attachments
+     * are written straight from their array or file channel instead of being copied through
+     * the small buffer of DataHandler.writeTo. Subclasses may override writeTo and only carry
+     * a placeholder DataSource, they keep writing themselves.
+     */
+    private void writeContent(DataHandler handler) throws IOException {
+        if (handler.getClass() != DataHandler.class) {
+            handler.writeTo(out);
+            return;
+        }
+        DataSource ds = handler.getDataSource();
+        if (ds instanceof ByteDataSource) {
+            ByteDataSource bds = (ByteDataSource)ds;
+            out.write(bds.getData(), bds.getOffset(), bds.getLength());
+        } else if (ds instanceof FileDataSource && out instanceof FileOutputStream) {
+            out.flush();
+            try (FileChannel channel = FileChannel.open(((FileDataSource)ds).getFile().toPath(),
+                                                        StandardOpenOption.READ)) {
+                FileChannel target = ((FileOutputStream)out).getChannel();
+                long size = channel.size();
+                long position = 0;
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
+        } else if (ds instanceof FileDataSource || ds instanceof AttachmentDataSource) {
+            try (InputStream in = ds.getInputStream()) {
+                IOUtils.copy(in, out, TRANSFER_BUFFER_SIZE);
+            }
+        } else {
+            handler.writeTo(out);
+        }
+    }
+
     private int encodeBase64(InputStream input, OutputStream output, int bufferSize) throws IOException {
         int avail = input.available();
         if (avail > 262143) {
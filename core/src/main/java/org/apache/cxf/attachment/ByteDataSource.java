@@ -51,6 +51,14 @@ public class ByteDataSource implements DataSource {
         return data;
     }
 
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
     public void setData(byte[] dataParam) {
         this.data = dataParam;
     }
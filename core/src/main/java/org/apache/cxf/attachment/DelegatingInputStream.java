@@ -23,6 +23,7 @@ package org.apache.cxf.attachment;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
 
 import org.apache.cxf.helpers.IOUtils;
 import org.apache.cxf.io.Transferable;
@@ -58,6 +59,18 @@ public class DelegatingInputStream extends InputStream implements Transferable {
         IOUtils.transferTo(is, destinationFile);
     }
 
+    /**
+     * Writes the remaining content of the part into the channel while it is being read
+     * from the MIME stream, the part is not cached first.
+     * @return the number of bytes written
+     */
+    public long transferTo(WritableByteChannel channel) throws IOException {
+        if (isClosed) {
+            throw new IOException("Stream is closed");
+        }
+        return IOUtils.copy(is, channel, AttachmentDataSource.TRANSFER_BUFFER_SIZE);
+    }
+
     public boolean isClosed() {
         return isClosed;
     }
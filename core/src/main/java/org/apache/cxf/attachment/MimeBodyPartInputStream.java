@@ -22,6 +22,7 @@ package org.apache.cxf.attachment;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PushbackInputStream;
+import java.util.Arrays;
 
 public class MimeBodyPartInputStream extends InputStream {
 
@@ -33,6 +34,7 @@ public class MimeBodyPartInputStream extends InputStream {
     byte[] boundaryBuffer;
 
     private boolean closed;
+    private int[] boundarySkip;
 
     public MimeBodyPartInputStream(PushbackInputStream inStreamParam,
                                    byte[] boundaryParam,
@@ -122,8 +124,44 @@ public class MimeBodyPartInputStream extends InputStream {
         }
     }
 
+    /**
+     * Finds the first position of the buffer the boundary could start at. The data in front of it
+     * can't contain a boundary so the byte by byte scan below can skip it. Uses a Boyer-Moore-Horspool
+     * search which mostly steps over the buffer in boundary sized strides.
+     */
+    private int findScanStart(byte[] buffer, int off, int len) {
+        int end = off + len;
+        int last = boundary.length - 1;
+        if (len <= boundary.length * 2) {
+            return off;
+        }
+        if (boundarySkip == null) {
+            boundarySkip = new int[256];
+            Arrays.fill(boundarySkip, boundary.length);
+            for (int k = 0; k < last; k++) {
+                boundarySkip[boundary[k] & 0xFF] = last - k;
+            }
+        }
+        int i = off;
+        while (i + last < end) {
+            int j = last;
+            while (j >= 0 && buffer[i + j] == boundary[j]) {
+                j--;
+            }
+            if (j < 0) {
+                if (i - 2 >= off && buffer[i - 2] == 13 && buffer[i - 1] == 10) {
+                    return i - 2;
+                }
+                return i;
+            }
+            i += boundarySkip[buffer[i + last] & 0xFF];
+        }
+        // only a boundary cut off by the end of the buffer is left to detect
+        return Math.max(off, end - boundary.length - 3);
+    }
+
     protected int processBuffer(byte[] buffer, int off, int len) throws IOException {
-        for (int i = off; i < (off + len); i++) {
+        for (int i = findScanStart(buffer, off, len); i < (off + len); i++) {
             boolean needUnread0d0a = false;
             int value = buffer[i];
             int initialI = i;
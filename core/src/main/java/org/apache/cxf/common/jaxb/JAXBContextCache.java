@@ -28,12 +28,18 @@ import java.nio.charset.StandardCharsets;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.regex.Pattern;
 
 import javax.xml.bind.JAXBContext;
@@ -123,6 +129,13 @@ public final class JAXBContextCache {
     private static final Map<Package, CachedClass> OBJECT_FACTORY_CACHE
         = new CacheMap<>();
 
+    /**
+     * Contexts currently being created. Endpoints initialized in parallel with the same classes
+     * wait for the first one rather than building the same context again.
+     */
+    private static final ConcurrentMap<List<Object>, FutureTask<JAXBContext>> CONTEXTS_IN_PROGRESS
+        = new ConcurrentHashMap<>();
+
     private static final boolean HAS_MOXY;
 
     static {
@@ -241,6 +254,72 @@ public final class JAXBContextCache {
             }
         }
 
+        if (typeRefs == null || typeRefs.isEmpty()) {
+            context = createContextOnce(classes, map, defaultNs);
+        } else {
+            context = createContextWithFallback(classes, map, typeRefs);
+        }
+        cachedContextAndSchemasInternal = new CachedContextAndSchemasInternal(context, classes);
+        synchronized (JAXBCONTEXT_CACHE) {
+            if (typeRefs == null || typeRefs.isEmpty()) {
+                if (cachedContextAndSchemasInternalMap == null) {
+                    cachedContextAndSchemasInternalMap = JAXBCONTEXT_CACHE.get(classes);
+                }
+                if (cachedContextAndSchemasInternalMap == null) {
+                    cachedContextAndSchemasInternalMap
+                        = new CacheMap<>();
+                }
+                String ns = (defaultNs != null) ? defaultNs : "";
+                CachedContextAndSchemasInternal existing = cachedContextAndSchemasInternalMap.get(ns);
+                if (existing != null && existing.getContext() == context) {
+                    // created by a concurrent call, share its schemas
+                    cachedContextAndSchemasInternal = existing;
+                } else {
+                    cachedContextAndSchemasInternalMap.put(ns, cachedContextAndSchemasInternal);
+                }
+                JAXBCONTEXT_CACHE.put(classes, cachedContextAndSchemasInternalMap);
+            }
+        }
+
+        return new CachedContextAndSchemas(context, classes, cachedContextAndSchemasInternal);
+    }
+
+    private static JAXBContext createContextOnce(final Set<Class<?>> classes,
+                                                 final Map<String, Object> map,
+                                                 String defaultNs) throws JAXBException {
+        List<Object> key = Arrays.asList(new HashSet<>(classes), defaultNs, new HashMap<>(map));
+        FutureTask<JAXBContext> task = new FutureTask<>(() -> createContextWithFallback(classes, map, null));
+        FutureTask<JAXBContext> inProgress = CONTEXTS_IN_PROGRESS.putIfAbsent(key, task);
+        if (inProgress == null) {
+            try {
+                task.run();
+            } finally {
+                CONTEXTS_IN_PROGRESS.remove(key, task);
+            }
+            inProgress = task;
+        }
+        try {
+            return inProgress.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JAXBException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof JAXBException) {
+                throw (JAXBException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new JAXBException(cause);
+        }
+    }
+
+    private static JAXBContext createContextWithFallback(final Set<Class<?>> classes,
+                                                         final Map<String, Object> map,
+                                                         Collection<Object> typeRefs) throws JAXBException {
+        JAXBContext context = null;
         try {
             context = createContext(classes, map, typeRefs);
         } catch (JAXBException ex) {
@@ -261,20 +340,7 @@ public final class JAXBContextCache {
                 throw ex;
             }
         }
-        cachedContextAndSchemasInternal = new CachedContextAndSchemasInternal(context, classes);
-        synchronized (JAXBCONTEXT_CACHE) {
-            if (typeRefs == null || typeRefs.isEmpty()) {
-                if (cachedContextAndSchemasInternalMap == null) {
-                    cachedContextAndSchemasInternalMap
-                        = new CacheMap<>();
-                }
-                cachedContextAndSchemasInternalMap.put((defaultNs != null) ? defaultNs : "",
-                    cachedContextAndSchemasInternal);
-                JAXBCONTEXT_CACHE.put(classes, cachedContextAndSchemasInternalMap);
-            }
-        }
-
-        return new CachedContextAndSchemas(context, classes, cachedContextAndSchemasInternal);
+        return context;
     }
 
     private static boolean checkObjectFactoryNamespaces(Class<?> clz) {
@@ -0,0 +1,269 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.common.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.cxf.common.logging.LogUtils;
+
+/**
+ * Index of the annotated classes found in the given packages at build time, see the
+ * cxf-java2wadl-plugin "index" goal. The index has to be enabled with the
+ * {@link #INDEX_ENABLED_PROPERTY} system property. Every jar or directory which contributes
+ * to a package requested by {@link ClasspathScanner#findClasses(Collection, List, ClassLoader)}
+ * must have its own index covering this package and the requested annotations, the annotated
+ * classes are then loaded directly and the classpath is not scanned.
+ */
+public final class ClasspathIndex {
+    public static final String INDEX_LOCATION = "META-INF/cxf/annotated-classes.idx";
+    public static final String PACKAGES_KEY = "packages";
+    public static final String ANNOTATIONS_KEY = "annotations";
+    /**
+     * System property which, if set to true, lets the class discovery use the indexes
+     */
+    public static final String INDEX_ENABLED_PROPERTY = "org.apache.cxf.classpath.index.enabled";
+
+    private static final Logger LOG = LogUtils.getL7dLogger(ClasspathIndex.class);
+    private static final Map<ClassLoader, Map<String, ClasspathIndex>> INDEXES = new WeakIdentityHashMap<>();
+
+    private final Set<String> packages;
+    private final Set<String> annotations;
+    private final Map<String, Set<String>> classes;
+
+    private ClasspathIndex(Set<String> packages, Set<String> annotations, Map<String, Set<String>> classes) {
+        this.packages = packages;
+        this.annotations = annotations;
+        this.classes = classes;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(SystemPropertyAction.getPropertyOrNull(INDEX_ENABLED_PROPERTY));
+    }
+
+    /**
+     * Returns the indexed classes or null if the packages or annotations are not covered by the
+     * indexes of all the locations contributing to the packages, or if no location of a package
+     * can be found.
+     */
+    public static Map< Class< ? extends Annotation >, Collection< Class< ? > > > findClasses(
+        Collection< String > basePackages,
+        List<Class< ? extends Annotation > > annotations,
+        ClassLoader loader) throws ClassNotFoundException {
+        if (basePackages.isEmpty() || basePackages.contains(ClasspathScanner.WILDCARD)) {
+            return null;
+        }
+        ClassLoader theLoader = loader;
+        if (theLoader == null) {
+            theLoader = Thread.currentThread().getContextClassLoader();
+            if (theLoader == null) {
+                theLoader = ClasspathIndex.class.getClassLoader();
+            }
+        }
+        Map<String, ClasspathIndex> indexes = getIndexes(theLoader);
+        if (indexes.isEmpty()) {
+            return null;
+        }
+        Map<String, Set<String>> packagesByLocation = new LinkedHashMap<>();
+        try {
+            for (String basePackage : basePackages) {
+                Set<String> locations = getLocations(theLoader, basePackage);
+                // the jars built without the directory entries are only found through their indexes
+                for (Map.Entry<String, ClasspathIndex> entry : indexes.entrySet()) {
+                    if (entry.getValue().covers(basePackage, annotations)) {
+                        locations.add(entry.getKey());
+                    }
+                }
+                if (locations.isEmpty()) {
+                    LOG.fine("No location of " + basePackage + " is found, the classpath is scanned");
+                    return null;
+                }
+                for (String location : locations) {
+                    ClasspathIndex index = indexes.get(location);
+                    if (index == null || !index.covers(basePackage, annotations)) {
+                        LOG.fine(location + " has no index for " + basePackage + ", the classpath is scanned");
+                        return null;
+                    }
+                    packagesByLocation.computeIfAbsent(location, k -> new LinkedHashSet<>()).add(basePackage);
+                }
+            }
+        } catch (IOException ex) {
+            LOG.log(Level.FINE, "Package locations can not be resolved", ex);
+            return null;
+        }
+
+        Map< Class< ? extends Annotation >, Collection< Class< ? > > > result = new HashMap<>();
+        for (Class< ? extends Annotation > annotation : annotations) {
+            Set<String> names = new LinkedHashSet<>();
+            for (Map.Entry<String, Set<String>> entry : packagesByLocation.entrySet()) {
+                Set<String> indexed = indexes.get(entry.getKey()).classes.get(annotation.getName());
+                if (indexed != null) {
+                    for (String name : indexed) {
+                        if (isInPackages(name, entry.getValue())) {
+                            names.add(name);
+                        }
+                    }
+                }
+            }
+            Collection<Class<?>> found = new ArrayList<>(names.size());
+            for (String name : names) {
+                found.add(theLoader.loadClass(name));
+            }
+            result.put(annotation, found);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the index of the discovered classes in the properties format
+     */
+    public static void write(Collection<String> basePackages,
+                             Map< Class< ? extends Annotation >, Collection< Class< ? > > > discovered,
+                             List<Class< ? extends Annotation > > annotations,
+                             OutputStream os) throws IOException {
+        Properties props = new Properties();
+        props.setProperty(PACKAGES_KEY, String.join(",", new TreeSet<>(basePackages)));
+        List<String> annotationNames = new ArrayList<>(annotations.size());
+        for (Class< ? extends Annotation > annotation : annotations) {
+            annotationNames.add(annotation.getName());
+            Collection<Class<?>> found = discovered.get(annotation);
+            if (found != null && !found.isEmpty()) {
+                Set<String> names = new TreeSet<>();
+                for (Class<?> cls : found) {
+                    names.add(cls.getName());
+                }
+                props.setProperty(annotation.getName(), String.join(",", names));
+            }
+        }
+        props.setProperty(ANNOTATIONS_KEY, String.join(",", annotationNames));
+        props.store(os, "Generated by Apache CXF, do not edit");
+    }
+
+    private boolean covers(String basePackage, List<Class< ? extends Annotation > > requested) {
+        for (Class< ? extends Annotation > annotation : requested) {
+            if (!annotations.contains(annotation.getName())) {
+                return false;
+            }
+        }
+        for (String indexed : packages) {
+            if (basePackage.equals(indexed) || basePackage.startsWith(indexed + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isInPackages(String className, Collection<String> basePackages) {
+        for (String basePackage : basePackages) {
+            if (className.startsWith(basePackage + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the roots of the jars and directories which contain the given package
+     */
+    private static Set<String> getLocations(ClassLoader loader, String basePackage) throws IOException {
+        String path = basePackage.replace('.', '/');
+        Set<String> locations = new LinkedHashSet<>();
+        Enumeration<URL> urls = loader.getResources(path);
+        while (urls.hasMoreElements()) {
+            locations.add(getRoot(urls.nextElement(), path));
+        }
+        return locations;
+    }
+
+    private static String getRoot(URL url, String path) {
+        String value = url.toExternalForm();
+        if (value.endsWith("/")) {
+            value = value.substring(0, value.length() - 1);
+        }
+        return value.endsWith(path) ? value.substring(0, value.length() - path.length()) : value;
+    }
+
+    private static Map<String, ClasspathIndex> getIndexes(ClassLoader loader) {
+        synchronized (INDEXES) {
+            Map<String, ClasspathIndex> indexes = INDEXES.get(loader);
+            if (indexes == null) {
+                indexes = loadIndexes(loader);
+                INDEXES.put(loader, indexes);
+            }
+            return indexes;
+        }
+    }
+
+    private static Map<String, ClasspathIndex> loadIndexes(ClassLoader loader) {
+        Map<String, ClasspathIndex> indexes = new HashMap<>();
+        try {
+            Enumeration<URL> urls = loader.getResources(INDEX_LOCATION);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                Properties props = new Properties();
+                try (InputStream is = url.openStream()) {
+                    props.load(is);
+                }
+                Map<String, Set<String>> classes = new HashMap<>();
+                for (String name : props.stringPropertyNames()) {
+                    if (!PACKAGES_KEY.equals(name) && !ANNOTATIONS_KEY.equals(name)) {
+                        classes.put(name, split(props.getProperty(name)));
+                    }
+                }
+                indexes.put(getRoot(url, INDEX_LOCATION),
+                            new ClasspathIndex(split(props.getProperty(PACKAGES_KEY)),
+                                               split(props.getProperty(ANNOTATIONS_KEY)),
+                                               classes));
+            }
+        } catch (IOException ex) {
+            LOG.log(Level.FINE, "Annotated classes index can not be loaded", ex);
+            return new HashMap<>();
+        }
+        return indexes;
+    }
+
+    private static Set<String> split(String value) {
+        Set<String> values = new LinkedHashSet<>();
+        if (value != null) {
+            for (String v : value.split(",")) {
+                if (!v.trim().isEmpty()) {
+                    values.add(v.trim());
+                }
+            }
+        }
+        return values;
+    }
+}
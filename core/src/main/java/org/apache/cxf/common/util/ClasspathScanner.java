@@ -121,6 +121,13 @@ public class ClasspathScanner {
         Collection< String > basePackages,
         List<Class< ? extends Annotation > > annotations,
         ClassLoader loader) throws IOException, ClassNotFoundException {
+        if (ClasspathIndex.isEnabled()) {
+            Map< Class< ? extends Annotation >, Collection< Class< ? > > > indexed =
+                ClasspathIndex.findClasses(basePackages, annotations, loader);
+            if (indexed != null) {
+                return indexed;
+            }
+        }
         return HELPER.findClassesInternal(basePackages, annotations, loader);
     }
 
@@ -41,6 +41,13 @@ public class SourceDataBinding extends org.apache.cxf.databinding.AbstractDataBi
 
     public static final String PREFERRED_FORMAT = "source-preferred-format";
 
+    /**
+     * If true, StreamSource and DataSource payloads are serialized from the incoming
+     * XMLStreamReader while they are being read instead of being cached first. Like the
+     * default SAXSource payloads they are then only readable until the invocation completes.
+     */
+    public static final String STREAM_PAYLOAD = "source-stream-payload";
+
     final Class<?> preferred;
 
     public SourceDataBinding() {
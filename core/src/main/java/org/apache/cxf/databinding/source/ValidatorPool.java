@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.databinding.source;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.service.Service;
+import org.apache.cxf.service.model.ServiceInfo;
+
+/**
+ * Keeps the idle Validators of a compiled Schema for reuse. Creating a Validator is
+ * relatively expensive while a reset one can validate any number of further documents.
+ * The pool is stored on the ServiceInfo next to the Schema it was created for.
+ */
+final class ValidatorPool {
+    static final int DEFAULT_POOL_SIZE = 16;
+    private static final String KEY = ValidatorPool.class.getName();
+
+    private final Schema schema;
+    private final BlockingQueue<Validator> validators = new ArrayBlockingQueue<>(DEFAULT_POOL_SIZE);
+
+    ValidatorPool(Schema schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * Returns the pool for the given schema of the service of the message, or null if
+     * the message is not associated with a service.
+     */
+    static ValidatorPool getPool(Message message, Schema schema) {
+        Exchange exchange = message == null ? null : message.getExchange();
+        Service service = exchange == null ? null : exchange.getService();
+        if (service == null || service.getServiceInfos().isEmpty()) {
+            return null;
+        }
+        ServiceInfo serviceInfo = service.getServiceInfos().get(0);
+        ValidatorPool pool = serviceInfo.getProperty(KEY, ValidatorPool.class);
+        if (pool == null || pool.schema != schema) {
+            synchronized (serviceInfo) {
+                pool = serviceInfo.getProperty(KEY, ValidatorPool.class);
+                if (pool == null || pool.schema != schema) {
+                    pool = new ValidatorPool(schema);
+                    serviceInfo.setProperty(KEY, pool);
+                }
+            }
+        }
+        return pool;
+    }
+
+    static Validator acquire(ValidatorPool pool, Schema schema) {
+        return pool == null ? schema.newValidator() : pool.acquire();
+    }
+
+    static void release(ValidatorPool pool, Validator validator) {
+        if (pool != null) {
+            pool.release(validator);
+        }
+    }
+
+    Validator acquire() {
+        Validator validator = validators.poll();
+        return validator == null ? schema.newValidator() : validator;
+    }
+
+    void release(Validator validator) {
+        validator.reset();
+        validators.offer(validator);
+    }
+}
@@ -35,6 +35,7 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -52,6 +53,7 @@ import org.apache.cxf.interceptor.StaxInEndingInterceptor;
 import org.apache.cxf.io.CachedOutputStream;
 import org.apache.cxf.message.Attachment;
 import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageUtils;
 import org.apache.cxf.phase.Phase;
 import org.apache.cxf.service.model.MessagePartInfo;
 import org.apache.cxf.staxutils.DepthXMLStreamReader;
@@ -60,6 +62,7 @@ import org.apache.cxf.staxutils.StaxSource;
 import org.apache.cxf.staxutils.StaxStreamFilter;
 import org.apache.cxf.staxutils.StaxUtils;
 import org.apache.cxf.staxutils.W3CDOMStreamReader;
+import org.apache.cxf.staxutils.XMLStreamReaderInputStream;
 import org.apache.cxf.staxutils.validation.WoodstoxValidationImpl;
 
 
@@ -121,7 +124,7 @@ public class XMLStreamDataReader implements DataReader<XMLStreamReader> {
                     || StaxSource.class.isAssignableFrom(type)) {
                     retVal = new StaxSource(resetForStreaming(input));
                 } else if (StreamSource.class.isAssignableFrom(type)) {
-                    retVal = new StreamSource(getInputStream(input));
+                    retVal = new StreamSource(getPayloadInputStream(input));
                 } else if (XMLStreamReader.class.isAssignableFrom(type)) {
                     retVal = resetForStreaming(input);
                 } else if (Element.class.isAssignableFrom(type)) {
@@ -129,7 +132,7 @@ public class XMLStreamDataReader implements DataReader<XMLStreamReader> {
                 } else if (Document.class.isAssignableFrom(type)) {
                     retVal = dom == null ? read(input).getNode() : dom;
                 } else if (DataSource.class.isAssignableFrom(type)) {
-                    final InputStream ins = getInputStream(input);
+                    final InputStream ins = getPayloadInputStream(input);
                     retVal = new DataSource() {
                         public String getContentType() {
                             return "text/xml";
@@ -259,15 +262,28 @@ public class XMLStreamDataReader implements DataReader<XMLStreamReader> {
                     parentNode.setTextContent(javax.xml.bind.DatatypeConverter.printBase64Binary(cid.getBytes()));
                 }
             }
+            ValidatorPool pool = ValidatorPool.getPool(message, schema);
+            Validator validator = ValidatorPool.acquire(pool, schema);
             try {
-                schema.newValidator().validate(new DOMSource(newElement));
+                validator.validate(new DOMSource(newElement));
             } catch (SAXException e) {
                 throw new XMLStreamException(e.getMessage(), e);
+            } finally {
+                ValidatorPool.release(pool, validator);
             }
         }
         return rootElement;
     }
 
+    private InputStream getPayloadInputStream(XMLStreamReader input)
+        throws XMLStreamException, IOException {
+        if (message != null && MessageUtils.getContextualBoolean(message, SourceDataBinding.STREAM_PAYLOAD)) {
+            // serialize the payload while it is being read instead of caching it up front
+            return new XMLStreamReaderInputStream(resetForStreaming(input));
+        }
+        return getInputStream(input);
+    }
+
     private InputStream getInputStream(XMLStreamReader input)
         throws XMLStreamException, IOException {
 
@@ -56,6 +56,7 @@ public class XMLStreamDataWriter implements DataWriter<XMLStreamWriter> {
 
    
     private Schema schema;
+    private org.apache.cxf.message.Message message;
 
     public XMLStreamDataWriter() {
         
@@ -71,10 +72,7 @@ public class XMLStreamDataWriter implements DataWriter<XMLStreamWriter> {
                 DataSource ds = (DataSource)obj;
                 if (schema != null) {
                     DOMSource domSource = new DOMSource(StaxUtils.read(ds.getInputStream()));
-                    Validator schemaValidator = schema.newValidator();
-                    schemaValidator.setErrorHandler(
-                        new MtomValidationErrorHandler(schemaValidator.getErrorHandler(), domSource.getNode()));
-                    schemaValidator.validate(domSource);
+                    validate(domSource);
                     StaxUtils.copy(domSource, writer);
                 } else {
                     XMLStreamReader reader = StaxUtils.createXMLStreamReader(ds.getInputStream());
@@ -87,10 +85,7 @@ public class XMLStreamDataWriter implements DataWriter<XMLStreamWriter> {
                     obj = org.apache.cxf.helpers.DOMUtils.getDomDocumentFragment((DocumentFragment)obj);
                 }
                 if (schema != null) {
-                    Validator schemaValidator = schema.newValidator();
-                    schemaValidator.setErrorHandler(
-                        new MtomValidationErrorHandler(schemaValidator.getErrorHandler(), (Node)obj));
-                    schemaValidator.validate(new DOMSource((Node)obj));
+                    validate(new DOMSource((Node)obj));
                 }
                 Node nd = (Node)obj;
                 writeNode(nd, writer);
@@ -101,10 +96,7 @@ public class XMLStreamDataWriter implements DataWriter<XMLStreamWriter> {
                         //make the source re-readable.
                         s = new DOMSource(StaxUtils.read(s));
                     }
-                    Validator schemaValidator = schema.newValidator();
-                    schemaValidator.setErrorHandler(
-                        new MtomValidationErrorHandler(schemaValidator.getErrorHandler(), ((DOMSource)s).getNode()));
-                    schemaValidator.validate(s);
+                    validate((DOMSource)s);
                 }
                 if (s instanceof DOMSource
                     && ((DOMSource) s).getNode() == null) {
@@ -123,6 +115,18 @@ public class XMLStreamDataWriter implements DataWriter<XMLStreamWriter> {
         }
     }
 
+    private void validate(DOMSource source) throws SAXException, IOException {
+        ValidatorPool pool = ValidatorPool.getPool(message, schema);
+        Validator schemaValidator = ValidatorPool.acquire(pool, schema);
+        try {
+            schemaValidator.setErrorHandler(
+                new MtomValidationErrorHandler(schemaValidator.getErrorHandler(), source.getNode()));
+            schemaValidator.validate(source);
+        } finally {
+            ValidatorPool.release(pool, schemaValidator);
+        }
+    }
+
     private void writeNode(Node nd, XMLStreamWriter writer) throws XMLStreamException {
         if (writer instanceof W3CDOMStreamWriter) {
             W3CDOMStreamWriter dw = (W3CDOMStreamWriter)writer;
@@ -173,6 +177,9 @@ public class XMLStreamDataWriter implements DataWriter<XMLStreamWriter> {
     }
 
     public void setProperty(String key, Object value) {
+        if (org.apache.cxf.message.Message.class.getName().equals(key)) {
+            message = (org.apache.cxf.message.Message)value;
+        }
     }
     
     private static class MtomValidationErrorHandler implements ErrorHandler {
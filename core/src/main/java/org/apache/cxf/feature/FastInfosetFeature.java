@@ -50,8 +50,17 @@ public class FastInfosetFeature extends DelegatingFeature<FastInfosetFeature.Por
         return delegate.getForce();
     }
 
+    public void setUseVocabulary(boolean b) {
+        delegate.setUseVocabulary(b);
+    }
+
+    public boolean isUseVocabulary() {
+        return delegate.isUseVocabulary();
+    }
+
     public static class Portable implements AbstractPortableFeature {
         boolean force;
+        boolean useVocabulary;
         private Integer serializerAttributeValueMapMemoryLimit;
         private Integer serializerMinAttributeValueSize;
         private Integer serializerMaxAttributeValueSize;
@@ -63,8 +72,10 @@ public class FastInfosetFeature extends DelegatingFeature<FastInfosetFeature.Por
         public void doInitializeProvider(InterceptorProvider provider, Bus bus) {
 
             FIStaxInInterceptor in = new FIStaxInInterceptor();
+            in.setUseVocabulary(useVocabulary);
 
             FIStaxOutInterceptor out = new FIStaxOutInterceptor(force);
+            out.setUseVocabulary(useVocabulary);
             if (serializerAttributeValueMapMemoryLimit != null && serializerAttributeValueMapMemoryLimit > 0) {
                 out.setSerializerAttributeValueMapMemoryLimit(serializerAttributeValueMapMemoryLimit);
             }
@@ -106,5 +117,21 @@ public class FastInfosetFeature extends DelegatingFeature<FastInfosetFeature.Por
         public boolean getForce() {
             return force;
         }
+
+        /**
+         * Set if an external vocabulary built from the service schemas is negotiated
+         * with the peer in order to reduce the size of the messages
+         * @param b
+         */
+        public void setUseVocabulary(boolean b) {
+            useVocabulary = b;
+        }
+
+        /**
+         * Retrieve the value set with {@link #setUseVocabulary(boolean)}.
+         */
+        public boolean isUseVocabulary() {
+            return useVocabulary;
+        }
     }
 }
@@ -30,6 +30,9 @@ import java.io.PushbackInputStream;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 
@@ -256,6 +259,29 @@ public final class IOUtils {
         }
     }
 
+    /**
+     * Copies the stream into the channel through a single reused buffer, without
+     * creating any intermediate copy of the data.
+     * @return the number of bytes copied
+     */
+    public static long copy(final InputStream input, final WritableByteChannel output,
+                            final int bufferSize) throws IOException {
+        final byte[] buffer = new byte[bufferSize];
+        final ByteBuffer bb = ByteBuffer.wrap(buffer);
+        long total = 0;
+        int n = input.read(buffer);
+        while (-1 != n) {
+            ((Buffer)bb).clear();
+            ((Buffer)bb).limit(n);
+            while (bb.hasRemaining()) {
+                output.write(bb);
+            }
+            total += n;
+            n = input.read(buffer);
+        }
+        return total;
+    }
+
     public static void transferTo(InputStream inputStream, File destinationFile) throws IOException {
         if (Transferable.class.isAssignableFrom(inputStream.getClass())) {
             ((Transferable)inputStream).transferTo(destinationFile);
@@ -26,6 +26,7 @@ import java.util.Iterator;
 import java.util.ResourceBundle;
 
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.validation.Schema;
 
@@ -49,6 +50,8 @@ import org.apache.cxf.service.model.OperationInfo;
 import org.apache.cxf.service.model.ServiceInfo;
 import org.apache.cxf.service.model.ServiceModelUtil;
 import org.apache.cxf.staxutils.DepthXMLStreamReader;
+import org.apache.cxf.staxutils.validation.StaxSchemaValidationInInterceptor;
+import org.apache.cxf.staxutils.validation.WoodstoxValidationImpl;
 import org.apache.cxf.ws.addressing.EndpointReferenceUtils;
 import org.apache.ws.commons.schema.constants.Constants;
 
@@ -111,13 +114,29 @@ public abstract class AbstractInDatabindingInterceptor extends AbstractPhaseInte
      * to remove schema validation
      */
     protected void setDataReaderValidation(Service service, Message message, DataReader<?> reader) {
-        if (shouldValidate(message)) {
+        boolean streamValidated = Boolean.TRUE.equals(message.get(StaxSchemaValidationInInterceptor.STREAM_VALIDATED));
+        if (shouldValidate(message) && !streamValidated) {
             //all serviceInfos have the same schemas
             Schema schema = EndpointReferenceUtils.getSchema(service.getServiceInfos().get(0),
                                                              message.getExchange().getBus());
             reader.setSchema(schema);
         } else {
-            reader.setSchema(null); // if this is being called for an operation, then override the service level
+            // either the XMLStreamReader already validates while being read or the validation
+            // is turned off, if this is being called for an operation, then override the service level
+            reader.setSchema(null);
+            if (streamValidated && !shouldValidate(message)) {
+                stopStreamValidation(message);
+            }
+        }
+    }
+
+    private void stopStreamValidation(Message message) {
+        try {
+            new WoodstoxValidationImpl().stopValidation(message.getContent(XMLStreamReader.class),
+                                                        message.getExchange().getEndpoint());
+            message.remove(StaxSchemaValidationInInterceptor.STREAM_VALIDATED);
+        } catch (XMLStreamException e) {
+            throw new Fault(e);
         }
     }
 
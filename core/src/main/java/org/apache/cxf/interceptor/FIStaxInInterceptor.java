@@ -38,6 +38,8 @@ import org.apache.cxf.phase.Phase;
 public class FIStaxInInterceptor extends AbstractPhaseInterceptor<Message> {
     public static final String FI_GET_SUPPORTED = "org.apache.cxf.fastinfoset.get.supported";
 
+    private boolean useVocabulary;
+
     public FIStaxInInterceptor() {
         this(Phase.POST_STREAM);
     }
@@ -51,10 +53,13 @@ public class FIStaxInInterceptor extends AbstractPhaseInterceptor<Message> {
         return Boolean.TRUE.equals(message.containsKey(Message.REQUESTOR_ROLE));
     }
 
-    private XMLStreamReader getParser(InputStream in) {
+    private XMLStreamReader getParser(InputStream in, FIVocabulary vocabulary) {
         StAXDocumentParser parser = new StAXDocumentParser(in);
         parser.setStringInterning(true);
         parser.setForceStreamClose(true);
+        if (vocabulary != null) {
+            parser.setExternalVocabularies(vocabulary.getParserVocabularies());
+        }
         parser.setInputStream(in);
         return parser;
     }
@@ -65,11 +70,17 @@ public class FIStaxInInterceptor extends AbstractPhaseInterceptor<Message> {
             return;
         }
 
+        FIVocabulary vocabulary = FIVocabulary.getVocabulary(message, useVocabulary);
+        if (vocabulary != null) {
+            negotiateVocabulary(message, vocabulary);
+        }
+
         String ct = (String)message.get(Message.CONTENT_TYPE);
         if (ct != null && ct.indexOf("fastinfoset") != -1
             && message.getContent(InputStream.class) != null
             && message.getContent(XMLStreamReader.class) == null) {
-            message.setContent(XMLStreamReader.class, getParser(message.getContent(InputStream.class)));
+            message.setContent(XMLStreamReader.class, getParser(message.getContent(InputStream.class),
+                                                                 vocabulary));
             //add the StaxInEndingInterceptor which will close the reader
             message.getInterceptorChain().add(StaxInEndingInterceptor.INSTANCE);
 
@@ -89,6 +100,36 @@ public class FIStaxInInterceptor extends AbstractPhaseInterceptor<Message> {
         }
     }
 
+    private void negotiateVocabulary(Message message, FIVocabulary vocabulary) {
+        String uri = vocabulary.getURI();
+        boolean matches = uri.equals(FIVocabulary.getAdvertisedURI(message));
+        if (matches) {
+            message.getExchange().put(FIVocabulary.VOCABULARY_ACCEPTED, uri);
+        }
+        if (isRequestor(message)) {
+            // the server confirmed (or no longer confirms) it shares our vocabulary,
+            // future requests will use it accordingly
+            Endpoint ep = message.getExchange().getEndpoint();
+            if (matches) {
+                ep.put(FIVocabulary.VOCABULARY_ACCEPTED, uri);
+            } else {
+                ep.remove(FIVocabulary.VOCABULARY_ACCEPTED);
+            }
+        }
+    }
+
+    public boolean isUseVocabulary() {
+        return useVocabulary;
+    }
+
+    /**
+     * Enables the negotiation of an external vocabulary built from the schemas of the service,
+     * see {@link FIStaxOutInterceptor#setUseVocabulary(boolean)}.
+     */
+    public void setUseVocabulary(boolean useVocabulary) {
+        this.useVocabulary = useVocabulary;
+    }
+
     protected boolean isHttpVerbSupported(Message message) {
         if (isGET(message)) {
             return isRequestor(message)
@@ -22,8 +22,12 @@ package org.apache.cxf.interceptor;
 
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -31,13 +35,16 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 
 import com.sun.xml.fastinfoset.stax.StAXDocumentSerializer;
+import com.sun.xml.fastinfoset.vocab.SerializerVocabulary;
 
 import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.common.util.PropertyUtils;
+import org.apache.cxf.endpoint.Endpoint;
 import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.phase.AbstractPhaseInterceptor;
 import org.apache.cxf.phase.Phase;
+import org.jvnet.fastinfoset.VocabularyApplicationData;
 
 
 /**
@@ -46,11 +53,29 @@ import org.apache.cxf.phase.Phase;
 public class FIStaxOutInterceptor extends AbstractPhaseInterceptor<Message> {
     public static final String FI_ENABLED = "org.apache.cxf.fastinfoset.enabled";
 
+    /**
+     * Contextual property enabling the use of an external vocabulary built from the schemas
+     * of the service.  Both peers need to enable it, otherwise plain FastInfoset is used.
+     */
+    public static final String FI_VOCABULARY_ENABLED = "org.apache.cxf.fastinfoset.vocabulary.enabled";
+
+    /**
+     * Protocol header used to advertise the URI of the external vocabulary.
+     */
+    public static final String FI_VOCABULARY_HEADER = "X-FastInfoset-Vocabulary";
+
+    public static final int DEFAULT_SERIALIZER_POOL_SIZE = 16;
+
     private static final Logger LOG = LogUtils.getL7dLogger(FIStaxOutInterceptor.class);
     private static final String OUTPUT_STREAM_HOLDER = FIStaxOutInterceptor.class.getName() + ".outputstream";
-    private static final StaxOutEndingInterceptor ENDING = new StaxOutEndingInterceptor(OUTPUT_STREAM_HOLDER);
+    private static final String SERIALIZER_HOLDER = FIStaxOutInterceptor.class.getName() + ".serializer";
 
     boolean force;
+    private boolean useVocabulary;
+    private int serializerPoolSize = DEFAULT_SERIALIZER_POOL_SIZE;
+    private volatile BlockingQueue<PooledSerializer> serializers =
+        new ArrayBlockingQueue<>(DEFAULT_SERIALIZER_POOL_SIZE);
+    private final StaxOutEndingInterceptor ending = new FIStaxOutEndingInterceptor();
     private Integer serializerAttributeValueMapMemoryLimit;
     private Integer serializerMinAttributeValueSize;
     private Integer serializerMaxAttributeValueSize;
@@ -86,6 +111,7 @@ public class FIStaxOutInterceptor extends AbstractPhaseInterceptor<Message> {
 
         boolean req = isRequestor(message);
         Object o = message.getContextualProperty(FI_ENABLED);
+        FIVocabulary vocabulary = FIVocabulary.getVocabulary(message, useVocabulary);
         if (!req) {
             if (message.getExchange().getInMessage() != null) {
                 //check incoming accept header
@@ -109,12 +135,23 @@ public class FIStaxOutInterceptor extends AbstractPhaseInterceptor<Message> {
             } else {
                 accepts.add(a);
             }
+            if (vocabulary != null) {
+                headers.put(FI_VOCABULARY_HEADER, Collections.singletonList(vocabulary.getURI()));
+            }
         }
 
         if (force
             || PropertyUtils.isTrue(o)) {
-            XMLStreamWriter serializer = getOutput(out);
+            boolean accepted = vocabulary != null && vocabulary.getURI().equals(getAcceptedVocabulary(message, req));
+            PooledSerializer pooled = getOutput(out, accepted ? vocabulary : null);
+            XMLStreamWriter serializer = pooled.serializer;
             message.setContent(XMLStreamWriter.class, serializer);
+            message.put(SERIALIZER_HOLDER, pooled);
+            if (vocabulary != null && !req) {
+                // let the client know the vocabulary can be used for subsequent requests
+                getProtocolHeaders(message).put(FI_VOCABULARY_HEADER,
+                                                Collections.singletonList(vocabulary.getURI()));
+            }
 
             message.removeContent(OutputStream.class);
             message.put(OUTPUT_STREAM_HOLDER, out);
@@ -134,22 +171,47 @@ public class FIStaxOutInterceptor extends AbstractPhaseInterceptor<Message> {
             } catch (XMLStreamException e) {
                 throw new Fault(e);
             }
-            message.getInterceptorChain().add(ENDING);
+            message.getInterceptorChain().add(ending);
         }
     }
 
-    private XMLStreamWriter getOutput(OutputStream out) {
-        /*
-        StAXDocumentSerializer serializer = (StAXDocumentSerializer)m.getExchange().getEndpoint()
-            .remove(StAXDocumentSerializer.class.getName());
-        if (serializer != null) {
-            serializer.setOutputStream(out);
-        } else {
-            serializer = new StAXDocumentSerializer(out);
+    private static Object getAcceptedVocabulary(Message message, boolean req) {
+        if (req) {
+            Endpoint ep = message.getExchange().getEndpoint();
+            return ep == null ? null : ep.get(FIVocabulary.VOCABULARY_ACCEPTED);
         }
-        return serializer;
-        */
-        final StAXDocumentSerializer stAXDocumentSerializer = new StAXDocumentSerializer(out);
+        return message.getExchange().get(FIVocabulary.VOCABULARY_ACCEPTED);
+    }
+
+    private static Map<String, List<String>> getProtocolHeaders(Message message) {
+        Map<String, List<String>> headers = CastUtils.cast((Map<?, ?>)message.get(Message.PROTOCOL_HEADERS));
+        if (headers == null) {
+            headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            message.put(Message.PROTOCOL_HEADERS, headers);
+        }
+        return headers;
+    }
+
+    private PooledSerializer getOutput(OutputStream out, FIVocabulary vocabulary) {
+        BlockingQueue<PooledSerializer> pool = serializers;
+        PooledSerializer pooled = pool == null ? null : pool.poll();
+        if (pooled == null) {
+            pooled = new PooledSerializer();
+        }
+        pooled.prepare(out, vocabulary);
+        applySettings(pooled.serializer);
+        return pooled;
+    }
+
+    private void release(PooledSerializer pooled) {
+        BlockingQueue<PooledSerializer> pool = serializers;
+        if (pool != null) {
+            pooled.serializer.setOutputStream(null);
+            pool.offer(pooled);
+        }
+    }
+
+    private void applySettings(StAXDocumentSerializer stAXDocumentSerializer) {
         if (serializerAttributeValueMapMemoryLimit != null && serializerAttributeValueMapMemoryLimit.intValue() > 0) {
             stAXDocumentSerializer.setAttributeValueMapMemoryLimit(serializerAttributeValueMapMemoryLimit.intValue());
         }
@@ -170,7 +232,35 @@ public class FIStaxOutInterceptor extends AbstractPhaseInterceptor<Message> {
         if (serializerMaxCharacterContentChunkSize != null && serializerMaxCharacterContentChunkSize.intValue() > 0) {
             stAXDocumentSerializer.setMaxCharacterContentChunkSize(serializerMaxCharacterContentChunkSize.intValue());
         }
-        return stAXDocumentSerializer;
+    }
+
+    public boolean isUseVocabulary() {
+        return useVocabulary;
+    }
+
+    /**
+     * Enables an external vocabulary built from the element and attribute names of the service
+     * schemas.  The vocabulary is only used once the peer has confirmed it knows the same one,
+     * otherwise the messages are encoded with the regular, self contained, FastInfoset tables.
+     * It can also be enabled with the {@link #FI_VOCABULARY_ENABLED} contextual property.
+     */
+    public void setUseVocabulary(boolean useVocabulary) {
+        logSetter("useVocabulary", useVocabulary);
+        this.useVocabulary = useVocabulary;
+    }
+
+    public int getSerializerPoolSize() {
+        return serializerPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of idle FastInfoset StAX Serializers kept by this interceptor for reuse.
+     * A value of 0 disables the pooling.
+     */
+    public void setSerializerPoolSize(int serializerPoolSize) {
+        logSetter("serializerPoolSize", serializerPoolSize);
+        this.serializerPoolSize = serializerPoolSize;
+        serializers = serializerPoolSize > 0 ? new ArrayBlockingQueue<>(serializerPoolSize) : null;
     }
 
     public Integer getSerializerMinAttributeValueSize() {
@@ -285,4 +375,50 @@ public class FIStaxOutInterceptor extends AbstractPhaseInterceptor<Message> {
             LOG.config("Setting " + propertyName + " to " + propertyValue);
         }
     }
+
+    /**
+     * A reusable serializer along with the vocabularies it alternates between.  The vocabularies
+     * are set externally on the serializer, so their dynamic tables and the application data
+     * are cleared here rather than by the serializer at the start of each document.
+     */
+    private static final class PooledSerializer {
+        final StAXDocumentSerializer serializer = new StAXDocumentSerializer();
+        final SerializerVocabulary plain = new SerializerVocabulary();
+        SerializerVocabulary external;
+        FIVocabulary externalSource;
+
+        void prepare(OutputStream out, FIVocabulary vocabulary) {
+            SerializerVocabulary v = plain;
+            if (vocabulary != null) {
+                if (externalSource != vocabulary) {
+                    external = vocabulary.newSerializerVocabulary();
+                    externalSource = vocabulary;
+                }
+                v = external;
+            }
+            v.clear();
+            // data attached by the writers, e.g. the JAXB index tables, refer to the cleared tables
+            VocabularyApplicationData data = serializer.getVocabularyApplicationData();
+            if (data != null) {
+                data.clear();
+            }
+            serializer.setVocabulary(v);
+            serializer.setOutputStream(out);
+        }
+    }
+
+    private final class FIStaxOutEndingInterceptor extends StaxOutEndingInterceptor {
+        FIStaxOutEndingInterceptor() {
+            super(OUTPUT_STREAM_HOLDER);
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            super.handleMessage(message);
+            PooledSerializer pooled = (PooledSerializer)message.remove(SERIALIZER_HOLDER);
+            if (pooled != null) {
+                release(pooled);
+            }
+        }
+    }
 }
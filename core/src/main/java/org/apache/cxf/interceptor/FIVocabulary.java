@@ -0,0 +1,311 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.interceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.xml.namespace.QName;
+
+import com.sun.xml.fastinfoset.vocab.ParserVocabulary;
+import com.sun.xml.fastinfoset.vocab.SerializerVocabulary;
+
+import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.helpers.CastUtils;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageUtils;
+import org.apache.cxf.service.Service;
+import org.apache.cxf.service.model.SchemaInfo;
+import org.apache.cxf.service.model.ServiceInfo;
+import org.apache.ws.commons.schema.XmlSchema;
+import org.apache.ws.commons.schema.XmlSchemaAll;
+import org.apache.ws.commons.schema.XmlSchemaAttribute;
+import org.apache.ws.commons.schema.XmlSchemaAttributeOrGroupRef;
+import org.apache.ws.commons.schema.XmlSchemaChoice;
+import org.apache.ws.commons.schema.XmlSchemaComplexContentExtension;
+import org.apache.ws.commons.schema.XmlSchemaComplexContentRestriction;
+import org.apache.ws.commons.schema.XmlSchemaComplexType;
+import org.apache.ws.commons.schema.XmlSchemaContentModel;
+import org.apache.ws.commons.schema.XmlSchemaElement;
+import org.apache.ws.commons.schema.XmlSchemaObject;
+import org.apache.ws.commons.schema.XmlSchemaSequence;
+import org.apache.ws.commons.schema.XmlSchemaSimpleContentExtension;
+import org.apache.ws.commons.schema.XmlSchemaSimpleContentRestriction;
+import org.apache.ws.commons.schema.XmlSchemaType;
+
+/**
+ * An external FastInfoset vocabulary built from the element and attribute names of the
+ * schemas of a service. Both sides of a CXF to CXF conversation derive the same tables
+ * from the same contract, so the names never need to be transmitted and repeated small
+ * messages only carry indexes into the shared tables.  The URI of the vocabulary is a
+ * digest of its content, which lets the peers detect a contract mismatch and fall back
+ * to the plain encoding.
+ * <p>
+ * Only the namespace and local name tables are populated: the qualified name tables of a
+ * FastInfoset serializer vocabulary are updated in place when a name is written with another
+ * prefix than the one of the vocabulary, so they cannot be shared between documents.
+ */
+final class FIVocabulary {
+    static final String URI_PREFIX = "urn:org.apache.cxf:fastinfoset:vocabulary:";
+    static final String VOCABULARY_ACCEPTED = FIVocabulary.class.getName() + ".accepted";
+
+    private static final String SOAP11_ENV = "http://schemas.xmlsoap.org/soap/envelope/";
+    private static final String SOAP12_ENV = "http://www.w3.org/2003/05/soap-envelope";
+    private static final String[] SOAP_NAMES = {"Envelope", "Header", "Body", "Fault"};
+    private static final Comparator<QName> QNAME_ORDER = Comparator.comparing(QName::getNamespaceURI)
+        .thenComparing(QName::getLocalPart);
+
+    private final String uri;
+    private final SerializerVocabulary serializerVocabulary;
+    private final Map<Object, Object> parserVocabularies;
+
+    private FIVocabulary(Set<String> namespaces, Set<QName> elements, Set<QName> attributes) {
+        // the parsers intern the decoded names and readers such as JAXB rely on it,
+        // the names coming from the vocabulary tables must be interned as well
+        org.jvnet.fastinfoset.Vocabulary vocabulary = new org.jvnet.fastinfoset.Vocabulary();
+        for (String ns : namespaces) {
+            vocabulary.namespaceNames.add(ns.intern());
+        }
+        Set<String> localNames = new TreeSet<>();
+        for (QName name : elements) {
+            localNames.add(name.getLocalPart());
+        }
+        for (QName name : attributes) {
+            localNames.add(name.getLocalPart());
+        }
+        for (String localName : localNames) {
+            vocabulary.localNames.add(localName.intern());
+        }
+
+        uri = URI_PREFIX + digest(namespaces, elements, attributes);
+        serializerVocabulary = new SerializerVocabulary(vocabulary, false);
+        parserVocabularies = Collections.singletonMap(uri, new ParserVocabulary(vocabulary));
+    }
+
+    /**
+     * Returns the vocabulary of the endpoint of the exchange if its use is enabled either
+     * on the interceptor or with the {@link FIStaxOutInterceptor#FI_VOCABULARY_ENABLED} property.
+     */
+    static FIVocabulary getVocabulary(Message message, boolean enabled) {
+        if (!enabled
+            && !MessageUtils.getContextualBoolean(message, FIStaxOutInterceptor.FI_VOCABULARY_ENABLED, false)) {
+            return null;
+        }
+        Exchange exchange = message.getExchange();
+        return exchange == null ? null : getVocabulary(exchange.getEndpoint());
+    }
+
+    /**
+     * Returns the vocabulary URI advertised by the peer in the protocol headers of the message.
+     */
+    static String getAdvertisedURI(Message message) {
+        Map<String, List<String>> headers = CastUtils.cast((Map<?, ?>)message.get(Message.PROTOCOL_HEADERS));
+        if (headers != null) {
+            List<String> values = headers.get(FIStaxOutInterceptor.FI_VOCABULARY_HEADER);
+            if (values != null && !values.isEmpty()) {
+                return values.get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the vocabulary of the service of the endpoint, building and caching it
+     * on the endpoint the first time it is requested.
+     */
+    static FIVocabulary getVocabulary(Endpoint ep) {
+        if (ep == null || ep.getService() == null) {
+            return null;
+        }
+        FIVocabulary vocabulary = (FIVocabulary)ep.get(FIVocabulary.class.getName());
+        if (vocabulary == null) {
+            vocabulary = create(ep.getService());
+            ep.put(FIVocabulary.class.getName(), vocabulary);
+        }
+        return vocabulary;
+    }
+
+    static FIVocabulary create(Service service) {
+        Set<String> namespaces = new TreeSet<>();
+        Set<QName> elements = new TreeSet<>(QNAME_ORDER);
+        Set<QName> attributes = new TreeSet<>(QNAME_ORDER);
+        for (String ns : new String[] {SOAP11_ENV, SOAP12_ENV}) {
+            namespaces.add(ns);
+            for (String name : SOAP_NAMES) {
+                elements.add(new QName(ns, name));
+            }
+        }
+
+        Map<XmlSchemaObject, Boolean> visited = new IdentityHashMap<>();
+        for (ServiceInfo serviceInfo : service.getServiceInfos()) {
+            for (SchemaInfo schemaInfo : serviceInfo.getSchemas()) {
+                XmlSchema schema = schemaInfo.getSchema();
+                if (schema == null) {
+                    continue;
+                }
+                if (schema.getTargetNamespace() != null) {
+                    namespaces.add(schema.getTargetNamespace());
+                }
+                for (XmlSchemaElement element : schema.getElements().values()) {
+                    collect(element, elements, attributes, visited);
+                }
+                for (XmlSchemaAttribute attribute : schema.getAttributes().values()) {
+                    collect(attribute, elements, attributes, visited);
+                }
+                for (XmlSchemaType type : schema.getSchemaTypes().values()) {
+                    collect(type, elements, attributes, visited);
+                }
+            }
+        }
+        for (QName name : elements) {
+            namespaces.add(name.getNamespaceURI());
+        }
+        for (QName name : attributes) {
+            namespaces.add(name.getNamespaceURI());
+        }
+        namespaces.remove("");
+        return new FIVocabulary(namespaces, elements, attributes);
+    }
+
+    String getURI() {
+        return uri;
+    }
+
+    /**
+     * A fresh serializer vocabulary referencing the shared read only tables.  The
+     * returned instance carries the dynamic tables of a serializer and must not be
+     * shared between serializers.
+     */
+    SerializerVocabulary newSerializerVocabulary() {
+        SerializerVocabulary v = new SerializerVocabulary();
+        v.setExternalVocabulary(uri, serializerVocabulary, false);
+        return v;
+    }
+
+    Map<Object, Object> getParserVocabularies() {
+        return parserVocabularies;
+    }
+
+    private static void collect(XmlSchemaObject obj, Set<QName> elements, Set<QName> attributes,
+                                Map<XmlSchemaObject, Boolean> visited) {
+        if (obj == null || visited.put(obj, Boolean.TRUE) != null) {
+            return;
+        }
+        if (obj instanceof XmlSchemaElement) {
+            XmlSchemaElement element = (XmlSchemaElement)obj;
+            if (element.isRef()) {
+                addName(elements, element.getRef().getTargetQName());
+            } else {
+                addName(elements, element.getWireName());
+            }
+            if (!element.isRef() && element.getSchemaTypeName() == null) {
+                // anonymous type, named types are collected from the schema
+                collect(element.getSchemaType(), elements, attributes, visited);
+            }
+        } else if (obj instanceof XmlSchemaAttribute) {
+            XmlSchemaAttribute attribute = (XmlSchemaAttribute)obj;
+            addName(attributes, attribute.isRef() ? attribute.getRef().getTargetQName() : attribute.getWireName());
+        } else if (obj instanceof XmlSchemaComplexType) {
+            XmlSchemaComplexType type = (XmlSchemaComplexType)obj;
+            collect(type.getParticle(), elements, attributes, visited);
+            collectAttributes(type.getAttributes(), elements, attributes, visited);
+            XmlSchemaContentModel model = type.getContentModel();
+            if (model != null) {
+                collect(model.getContent(), elements, attributes, visited);
+            }
+        } else if (obj instanceof XmlSchemaSequence) {
+            for (Object item : ((XmlSchemaSequence)obj).getItems()) {
+                collect((XmlSchemaObject)item, elements, attributes, visited);
+            }
+        } else if (obj instanceof XmlSchemaChoice) {
+            for (Object item : ((XmlSchemaChoice)obj).getItems()) {
+                collect((XmlSchemaObject)item, elements, attributes, visited);
+            }
+        } else if (obj instanceof XmlSchemaAll) {
+            for (Object item : ((XmlSchemaAll)obj).getItems()) {
+                collect((XmlSchemaObject)item, elements, attributes, visited);
+            }
+        } else if (obj instanceof XmlSchemaComplexContentExtension) {
+            XmlSchemaComplexContentExtension ext = (XmlSchemaComplexContentExtension)obj;
+            collect(ext.getParticle(), elements, attributes, visited);
+            collectAttributes(ext.getAttributes(), elements, attributes, visited);
+        } else if (obj instanceof XmlSchemaComplexContentRestriction) {
+            XmlSchemaComplexContentRestriction res = (XmlSchemaComplexContentRestriction)obj;
+            collect(res.getParticle(), elements, attributes, visited);
+            collectAttributes(res.getAttributes(), elements, attributes, visited);
+        } else if (obj instanceof XmlSchemaSimpleContentExtension) {
+            collectAttributes(((XmlSchemaSimpleContentExtension)obj).getAttributes(),
+                              elements, attributes, visited);
+        } else if (obj instanceof XmlSchemaSimpleContentRestriction) {
+            collectAttributes(((XmlSchemaSimpleContentRestriction)obj).getAttributes(),
+                              elements, attributes, visited);
+        }
+    }
+
+    private static void collectAttributes(List<XmlSchemaAttributeOrGroupRef> list,
+                                          Set<QName> elements, Set<QName> attributes,
+                                          Map<XmlSchemaObject, Boolean> visited) {
+        for (XmlSchemaAttributeOrGroupRef attribute : list) {
+            collect(attribute, elements, attributes, visited);
+        }
+    }
+
+    private static void addName(Set<QName> names, QName name) {
+        if (name != null && name.getLocalPart() != null && !name.getLocalPart().isEmpty()) {
+            names.add(new QName(name.getNamespaceURI(), name.getLocalPart()));
+        }
+    }
+
+    private static String digest(Set<String> namespaces, Set<QName> elements, Set<QName> attributes) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-1");
+            for (String ns : namespaces) {
+                update(md, "n", ns);
+            }
+            for (QName name : elements) {
+                update(md, "e", name.toString());
+            }
+            for (QName name : attributes) {
+                update(md, "a", name.toString());
+            }
+            StringBuilder b = new StringBuilder();
+            for (byte d : md.digest()) {
+                b.append(Character.forDigit((d >> 4) & 0xF, 16)).append(Character.forDigit(d & 0xF, 16));
+            }
+            return b.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest md, String kind, String value) {
+        md.update(kind.getBytes(StandardCharsets.UTF_8));
+        md.update(value.getBytes(StandardCharsets.UTF_8));
+        md.update((byte)0);
+    }
+}
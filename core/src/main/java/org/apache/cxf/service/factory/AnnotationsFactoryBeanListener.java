@@ -298,8 +298,10 @@ public class AnnotationsFactoryBeanListener implements FactoryBeanListener {
     private void addFastInfosetSupport(InterceptorProvider provider, FastInfoset annotation) {
         if (annotation != null) {
             FIStaxInInterceptor in = new FIStaxInInterceptor();
+            in.setUseVocabulary(annotation.vocabulary());
 
             FIStaxOutInterceptor out = new FIStaxOutInterceptor(annotation.force());
+            out.setUseVocabulary(annotation.vocabulary());
             out.setSerializerAttributeValueMapMemoryLimit(annotation.serializerAttributeValueMapMemoryLimit());
             out.setSerializerMinAttributeValueSize(annotation.serializerMinAttributeValueSize());
             out.setSerializerMaxAttributeValueSize(annotation.serializerMaxAttributeValueSize());
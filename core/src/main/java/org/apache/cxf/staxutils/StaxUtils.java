@@ -777,6 +777,36 @@ public final class StaxUtils {
         }
     }
 
+    /**
+     * Writes the current event of the reader to the writer. Document events and events
+     * without an XML representation are skipped.
+     */
+    public static void copyEvent(XMLStreamReader reader, XMLStreamWriter writer) throws XMLStreamException {
+        switch (reader.getEventType()) {
+        case XMLStreamConstants.START_ELEMENT:
+            writeStartElement(reader, writer);
+            break;
+        case XMLStreamConstants.END_ELEMENT:
+            writer.writeEndElement();
+            break;
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.SPACE:
+            String s = reader.getText();
+            if (s != null) {
+                writer.writeCharacters(s);
+            }
+            break;
+        case XMLStreamConstants.COMMENT:
+            writer.writeComment(reader.getText());
+            break;
+        case XMLStreamConstants.CDATA:
+            writer.writeCData(reader.getText());
+            break;
+        default:
+            break;
+        }
+    }
+
     private static void writeStartElement(XMLStreamReader reader, XMLStreamWriter writer)
         throws XMLStreamException {
         String uri = reader.getNamespaceURI();
@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.staxutils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.apache.cxf.helpers.LoadingByteArrayOutputStream;
+
+/**
+ * An InputStream over the serialized form of an XMLStreamReader. The events are
+ * written on demand, a chunk at a time, so the content is never held in memory
+ * or a cache file as a whole. Like {@link StaxUtils#copy(XMLStreamReader, XMLStreamWriter)}
+ * end elements without a matching start element are skipped.
+ */
+public class XMLStreamReaderInputStream extends InputStream {
+    private static final int CHUNK_SIZE = 8192;
+
+    private final XMLStreamReader reader;
+    private final LoadingByteArrayOutputStream buffer = new LoadingByteArrayOutputStream(CHUNK_SIZE + 1024);
+    private final XMLStreamWriter writer;
+    private byte[] bytes;
+    private int pos;
+    private int count;
+    private int depth;
+    private boolean done;
+
+    public XMLStreamReaderInputStream(XMLStreamReader reader) {
+        this.reader = reader;
+        this.writer = StaxUtils.createXMLStreamWriter(buffer);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (pos == count && !fill()) {
+            return -1;
+        }
+        return bytes[pos++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (pos == count && !fill()) {
+            return -1;
+        }
+        int n = Math.min(len, count - pos);
+        System.arraycopy(bytes, pos, b, off, n);
+        pos += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return count - pos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        done = true;
+        try {
+            writer.close();
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private boolean fill() throws IOException {
+        buffer.reset();
+        pos = 0;
+        count = 0;
+        try {
+            while (!done && buffer.size() < CHUNK_SIZE) {
+                int event = reader.getEventType();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    StaxUtils.copyEvent(reader, writer);
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (depth > 0) {
+                        depth--;
+                        StaxUtils.copyEvent(reader, writer);
+                    }
+                } else {
+                    StaxUtils.copyEvent(reader, writer);
+                }
+                if (reader.hasNext()) {
+                    reader.next();
+                } else {
+                    done = true;
+                }
+            }
+            // the writer spills into the buffer once its own buffer is full, only the
+            // remainder of the chunk needs an explicit flush
+            writer.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+        bytes = buffer.getRawBytes();
+        count = buffer.size();
+        return count > 0;
+    }
+}
@@ -61,6 +61,7 @@ import org.codehaus.stax2.validation.XMLValidationSchema;
 class Stax2ValidationUtils {
     private static final Logger LOG = LogUtils.getL7dLogger(Stax2ValidationUtils.class);
     private static final String KEY = XMLValidationSchema.class.getName();
+    private static final String FAILED_KEY = KEY + ".failed";
 
     private static final boolean HAS_WOODSTOX_5;
     private static final boolean HAS_WOODSTOX_6_2;
@@ -133,6 +134,17 @@ class Stax2ValidationUtils {
         return true;
     }
 
+    public void stopValidation(XMLStreamReader reader, Endpoint endpoint) throws XMLStreamException {
+        XMLStreamReader effectiveReader = reader;
+        if (effectiveReader instanceof DepthXMLStreamReader) {
+            effectiveReader = ((DepthXMLStreamReader) reader).getReader();
+        }
+        XMLValidationSchema vs = (XMLValidationSchema) endpoint.get(KEY);
+        if (vs != null && effectiveReader instanceof XMLStreamReader2) {
+            ((XMLStreamReader2) effectiveReader).stopValidatingAgainst(vs);
+        }
+    }
+
     public boolean setupValidation(XMLStreamWriter writer, Endpoint endpoint, ServiceInfo serviceInfo)
             throws XMLStreamException {
 
@@ -158,10 +170,15 @@ class Stax2ValidationUtils {
      */
     private XMLValidationSchema getValidator(Endpoint endpoint, ServiceInfo serviceInfo)
             throws XMLStreamException {
+        // the compiled schema is immutable, only its creation needs the lock
+        XMLValidationSchema ret = (XMLValidationSchema) endpoint.get(KEY);
+        if (ret != null || endpoint.containsKey(FAILED_KEY)) {
+            return ret;
+        }
         synchronized (endpoint) {
-            XMLValidationSchema ret = (XMLValidationSchema) endpoint.get(KEY);
+            ret = (XMLValidationSchema) endpoint.get(KEY);
             if (ret == null) {
-                if (endpoint.containsKey(KEY)) {
+                if (endpoint.containsKey(FAILED_KEY)) {
                     return null;
                 }
                 Map<String, Source> sources = new TreeMap<>();
@@ -192,8 +209,8 @@ class Stax2ValidationUtils {
                     ret = (XMLValidationSchema) method.invoke(multiSchemaFactory.newInstance(), null, sources);
                     endpoint.put(KEY, ret);
                 } catch (Throwable t) {
-                    LOG.log(Level.INFO, "Problem loading schemas. Falling back to slower method.", ret);
-                    endpoint.put(KEY, null);
+                    LOG.log(Level.INFO, "Problem loading schemas. Falling back to slower method.", t);
+                    endpoint.put(FAILED_KEY, Boolean.TRUE);
                 }
             }
             return ret;
@@ -34,6 +34,12 @@ import org.apache.cxf.phase.AbstractPhaseInterceptor;
 import org.apache.cxf.phase.Phase;
 
 public class StaxSchemaValidationInInterceptor extends AbstractPhaseInterceptor<Message> {
+    /**
+     * Message property set once the XMLStreamReader of the message validates its content itself,
+     * the data readers then do not need to validate again.
+     */
+    public static final String STREAM_VALIDATED = StaxSchemaValidationInInterceptor.class.getName() + ".validated";
+
     private static final Logger LOG = LogUtils.getL7dLogger(StaxSchemaValidationInInterceptor.class);
 
     public StaxSchemaValidationInInterceptor() {
@@ -58,6 +64,9 @@ public class StaxSchemaValidationInInterceptor extends AbstractPhaseInterceptor<
                 if (mgr.canValidate()) {
                     mgr.setupValidation(reader, message.getExchange().getEndpoint(),
                                         message.getExchange().getService().getServiceInfos().get(0));
+                    if (mgr.canValidate() && reader != null) {
+                        message.put(STREAM_VALIDATED, Boolean.TRUE);
+                    }
                 }
             } catch (Throwable t) {
                 //likely no MSV or similar
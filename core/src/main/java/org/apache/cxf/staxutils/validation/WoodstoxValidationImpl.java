@@ -35,16 +35,22 @@ import org.apache.cxf.service.model.ServiceInfo;
  */
 public class WoodstoxValidationImpl {
     private static final Logger LOG = LogUtils.getL7dLogger(WoodstoxValidationImpl.class);
+    private static final Stax2ValidationUtils SHARED_UTILS = createUtils();
 
     private Stax2ValidationUtils utils;
 
 
     public WoodstoxValidationImpl() {
+        utils = SHARED_UTILS;
+    }
+
+    private static Stax2ValidationUtils createUtils() {
+        // stateless, the schemas are cached on the endpoints
         try {
-            utils = new Stax2ValidationUtils();
+            return new Stax2ValidationUtils();
         } catch (Throwable e) {
             LOG.log(Level.FINE, "Problem initializing MSV validation", e);
-            return;
+            return null;
         }
     }
     public boolean canValidate() {
@@ -60,6 +66,15 @@ public class WoodstoxValidationImpl {
         }
     }
 
+    /**
+     * Stops a validation previously set up with {@link #setupValidation(XMLStreamReader, Endpoint, ServiceInfo)}
+     */
+    public void stopValidation(XMLStreamReader reader, Endpoint endpoint) throws XMLStreamException {
+        if (utils != null && reader != null) {
+            utils.stopValidation(reader, endpoint);
+        }
+    }
+
     public void setupValidation(XMLStreamWriter writer,
                                 Endpoint endpoint,
                                 ServiceInfo serviceInfo) throws XMLStreamException {
@@ -22,6 +22,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.PushbackInputStream;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -783,4 +784,51 @@ public class AttachmentDeserializerTest {
         assertEquals("passwd", dataSource.getName());
     }
 
+    @Test
+    public void testLargePartsWithBoundaryLikeContent() throws Exception {
+        String boundary = "----=_Part_77";
+        StringBuilder content = new StringBuilder(80000);
+        for (int i = 0; i < 2000; i++) {
+            content.append("line ").append(i).append(" --").append("\r\n------=_Part_7 -\r\n--");
+        }
+        String data = content.toString();
+        String body = "--" + boundary + "\r\n\r\n<envelope/>\r\n"
+            + "--" + boundary + "\r\nContent-Id: <a1>\r\n\r\n" + data + "\r\n"
+            + "--" + boundary + "\r\nContent-Id: <a2>\r\n\r\n" + data + "x\r\n"
+            + "--" + boundary + "--";
+
+        msg.put(Message.CONTENT_TYPE, "multipart/related; boundary=\"" + boundary + "\"");
+        msg.setContent(InputStream.class, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        AttachmentDeserializer ad = new AttachmentDeserializer(msg);
+        ad.initializeAttachments();
+
+        assertEquals("<envelope/>", IOUtils.toString(msg.getContent(InputStream.class), 8192));
+        Iterator<Attachment> it = msg.getAttachments().iterator();
+        assertTrue(it.hasNext());
+        assertEquals(data, IOUtils.toString(it.next().getDataHandler().getInputStream(), 8192));
+        assertTrue(it.hasNext());
+        assertEquals(data + "x", IOUtils.toString(it.next().getDataHandler().getInputStream(), 8192));
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void testTransferStreamedAttachmentToChannel() throws Exception {
+        String body = "------=_Part_1\r\n\r\n<envelope/>\r\n"
+            + "------=_Part_1\r\nContent-Id: <a1>\r\n\r\nABCD1\r\n"
+            + "------=_Part_1--";
+        msg.put(Message.CONTENT_TYPE, "multipart/related; boundary=\"----=_Part_1\"");
+        msg.setContent(InputStream.class, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        AttachmentDeserializer ad = new AttachmentDeserializer(msg);
+        ad.initializeAttachments();
+        IOUtils.toString(msg.getContent(InputStream.class));
+
+        Iterator<Attachment> it = msg.getAttachments().iterator();
+        assertTrue(it.hasNext());
+        AttachmentDataSource ds = (AttachmentDataSource)it.next().getDataHandler().getDataSource();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(5, ds.transferTo(Channels.newChannel(out)));
+        assertFalse(ds.isCached());
+        assertEquals("ABCD1", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
 }
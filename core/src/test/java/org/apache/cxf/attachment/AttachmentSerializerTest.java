@@ -20,14 +20,19 @@ package org.apache.cxf.attachment;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Properties;
 
 import javax.activation.DataHandler;
 import javax.activation.DataSource;
+import javax.activation.FileDataSource;
 import javax.mail.Session;
 import javax.mail.internet.MimeBodyPart;
 import javax.mail.internet.MimeMessage;
@@ -239,6 +244,43 @@ public class AttachmentSerializerTest {
 
     }
 
+    @Test
+    public void testWriteByteAndFileAttachments() throws Exception {
+        File file = File.createTempFile("attachment", ".bin");
+        file.deleteOnExit();
+        File target = File.createTempFile("message", ".bin");
+        target.deleteOnExit();
+        Files.write(file.toPath(), "file content".getBytes(StandardCharsets.UTF_8));
+
+        MessageImpl msg = new MessageImpl();
+        Collection<Attachment> atts = new ArrayList<>();
+        AttachmentImpl a1 = new AttachmentImpl("bytes");
+        a1.setDataHandler(new DataHandler(
+            new ByteDataSource("xxbyte contentxx".getBytes(StandardCharsets.UTF_8), 2, 12)));
+        atts.add(a1);
+        AttachmentImpl a2 = new AttachmentImpl("file");
+        a2.setDataHandler(new DataHandler(new FileDataSource(file)));
+        atts.add(a2);
+        msg.setAttachments(atts);
+        msg.put(Message.CONTENT_TYPE, "application/soap+xml");
+
+        String ct;
+        try (OutputStream out = new FileOutputStream(target)) {
+            msg.setContent(OutputStream.class, out);
+            AttachmentSerializer serializer = new AttachmentSerializer(msg);
+            serializer.writeProlog();
+            ct = (String) msg.get(Message.CONTENT_TYPE);
+            out.write("<soap:Body/>".getBytes());
+            serializer.writeAttachments();
+        }
+
+        DataSource source = new ByteArrayDataSource(Files.readAllBytes(target.toPath()), ct);
+        MimeMultipart multipart = new MimeMultipart(source);
+        assertEquals(3, multipart.getCount());
+        assertEquals("byte content", IOUtils.toString(multipart.getBodyPart(1).getInputStream()));
+        assertEquals("file content", IOUtils.toString(multipart.getBodyPart(2).getInputStream()));
+    }
+
     private static String escapeQuotes(String s) {
         return s.indexOf('"') != 0 ? s.replace("\"", "\\\"") : s;
     }
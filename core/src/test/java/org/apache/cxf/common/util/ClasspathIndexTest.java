@@ -0,0 +1,180 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.common.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.apache.cxf.helpers.FileUtils;
+import org.apache.cxf.helpers.IOUtils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class ClasspathIndexTest {
+    private static final String PACKAGE = Indexed.class.getPackage().getName();
+    private static final List<Class<? extends Annotation>> ANNOTATIONS = Collections.singletonList(Deprecated.class);
+
+    @Test
+    public void testIndexedClasses() throws Exception {
+        File dir = createLocation(true);
+        try (URLClassLoader loader = createLoader(dir)) {
+            Map<Class<? extends Annotation>, Collection<Class<?>>> classes =
+                ClasspathIndex.findClasses(Collections.singletonList(PACKAGE), ANNOTATIONS, loader);
+            Collection<Class<?>> found = classes.get(Deprecated.class);
+            assertEquals(1, found.size());
+            assertEquals(Indexed.class.getName(), found.iterator().next().getName());
+
+            // the parent package is not covered by the index
+            assertNull(ClasspathIndex.findClasses(Collections.singletonList("org.apache.cxf"),
+                                                  ANNOTATIONS, loader));
+            assertNull(ClasspathIndex.findClasses(Collections.singletonList(PACKAGE),
+                                                  Collections.singletonList(FunctionalInterface.class),
+                                                  loader));
+        } finally {
+            FileUtils.removeDir(dir);
+        }
+    }
+
+    @Test
+    public void testUnindexedLocationContributingToPackage() throws Exception {
+        File indexed = createLocation(true);
+        File unindexed = createLocation(false);
+        try (URLClassLoader loader = createLoader(indexed, unindexed)) {
+            // the classes of the location without the index would be missed
+            assertNull(ClasspathIndex.findClasses(Collections.singletonList(PACKAGE), ANNOTATIONS, loader));
+        } finally {
+            FileUtils.removeDir(indexed);
+            FileUtils.removeDir(unindexed);
+        }
+    }
+
+    @Test
+    public void testIndexedJarWithoutDirectoryEntries() throws Exception {
+        File jar = createJar(true);
+        try (URLClassLoader loader = createLoader(jar)) {
+            Map<Class<? extends Annotation>, Collection<Class<?>>> classes =
+                ClasspathIndex.findClasses(Collections.singletonList(PACKAGE), ANNOTATIONS, loader);
+            Collection<Class<?>> found = classes.get(Deprecated.class);
+            assertEquals(1, found.size());
+            assertEquals(Indexed.class.getName(), found.iterator().next().getName());
+        } finally {
+            jar.delete();
+        }
+    }
+
+    @Test
+    public void testPackageWithoutLocation() throws Exception {
+        File unindexed = createJar(false);
+        File other = Files.createTempDirectory("cxf-index").toFile();
+        File index = new File(other, ClasspathIndex.INDEX_LOCATION);
+        index.getParentFile().mkdirs();
+        try (OutputStream os = new FileOutputStream(index)) {
+            ClasspathIndex.write(Collections.singletonList("org.example"), Collections.emptyMap(), ANNOTATIONS, os);
+        }
+        try (URLClassLoader loader = createLoader(unindexed, other)) {
+            // the package is only in the jar without the directory entries and without the index
+            assertNull(ClasspathIndex.findClasses(Collections.singletonList(PACKAGE), ANNOTATIONS, loader));
+        } finally {
+            unindexed.delete();
+            FileUtils.removeDir(other);
+        }
+    }
+
+    @Test
+    public void testIndexNotEnabledByDefault() {
+        assertFalse(ClasspathIndex.isEnabled());
+    }
+
+    private static URLClassLoader createLoader(File... dirs) throws Exception {
+        URL[] urls = new URL[dirs.length];
+        for (int i = 0; i < dirs.length; i++) {
+            urls[i] = dirs[i].toURI().toURL();
+        }
+        // only the given locations are visible
+        return new URLClassLoader(urls, ClassLoader.getSystemClassLoader().getParent());
+    }
+
+    /**
+     * Creates a classpath directory with a copy of the Indexed class and optionally its index
+     */
+    private static File createLocation(boolean withIndex) throws Exception {
+        File dir = Files.createTempDirectory("cxf-index").toFile();
+        String classFile = Indexed.class.getName().replace('.', '/') + ".class";
+        File target = new File(dir, classFile);
+        target.getParentFile().mkdirs();
+        try (InputStream is = Indexed.class.getClassLoader().getResourceAsStream(classFile)) {
+            Files.copy(is, target.toPath());
+        }
+        if (withIndex) {
+            File index = new File(dir, ClasspathIndex.INDEX_LOCATION);
+            index.getParentFile().mkdirs();
+            try (OutputStream os = new FileOutputStream(index)) {
+                ClasspathIndex.write(Collections.singletonList(PACKAGE),
+                    Collections.singletonMap(Deprecated.class, Arrays.asList(Indexed.class, String.class)),
+                    ANNOTATIONS, os);
+            }
+        }
+        return dir;
+    }
+
+    /**
+     * Creates a jar with a copy of the Indexed class and optionally its index, but without
+     * the directory entries
+     */
+    private static File createJar(boolean withIndex) throws Exception {
+        File jar = Files.createTempFile("cxf-index", ".jar").toFile();
+        String classFile = Indexed.class.getName().replace('.', '/') + ".class";
+        try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(jar))) {
+            jos.putNextEntry(new JarEntry(classFile));
+            try (InputStream is = Indexed.class.getClassLoader().getResourceAsStream(classFile)) {
+                IOUtils.copy(is, jos);
+            }
+            jos.closeEntry();
+            if (withIndex) {
+                jos.putNextEntry(new JarEntry(ClasspathIndex.INDEX_LOCATION));
+                ClasspathIndex.write(Collections.singletonList(PACKAGE),
+                    Collections.singletonMap(Deprecated.class, Arrays.asList(Indexed.class)), ANNOTATIONS, jos);
+                jos.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    @Deprecated
+    static class Indexed {
+    }
+}
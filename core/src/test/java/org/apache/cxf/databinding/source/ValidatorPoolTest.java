@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.databinding.source;
+
+import java.io.StringReader;
+
+import javax.xml.XMLConstants;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
+
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.service.Service;
+import org.apache.cxf.service.ServiceImpl;
+import org.apache.cxf.service.model.ServiceInfo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ValidatorPoolTest {
+    private static final String XSD = "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>"
+        + "<xs:element name='dummy' type='xs:string'/></xs:schema>";
+
+    @Test
+    public void testValidatorReused() throws Exception {
+        Schema schema = newSchema();
+        Message message = newMessage();
+
+        ValidatorPool pool = ValidatorPool.getPool(message, schema);
+        assertNotNull(pool);
+        assertSame(pool, ValidatorPool.getPool(message, schema));
+
+        Validator validator = ValidatorPool.acquire(pool, schema);
+        validator.validate(new StreamSource(new StringReader("<dummy>text</dummy>")));
+        ValidatorPool.release(pool, validator);
+        assertSame(validator, ValidatorPool.acquire(pool, schema));
+    }
+
+    @Test
+    public void testNewPoolForNewSchema() throws Exception {
+        Message message = newMessage();
+        ValidatorPool pool = ValidatorPool.getPool(message, newSchema());
+        assertNotSame(pool, ValidatorPool.getPool(message, newSchema()));
+    }
+
+    @Test
+    public void testNoPoolWithoutService() throws Exception {
+        Schema schema = newSchema();
+        assertNull(ValidatorPool.getPool(new MessageImpl(), schema));
+        assertNull(ValidatorPool.getPool(null, schema));
+        assertNotNull(ValidatorPool.acquire(null, schema));
+    }
+
+    private static Schema newSchema() throws Exception {
+        return SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+            .newSchema(new StreamSource(new StringReader(XSD)));
+    }
+
+    private static Message newMessage() {
+        Service service = new ServiceImpl(new ServiceInfo());
+        Exchange exchange = new ExchangeImpl();
+        exchange.put(Service.class, service);
+        Message message = new MessageImpl();
+        message.setExchange(exchange);
+        return message;
+    }
+}
@@ -25,10 +25,13 @@ import java.io.InputStream;
 
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
 
+import org.apache.cxf.helpers.IOUtils;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.message.MessageImpl;
 import org.apache.cxf.staxutils.StaxUtils;
+import org.apache.cxf.staxutils.XMLStreamReaderInputStream;
 
 import org.junit.Test;
 
@@ -63,6 +66,30 @@ public class XMLStreamDataReaderTest {
         assertTrue(in1.isClosed());
     }
 
+    @Test
+    public void testStreamPayload() throws Exception {
+        XMLStreamDataReader reader = new XMLStreamDataReader();
+        Message msg = new MessageImpl();
+        msg.put(SourceDataBinding.STREAM_PAYLOAD, Boolean.TRUE);
+
+        TestInputStream in1 = new TestInputStream(DUMMY_DATA);
+        msg.setContent(InputStream.class, in1);
+        reader.setProperty(Message.class.getName(), msg);
+
+        XMLStreamReader xmlReader = StaxUtils.createXMLStreamReader(in1);
+        xmlReader.nextTag();
+        Object obj = reader.read(new QName("http://www.apache.org/cxf", "dummy"), xmlReader, StreamSource.class);
+
+        assertTrue(obj instanceof StreamSource);
+        InputStream payload = ((StreamSource)obj).getInputStream();
+        assertTrue(payload instanceof XMLStreamReaderInputStream);
+        assertFalse(in1.isClosed());
+
+        String xml = IOUtils.toString(payload);
+        assertTrue(xml, xml.contains("dummy") && xml.contains("http://www.apache.org/cxf"));
+        assertTrue(in1.isClosed());
+    }
+
     private static class TestInputStream extends ByteArrayInputStream {
         private boolean closed;
 
@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.interceptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamConstants;
+
+import com.sun.xml.fastinfoset.stax.StAXDocumentParser;
+import com.sun.xml.fastinfoset.stax.StAXDocumentSerializer;
+import com.sun.xml.fastinfoset.vocab.SerializerVocabulary;
+
+import org.apache.cxf.service.Service;
+import org.apache.cxf.service.ServiceImpl;
+import org.apache.cxf.service.model.SchemaInfo;
+import org.apache.cxf.service.model.ServiceInfo;
+import org.apache.ws.commons.schema.XmlSchemaCollection;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FIVocabularyTest {
+    private static final String NS = "http://cxf.apache.org/fi/test";
+    private static final String SOAP_NS = "http://schemas.xmlsoap.org/soap/envelope/";
+
+    @Test
+    public void testURIDependsOnContract() throws Exception {
+        FIVocabulary v1 = FIVocabulary.create(createService("book"));
+        FIVocabulary v2 = FIVocabulary.create(createService("book"));
+        FIVocabulary v3 = FIVocabulary.create(createService("magazine"));
+
+        assertTrue(v1.getURI().startsWith(FIVocabulary.URI_PREFIX));
+        assertEquals(v1.getURI(), v2.getURI());
+        assertNotEquals(v1.getURI(), v3.getURI());
+    }
+
+    @Test
+    public void testReusedSerializer() throws Exception {
+        FIVocabulary vocabulary = FIVocabulary.create(createService("book"));
+        StAXDocumentSerializer serializer = new StAXDocumentSerializer();
+        SerializerVocabulary v = vocabulary.newSerializerVocabulary();
+        for (int i = 0; i < 3; i++) {
+            v.clear();
+            serializer.setVocabulary(v);
+            byte[] doc = write(serializer, "ns" + i);
+            assertEquals(readNames(doc, vocabulary), readNames(write(new StAXDocumentSerializer(), "ns"), null));
+            assertTrue(doc.length < write(new StAXDocumentSerializer(), "ns").length);
+        }
+    }
+
+    private static byte[] write(StAXDocumentSerializer serializer, String prefix) throws Exception {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        serializer.setOutputStream(bos);
+        serializer.writeStartDocument();
+        serializer.writeStartElement("soap", "Envelope", SOAP_NS);
+        serializer.writeNamespace("soap", SOAP_NS);
+        serializer.writeStartElement("soap", "Body", SOAP_NS);
+        serializer.writeStartElement(prefix, "book", NS);
+        serializer.writeNamespace(prefix, NS);
+        serializer.writeAttribute("id", "1");
+        serializer.writeStartElement("", "title", "");
+        serializer.writeCharacters("CXF");
+        serializer.writeEndElement();
+        serializer.writeEndElement();
+        serializer.writeEndElement();
+        serializer.writeEndElement();
+        serializer.writeEndDocument();
+        serializer.close();
+        return bos.toByteArray();
+    }
+
+    private static List<String> readNames(byte[] doc, FIVocabulary vocabulary) throws Exception {
+        StAXDocumentParser parser = new StAXDocumentParser(new ByteArrayInputStream(doc));
+        parser.setStringInterning(true);
+        if (vocabulary != null) {
+            parser.setExternalVocabularies(vocabulary.getParserVocabularies());
+        }
+        List<String> names = new ArrayList<>();
+        while (parser.hasNext()) {
+            if (parser.next() == XMLStreamConstants.START_ELEMENT) {
+                names.add(parser.getName().toString());
+                for (int i = 0; i < parser.getAttributeCount(); i++) {
+                    names.add(parser.getAttributeName(i) + "=" + parser.getAttributeValue(i));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static Service createService(String name) {
+        String xsd = "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema' targetNamespace='" + NS + "'>"
+            + "<xs:element name='" + name + "'><xs:complexType><xs:sequence>"
+            + "<xs:element name='title' type='xs:string'/>"
+            + "</xs:sequence><xs:attribute name='id' type='xs:int'/></xs:complexType></xs:element>"
+            + "</xs:schema>";
+        SchemaInfo schemaInfo = new SchemaInfo(NS);
+        schemaInfo.setSchema(new XmlSchemaCollection().read(new StringReader(xsd)));
+        ServiceInfo serviceInfo = new ServiceInfo();
+        serviceInfo.addSchema(schemaInfo);
+        return new ServiceImpl(serviceInfo);
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.staxutils;
+
+import java.io.StringReader;
+
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import org.apache.cxf.helpers.DOMUtils;
+import org.apache.cxf.helpers.IOUtils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class XMLStreamReaderInputStreamTest {
+
+    @Test
+    public void testReadFragment() throws Exception {
+        XMLStreamReader reader = StaxUtils.createXMLStreamReader(new StringReader(
+            "<env xmlns='urn:env'><body><p:payload xmlns:p='urn:p' a='1'>text<!--c--><p:e/></p:payload></body></env>"));
+        while (!reader.isStartElement() || !"payload".equals(reader.getLocalName())) {
+            reader.next();
+        }
+
+        String xml = IOUtils.toString(new XMLStreamReaderInputStream(new FragmentStreamReader(reader, false)));
+
+        Document doc = StaxUtils.read(new StringReader(xml));
+        Element root = doc.getDocumentElement();
+        assertEquals("urn:p", root.getNamespaceURI());
+        assertEquals("payload", root.getLocalName());
+        assertEquals("1", root.getAttribute("a"));
+        assertEquals("text", root.getFirstChild().getNodeValue());
+        assertEquals("e", DOMUtils.getFirstElement(root).getLocalName());
+    }
+
+    @Test
+    public void testReadLargeDocumentInChunks() throws Exception {
+        StringBuilder sb = new StringBuilder(200000);
+        sb.append("<root>");
+        for (int i = 0; i < 5000; i++) {
+            sb.append("<item id='").append(i).append("'>value ").append(i).append("</item>");
+        }
+        sb.append("</root>");
+        XMLStreamReader reader = StaxUtils.createXMLStreamReader(new StringReader(sb.toString()));
+
+        String xml = IOUtils.toString(new XMLStreamReaderInputStream(reader), 1024);
+
+        Document doc = StaxUtils.read(new StringReader(xml));
+        assertEquals(5000, doc.getDocumentElement().getElementsByTagName("item").getLength());
+        assertEquals("value 4999",
+                     doc.getDocumentElement().getElementsByTagName("item").item(4999).getTextContent());
+    }
+}
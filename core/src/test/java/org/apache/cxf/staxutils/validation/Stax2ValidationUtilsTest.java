@@ -121,8 +121,8 @@ public class Stax2ValidationUtilsTest {
         schemaCol.read(new StreamSource(io, sysId));
         serviceInfo.addSchema(schemaInfo);
         schemaInfo.setSchema(schemaCol.getXmlSchema(sysId)[0]);
-        expect(endpoint.get(anyObject())).andReturn(null);
-        expect(endpoint.containsKey(anyObject())).andReturn(false);
+        expect(endpoint.get(anyObject())).andReturn(null).times(2);
+        expect(endpoint.containsKey(anyObject())).andReturn(false).times(2);
         expect(endpoint.put(anyString(), anyObject())).andReturn(null);
         replay(endpoint);
     }
@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.maven_plugin.javatowadl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.cxf.common.util.ClasspathIndex;
+import org.apache.cxf.common.util.ClasspathScanner;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Writes the index of the JAX-RS root resources and providers found in the base packages
+ * to META-INF/cxf/annotated-classes.idx so that the runtime does not scan the classpath
+ * for these packages once the org.apache.cxf.classpath.index.enabled system property is set.
+ *
+ * @goal index
+ * @phase process-classes
+ * @description CXF JAX-RS Annotated Classes Index
+ * @requiresDependencyResolution runtime
+ * @threadSafe
+*/
+public class JaxrsIndexMojo extends AbstractMojo {
+    private static final String[] DEFAULT_ANNOTATIONS = {
+        "javax.ws.rs.Path",
+        "javax.ws.rs.ext.Provider",
+        "javax.ws.rs.ApplicationPath",
+        "org.apache.cxf.annotations.Provider"
+    };
+
+    /**
+     * @parameter
+     * @required
+     */
+    private String basePackages;
+
+    /**
+     * @parameter
+     */
+    private List<String> annotations;
+
+    /**
+     * @parameter expression="${project.build.outputDirectory}"
+     */
+    private File outputDirectory;
+
+    /**
+     * @parameter expression="${project}"
+     * @required
+     */
+    private MavenProject project;
+
+    public void execute() throws MojoExecutionException {
+        File indexFile = new File(outputDirectory, ClasspathIndex.INDEX_LOCATION);
+        if (indexFile.exists() && !indexFile.delete()) {
+            throw new MojoExecutionException("Index " + indexFile + " can not be replaced");
+        }
+        try (URLClassLoader loader = getClassLoader()) {
+            List<Class<? extends Annotation>> anns = loadAnnotations(loader);
+            Set<String> packages = ClasspathScanner.parsePackages(basePackages);
+            Map<Class<? extends Annotation>, Collection<Class<?>>> discovered =
+                ClasspathScanner.findClasses(packages, anns, loader);
+            indexFile.getParentFile().mkdirs();
+            try (OutputStream os = new FileOutputStream(indexFile)) {
+                ClasspathIndex.write(packages, discovered, anns, os);
+            }
+            int count = 0;
+            for (Collection<Class<?>> classes : discovered.values()) {
+                count += classes.size();
+            }
+            getLog().info("Indexed " + count + " annotated classes in " + packages);
+        } catch (MojoExecutionException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new MojoExecutionException(ex.getMessage(), ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Class<? extends Annotation>> loadAnnotations(ClassLoader loader) throws MojoExecutionException {
+        List<String> names = new ArrayList<>();
+        if (annotations == null || annotations.isEmpty()) {
+            for (String name : DEFAULT_ANNOTATIONS) {
+                names.add(name);
+            }
+        } else {
+            names.addAll(annotations);
+        }
+        List<Class<? extends Annotation>> anns = new ArrayList<>(names.size());
+        for (String name : names) {
+            try {
+                anns.add((Class<? extends Annotation>)loader.loadClass(name));
+            } catch (ClassNotFoundException ex) {
+                if (annotations != null && annotations.contains(name)) {
+                    throw new MojoExecutionException("Annotation " + name + " is not available", ex);
+                }
+                getLog().debug("Annotation " + name + " is not available");
+            }
+        }
+        return anns;
+    }
+
+    private URLClassLoader getClassLoader() throws Exception {
+        List<?> runtimeClasspathElements = project.getRuntimeClasspathElements();
+        URL[] runtimeUrls = new URL[runtimeClasspathElements.size()];
+        for (int i = 0; i < runtimeClasspathElements.size(); i++) {
+            String element = (String)runtimeClasspathElements.get(i);
+            runtimeUrls[i] = new File(element).toURI().toURL();
+        }
+        return new URLClassLoader(runtimeUrls, Thread.currentThread().getContextClassLoader());
+    }
+}
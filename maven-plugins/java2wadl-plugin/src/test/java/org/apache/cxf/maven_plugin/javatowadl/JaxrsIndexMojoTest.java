@@ -0,0 +1,91 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.maven_plugin.javatowadl;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.cxf.common.util.ClasspathIndex;
+import org.apache.cxf.helpers.FileUtils;
+import org.apache.maven.project.MavenProject;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class JaxrsIndexMojoTest {
+    private static final String PACKAGE = JaxrsIndexMojoTest.class.getPackage().getName();
+
+    @Test
+    public void testIndexIsGenerated() throws Exception {
+        File outputDirectory = Files.createTempDirectory("cxf-index").toFile();
+        try {
+            JaxrsIndexMojo mojo = new JaxrsIndexMojo();
+            set(mojo, "basePackages", PACKAGE);
+            set(mojo, "annotations", Collections.singletonList(Indexed.class.getName()));
+            set(mojo, "outputDirectory", outputDirectory);
+            set(mojo, "project", new MavenProject() {
+                @Override
+                public List<String> getRuntimeClasspathElements() {
+                    return Collections.singletonList(getClassesDirectory().getAbsolutePath());
+                }
+            });
+            mojo.execute();
+
+            Properties index = new Properties();
+            try (InputStream is = new FileInputStream(new File(outputDirectory, ClasspathIndex.INDEX_LOCATION))) {
+                index.load(is);
+            }
+            assertEquals(PACKAGE, index.getProperty(ClasspathIndex.PACKAGES_KEY));
+            assertEquals(Indexed.class.getName(), index.getProperty(ClasspathIndex.ANNOTATIONS_KEY));
+            // only the annotated class is indexed
+            assertEquals(Annotated.class.getName(), index.getProperty(Indexed.class.getName()));
+        } finally {
+            FileUtils.removeDir(outputDirectory);
+        }
+    }
+
+    private static File getClassesDirectory() {
+        String classFile = Annotated.class.getName().replace('.', '/') + ".class";
+        String path = new File(Annotated.class.getClassLoader().getResource(classFile).getPath()).getPath();
+        return new File(path.substring(0, path.length() - classFile.length()));
+    }
+
+    private static void set(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Indexed {
+    }
+
+    @Indexed
+    public static class Annotated {
+    }
+}
@@ -30,6 +30,9 @@ import javax.xml.namespace.QName;
 
 import org.apache.cxf.aegis.DatabindingException;
 import org.apache.cxf.aegis.type.basic.ArrayType;
+import org.apache.cxf.aegis.type.basic.BeanType;
+import org.apache.cxf.aegis.type.basic.BeanTypeInfo;
+import org.apache.cxf.aegis.type.basic.MethodHandleBeanType;
 import org.apache.cxf.aegis.type.basic.ObjectType;
 import org.apache.cxf.aegis.type.collection.CollectionType;
 import org.apache.cxf.aegis.type.collection.MapType;
@@ -433,6 +436,19 @@ public abstract class AbstractTypeCreator implements TypeCreator {
         return createTypeForClass(info);
     }
 
+    /**
+     * Create the BeanType for a bean class, using method handle based property
+     * access if enabled in the {@link TypeCreationOptions}.
+     * @param info the type info, or null to let the type create it later
+     */
+    protected BeanType createBeanType(BeanTypeInfo info) {
+        boolean methodHandles = typeConfiguration != null && typeConfiguration.isUseMethodHandleAccessors();
+        if (info == null) {
+            return methodHandles ? new MethodHandleBeanType() : new BeanType();
+        }
+        return methodHandles ? new MethodHandleBeanType(info) : new BeanType(info);
+    }
+
     public TypeCreationOptions getConfiguration() {
         return typeConfiguration;
     }
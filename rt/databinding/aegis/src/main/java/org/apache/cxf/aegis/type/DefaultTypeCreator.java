@@ -65,7 +65,7 @@ public class DefaultTypeCreator extends AbstractTypeCreator {
 
     @Override
     public AegisType createDefaultType(TypeClassInfo info) {
-        BeanType type = new BeanType();
+        BeanType type = createBeanType(null);
         /*
          * As of this point, we refuse to do this for generics in general.
          * This might be revisited ... it might turn out to 'just work'.
@@ -39,6 +39,7 @@ public class TypeCreationOptions {
     private int defaultMinOccurs;
     private boolean qualifyElements = true;
     private boolean qualifyAttributes;
+    private boolean useMethodHandleAccessors;
 
     public TypeCreationOptions() {
         super();
@@ -127,4 +128,22 @@ public class TypeCreationOptions {
     public void setQualifyAttributes(boolean qualifyAttributes) {
         this.qualifyAttributes = qualifyAttributes;
     }
+
+    /**
+     * Whether bean properties are accessed through method handles resolved once per
+     * property instead of reflective calls on every read and write.
+     * False by default.
+     * @return
+     */
+    public boolean isUseMethodHandleAccessors() {
+        return useMethodHandleAccessors;
+    }
+
+    /**
+     * Turn on or off method handle based bean property access.
+     * @param useMethodHandleAccessors
+     */
+    public void setUseMethodHandleAccessors(boolean useMethodHandleAccessors) {
+        this.useMethodHandleAccessors = useMethodHandleAccessors;
+    }
 }
@@ -393,7 +393,7 @@ public class XMLTypeCreator extends AbstractTypeCreator {
 
             btinfo.setQualifyAttributes(this.getConfiguration().isQualifyAttributes());
             btinfo.setQualifyElements(this.getConfiguration().isQualifyElements());
-            BeanType type = new BeanType(btinfo);
+            BeanType type = createBeanType(btinfo);
 
             if (name == null) {
                 name = createQName(relatedClass);
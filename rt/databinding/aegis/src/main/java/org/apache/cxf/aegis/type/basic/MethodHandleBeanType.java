@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.aegis.type.basic;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.namespace.QName;
+
+import org.apache.cxf.aegis.DatabindingException;
+import org.apache.cxf.common.util.ReflectionUtil;
+
+/**
+ * A BeanType that reads and writes bean properties through method handles resolved once
+ * per property, rather than looking up the property descriptor and calling
+ * {@link Method#invoke(Object, Object...)} for every property of every object. The schema
+ * and the XML produced are the same as for {@link BeanType}; properties that cannot be
+ * accessed through a handle (interface proxies, list properties without a setter, ...)
+ * fall back to the reflective implementation.
+ *
+ * @see org.apache.cxf.aegis.type.TypeCreationOptions#setUseMethodHandleAccessors(boolean)
+ */
+public class MethodHandleBeanType extends BeanType {
+    private static final MethodType READER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Map<QName, Accessor> accessors = new ConcurrentHashMap<>();
+
+    public MethodHandleBeanType() {
+    }
+
+    public MethodHandleBeanType(BeanTypeInfo info) {
+        super(info);
+    }
+
+    @Override
+    protected Object readProperty(Object object, QName name) {
+        Accessor accessor = getAccessor(name);
+        if (accessor.reader == null) {
+            return super.readProperty(object, name);
+        }
+        try {
+            return (Object)accessor.reader.invokeExact(object);
+        } catch (Throwable e) {
+            throw new DatabindingException("Couldn't get property " + name + " from bean " + object, e);
+        }
+    }
+
+    @Override
+    protected void writeProperty(QName name, Object object, Object property,
+                                 Class<?> impl, BeanTypeInfo inf)
+        throws DatabindingException {
+        Accessor accessor = getAccessor(name);
+        if (accessor.writer == null || object instanceof InterfaceInvocationHandler) {
+            super.writeProperty(name, object, property, impl, inf);
+            return;
+        }
+        if (property == null && accessor.primitive) {
+            return;
+        }
+        try {
+            accessor.writer.invokeExact(object, property);
+        } catch (Throwable e) {
+            throw new DatabindingException("Couldn't set property " + name + " on " + object + ". "
+                                           + e.getMessage(), e);
+        }
+    }
+
+    private Accessor getAccessor(QName name) {
+        Accessor accessor = accessors.get(name);
+        if (accessor == null) {
+            accessor = new Accessor(getTypeInfo().getPropertyDescriptorFromMappedName(name));
+            accessors.put(name, accessor);
+        }
+        return accessor;
+    }
+
+    private static MethodHandle unreflect(Method m, MethodType type) {
+        if (m == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup().unreflect(m).asType(type);
+        } catch (IllegalAccessException e) {
+            try {
+                return MethodHandles.lookup().unreflect(ReflectionUtil.setAccessible(m)).asType(type);
+            } catch (IllegalAccessException | RuntimeException e2) {
+                return null;
+            }
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static final class Accessor {
+        final MethodHandle reader;
+        final MethodHandle writer;
+        final boolean primitive;
+
+        Accessor(PropertyDescriptor desc) {
+            if (desc == null) {
+                reader = null;
+                writer = null;
+                primitive = false;
+            } else {
+                reader = unreflect(desc.getReadMethod(), READER_TYPE);
+                writer = unreflect(desc.getWriteMethod(), WRITER_TYPE);
+                primitive = desc.getPropertyType() != null && desc.getPropertyType().isPrimitive();
+            }
+        }
+    }
+}
@@ -295,7 +295,7 @@ public class Java5TypeCreator extends AbstractTypeCreator {
         typeInfo.setDefaultMinOccurs(getConfiguration().getDefaultMinOccurs());
         typeInfo.setDefaultNillable(getConfiguration().isDefaultNillable());
 
-        BeanType type = new BeanType(typeInfo);
+        BeanType type = createBeanType(typeInfo);
         type.setTypeMapping(getTypeMapping());
         type.setSchemaType(typeName);
 
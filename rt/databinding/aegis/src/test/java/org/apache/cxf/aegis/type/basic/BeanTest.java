@@ -430,6 +430,42 @@ public class BeanTest extends AbstractAegisTest {
         assertTrue(int1ok);
     }
 
+    @Test
+    public void testMethodHandleAccessors() throws Exception {
+        context = new AegisContext();
+        TypeCreationOptions config = new TypeCreationOptions();
+        config.setUseMethodHandleAccessors(true);
+        context.setTypeCreationOptions(config);
+        context.initialize();
+        mapping = context.getTypeMapping();
+
+        assertTrue(mapping.getTypeCreator().createType(SimpleBean.class) instanceof MethodHandleBeanType);
+
+        BeanType type = new MethodHandleBeanType();
+        type.setTypeClass(SimpleBean.class);
+        type.setTypeMapping(mapping);
+        type.setSchemaType(new QName("urn:Bean", "bean"));
+
+        ElementReader reader = new ElementReader(getResourceAsStream("bean1.xml"));
+        SimpleBean bean = (SimpleBean)type.readObject(reader, getContext());
+        assertEquals("bleh", bean.getBleh());
+        assertEquals("howdy", bean.getHowdy());
+        reader.getXMLStreamReader().close();
+
+        Element element = writeObjectToElement(type, bean, getContext());
+        assertValid("/b:root/b:bleh[text()='bleh']", element);
+        assertValid("/b:root/b:howdy[text()='howdy']", element);
+
+        BeanType intType = (BeanType)mapping.getTypeCreator().createType(IntBean.class);
+        intType.setTypeClass(IntBean.class);
+        intType.setTypeMapping(mapping);
+        IntBean intBean = new IntBean();
+        intBean.setInt2(42);
+        element = writeObjectToElement(intType, intBean, getContext());
+        assertEquals(1, element.getElementsByTagNameNS("*", "int2").getLength());
+        assertEquals("42", element.getElementsByTagNameNS("*", "int2").item(0).getTextContent());
+    }
+
     @Test
     public void testCharMappings() throws Exception {
         defaultContext();
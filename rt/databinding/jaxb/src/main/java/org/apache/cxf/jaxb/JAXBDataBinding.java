@@ -19,6 +19,7 @@
 
 package org.apache.cxf.jaxb;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
@@ -74,6 +75,7 @@ import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.common.util.PackageUtils;
 import org.apache.cxf.common.util.PropertyUtils;
 import org.apache.cxf.common.util.ReflectionUtil;
+import org.apache.cxf.common.util.SystemPropertyAction;
 import org.apache.cxf.common.xmlschema.SchemaCollection;
 import org.apache.cxf.databinding.AbstractInterceptorProvidingDataBinding;
 import org.apache.cxf.databinding.AbstractWrapperHelper;
@@ -92,6 +94,7 @@ import org.apache.cxf.service.model.MessageInfo;
 import org.apache.cxf.service.model.MessagePartInfo;
 import org.apache.cxf.service.model.ServiceInfo;
 import org.apache.cxf.staxutils.StaxUtils;
+import org.apache.cxf.staxutils.validation.StaxSchemaValidationInInterceptor;
 import org.apache.cxf.ws.addressing.ObjectFactory;
 
 @NoJSR250Annotations
@@ -112,8 +115,19 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
 
     public static final String JAXB_SCAN_PACKAGES = "jaxb.scanPackages";
 
+    public static final int DEFAULT_MARSHALLER_POOL_SIZE = 16;
+
+    /**
+     * Directory used to keep the generated schemas across restarts. Can be set as a
+     * bus or system property, schemas are generated on every start if it is not set.
+     */
+    public static final String SCHEMA_CACHE_DIRECTORY = "org.apache.cxf.jaxb.schemaCacheDirectory";
+
     private static final Logger LOG = LogUtils.getLogger(JAXBDataBinding.class);
 
+    private static final StaxSchemaValidationInInterceptor STREAMING_VALIDATION_INTERCEPTOR =
+        new StaxSchemaValidationInInterceptor();
+
     private static final Class<?>[] SUPPORTED_READER_FORMATS = new Class<?>[] {Node.class,
                                                                                XMLEventReader.class,
                                                                                XMLStreamReader.class};
@@ -215,6 +229,14 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
     private boolean unwrapJAXBElement = true;
     private boolean scanPackages = true;
     private boolean qualifiedSchemas;
+    private boolean streamingValidation;
+
+    private final JAXBInstancePool<Marshaller> marshallerPool =
+        new JAXBInstancePool<>(DEFAULT_MARSHALLER_POOL_SIZE);
+    private final JAXBInstancePool<Marshaller> noEscapeMarshallerPool =
+        new JAXBInstancePool<>(DEFAULT_MARSHALLER_POOL_SIZE);
+    private final JAXBInstancePool<Unmarshaller> unmarshallerPool =
+        new JAXBInstancePool<>(DEFAULT_MARSHALLER_POOL_SIZE);
 
     public JAXBDataBinding() {
     }
@@ -329,6 +351,9 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
 
         inInterceptors.addIfAbsent(JAXBAttachmentSchemaValidationHack.INSTANCE);
         inFaultInterceptors.addIfAbsent(JAXBAttachmentSchemaValidationHack.INSTANCE);
+        if (streamingValidation) {
+            inInterceptors.addIfAbsent(STREAMING_VALIDATION_INTERCEPTOR);
+        }
 
         // context is already set, don't redo it
         if (context != null) {
@@ -384,7 +409,7 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
             if (schemas == null) {
                 schemas = new LinkedHashSet<>();
                 try {
-                    for (DOMResult r : generateJaxbSchemas()) {
+                    for (DOMResult r : getJaxbSchemas(tns)) {
                         DOMSource src = new DOMSource(r.getNode(), r.getSystemId());
                         if (BUILT_IN_SCHEMAS.containsValue(r)) {
                             bi.add(src);
@@ -465,6 +490,26 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
         return extraClass;
     }
 
+    private List<DOMResult> getJaxbSchemas(String tns) throws IOException {
+        Object dir = getBus().getProperty(SCHEMA_CACHE_DIRECTORY);
+        if (dir == null) {
+            dir = SystemPropertyAction.getPropertyOrNull(SCHEMA_CACHE_DIRECTORY);
+        }
+        if (dir == null) {
+            return generateJaxbSchemas();
+        }
+        JAXBSchemaCache cache = new JAXBSchemaCache(new File(dir.toString()));
+        String key = cache.computeKey(context, contextClasses, tns, contextProperties);
+        List<DOMResult> schemas = key == null ? null : cache.load(key, BUILT_IN_SCHEMAS);
+        if (schemas == null) {
+            schemas = generateJaxbSchemas();
+            if (key != null) {
+                cache.store(key, schemas, BUILT_IN_SCHEMAS);
+            }
+        }
+        return schemas;
+    }
+
     // default access for tests.
     List<DOMResult> generateJaxbSchemas() throws IOException {
         return JAXBUtils.generateJaxbSchemas(context, BUILT_IN_SCHEMAS);
@@ -633,6 +678,52 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
     }
 
 
+    /**
+     * Returns the pool of configured Marshallers used by the DataWriters
+     * @param escape whether the marshallers use the escape or the no-escape handler
+     */
+    public JAXBInstancePool<Marshaller> getMarshallerPool(boolean escape) {
+        return escape ? marshallerPool : noEscapeMarshallerPool;
+    }
+
+    /**
+     * Returns the pool of configured Unmarshallers used by the DataReaders
+     */
+    public JAXBInstancePool<Unmarshaller> getUnmarshallerPool() {
+        return unmarshallerPool;
+    }
+
+    public int getMarshallerPoolSize() {
+        return unmarshallerPool.getMaxSize();
+    }
+
+    /**
+     * Sets the maximum number of idle Marshallers and Unmarshallers kept for reuse
+     * per configuration. A value of 0 disables pooling.
+     * @param size the maximum pool size
+     */
+    public void setMarshallerPoolSize(int size) {
+        marshallerPool.setMaxSize(size);
+        noEscapeMarshallerPool.setMaxSize(size);
+        unmarshallerPool.setMaxSize(size);
+    }
+
+    public boolean isStreamingValidation() {
+        return streamingValidation;
+    }
+
+    /**
+     * When schema validation is enabled, validate the incoming XMLStreamReader against the
+     * compiled schema of the endpoint while it is being read instead of handing the Schema to
+     * every Unmarshaller. Requires Woodstox and MSV and falls back to the Unmarshaller validation
+     * if they are not available. Validation errors are then reported by the parser instead of
+     * JAXB and MSV may not handle every schema set JAXP can, e.g. with nested cross namespace imports.
+     * @param streamingValidation true to validate the stream
+     */
+    public void setStreamingValidation(boolean streamingValidation) {
+        this.streamingValidation = streamingValidation;
+    }
+
     public boolean isUnwrapJAXBElement() {
         return unwrapJAXBElement;
     }
@@ -842,6 +933,10 @@ public class JAXBDataBinding extends AbstractInterceptorProvidingDataBinding
         WrapperHelper wh = compileWrapperHelper(bus, wrapperType, setMethods, getMethods, jaxbMethods, fields,
                                                 objectFactory);
 
+        if (wh == null) {
+            wh = MethodHandleWrapperHelper.create(wrapperType, setMethods, getMethods, jaxbMethods, fields,
+                                                  objectFactory);
+        }
         if (wh == null) {
             wh = new JAXBWrapperHelper(wrapperType, setMethods, getMethods, jaxbMethods, fields,
                                        objectFactory);
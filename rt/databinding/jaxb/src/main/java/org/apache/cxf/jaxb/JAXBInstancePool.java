@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxb;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A bounded pool of configured JAXB Marshaller or Unmarshaller instances. Instances are pooled
+ * together with the configuration (context, properties, listeners, adapters, ...) they were
+ * created with, passed in as a key. Whenever the key changes the previously pooled instances are
+ * dropped, so callers never get an instance configured for a different property set.
+ */
+public class JAXBInstancePool<T> {
+    private volatile int maxSize;
+    private volatile Entry<T> current;
+
+    public JAXBInstancePool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        current = null;
+    }
+
+    /**
+     * Returns a pooled instance created for the given configuration key or null if there is none
+     * and a new instance needs to be created.
+     */
+    public T acquire(Object... key) {
+        Entry<T> e = current;
+        if (e != null && e.matches(key)) {
+            return e.idle.poll();
+        }
+        return null;
+    }
+
+    /**
+     * Returns an instance to the pool. The instance is dropped if the pool is full or disabled.
+     */
+    public void release(T instance, Object... key) {
+        int size = maxSize;
+        if (size <= 0) {
+            return;
+        }
+        Entry<T> e = current;
+        if (e == null || !e.matches(key)) {
+            e = new Entry<>(key, size);
+            current = e;
+        }
+        e.idle.offer(instance);
+    }
+
+    public void clear() {
+        current = null;
+    }
+
+    private static final class Entry<T> {
+        final Object[] key;
+        final BlockingQueue<T> idle;
+
+        Entry(Object[] k, int size) {
+            // copy the mutable parts of the configuration so later changes are detected
+            key = new Object[k.length];
+            for (int x = 0; x < k.length; x++) {
+                if (k[x] instanceof Map) {
+                    key[x] = new HashMap<>((Map<?, ?>)k[x]);
+                } else if (k[x] instanceof Collection) {
+                    key[x] = new ArrayList<>((Collection<?>)k[x]);
+                } else {
+                    key[x] = k[x];
+                }
+            }
+            idle = new ArrayBlockingQueue<>(size);
+        }
+
+        boolean matches(Object[] k) {
+            return Arrays.equals(key, k);
+        }
+    }
+}
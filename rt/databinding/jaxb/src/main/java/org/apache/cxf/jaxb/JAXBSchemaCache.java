@@ -0,0 +1,244 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxb;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.dom.DOMResult;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.helpers.FileUtils;
+import org.apache.cxf.staxutils.StaxUtils;
+
+/**
+ * Stores the schemas generated from a JAXBContext on disk so that a restart with the same
+ * set of classes can skip the schema generation. Entries are keyed by a hash of the context
+ * implementation, the target namespace, the context properties and the names, locations and
+ * timestamps of the classes in the context, so a redeployed class invalidates the entry.
+ * The schemas are not cached if a context property has a value without a stable string form,
+ * an adapter instance for example, as it would produce a different key on every start.
+ */
+final class JAXBSchemaCache {
+    private static final Logger LOG = LogUtils.getLogger(JAXBSchemaCache.class);
+    private static final String INDEX = "index.properties";
+
+    private final File directory;
+
+    JAXBSchemaCache(File directory) {
+        this.directory = directory;
+    }
+
+    String computeKey(JAXBContext context, Collection<Class<?>> classes, String tns,
+                      Map<String, Object> contextProperties) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, context.getClass().getName());
+            update(digest, tns);
+            if (contextProperties != null) {
+                for (Map.Entry<String, Object> e : new TreeMap<>(contextProperties).entrySet()) {
+                    if (!isStable(e.getValue())) {
+                        LOG.fine("Not caching the schemas, the context property " + e.getKey()
+                                 + " has no stable value");
+                        return null;
+                    }
+                    update(digest, e.getKey());
+                    update(digest, String.valueOf(e.getValue()));
+                }
+            }
+            Map<String, Class<?>> sorted = new TreeMap<>();
+            for (Class<?> cls : classes) {
+                sorted.put(cls.getName(), cls);
+            }
+            for (Class<?> cls : sorted.values()) {
+                update(digest, cls.getName());
+                update(digest, getLocation(cls));
+            }
+            StringBuilder b = new StringBuilder();
+            for (byte bt : digest.digest()) {
+                b.append(Character.forDigit((bt >> 4) & 0xF, 16)).append(Character.forDigit(bt & 0xF, 16));
+            }
+            return b.toString();
+        } catch (NoSuchAlgorithmException | SecurityException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the cached schemas or null if there is no usable entry for the key.
+     */
+    List<DOMResult> load(String key, Map<String, DOMResult> builtIns) {
+        File dir = new File(directory, key);
+        File index = new File(dir, INDEX);
+        if (!index.isFile()) {
+            return null;
+        }
+        try {
+            Properties props = new Properties();
+            try (InputStream in = Files.newInputStream(index.toPath())) {
+                props.load(in);
+            }
+            int count = Integer.parseInt(props.getProperty("count"));
+            List<DOMResult> results = new ArrayList<>(count);
+            for (int x = 0; x < count; x++) {
+                String builtIn = props.getProperty("schema." + x + ".builtin");
+                if (builtIn != null) {
+                    DOMResult dr = builtIns.get(builtIn);
+                    if (dr == null) {
+                        return null;
+                    }
+                    results.add(dr);
+                    continue;
+                }
+                Document doc;
+                try (InputStream in = Files.newInputStream(new File(dir, x + ".xsd").toPath())) {
+                    doc = StaxUtils.read(in);
+                }
+                results.add(new DOMResult(doc, props.getProperty("schema." + x + ".systemId")));
+            }
+            return results;
+        } catch (IOException | XMLStreamException | RuntimeException ex) {
+            LOG.log(Level.FINE, "Could not read cached schemas from " + dir, ex);
+            return null;
+        }
+    }
+
+    void store(String key, List<DOMResult> schemas, Map<String, DOMResult> builtIns) {
+        File dir = new File(directory, key);
+        if (dir.exists()) {
+            return;
+        }
+        File tmp = null;
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                return;
+            }
+            tmp = Files.createTempDirectory(directory.toPath(), key).toFile();
+            Properties props = new Properties();
+            props.setProperty("count", Integer.toString(schemas.size()));
+            for (int x = 0; x < schemas.size(); x++) {
+                DOMResult r = schemas.get(x);
+                String builtIn = getBuiltInNamespace(r, builtIns);
+                if (builtIn != null) {
+                    props.setProperty("schema." + x + ".builtin", builtIn);
+                    continue;
+                }
+                Node node = r.getNode();
+                if (node == null) {
+                    return;
+                }
+                if (r.getSystemId() != null) {
+                    props.setProperty("schema." + x + ".systemId", r.getSystemId());
+                }
+                try (OutputStream out = Files.newOutputStream(new File(tmp, x + ".xsd").toPath())) {
+                    StaxUtils.writeTo(node, out);
+                }
+            }
+            // write the index last, an entry without index is ignored
+            try (OutputStream out = Files.newOutputStream(new File(tmp, INDEX).toPath())) {
+                props.store(out, null);
+            }
+            Files.move(tmp.toPath(), dir.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            tmp = null;
+        } catch (IOException | XMLStreamException | RuntimeException ex) {
+            LOG.log(Level.FINE, "Could not cache schemas in " + dir, ex);
+        } finally {
+            if (tmp != null) {
+                FileUtils.removeDir(tmp);
+            }
+        }
+    }
+
+    private static String getBuiltInNamespace(DOMResult r, Map<String, DOMResult> builtIns) {
+        for (Map.Entry<String, DOMResult> e : builtIns.entrySet()) {
+            if (e.getValue() == r) {
+                return e.getKey();
+            }
+        }
+        return null;
+    }
+
+    private static String getLocation(Class<?> cls) {
+        CodeSource cs = cls.getProtectionDomain() == null ? null : cls.getProtectionDomain().getCodeSource();
+        URL url = cs == null ? null : cs.getLocation();
+        if (url == null) {
+            return "";
+        }
+        String location = url.toString();
+        if ("file".equals(url.getProtocol())) {
+            try {
+                File f = new File(url.toURI());
+                if (f.isDirectory()) {
+                    String name = cls.getName();
+                    URL res = cls.getResource(name.substring(name.lastIndexOf('.') + 1) + ".class");
+                    if (res != null && "file".equals(res.getProtocol())) {
+                        f = new File(res.toURI());
+                    }
+                }
+                location += '@' + Long.toString(f.lastModified());
+            } catch (URISyntaxException | IllegalArgumentException ex) {
+                //use the location only
+            }
+        }
+        return location;
+    }
+
+    private static boolean isStable(Object value) {
+        if (value instanceof Collection) {
+            for (Object o : (Collection<?>)value) {
+                if (!isStable(o)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+            || value instanceof Character || value instanceof Enum || value instanceof Class;
+    }
+
+    private static void update(MessageDigest digest, String s) {
+        if (s != null) {
+            digest.update(s.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte)0);
+    }
+}
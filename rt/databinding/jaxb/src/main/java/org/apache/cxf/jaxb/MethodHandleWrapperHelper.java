@@ -0,0 +1,225 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxb;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.bind.JAXBElement;
+
+import org.apache.cxf.common.util.ReflectionUtil;
+import org.apache.cxf.databinding.WrapperHelper;
+import org.apache.cxf.helpers.CastUtils;
+import org.apache.cxf.interceptor.Fault;
+
+/**
+ * A {@link WrapperHelper} that accesses the wrapper type through {@link MethodHandle}s resolved once
+ * per wrapper class. Unlike the ASM based helpers it does not define any classes, so it remains
+ * available where bytecode generation is blocked, while avoiding the per call overhead of
+ * {@link Method#invoke(Object, Object...)} used by {@link JAXBWrapperHelper}.
+ */
+final class MethodHandleWrapperHelper implements WrapperHelper {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<Map<String, MethodHandleWrapperHelper>> HELPERS =
+        new ClassValue<Map<String, MethodHandleWrapperHelper>>() {
+            @Override
+            protected Map<String, MethodHandleWrapperHelper> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>(4);
+            }
+        };
+
+    private final String signature;
+    private final MethodHandle constructor;
+    private final MethodHandle[] getters;
+    private final MethodHandle[] setters;
+    private final MethodHandle[] fieldGetters;
+    private final MethodHandle[] fieldSetters;
+    private final MethodHandle[] jaxbObjectMethods;
+    private final boolean[] unwrapElement;
+
+    private MethodHandleWrapperHelper(String signature, Class<?> wrapperType, Method[] setMethods,
+                                      Method[] getMethods, Method[] jaxbMethods, Field[] fields,
+                                      Object objectFactory) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        this.signature = signature;
+        constructor = unreflectConstructor(wrapperType).asType(MethodType.methodType(Object.class));
+
+        int size = getMethods.length;
+        getters = new MethodHandle[size];
+        setters = new MethodHandle[size];
+        fieldGetters = new MethodHandle[size];
+        fieldSetters = new MethodHandle[size];
+        jaxbObjectMethods = new MethodHandle[size];
+        unwrapElement = new boolean[size];
+        for (int x = 0; x < size; x++) {
+            if (getMethods[x] != null) {
+                getters[x] = lookup.unreflect(getMethods[x]).asType(GETTER_TYPE);
+                unwrapElement[x] = JAXBElement.class.equals(getMethods[x].getReturnType());
+            }
+            if (setMethods[x] != null) {
+                setters[x] = lookup.unreflect(setMethods[x]).asType(SETTER_TYPE);
+            }
+            if (fields[x] != null) {
+                fieldGetters[x] = lookup.unreflectGetter(fields[x]).asType(GETTER_TYPE);
+                fieldSetters[x] = lookup.unreflectSetter(fields[x]).asType(SETTER_TYPE);
+            }
+            if (jaxbMethods != null && jaxbMethods[x] != null) {
+                jaxbObjectMethods[x] = lookup.unreflect(jaxbMethods[x]).bindTo(objectFactory).asType(GETTER_TYPE);
+            }
+        }
+    }
+
+    /**
+     * Returns the helper for the given wrapper accessors, reusing a previously created one for the
+     * same wrapper class and accessors. Returns null if the accessors cannot be resolved to method
+     * handles, in which case the caller should fall back to reflection.
+     */
+    static WrapperHelper create(Class<?> wrapperType, Method[] setMethods, Method[] getMethods,
+                                Method[] jaxbMethods, Field[] fields, Object objectFactory) {
+        String key = computeKey(setMethods, getMethods, jaxbMethods, fields, objectFactory);
+        Map<String, MethodHandleWrapperHelper> helpers = HELPERS.get(wrapperType);
+        MethodHandleWrapperHelper helper = helpers.get(key);
+        if (helper == null) {
+            try {
+                helper = new MethodHandleWrapperHelper(
+                    WrapperHelperClassGenerator.computeSignature(setMethods, getMethods),
+                    wrapperType, setMethods, getMethods, jaxbMethods, fields, objectFactory);
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                return null;
+            }
+            MethodHandleWrapperHelper existing = helpers.putIfAbsent(key, helper);
+            if (existing != null) {
+                helper = existing;
+            }
+        }
+        return helper;
+    }
+
+    private static MethodHandle unreflectConstructor(Class<?> wrapperType) throws ReflectiveOperationException {
+        Constructor<?> ctor = wrapperType.getDeclaredConstructor();
+        if (!Modifier.isPublic(ctor.getModifiers()) || !Modifier.isPublic(wrapperType.getModifiers())) {
+            ReflectionUtil.setAccessible(ctor);
+        }
+        return MethodHandles.lookup().unreflectConstructor(ctor);
+    }
+
+    private static String computeKey(Method[] setMethods, Method[] getMethods, Method[] jaxbMethods,
+                                     Field[] fields, Object objectFactory) {
+        StringBuilder b = new StringBuilder();
+        if (objectFactory != null) {
+            b.append(objectFactory.getClass().getName()).append('@')
+                .append(System.identityHashCode(objectFactory));
+        }
+        b.append(';');
+        for (int x = 0; x < getMethods.length; x++) {
+            appendMember(b, setMethods[x]);
+            appendMember(b, getMethods[x]);
+            appendMember(b, jaxbMethods == null ? null : jaxbMethods[x]);
+            appendMember(b, fields[x]);
+            b.append(';');
+        }
+        return b.toString();
+    }
+
+    private static void appendMember(StringBuilder b, Object member) {
+        b.append(member == null ? "null" : member.toString()).append(',');
+    }
+
+    @Override
+    public Object createWrapperObject(List<?> lst) throws Fault {
+        try {
+            Object wrapperObject = constructor.invokeExact();
+            for (int x = 0; x < setters.length; x++) {
+                if (getters[x] == null && setters[x] == null && fieldSetters[x] == null) {
+                    //this part is a header or something
+                    //that is not part of the wrapper.
+                    continue;
+                }
+                Object o = lst.get(x);
+                if (jaxbObjectMethods[x] != null) {
+                    o = (Object)jaxbObjectMethods[x].invokeExact(o);
+                }
+                if (o instanceof List && getters[x] != null) {
+                    List<Object> col = CastUtils.cast((List<?>)(Object)getters[x].invokeExact(wrapperObject));
+                    if (col == null) {
+                        //broken generated java wrappers
+                        if (setters[x] != null) {
+                            setters[x].invokeExact(wrapperObject, o);
+                        } else {
+                            fieldSetters[x].invokeExact(wrapperObject, (Object)lst.get(x));
+                        }
+                    } else {
+                        col.addAll(CastUtils.cast((List<?>)o));
+                    }
+                } else if (setters[x] != null) {
+                    setters[x].invokeExact(wrapperObject, o);
+                } else if (fieldSetters[x] != null) {
+                    fieldSetters[x].invokeExact(wrapperObject, (Object)lst.get(x));
+                }
+            }
+            return wrapperObject;
+        } catch (Fault f) {
+            throw f;
+        } catch (Throwable t) {
+            throw new Fault(t);
+        }
+    }
+
+    @Override
+    public List<Object> getWrapperParts(Object o) throws Fault {
+        try {
+            List<Object> ret = new ArrayList<>(getters.length);
+            for (int x = 0; x < getters.length; x++) {
+                if (getters[x] != null) {
+                    Object value = (Object)getters[x].invokeExact(o);
+                    if (unwrapElement[x] && value != null) {
+                        value = ((JAXBElement<?>)value).getValue();
+                    }
+                    ret.add(value);
+                } else if (fieldGetters[x] != null) {
+                    ret.add((Object)fieldGetters[x].invokeExact(o));
+                } else {
+                    //placeholder
+                    ret.add(null);
+                }
+            }
+            return ret;
+        } catch (Fault f) {
+            throw f;
+        } catch (Throwable t) {
+            throw new Fault(t);
+        }
+    }
+
+    @Override
+    public String getSignature() {
+        return signature;
+    }
+}
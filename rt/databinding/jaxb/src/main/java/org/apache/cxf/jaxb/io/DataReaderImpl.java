@@ -113,9 +113,6 @@ public class DataReaderImpl<T> extends JAXBDataBase implements DataReader<T> {
             if (databinding.getUnmarshallerListener() != null) {
                 um.setListener(databinding.getUnmarshallerListener());
             }
-            if (setEventHandler) {
-                um.setEventHandler(new WSUIDValidationHandler(veventHandler));
-            }
             if (databinding.getUnmarshallerProperties() != null) {
                 for (Map.Entry<String, Object> propEntry
                     : databinding.getUnmarshallerProperties().entrySet()) {
@@ -126,8 +123,6 @@ public class DataReaderImpl<T> extends JAXBDataBase implements DataReader<T> {
                     }
                 }
             }
-            um.setSchema(schema);
-            um.setAttachmentUnmarshaller(getAttachmentUnmarshaller());
             for (XmlAdapter<?, ?> adapter : databinding.getConfiguredXmlAdapters()) {
                 um.setAdapter(adapter);
             }
@@ -140,6 +135,41 @@ public class DataReaderImpl<T> extends JAXBDataBase implements DataReader<T> {
         }
     }
 
+    private Object[] getUnmarshallerPoolKey() {
+        return new Object[] {context, databinding.getUnmarshallerListener(),
+            databinding.getUnmarshallerProperties(), databinding.getConfiguredXmlAdapters()};
+    }
+
+    private Unmarshaller acquireUnmarshaller(Object[] key) {
+        Unmarshaller um = databinding.getUnmarshallerPool().acquire(key);
+        if (um == null) {
+            um = createUnmarshaller();
+        }
+        try {
+            um.setEventHandler(setEventHandler ? new WSUIDValidationHandler(veventHandler) : null);
+            um.setSchema(schema);
+            um.setAttachmentUnmarshaller(getAttachmentUnmarshaller());
+            return um;
+        } catch (JAXBException ex) {
+            throw new Fault(new Message("UNMARSHAL_ERROR", LOG, ex.getMessage()), ex);
+        }
+    }
+
+    private void releaseUnmarshaller(Unmarshaller um, Object[] key, boolean reusable) {
+        JAXBUtils.closeUnmarshaller(um);
+        if (reusable) {
+            try {
+                // do not keep the message specific state reachable from the pool
+                um.setAttachmentUnmarshaller(null);
+                um.setSchema(null);
+                um.setEventHandler(null);
+            } catch (JAXBException ex) {
+                return;
+            }
+            databinding.getUnmarshallerPool().release(um, key);
+        }
+    }
+
     public Object read(MessagePartInfo part, T reader) {
         boolean honorJaxbAnnotation = honorJAXBAnnotations(part);
         if (honorJaxbAnnotation) {
@@ -163,30 +193,35 @@ public class DataReaderImpl<T> extends JAXBDataBase implements DataReader<T> {
             }
         }
 
-        Unmarshaller um = createUnmarshaller();
+        Object[] key = getUnmarshallerPoolKey();
+        Unmarshaller um = acquireUnmarshaller(key);
+        boolean completed = false;
         try {
             Object obj = JAXBEncoderDecoder.unmarshall(um, reader, part,
                                                  unwrapJAXBElement);
             onCompleteUnmarshalling();
+            completed = true;
 
             return obj;
         } finally {
-            JAXBUtils.closeUnmarshaller(um);
+            releaseUnmarshaller(um, key, completed);
         }
     }
 
     public Object read(QName name, T input, Class<?> type) {
-        Unmarshaller um = createUnmarshaller();
-
+        Object[] key = getUnmarshallerPoolKey();
+        Unmarshaller um = acquireUnmarshaller(key);
+        boolean completed = false;
         try {
             Object obj = JAXBEncoderDecoder.unmarshall(um, input,
                                              name, type,
                                              unwrapJAXBElement);
             onCompleteUnmarshalling();
+            completed = true;
 
             return obj;
         } finally {
-            JAXBUtils.closeUnmarshaller(um);
+            releaseUnmarshaller(um, key, completed);
         }
 
     }
@@ -131,70 +131,110 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
         //}
         Marshaller marshaller;
         try {
+            marshaller = createConfiguredMarshaller();
+            applyMessageSettings(marshaller);
+        } catch (javax.xml.bind.MarshalException ex) {
+            Message faultMessage = new Message("MARSHAL_ERROR", LOG, ex.getLinkedException()
+                .getMessage());
+            throw new Fault(faultMessage, ex);
+        } catch (JAXBException ex) {
+            throw new Fault(new Message("MARSHAL_ERROR", LOG, ex.getMessage()), ex);
+        }
+        return marshaller;
+    }
 
-            marshaller = context.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
-            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.FALSE);
-            marshaller.setListener(databinding.getMarshallerListener());
-            databinding.applyEscapeHandler(!noEscape, eh -> JAXBUtils.setEscapeHandler(marshaller, eh));
-
-            if (setEventHandler) {
-                ValidationEventHandler h = veventHandler;
-                if (veventHandler == null) {
-                    h = new ValidationEventHandler() {
-                        public boolean handleEvent(ValidationEvent event) {
-                            //continue on warnings only
-                            return event.getSeverity() == ValidationEvent.WARNING;
-                        }
-                    };
-                }
-                marshaller.setEventHandler(h);
-            }
+    private Marshaller createConfiguredMarshaller() throws JAXBException {
+        final Marshaller marshaller = context.createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.FALSE);
+        marshaller.setListener(databinding.getMarshallerListener());
+        databinding.applyEscapeHandler(!noEscape, eh -> JAXBUtils.setEscapeHandler(marshaller, eh));
 
-            final Map<String, String> nspref = databinding.getDeclaredNamespaceMappings();
-            final Map<String, String> nsctxt = databinding.getContextualNamespaceMap();
-            // set the prefix mapper if either of the prefix map is configured
-            if (nspref != null || nsctxt != null) {
-                Object mapper = JAXBUtils.setNamespaceMapper(bus, nspref != null ? nspref : nsctxt, marshaller);
-                if (nsctxt != null) {
-                    setContextualNamespaceDecls(mapper, nsctxt);
+        final Map<String, String> nspref = databinding.getDeclaredNamespaceMappings();
+        final Map<String, String> nsctxt = databinding.getContextualNamespaceMap();
+        // set the prefix mapper if either of the prefix map is configured
+        if (nspref != null || nsctxt != null) {
+            Object mapper = JAXBUtils.setNamespaceMapper(bus, nspref != null ? nspref : nsctxt, marshaller);
+            if (nsctxt != null) {
+                setContextualNamespaceDecls(mapper, nsctxt);
+            }
+        }
+        if (databinding.getMarshallerProperties() != null) {
+            for (Map.Entry<String, Object> propEntry
+                : databinding.getMarshallerProperties().entrySet()) {
+                try {
+                    marshaller.setProperty(propEntry.getKey(), propEntry.getValue());
+                } catch (PropertyException pe) {
+                    LOG.log(Level.INFO, "PropertyException setting Marshaller properties", pe);
                 }
             }
-            if (databinding.getMarshallerProperties() != null) {
-                for (Map.Entry<String, Object> propEntry
-                    : databinding.getMarshallerProperties().entrySet()) {
-                    try {
-                        marshaller.setProperty(propEntry.getKey(), propEntry.getValue());
-                    } catch (PropertyException pe) {
-                        LOG.log(Level.INFO, "PropertyException setting Marshaller properties", pe);
+        }
+        for (XmlAdapter<?, ?> adapter : databinding.getConfiguredXmlAdapters()) {
+            marshaller.setAdapter(adapter);
+        }
+        return marshaller;
+    }
+
+    private void applyMessageSettings(Marshaller marshaller) throws JAXBException {
+        if (setEventHandler) {
+            ValidationEventHandler h = veventHandler;
+            if (veventHandler == null) {
+                h = new ValidationEventHandler() {
+                    public boolean handleEvent(ValidationEvent event) {
+                        //continue on warnings only
+                        return event.getSeverity() == ValidationEvent.WARNING;
                     }
-                }
+                };
             }
+            marshaller.setEventHandler(h);
+        } else {
+            marshaller.setEventHandler(null);
+        }
 
-            marshaller.setSchema(schema);
-            AttachmentMarshaller atmarsh = getAttachmentMarshaller();
-            marshaller.setAttachmentMarshaller(atmarsh);
+        marshaller.setSchema(schema);
+        AttachmentMarshaller atmarsh = getAttachmentMarshaller();
+        marshaller.setAttachmentMarshaller(atmarsh);
 
-            if (schema != null
-                && atmarsh instanceof JAXBAttachmentMarshaller) {
-                //we need a special even handler for XOP attachments
-                marshaller.setEventHandler(new MtomValidationHandler(marshaller.getEventHandler(),
-                                                            (JAXBAttachmentMarshaller)atmarsh));
-            }
-        } catch (javax.xml.bind.MarshalException ex) {
-            Message faultMessage = new Message("MARSHAL_ERROR", LOG, ex.getLinkedException()
-                .getMessage());
-            throw new Fault(faultMessage, ex);
+        if (schema != null
+            && atmarsh instanceof JAXBAttachmentMarshaller) {
+            //we need a special even handler for XOP attachments
+            marshaller.setEventHandler(new MtomValidationHandler(marshaller.getEventHandler(),
+                                                        (JAXBAttachmentMarshaller)atmarsh));
+        }
+    }
+
+    private Object[] getMarshallerPoolKey() {
+        return new Object[] {context, bus, databinding.getEscapeHandler(), databinding.getMarshallerListener(),
+            databinding.getMarshallerProperties(), databinding.getConfiguredXmlAdapters(),
+            databinding.getDeclaredNamespaceMappings(), databinding.getContextualNamespaceMap()};
+    }
+
+    private Marshaller acquireMarshaller(Object[] key) {
+        Marshaller marshaller = databinding.getMarshallerPool(!noEscape).acquire(key);
+        if (marshaller == null) {
+            return createMarshaller(null, null);
+        }
+        try {
+            applyMessageSettings(marshaller);
         } catch (JAXBException ex) {
             throw new Fault(new Message("MARSHAL_ERROR", LOG, ex.getMessage()), ex);
         }
-        for (XmlAdapter<?, ?> adapter : databinding.getConfiguredXmlAdapters()) {
-            marshaller.setAdapter(adapter);
-        }
         return marshaller;
     }
 
+    private void releaseMarshaller(Marshaller marshaller, Object[] key) {
+        try {
+            // do not keep the message specific state reachable from the pool
+            marshaller.setAttachmentMarshaller(null);
+            marshaller.setSchema(null);
+            marshaller.setEventHandler(null);
+        } catch (JAXBException ex) {
+            return;
+        }
+        databinding.getMarshallerPool(!noEscape).release(marshaller, key);
+    }
+
     //REVISIT should this go into JAXBUtils?
     private static void setContextualNamespaceDecls(Object mapper, Map<String, String> nsctxt) {
         try {
@@ -220,6 +260,7 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
             honorJaxbAnnotation = true;
         }
         checkPart(part, obj);
+        Object[] key = getMarshallerPoolKey();
 
         if (obj != null
             || !(part.getXmlSchema() instanceof XmlSchemaElement)) {
@@ -228,15 +269,19 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
                 && part != null
                 && Boolean.TRUE.equals(part.getProperty(JAXBDataBinding.class.getName()
                                                         + ".CUSTOM_EXCEPTION"))) {
-                JAXBEncoderDecoder.marshallException(createMarshaller(obj, part),
+                Marshaller marshaller = acquireMarshaller(key);
+                JAXBEncoderDecoder.marshallException(marshaller,
                                                      (Exception)obj,
                                                      part,
                                                      output);
+                releaseMarshaller(marshaller, key);
                 onCompleteMarshalling();
             } else {
                 Annotation[] anns = getJAXBAnnotation(part);
                 if (!honorJaxbAnnotation || anns.length == 0) {
-                    JAXBEncoderDecoder.marshall(createMarshaller(obj, part), obj, part, output);
+                    Marshaller marshaller = acquireMarshaller(key);
+                    JAXBEncoderDecoder.marshall(marshaller, obj, part, output);
+                    releaseMarshaller(marshaller, key);
                     onCompleteMarshalling();
                 } else if (honorJaxbAnnotation && anns.length > 0) {
                     //RpcLit will use the JAXB Bridge to marshall part message when it is
@@ -253,8 +298,9 @@ public class DataWriterImpl<T> extends JAXBDataBase implements DataWriter<T> {
                 }
             }
         } else if (needToRender(part)) {
-            JAXBEncoderDecoder.marshallNullElement(createMarshaller(null, part),
-                                                   output, part);
+            Marshaller marshaller = acquireMarshaller(key);
+            JAXBEncoderDecoder.marshallNullElement(marshaller, output, part);
+            releaseMarshaller(marshaller, key);
 
             onCompleteMarshalling();
         }
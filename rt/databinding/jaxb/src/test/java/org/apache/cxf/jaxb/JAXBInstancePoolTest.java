@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxb;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class JAXBInstancePoolTest {
+
+    @Test
+    public void testReuseForSameKey() {
+        JAXBInstancePool<Object> pool = new JAXBInstancePool<>(2);
+        Map<String, Object> props = new HashMap<>();
+        Object instance = new Object();
+
+        assertNull(pool.acquire("ctx", props));
+        pool.release(instance, "ctx", props);
+        assertSame(instance, pool.acquire("ctx", props));
+        assertNull(pool.acquire("ctx", props));
+    }
+
+    @Test
+    public void testKeyChangeDropsInstances() {
+        JAXBInstancePool<Object> pool = new JAXBInstancePool<>(2);
+        Map<String, Object> props = new HashMap<>();
+        pool.release(new Object(), "ctx", props);
+
+        props.put("jaxb.formatted.output", Boolean.TRUE);
+        assertNull(pool.acquire("ctx", props));
+        assertNull(pool.acquire("other", new HashMap<>()));
+
+        pool.release(new Object(), "ctx", props);
+        assertNotNull(pool.acquire("ctx", props));
+    }
+
+    @Test
+    public void testBoundedAndDisabled() {
+        JAXBInstancePool<Object> pool = new JAXBInstancePool<>(1);
+        Object first = new Object();
+        pool.release(first, "ctx");
+        pool.release(new Object(), "ctx");
+        assertSame(first, pool.acquire("ctx"));
+        assertNull(pool.acquire("ctx"));
+
+        pool.setMaxSize(0);
+        pool.release(first, "ctx");
+        assertNull(pool.acquire("ctx"));
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxb;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.transform.dom.DOMResult;
+
+import org.w3c.dom.Document;
+
+import org.apache.cxf.common.jaxb.JAXBUtils;
+import org.apache.cxf.helpers.FileUtils;
+import org.apache.hello_world_soap_http.types.GreetMe;
+import org.apache.hello_world_soap_http.types.GreetMeResponse;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class JAXBSchemaCacheTest {
+    private File dir;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("cxf-jaxb-schemas").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.removeDir(dir);
+    }
+
+    @Test
+    public void testStoreAndLoad() throws Exception {
+        Set<Class<?>> classes = Collections.singleton(GreetMe.class);
+        JAXBContext ctx = JAXBContext.newInstance(GreetMe.class);
+        Map<String, DOMResult> builtIns = Collections.emptyMap();
+        List<DOMResult> generated = JAXBUtils.generateJaxbSchemas(ctx, builtIns);
+
+        JAXBSchemaCache cache = new JAXBSchemaCache(dir);
+        String key = cache.computeKey(ctx, classes, "urn:test", null);
+        assertNotNull(key);
+        assertNull(cache.load(key, builtIns));
+
+        cache.store(key, generated, builtIns);
+        List<DOMResult> loaded = cache.load(key, builtIns);
+        assertNotNull(loaded);
+        assertEquals(generated.size(), loaded.size());
+        for (int x = 0; x < generated.size(); x++) {
+            assertEquals(generated.get(x).getSystemId(), loaded.get(x).getSystemId());
+            assertEquals(((Document)generated.get(x).getNode()).getDocumentElement().getAttribute("targetNamespace"),
+                         ((Document)loaded.get(x).getNode()).getDocumentElement().getAttribute("targetNamespace"));
+        }
+    }
+
+    @Test
+    public void testKeyChanges() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(GreetMe.class);
+        JAXBSchemaCache cache = new JAXBSchemaCache(dir);
+        Set<Class<?>> classes = Collections.singleton(GreetMe.class);
+
+        String key = cache.computeKey(ctx, classes, "urn:test", null);
+        assertEquals(key, cache.computeKey(ctx, classes, "urn:test", null));
+        assertNotEquals(key, cache.computeKey(ctx, classes, "urn:other", null));
+        assertNotEquals(key, cache.computeKey(ctx, Collections.singleton(GreetMeResponse.class), "urn:test", null));
+        assertNotEquals(key, cache.computeKey(ctx, classes, "urn:test",
+                                              Collections.singletonMap("prop", "value")));
+    }
+
+    @Test
+    public void testNoKeyForPropertiesWithoutStableValue() throws Exception {
+        JAXBContext ctx = JAXBContext.newInstance(GreetMe.class);
+        JAXBSchemaCache cache = new JAXBSchemaCache(dir);
+        Set<Class<?>> classes = Collections.singleton(GreetMe.class);
+
+        Map<String, Object> props = new HashMap<>();
+        props.put("prop", Arrays.asList("value", 1, Boolean.TRUE));
+        String key = cache.computeKey(ctx, classes, "urn:test", props);
+        assertNotNull(key);
+        assertEquals(key, cache.computeKey(ctx, classes, "urn:test", new HashMap<>(props)));
+
+        props.put("adapter", new Object());
+        assertNull(cache.computeKey(ctx, classes, "urn:test", props));
+    }
+}
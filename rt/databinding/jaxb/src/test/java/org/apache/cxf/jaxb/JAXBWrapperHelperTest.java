@@ -18,6 +18,8 @@
  */
 package org.apache.cxf.jaxb;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -35,6 +37,7 @@ import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class JAXBWrapperHelperTest {
@@ -94,6 +97,55 @@ public class JAXBWrapperHelperTest {
     }
 
 
+    @Test
+    public void methodHandleWrapperHelper() throws Exception {
+        Method[] setMethods = new Method[] {
+            SetIsOK.class.getMethod("setParameter1", Boolean.TYPE),
+            SetIsOK.class.getMethod("setParameter2", Integer.TYPE),
+            SetIsOK.class.getMethod("setParameter3", boolean[].class),
+            null,
+            null
+        };
+        Method[] getMethods = new Method[] {
+            SetIsOK.class.getMethod("isParameter1"),
+            SetIsOK.class.getMethod("getParameter2"),
+            SetIsOK.class.getMethod("getParameter3"),
+            null,
+            SetIsOK.class.getMethod("getParameter5")
+        };
+        Field[] fields = new Field[] {
+            null,
+            null,
+            null,
+            SetIsOK.class.getDeclaredField("parameter4"),
+            null
+        };
+        Method[] jaxbMethods = new Method[5];
+
+        WrapperHelper wh = MethodHandleWrapperHelper.create(SetIsOK.class, setMethods, getMethods,
+                                                            jaxbMethods, fields, null);
+        assertNotNull(wh);
+        assertSame(wh, MethodHandleWrapperHelper.create(SetIsOK.class, setMethods, getMethods,
+                                                        jaxbMethods, fields, null));
+
+        SetIsOK ok = (SetIsOK)wh.createWrapperObject(Arrays.asList(Boolean.TRUE, 42,
+            new boolean[] {false, true}, "hello", Arrays.asList("a", "b")));
+        assertTrue(ok.isParameter1());
+        assertEquals(42, ok.getParameter2());
+        assertTrue(ok.getParameter3()[1]);
+        assertEquals("hello", ok.getParameter4());
+        assertEquals(Arrays.asList("a", "b"), ok.getParameter5());
+
+        List<Object> lst = wh.getWrapperParts(ok);
+        assertEquals(5, lst.size());
+        assertTrue((Boolean)lst.get(0));
+        assertEquals(42, lst.get(1));
+        assertFalse(((boolean[])lst.get(2))[0]);
+        assertEquals("hello", lst.get(3));
+        assertEquals(Arrays.asList("a", "b"), lst.get(4));
+    }
+
+
     @XmlAccessorType(XmlAccessType.FIELD)
     @XmlType(name = "", propOrder = { "parameter1", "parameter2", "parameter3", "parameter4" })
     @XmlRootElement(name = "setIsOK")
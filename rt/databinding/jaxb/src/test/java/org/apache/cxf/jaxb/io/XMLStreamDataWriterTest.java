@@ -26,6 +26,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
 import javax.xml.bind.ValidationEventHandler;
 import javax.xml.namespace.QName;
 import javax.xml.stream.XMLInputFactory;
@@ -365,6 +366,40 @@ public class XMLStreamDataWriterTest {
         }
     }
 
+    @Test
+    public void testPooledMarshallerFollowsConfiguration() throws Exception {
+        JAXBDataBinding db = getTestWriterFactory(GreetMe.class);
+        CountingListener first = new CountingListener();
+        db.setMarshallerListener(first);
+
+        DataWriter<XMLStreamWriter> dw = db.createWriter(XMLStreamWriter.class);
+        GreetMe val = new GreetMe();
+        val.setRequestType("Hello");
+        streamWriter.writeStartElement("root");
+        dw.write(val, streamWriter);
+        int perWrite = first.count;
+        assertTrue(perWrite > 0);
+        dw.write(val, streamWriter);
+        assertEquals(2 * perWrite, first.count);
+
+        // a pooled marshaller must not keep the previous listener
+        CountingListener second = new CountingListener();
+        db.setMarshallerListener(second);
+        dw.write(val, streamWriter);
+        assertEquals(2 * perWrite, first.count);
+        assertEquals(perWrite, second.count);
+    }
+
+    private static class CountingListener extends Marshaller.Listener {
+        int count;
+        @Override
+        public void beforeMarshal(Object source) {
+            if (source instanceof GreetMe) {
+                count++;
+            }
+        }
+    }
+
     private JAXBDataBinding getTestWriterFactory(Class<?>... clz) throws Exception {
         JAXBContext ctx = JAXBContext.newInstance(clz);
         return new JAXBDataBinding(ctx);
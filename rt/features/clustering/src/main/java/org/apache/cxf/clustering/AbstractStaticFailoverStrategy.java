@@ -42,7 +42,7 @@ public abstract class AbstractStaticFailoverStrategy implements FailoverStrategy
     private static final Logger LOG =
         LogUtils.getL7dLogger(AbstractStaticFailoverStrategy.class);
 
-    private List<String> alternateAddresses;
+    private volatile List<String> alternateAddresses;
     private long delayBetweenRetries;
 
     public void setDelayBetweenRetries(long delay) {
@@ -20,13 +20,15 @@
 package org.apache.cxf.clustering;
 
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.apache.cxf.clustering.circuitbreaker.CircuitBreaker;
+import org.apache.cxf.clustering.circuitbreaker.CircuitBreakerFactory;
 import org.apache.cxf.clustering.circuitbreaker.ZestCircuitBreaker;
 import org.apache.cxf.common.logging.LogUtils;
 import org.apache.cxf.common.util.StringUtils;
@@ -36,6 +38,7 @@ import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.Message;
+import org.apache.cxf.service.model.BindingOperationInfo;
 import org.apache.cxf.transport.Conduit;
 
 public class CircuitBreakerTargetSelector extends FailoverTargetSelector {
@@ -67,7 +70,10 @@ public class CircuitBreakerTargetSelector extends FailoverTargetSelector {
 
     private final int threshold;
     private final long timeout;
-    private final Map<String, CircuitBreaker> circuits = new LinkedHashMap<>();
+    private final ConcurrentMap<String, CircuitBreaker> circuits = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CircuitBreaker> operationCircuits = new ConcurrentHashMap<>();
+    private CircuitBreakerFactory circuitBreakerFactory;
+    private boolean perOperation;
 
     public CircuitBreakerTargetSelector(final int threshold, final long timeout) {
         super();
@@ -94,7 +100,7 @@ public class CircuitBreakerTargetSelector extends FailoverTargetSelector {
         if (getEndpoint() != null) {
             final String address = getEndpoint().getEndpointInfo().getAddress();
             if (!StringUtils.isEmpty(address)) {
-                circuits.putIfAbsent(address, new ZestCircuitBreaker(threshold, timeout));
+                circuits.computeIfAbsent(address, this::createCircuitBreaker);
             }
         }
 
@@ -103,7 +109,7 @@ public class CircuitBreakerTargetSelector extends FailoverTargetSelector {
             if (alternatives != null) {
                 for (String alternative: alternatives) {
                     if (!StringUtils.isEmpty(alternative)) {
-                        circuits.putIfAbsent(alternative, new ZestCircuitBreaker(threshold, timeout));
+                        circuits.computeIfAbsent(alternative, this::createCircuitBreaker);
                     }
                 }
             }
@@ -121,7 +127,7 @@ public class CircuitBreakerTargetSelector extends FailoverTargetSelector {
         if (invocation != null && !invocation.getContext().containsKey(IS_SELECTED)) {
             final String address = (String) message.get(Message.ENDPOINT_ADDRESS);
 
-            if (isFailoverRequired(address)) {
+            if (isFailoverRequired(address, getOperationName(invocation.getBindingOperationInfo()))) {
                 Endpoint target = getFailoverTarget(exchange, invocation);
 
                 if (target == null) {
@@ -138,6 +144,7 @@ public class CircuitBreakerTargetSelector extends FailoverTargetSelector {
             }
         }
 
+        onRequestStarted(message);
         return getSelectedConduit(message);
     }
 
@@ -148,13 +155,14 @@ public class CircuitBreakerTargetSelector extends FailoverTargetSelector {
             return null;
         }
 
+        final String operation = getOperationName(invocation.getBindingOperationInfo());
         final List<String> alternateAddresses = updateContextAlternatives(exchange, invocation);
         if (alternateAddresses != null) {
             final Iterator<String> alternateAddressIterator = alternateAddresses.iterator();
 
             while (alternateAddressIterator.hasNext()) {
                 final String alternateAddress = alternateAddressIterator.next();
-                final CircuitBreaker circuitBreaker = getCircuitBreaker(alternateAddress);
+                final CircuitBreaker circuitBreaker = getCircuitBreaker(alternateAddress, operation);
 
                 if (!circuitBreaker.allowRequest()) {
                     alternateAddressIterator.remove();
@@ -179,7 +187,7 @@ public class CircuitBreakerTargetSelector extends FailoverTargetSelector {
 
                 while (alternateEndpointIterator.hasNext()) {
                     final Endpoint endpoint = alternateEndpointIterator.next();
-                    final CircuitBreaker circuitBreaker = getCircuitBreaker(endpoint);
+                    final CircuitBreaker circuitBreaker = getCircuitBreaker(endpoint, operation);
                     if (!circuitBreaker.allowRequest()) {
                         alternateEndpointIterator.remove();
                     }
@@ -201,7 +209,14 @@ public class CircuitBreakerTargetSelector extends FailoverTargetSelector {
 
         if (requestContext != null) {
             final String address = (String)requestContext.get(Message.ENDPOINT_ADDRESS);
-            getCircuitBreaker(address).markFailure(ex);
+            final CircuitBreaker circuitBreaker =
+                getCircuitBreaker(address, getOperationName(context.getBindingOperationInfo()));
+            final long duration = context.getRequestDuration();
+            if (duration >= 0) {
+                circuitBreaker.markFailure(ex, duration);
+            } else {
+                circuitBreaker.markFailure(ex);
+            }
         }
     }
 
@@ -214,36 +229,92 @@ public class CircuitBreakerTargetSelector extends FailoverTargetSelector {
 
         if (requestContext != null) {
             final String address = (String)requestContext.get(Message.ENDPOINT_ADDRESS);
-            getCircuitBreaker(address).markSuccess();
+            final CircuitBreaker circuitBreaker =
+                getCircuitBreaker(address, getOperationName(context.getBindingOperationInfo()));
+            final long duration = context.getRequestDuration();
+            if (duration >= 0) {
+                circuitBreaker.markSuccess(duration);
+            } else {
+                circuitBreaker.markSuccess();
+            }
         }
     }
 
-    private CircuitBreaker getCircuitBreaker(final Endpoint endpoint) {
-        return getCircuitBreaker(endpoint.getEndpointInfo().getAddress());
+    private CircuitBreaker getCircuitBreaker(final Endpoint endpoint, final String operation) {
+        return getCircuitBreaker(endpoint.getEndpointInfo().getAddress(), operation);
     }
 
-    private synchronized CircuitBreaker getCircuitBreaker(final String alternateAddress) {
-        CircuitBreaker circuitBreaker = null;
+    private CircuitBreaker getCircuitBreaker(final String alternateAddress, final String operation) {
+        if (StringUtils.isEmpty(alternateAddress)) {
+            return NOOP_CIRCUIT_BREAKER;
+        }
 
-        if (!StringUtils.isEmpty(alternateAddress)) {
-            for (Map.Entry<String, CircuitBreaker> entry: circuits.entrySet()) {
-                if (alternateAddress.startsWith(entry.getKey())) {
-                    circuitBreaker = entry.getValue();
-                    break;
-                }
-            }
+        String address = findAddress(alternateAddress);
+        if (address == null) {
+            address = alternateAddress;
+            circuits.computeIfAbsent(address, this::createCircuitBreaker);
+        }
+        return getCircuitBreakerOf(address, operation);
+    }
 
-            if (circuitBreaker == null) {
-                circuitBreaker = new ZestCircuitBreaker(threshold, timeout);
-                circuits.put(alternateAddress, circuitBreaker);
+    private CircuitBreaker getCircuitBreakerOf(final String address, final String operation) {
+        if (perOperation && operation != null) {
+            return operationCircuits.computeIfAbsent(address + "#" + operation, this::createCircuitBreaker);
+        }
+        return circuits.get(address);
+    }
+
+    /**
+     * Finds the registered address which is the same as or is the longest prefix of the given one
+     */
+    private String findAddress(final String address) {
+        if (circuits.containsKey(address)) {
+            return address;
+        }
+        String found = null;
+        for (String candidate : circuits.keySet()) {
+            if (address.startsWith(candidate) && (found == null || candidate.length() > found.length())) {
+                found = candidate;
             }
         }
+        return found;
+    }
 
-        if (circuitBreaker == null) {
-            circuitBreaker = NOOP_CIRCUIT_BREAKER;
+    /**
+     * Creates the circuit breaker for the address (optionally followed by '#' and the operation name)
+     */
+    protected CircuitBreaker createCircuitBreaker(final String name) {
+        if (circuitBreakerFactory != null) {
+            return circuitBreakerFactory.create(name);
         }
+        return new ZestCircuitBreaker(threshold, timeout);
+    }
+
+    private static String getOperationName(final BindingOperationInfo boi) {
+        return boi != null ? boi.getName().getLocalPart() : null;
+    }
 
-        return circuitBreaker;
+    public CircuitBreakerFactory getCircuitBreakerFactory() {
+        return circuitBreakerFactory;
+    }
+
+    /**
+     * Sets the factory of the circuit breakers, the ZestCircuitBreaker with the configured
+     * threshold and timeout is used by default
+     */
+    public void setCircuitBreakerFactory(CircuitBreakerFactory circuitBreakerFactory) {
+        this.circuitBreakerFactory = circuitBreakerFactory;
+    }
+
+    public boolean isPerOperation() {
+        return perOperation;
+    }
+
+    /**
+     * Sets if every operation of the address has its own circuit breaker
+     */
+    public void setPerOperation(boolean perOperation) {
+        this.perOperation = perOperation;
     }
 
     private boolean isEndpointChanged(final String address, final Endpoint target) {
@@ -259,12 +330,11 @@ public class CircuitBreakerTargetSelector extends FailoverTargetSelector {
             target.getEndpointInfo().getAddress());
     }
 
-    private boolean isFailoverRequired(final String address) {
+    private boolean isFailoverRequired(final String address, final String operation) {
         if (!StringUtils.isEmpty(address)) {
-            for (final Map.Entry<String, CircuitBreaker> entry: circuits.entrySet()) {
-                if (address.startsWith(entry.getKey())) {
-                    return !entry.getValue().allowRequest();
-                }
+            final String registered = findAddress(address);
+            if (registered != null) {
+                return !getCircuitBreakerOf(registered, operation).allowRequest();
             }
         }
 
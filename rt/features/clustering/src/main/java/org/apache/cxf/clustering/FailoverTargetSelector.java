@@ -134,6 +134,7 @@ public class FailoverTargetSelector extends AbstractConduitSelector {
         if (c != null) {
             return c;
         }
+        onRequestStarted(message);
         return getSelectedConduit(message);
     }
 
@@ -159,6 +160,7 @@ public class FailoverTargetSelector extends AbstractConduitSelector {
 
         boolean failover = false;
         final Exception ex = getExceptionIfPresent(exchange);
+        onRequestCompleted(invocation, ex);
         if (requiresFailover(exchange, ex)) {
             onFailure(invocation, ex);
             Conduit old = (Conduit)exchange.getOutMessage().remove(Conduit.class.getName());
@@ -228,6 +230,44 @@ public class FailoverTargetSelector extends AbstractConduitSelector {
     protected void onSuccess(InvocationContext context) {
     }
 
+    /**
+     * Called when the request is about to be sent to the selected endpoint,
+     * records the start of the request for the latency aware strategies and circuit breakers.
+     *
+     * @param message the current Message
+     */
+    protected void onRequestStarted(Message message) {
+        final InvocationContext invocation = getInvocationContext(getInvocationKey(message.getExchange()));
+        if (invocation != null && invocation.requestAddress == null) {
+            invocation.requestAddress = getEndpoint().getEndpointInfo().getAddress();
+            invocation.requestStarted = System.nanoTime();
+            invocation.requestDuration = -1;
+            final FailoverStrategy strategy = getStrategy();
+            if (strategy instanceof LatencyAwareStrategy) {
+                ((LatencyAwareStrategy)strategy).requestStarted(invocation.requestAddress);
+            }
+        }
+    }
+
+    /**
+     * Called when the response to the request or the failure has been received,
+     * records the duration of the request for the latency aware strategies and circuit breakers.
+     *
+     * @param invocation the current InvocationContext
+     * @param ex the failure if any
+     */
+    protected void onRequestCompleted(InvocationContext invocation, Exception ex) {
+        if (invocation.requestAddress != null) {
+            invocation.requestDuration = System.nanoTime() - invocation.requestStarted;
+            final FailoverStrategy strategy = getStrategy();
+            if (strategy instanceof LatencyAwareStrategy) {
+                ((LatencyAwareStrategy)strategy).requestCompleted(invocation.requestAddress,
+                    invocation.requestDuration, ex != null);
+            }
+            invocation.requestAddress = null;
+        }
+    }
+
     protected void onFailure(InvocationContext context, Exception ex) {
     }
 
@@ -450,6 +490,9 @@ public class FailoverTargetSelector extends AbstractConduitSelector {
         private Map<String, Object> context;
         private List<Endpoint> alternateEndpoints;
         private List<String> alternateAddresses;
+        private String requestAddress;
+        private long requestStarted;
+        private long requestDuration = -1;
         protected InvocationContext(Endpoint endpoint,
                           BindingOperationInfo boi,
                           Object[] prms,
@@ -506,6 +549,13 @@ public class FailoverTargetSelector extends AbstractConduitSelector {
             alternateAddresses = alternates;
         }
 
+        /**
+         * @return the duration of the last attempt of this invocation in nanoseconds, -1 if not known
+         */
+        public long getRequestDuration() {
+            return requestDuration;
+        }
+
         public boolean hasAlternates() {
             return !(alternateEndpoints == null && alternateAddresses == null);
         }
@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Sends the request to the address selected by the {@link LatencyAwareStrategy} and, if it is
+ * still outstanding after the hedging delay (the configured percentile of the latency of this
+ * address), sends the same request to another address and takes the first successful response.
+ * The delay of 0 sends both requests at once.
+ * The initial hedging delay of the strategy is used until a request to the address completes.
+ * The hedged request is also sent immediately if the first one fails. The slower request is not
+ * cancelled as cancelling its future does not abort the call, its response is discarded once it
+ * completes so that its latency is still recorded and it counts as outstanding while it runs.
+ * Only the idempotent requests may be hedged.
+ */
+public class HedgingInvoker {
+    private final LatencyAwareStrategy strategy;
+    private final ScheduledExecutorService scheduler;
+
+    public HedgingInvoker(LatencyAwareStrategy strategy, ScheduledExecutorService scheduler) {
+        this.strategy = strategy;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Invokes the request
+     *
+     * @param request the function sending the request to the given address
+     * @return the response of the request which has completed successfully first
+     */
+    public <T> CompletableFuture<T> invoke(Function<String, ? extends CompletionStage<T>> request) {
+        final List<String> addresses = strategy.getAlternateAddresses(null);
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final String primary = strategy.selectAlternateAddress(addresses);
+        if (primary == null) {
+            result.completeExceptionally(new FailoverFailedException("No addresses are available"));
+            return result;
+        }
+        new HedgedInvocation<>(request, addresses, result).start(primary);
+        return result;
+    }
+
+    private final class HedgedInvocation<T> {
+        private final Function<String, ? extends CompletionStage<T>> request;
+        private final List<String> addresses;
+        private final CompletableFuture<T> result;
+        private final AtomicInteger remaining = new AtomicInteger();
+        private final AtomicBoolean hedged = new AtomicBoolean();
+        private volatile Throwable lastFailure;
+
+        HedgedInvocation(Function<String, ? extends CompletionStage<T>> request, List<String> addresses,
+                CompletableFuture<T> result) {
+            this.request = request;
+            this.addresses = addresses;
+            this.result = result;
+        }
+
+        void start(String primary) {
+            final long delay = strategy.getHedgingDelayNanos(primary);
+            remaining.incrementAndGet();
+            send(primary);
+            if (delay <= 0) {
+                hedge();
+            } else if (!result.isDone()) {
+                final Future<?> timer = scheduler.schedule(this::hedge, delay, TimeUnit.NANOSECONDS);
+                result.whenComplete((r, ex) -> timer.cancel(false));
+            }
+        }
+
+        private void hedge() {
+            if (result.isDone() || !hedged.compareAndSet(false, true)) {
+                return;
+            }
+            remaining.incrementAndGet();
+            final String secondary = strategy.selectAlternateAddress(addresses);
+            if (secondary != null) {
+                send(secondary);
+            } else {
+                onFailure(null);
+            }
+        }
+
+        private void onFailure(Throwable cause) {
+            if (cause != null) {
+                lastFailure = cause;
+            }
+            if (remaining.decrementAndGet() == 0) {
+                result.completeExceptionally(lastFailure != null
+                    ? lastFailure : new FailoverFailedException("No addresses are available"));
+            }
+        }
+
+        private void send(String address) {
+            strategy.requestStarted(address);
+            final long started = System.nanoTime();
+
+            apply(address).whenComplete((response, ex) -> {
+                final Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                    ? ex.getCause() : ex;
+                if (cause instanceof CancellationException) {
+                    // The call may still be running, its elapsed time is not its latency
+                    strategy.requestCancelled(address);
+                } else {
+                    strategy.requestCompleted(address, System.nanoTime() - started, cause != null);
+                }
+                if (cause == null) {
+                    result.complete(response);
+                } else {
+                    hedge();
+                    onFailure(cause);
+                }
+            });
+        }
+
+        private CompletableFuture<T> apply(String address) {
+            try {
+                return request.apply(address).toCompletableFuture();
+            } catch (RuntimeException ex) {
+                final CompletableFuture<T> failed = new CompletableFuture<>();
+                failed.completeExceptionally(ex);
+                return failed;
+            }
+        }
+    }
+}
@@ -0,0 +1,337 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+import org.apache.cxf.endpoint.Endpoint;
+
+/**
+ * Failover and load distribution strategy which prefers the addresses with the lowest
+ * observed latency. The strategy keeps the exponentially weighted moving average of the
+ * latency and the number of the outstanding requests per address and picks the better of
+ * two randomly chosen alternates ("power of two choices"), so that a single slow replica is
+ * avoided without all the clients rushing to the fastest one.
+ * The statistics are collected by the FailoverTargetSelector and its subclasses, this strategy
+ * is usually used with the LoadDistributorFeature. The statistics of the addresses which are
+ * no longer listed are dropped once they have no outstanding requests, and at most
+ * {@link #MAX_ADDRESSES} addresses are tracked.
+ */
+public class LatencyAwareStrategy extends AbstractStaticFailoverStrategy {
+    public static final double DEFAULT_DECAY = 0.3;
+    public static final long DEFAULT_FAILURE_PENALTY = 1000L;
+    public static final double DEFAULT_HEDGING_PERCENTILE = 0.95;
+    public static final long DEFAULT_INITIAL_HEDGING_DELAY = 1000L;
+    public static final int MAX_ADDRESSES = 1024;
+    private static final int SAMPLE_SIZE = 128;
+
+    private final Map<String, AddressStatistics> statistics = new ConcurrentHashMap<>();
+    private volatile Set<String> listedAddresses;
+    private double decay = DEFAULT_DECAY;
+    private long failurePenalty = TimeUnit.MILLISECONDS.toNanos(DEFAULT_FAILURE_PENALTY);
+    private double hedgingPercentile = DEFAULT_HEDGING_PERCENTILE;
+    private long initialHedgingDelay = DEFAULT_INITIAL_HEDGING_DELAY;
+    private long minHedgingDelay;
+
+    @Override
+    public void setAlternateAddresses(List<String> alternateAddresses) {
+        super.setAlternateAddresses(alternateAddresses);
+        final Set<String> listed = alternateAddresses != null
+            ? Collections.unmodifiableSet(new HashSet<>(alternateAddresses)) : null;
+        listedAddresses = listed;
+        if (listed != null) {
+            statistics.entrySet().removeIf(e -> !listed.contains(e.getKey()) && e.getValue().isIdle());
+        }
+    }
+
+    /**
+     * Get next alternate endpoint.
+     *
+     * @param alternates non-empty List of alternate endpoints
+     * @return
+     */
+    protected <T> T getNextAlternate(List<T> alternates) {
+        final int size = alternates.size();
+        if (size == 1) {
+            return alternates.remove(0);
+        }
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        final double firstScore = getScore(getAddress(alternates.get(first)));
+        final double secondScore = getScore(getAddress(alternates.get(second)));
+        return alternates.remove(firstScore <= secondScore ? first : second);
+    }
+
+    /**
+     * Records the start of the request to the given address
+     */
+    public void requestStarted(String address) {
+        final AddressStatistics stats = getStatistics(address);
+        stats.lastUsed = System.nanoTime();
+        stats.outstanding.incrementAndGet();
+    }
+
+    /**
+     * Records the completion of the request to the given address
+     *
+     * @param address the address
+     * @param latency the latency in nanoseconds
+     * @param failed true if the request has failed, the failure penalty is recorded as its latency
+     *        if it completed faster
+     */
+    public void requestCompleted(String address, long latency, boolean failed) {
+        final AddressStatistics stats = statistics.get(address);
+        if (stats != null) {
+            stats.record(failed ? Math.max(latency, failurePenalty) : latency, decay);
+            requestEnded(address, stats);
+        }
+    }
+
+    /**
+     * Records the end of the request to the given address which has been cancelled before
+     * completing, its elapsed time is not recorded as the latency
+     */
+    public void requestCancelled(String address) {
+        final AddressStatistics stats = statistics.get(address);
+        if (stats != null) {
+            requestEnded(address, stats);
+        }
+    }
+
+    /**
+     * Returns the delay in milliseconds after which the hedged request to another address
+     * should be sent if the request to the given address is still outstanding, the initial
+     * hedging delay is used until a request to this address completes
+     */
+    public long getHedgingDelay(String address) {
+        return TimeUnit.NANOSECONDS.toMillis(getHedgingDelayNanos(address));
+    }
+
+    /**
+     * Returns the hedging delay in nanoseconds, so that the addresses responding in less than
+     * a millisecond are hedged after their actual latency percentile
+     */
+    public long getHedgingDelayNanos(String address) {
+        final AddressStatistics stats = statistics.get(address);
+        final long delay = stats != null && stats.hasSamples()
+            ? stats.getPercentile(hedgingPercentile) : TimeUnit.MILLISECONDS.toNanos(initialHedgingDelay);
+        return Math.max(delay, TimeUnit.MILLISECONDS.toNanos(minHedgingDelay));
+    }
+
+    /**
+     * Returns the given percentile of the recent latencies of the address in nanoseconds
+     * or 0 if no request to this address has completed yet
+     */
+    public long getLatencyPercentile(String address, double percentile) {
+        final AddressStatistics stats = statistics.get(address);
+        return stats != null ? stats.getPercentile(percentile) : 0;
+    }
+
+    /**
+     * Returns the moving average of the latency of the address in nanoseconds
+     */
+    public long getAverageLatency(String address) {
+        final AddressStatistics stats = statistics.get(address);
+        return stats != null ? (long)stats.getAverage() : 0;
+    }
+
+    /**
+     * Returns the number of the outstanding requests to the address
+     */
+    public int getOutstandingRequests(String address) {
+        final AddressStatistics stats = statistics.get(address);
+        return stats != null ? stats.outstanding.get() : 0;
+    }
+
+    /**
+     * Sets the weight of the latest latency in the moving average, between 0 and 1
+     */
+    public void setDecay(double decay) {
+        if (decay <= 0 || decay > 1) {
+            throw new IllegalArgumentException("The decay must be greater than 0 and not greater than 1");
+        }
+        this.decay = decay;
+    }
+
+    public double getDecay() {
+        return decay;
+    }
+
+    /**
+     * Sets the latency in milliseconds recorded for the failed requests which have completed faster
+     */
+    public void setFailurePenalty(long failurePenalty) {
+        this.failurePenalty = TimeUnit.MILLISECONDS.toNanos(failurePenalty);
+    }
+
+    public long getFailurePenalty() {
+        return TimeUnit.NANOSECONDS.toMillis(failurePenalty);
+    }
+
+    /**
+     * Sets the latency percentile used as the hedging delay, 0.95 by default
+     */
+    public void setHedgingPercentile(double hedgingPercentile) {
+        this.hedgingPercentile = hedgingPercentile;
+    }
+
+    public double getHedgingPercentile() {
+        return hedgingPercentile;
+    }
+
+    /**
+     * Sets the hedging delay in milliseconds used for the addresses without any completed request,
+     * 1000 by default
+     */
+    public void setInitialHedgingDelay(long initialHedgingDelay) {
+        this.initialHedgingDelay = initialHedgingDelay;
+    }
+
+    public long getInitialHedgingDelay() {
+        return initialHedgingDelay;
+    }
+
+    /**
+     * Sets the minimum hedging delay in milliseconds
+     */
+    public void setMinHedgingDelay(long minHedgingDelay) {
+        this.minHedgingDelay = minHedgingDelay;
+    }
+
+    public long getMinHedgingDelay() {
+        return minHedgingDelay;
+    }
+
+    /**
+     * The selection is done for every request when the load is distributed so it is only logged at the fine level
+     */
+    @Override
+    protected Level getLogLevel() {
+        return Level.FINE;
+    }
+
+    private double getScore(String address) {
+        final AddressStatistics stats = statistics.get(address);
+        if (stats == null) {
+            // Not tried yet
+            return 0;
+        }
+        final int outstanding = stats.outstanding.get();
+        // The address whose first requests are still outstanding is assumed to be slow
+        final double latency = stats.hasSamples() ? stats.getAverage() : outstanding > 0 ? failurePenalty : 0;
+        return latency * (outstanding + 1);
+    }
+
+    private AddressStatistics getStatistics(String address) {
+        AddressStatistics stats = statistics.get(address);
+        if (stats == null) {
+            if (statistics.size() >= MAX_ADDRESSES) {
+                evictLeastRecentlyUsed();
+            }
+            stats = statistics.computeIfAbsent(address, a -> new AddressStatistics());
+        }
+        return stats;
+    }
+
+    private void requestEnded(String address, AddressStatistics stats) {
+        stats.outstanding.decrementAndGet();
+        final Set<String> listed = listedAddresses;
+        if (listed != null && !listed.contains(address) && stats.isIdle()) {
+            statistics.remove(address, stats);
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Map.Entry<String, AddressStatistics> eldest = null;
+        for (Map.Entry<String, AddressStatistics> e : statistics.entrySet()) {
+            if (e.getValue().isIdle()
+                && (eldest == null || e.getValue().lastUsed - eldest.getValue().lastUsed < 0)) {
+                eldest = e;
+            }
+        }
+        if (eldest != null) {
+            statistics.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private static String getAddress(Object alternate) {
+        if (alternate instanceof Endpoint) {
+            return ((Endpoint)alternate).getEndpointInfo().getAddress();
+        }
+        return String.valueOf(alternate);
+    }
+
+    private static final class AddressStatistics {
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final long[] samples = new long[SAMPLE_SIZE];
+        private volatile long lastUsed = System.nanoTime();
+        private int count;
+        private int next;
+        private double average;
+
+        boolean isIdle() {
+            return outstanding.get() <= 0;
+        }
+
+        synchronized boolean hasSamples() {
+            return count > 0;
+        }
+
+        synchronized void record(long latency, double decay) {
+            lastUsed = System.nanoTime();
+            average = count == 0 ? latency : decay * latency + (1 - decay) * average;
+            samples[next] = latency;
+            next = (next + 1) % SAMPLE_SIZE;
+            if (count < SAMPLE_SIZE) {
+                count++;
+            }
+        }
+
+        synchronized double getAverage() {
+            return average;
+        }
+
+        long getPercentile(double percentile) {
+            final long[] sorted;
+            synchronized (this) {
+                if (count == 0) {
+                    return 0;
+                }
+                sorted = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(sorted);
+            final int index = (int)Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+}
@@ -118,6 +118,7 @@ public class LoadDistributorTargetSelector extends FailoverTargetSelector {
                 invocation.getContext().put(IS_DISTRIBUTED, null);
             }
         }
+        onRequestStarted(message);
         return getSelectedConduit(message);
     }
 
@@ -189,6 +190,11 @@ public class LoadDistributorTargetSelector extends FailoverTargetSelector {
             }
         }
         alternateAddresses = addressList;
+        if (getStrategy() instanceof LatencyAwareStrategy) {
+            // the latency aware selection does not rely on the shared list being depleted,
+            // the current addresses are used every time so the changes in the cluster are picked up
+            alternateAddresses = getStrategy().getAlternateAddresses(null);
+        }
 
         if ((alternateAddresses == null) || (alternateAddresses.isEmpty())) {
             alternateAddresses = getStrategy().getAlternateAddresses(exchange);
@@ -40,4 +40,22 @@ public interface CircuitBreaker {
      * Reports about successful invocation to circuit breaker.
      */
     void markSuccess();
+
+    /**
+     * Reports about failure conditions to circuit breaker along with the duration of the invocation.
+     * @param cause exception happened (could be null)
+     * @param duration the duration of the invocation in nanoseconds
+     */
+    default void markFailure(Throwable cause, long duration) {
+        markFailure(cause);
+    }
+
+    /**
+     * Reports about successful invocation to circuit breaker along with its duration,
+     * so the slow invocations could be taken into account.
+     * @param duration the duration of the invocation in nanoseconds
+     */
+    default void markSuccess(long duration) {
+        markSuccess();
+    }
 }
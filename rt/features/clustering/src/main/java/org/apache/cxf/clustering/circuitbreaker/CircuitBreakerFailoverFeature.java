@@ -70,9 +70,27 @@ public class CircuitBreakerFailoverFeature extends FailoverFeature {
         Portable.class.cast(delegate).setTimeout(timeout);
     }
 
+    public CircuitBreakerFactory getCircuitBreakerFactory() {
+        return Portable.class.cast(delegate).getCircuitBreakerFactory();
+    }
+
+    public void setCircuitBreakerFactory(CircuitBreakerFactory circuitBreakerFactory) {
+        Portable.class.cast(delegate).setCircuitBreakerFactory(circuitBreakerFactory);
+    }
+
+    public boolean isPerOperation() {
+        return Portable.class.cast(delegate).isPerOperation();
+    }
+
+    public void setPerOperation(boolean perOperation) {
+        Portable.class.cast(delegate).setPerOperation(perOperation);
+    }
+
     public static class Portable extends FailoverFeature.Portable {
         private int threshold;
         private long timeout;
+        private CircuitBreakerFactory circuitBreakerFactory;
+        private boolean perOperation;
         private FailoverTargetSelector targetSelector;
 
         public Portable() {
@@ -100,8 +118,11 @@ public class CircuitBreakerFailoverFeature extends FailoverFeature {
         @Override
         public FailoverTargetSelector getTargetSelector() {
             if (this.targetSelector == null) {
-                this.targetSelector = new CircuitBreakerTargetSelector(threshold, timeout,
+                final CircuitBreakerTargetSelector selector = new CircuitBreakerTargetSelector(threshold, timeout,
                         super.getClientBootstrapAddress());
+                selector.setCircuitBreakerFactory(circuitBreakerFactory);
+                selector.setPerOperation(perOperation);
+                this.targetSelector = selector;
             }
             return this.targetSelector;
         }
@@ -126,5 +147,21 @@ public class CircuitBreakerFailoverFeature extends FailoverFeature {
         public void setTimeout(long timeout) {
             this.timeout = timeout;
         }
+
+        public CircuitBreakerFactory getCircuitBreakerFactory() {
+            return circuitBreakerFactory;
+        }
+
+        public void setCircuitBreakerFactory(CircuitBreakerFactory circuitBreakerFactory) {
+            this.circuitBreakerFactory = circuitBreakerFactory;
+        }
+
+        public boolean isPerOperation() {
+            return perOperation;
+        }
+
+        public void setPerOperation(boolean perOperation) {
+            this.perOperation = perOperation;
+        }
     }
 }
@@ -0,0 +1,42 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering.circuitbreaker;
+
+/**
+ * Receives the events of the {@link SlidingWindowCircuitBreaker}, for example to expose them as metrics.
+ */
+public interface CircuitBreakerListener {
+    /**
+     * The circuit breaker has changed its state.
+     */
+    void onStateTransition(String name, CircuitBreakerState from, CircuitBreakerState to);
+
+    /**
+     * The invocation has not been permitted because the circuit breaker is open.
+     */
+    void onCallNotPermitted(String name);
+
+    /**
+     * The invocation has completed.
+     * @param failed the invocation has failed
+     * @param slow the invocation has taken longer than the slow call duration
+     * @param duration the duration of the invocation in nanoseconds, -1 if not known
+     */
+    void onCallCompleted(String name, boolean failed, boolean slow, long duration);
+}
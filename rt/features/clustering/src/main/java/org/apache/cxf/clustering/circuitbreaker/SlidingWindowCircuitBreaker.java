@@ -0,0 +1,360 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering.circuitbreaker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.cxf.clustering.circuitbreaker.SlidingWindowCircuitBreakerFactory.WindowType;
+import org.apache.cxf.common.logging.LogUtils;
+
+/**
+ * Circuit breaker which opens when the failure rate or the slow call rate over the sliding window
+ * (of the last N calls or of the last N seconds) reaches the threshold, stays open for the wait
+ * duration and then permits a limited number of the probe calls to decide whether to close.
+ * The state and the statistics are updated without locking, the state transitions are atomic.
+ */
+public class SlidingWindowCircuitBreaker implements CircuitBreaker {
+    private static final Logger LOG = LogUtils.getL7dLogger(SlidingWindowCircuitBreaker.class);
+
+    private final String name;
+    private final WindowType windowType;
+    private final int windowSize;
+    private final int minimumNumberOfCalls;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallDuration;
+    private final long waitDuration;
+    private final int permittedCallsInHalfOpenState;
+    private final CircuitBreakerListener listener;
+    private final AtomicReference<Phase> phase;
+
+    public SlidingWindowCircuitBreaker(String name) {
+        this(name, new SlidingWindowCircuitBreakerFactory());
+    }
+
+    public SlidingWindowCircuitBreaker(String name, SlidingWindowCircuitBreakerFactory config) {
+        this.name = name;
+        this.windowType = config.getWindowType();
+        this.windowSize = config.getWindowSize();
+        this.minimumNumberOfCalls = config.getMinimumNumberOfCalls();
+        this.failureRateThreshold = config.getFailureRateThreshold();
+        this.slowCallRateThreshold = config.getSlowCallRateThreshold();
+        this.slowCallDuration = TimeUnit.MILLISECONDS.toNanos(config.getSlowCallDuration());
+        this.waitDuration = TimeUnit.MILLISECONDS.toNanos(config.getWaitDuration());
+        this.permittedCallsInHalfOpenState = config.getPermittedCallsInHalfOpenState();
+        this.listener = config.getListener();
+        this.phase = new AtomicReference<>(closed());
+    }
+
+    @Override
+    public boolean allowRequest() {
+        while (true) {
+            final Phase current = phase.get();
+            switch (current.state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (current.isOlderThan(waitDuration)) {
+                    transition(current, halfOpen());
+                    continue;
+                }
+                break;
+            default:
+                if (current.permits.decrementAndGet() >= 0) {
+                    current.probes.incrementAndGet();
+                    return true;
+                }
+                if (current.isOlderThan(waitDuration)) {
+                    // The probe calls have not reported back (or have not been made), permitting new ones
+                    transition(current, halfOpen());
+                    continue;
+                }
+                break;
+            }
+            if (listener != null) {
+                listener.onCallNotPermitted(name);
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public void markFailure(Throwable cause) {
+        record(true, -1);
+    }
+
+    @Override
+    public void markSuccess() {
+        record(false, -1);
+    }
+
+    @Override
+    public void markFailure(Throwable cause, long duration) {
+        record(true, duration);
+    }
+
+    @Override
+    public void markSuccess(long duration) {
+        record(false, duration);
+    }
+
+    private void record(boolean failed, long duration) {
+        final boolean slow = duration >= slowCallDuration;
+        if (listener != null) {
+            listener.onCallCompleted(name, failed, slow, duration);
+        }
+
+        final Phase current = phase.get();
+        if (current.state == CircuitBreakerState.OPEN
+            || current.state == CircuitBreakerState.HALF_OPEN && !isProbe(current, duration)) {
+            return;
+        }
+        final Snapshot snapshot = current.window.record(failed, slow);
+        if (current.state == CircuitBreakerState.CLOSED) {
+            if (snapshot.calls >= minimumNumberOfCalls && isThresholdReached(snapshot)) {
+                transition(current, open());
+            }
+        } else if (snapshot.calls >= permittedCallsInHalfOpenState) {
+            transition(current, isThresholdReached(snapshot) ? open() : closed());
+        }
+    }
+
+    /**
+     * The calls which have been permitted before the circuit breaker became half open (and are completed
+     * only now) must not decide whether it closes, only the outcomes of the permitted probe calls count
+     */
+    private static boolean isProbe(Phase current, long duration) {
+        if (duration >= 0 && System.nanoTime() - duration < current.since) {
+            return false;
+        }
+        return current.probes.getAndUpdate(n -> n > 0 ? n - 1 : n) > 0;
+    }
+
+    private boolean isThresholdReached(Snapshot snapshot) {
+        return snapshot.getFailureRate() >= failureRateThreshold
+            || snapshot.getSlowCallRate() >= slowCallRateThreshold;
+    }
+
+    private void transition(Phase from, Phase to) {
+        if (phase.compareAndSet(from, to)) {
+            if (LOG.isLoggable(Level.FINE)) {
+                LOG.fine("Circuit breaker " + name + " changed its state from " + from.state + " to " + to.state);
+            }
+            if (listener != null) {
+                listener.onStateTransition(name, from.state, to.state);
+            }
+        }
+    }
+
+    private Phase closed() {
+        return new Phase(CircuitBreakerState.CLOSED, windowType == WindowType.TIME_BASED
+            ? new TimeWindow(windowSize) : new CountWindow(windowSize), 0);
+    }
+
+    private Phase open() {
+        return new Phase(CircuitBreakerState.OPEN, null, 0);
+    }
+
+    private Phase halfOpen() {
+        return new Phase(CircuitBreakerState.HALF_OPEN, new CountWindow(permittedCallsInHalfOpenState),
+            permittedCallsInHalfOpenState);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreakerState getState() {
+        return phase.get().state;
+    }
+
+    /**
+     * Returns the percentage of the failed calls in the current window
+     */
+    public float getFailureRate() {
+        final Window window = phase.get().window;
+        return window != null ? window.snapshot().getFailureRate() : 100;
+    }
+
+    /**
+     * Returns the percentage of the slow calls in the current window
+     */
+    public float getSlowCallRate() {
+        final Window window = phase.get().window;
+        return window != null ? window.snapshot().getSlowCallRate() : 0;
+    }
+
+    private static final class Phase {
+        private final CircuitBreakerState state;
+        private final Window window;
+        private final AtomicInteger permits;
+        // The probe calls which have been permitted but have not reported back yet
+        private final AtomicInteger probes = new AtomicInteger();
+        private final long since = System.nanoTime();
+
+        Phase(CircuitBreakerState state, Window window, int permits) {
+            this.state = state;
+            this.window = window;
+            this.permits = new AtomicInteger(permits);
+        }
+
+        boolean isOlderThan(long duration) {
+            return System.nanoTime() - since >= duration;
+        }
+    }
+
+    private static final class Snapshot {
+        private final int calls;
+        private final int failures;
+        private final int slowCalls;
+
+        Snapshot(int calls, int failures, int slowCalls) {
+            this.calls = calls;
+            this.failures = failures;
+            this.slowCalls = slowCalls;
+        }
+
+        float getFailureRate() {
+            return calls == 0 ? 0 : failures * 100f / calls;
+        }
+
+        float getSlowCallRate() {
+            return calls == 0 ? 0 : slowCalls * 100f / calls;
+        }
+    }
+
+    private interface Window {
+        Snapshot record(boolean failed, boolean slow);
+
+        Snapshot snapshot();
+    }
+
+    /**
+     * Ring buffer of the outcomes of the last N calls with the running totals
+     */
+    private static final class CountWindow implements Window {
+        private static final int RECORDED = 1;
+        private static final int FAILED = 2;
+        private static final int SLOW = 4;
+
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong index = new AtomicLong();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+
+        CountWindow(int size) {
+            outcomes = new AtomicIntegerArray(size);
+        }
+
+        @Override
+        public Snapshot record(boolean failed, boolean slow) {
+            final int outcome = RECORDED | (failed ? FAILED : 0) | (slow ? SLOW : 0);
+            final int slot = (int)(index.getAndIncrement() % outcomes.length());
+            final int evicted = outcomes.getAndSet(slot, outcome);
+            update(evicted, -1);
+            update(outcome, 1);
+            return snapshot();
+        }
+
+        private void update(int outcome, int delta) {
+            if ((outcome & RECORDED) != 0) {
+                calls.addAndGet(delta);
+                if ((outcome & FAILED) != 0) {
+                    failures.addAndGet(delta);
+                }
+                if ((outcome & SLOW) != 0) {
+                    slowCalls.addAndGet(delta);
+                }
+            }
+        }
+
+        @Override
+        public Snapshot snapshot() {
+            return new Snapshot(calls.get(), failures.get(), slowCalls.get());
+        }
+    }
+
+    /**
+     * Ring buffer of the per second totals of the calls made during the last N seconds
+     */
+    private static final class TimeWindow implements Window {
+        private final AtomicReferenceArray<Bucket> buckets;
+
+        TimeWindow(int seconds) {
+            buckets = new AtomicReferenceArray<>(seconds);
+        }
+
+        @Override
+        public Snapshot record(boolean failed, boolean slow) {
+            final long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+            final int index = (int)Math.floorMod(second, (long)buckets.length());
+            // The buckets are immutable so starting the bucket of the new second and adding
+            // the outcome to it is a single atomic update, no concurrently recorded outcome is lost
+            buckets.updateAndGet(index, bucket -> (bucket == null || bucket.epoch != second
+                ? new Bucket(second, 0, 0, 0) : bucket).add(failed, slow));
+            return snapshot(second);
+        }
+
+        @Override
+        public Snapshot snapshot() {
+            return snapshot(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime()));
+        }
+
+        private Snapshot snapshot(long second) {
+            int calls = 0;
+            int failures = 0;
+            int slowCalls = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                final Bucket bucket = buckets.get(i);
+                if (bucket != null && second - bucket.epoch < buckets.length()) {
+                    calls += bucket.calls;
+                    failures += bucket.failures;
+                    slowCalls += bucket.slowCalls;
+                }
+            }
+            return new Snapshot(calls, failures, slowCalls);
+        }
+    }
+
+    private static final class Bucket {
+        private final long epoch;
+        private final int calls;
+        private final int failures;
+        private final int slowCalls;
+
+        Bucket(long epoch, int calls, int failures, int slowCalls) {
+            this.epoch = epoch;
+            this.calls = calls;
+            this.failures = failures;
+            this.slowCalls = slowCalls;
+        }
+
+        Bucket add(boolean failed, boolean slow) {
+            return new Bucket(epoch, calls + 1, failed ? failures + 1 : failures, slow ? slowCalls + 1 : slowCalls);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering.circuitbreaker;
+
+/**
+ * Creates the {@link SlidingWindowCircuitBreaker}s sharing the same configuration and listener.
+ */
+public class SlidingWindowCircuitBreakerFactory implements CircuitBreakerFactory {
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+    public static final int DEFAULT_MINIMUM_NUMBER_OF_CALLS = 10;
+    public static final float DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+    public static final long DEFAULT_WAIT_DURATION = 60000L;
+    public static final int DEFAULT_PERMITTED_CALLS_IN_HALF_OPEN_STATE = 10;
+
+    /**
+     * The type of the sliding window: the last N calls or the calls of the last N seconds.
+     */
+    public enum WindowType {
+        COUNT_BASED,
+        TIME_BASED
+    }
+
+    private WindowType windowType = WindowType.COUNT_BASED;
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private int minimumNumberOfCalls = DEFAULT_MINIMUM_NUMBER_OF_CALLS;
+    private float failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+    private float slowCallRateThreshold = 100;
+    private long slowCallDuration = DEFAULT_WAIT_DURATION;
+    private long waitDuration = DEFAULT_WAIT_DURATION;
+    private int permittedCallsInHalfOpenState = DEFAULT_PERMITTED_CALLS_IN_HALF_OPEN_STATE;
+    private CircuitBreakerListener listener;
+
+    @Override
+    public CircuitBreaker create(String name) {
+        return new SlidingWindowCircuitBreaker(name, this);
+    }
+
+    public WindowType getWindowType() {
+        return windowType;
+    }
+
+    public void setWindowType(WindowType windowType) {
+        this.windowType = windowType;
+    }
+
+    /**
+     * Returns the number of the calls (or seconds for the time based window) the statistics
+     * are collected for
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("The window size must be positive");
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Returns the minimum number of the calls in the window before the failure and slow call rates
+     * are evaluated
+     */
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+        this.minimumNumberOfCalls = minimumNumberOfCalls;
+    }
+
+    /**
+     * Returns the percentage of the failed calls which opens the circuit breaker
+     */
+    public float getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(float failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    /**
+     * Returns the percentage of the slow calls which opens the circuit breaker, 100 by default
+     */
+    public float getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+
+    /**
+     * Returns the duration in milliseconds the calls taking longer than are considered slow
+     */
+    public long getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    public void setSlowCallDuration(long slowCallDuration) {
+        this.slowCallDuration = slowCallDuration;
+    }
+
+    /**
+     * Returns the duration in milliseconds the circuit breaker stays open for
+     */
+    public long getWaitDuration() {
+        return waitDuration;
+    }
+
+    public void setWaitDuration(long waitDuration) {
+        this.waitDuration = waitDuration;
+    }
+
+    /**
+     * Returns the number of the probe calls permitted when the circuit breaker is half open
+     */
+    public int getPermittedCallsInHalfOpenState() {
+        return permittedCallsInHalfOpenState;
+    }
+
+    public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+        if (permittedCallsInHalfOpenState < 1) {
+            throw new IllegalArgumentException("The number of the permitted calls must be positive");
+        }
+        this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+    }
+
+    public CircuitBreakerListener getListener() {
+        return listener;
+    }
+
+    public void setListener(CircuitBreakerListener listener) {
+        this.listener = listener;
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering.discovery;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+import javax.naming.Context;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.directory.Attribute;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.InitialDirContext;
+
+/**
+ * Resolves the addresses from the DNS SRV records of the service, for example
+ * "_http._tcp.example.com". The records are ordered by their priority and weight,
+ * the address is built from the scheme, the target host and port of the record and the path.
+ */
+public class DnsSrvEndpointSource implements EndpointSource {
+    private static final String SRV = "SRV";
+
+    private final String serviceName;
+    private String scheme = "http";
+    private String path = "";
+    private String dnsServer;
+
+    public DnsSrvEndpointSource(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    @Override
+    public List<String> getAddresses() throws IOException {
+        final Properties env = new Properties();
+        env.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.dns.DnsContextFactory");
+        env.put(Context.PROVIDER_URL, dnsServer == null ? "dns:" : "dns://" + dnsServer);
+
+        DirContext context = null;
+        try {
+            context = new InitialDirContext(env);
+            final Attribute attribute = context.getAttributes(serviceName, new String[] {SRV}).get(SRV);
+            final List<SrvRecord> records = new ArrayList<>();
+            if (attribute != null) {
+                final NamingEnumeration<?> values = attribute.getAll();
+                while (values.hasMore()) {
+                    records.add(SrvRecord.parse(values.next().toString()));
+                }
+            }
+            records.sort(Comparator.comparingInt((SrvRecord r) -> r.priority)
+                .thenComparing(Comparator.comparingInt((SrvRecord r) -> r.weight).reversed()));
+
+            final List<String> addresses = new ArrayList<>(records.size());
+            for (SrvRecord record : records) {
+                addresses.add(scheme + "://" + record.host + ":" + record.port + path);
+            }
+            return addresses;
+        } catch (NamingException | IllegalArgumentException ex) {
+            throw new IOException("SRV records of " + serviceName + " can not be resolved", ex);
+        } finally {
+            if (context != null) {
+                try {
+                    context.close();
+                } catch (NamingException ex) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public void setScheme(String scheme) {
+        this.scheme = scheme;
+    }
+
+    public String getScheme() {
+        return scheme;
+    }
+
+    /**
+     * Sets the path appended to the address of every endpoint
+     */
+    public void setPath(String path) {
+        this.path = path == null ? "" : path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Sets the DNS server ("host" or "host:port"), the system one is used by default
+     */
+    public void setDnsServer(String dnsServer) {
+        this.dnsServer = dnsServer;
+    }
+
+    public String getDnsServer() {
+        return dnsServer;
+    }
+
+    private static final class SrvRecord {
+        private final int priority;
+        private final int weight;
+        private final int port;
+        private final String host;
+
+        private SrvRecord(int priority, int weight, int port, String host) {
+            this.priority = priority;
+            this.weight = weight;
+            this.port = port;
+            this.host = host;
+        }
+
+        static SrvRecord parse(String value) {
+            // "priority weight port target."
+            final String[] parts = value.trim().split("\\s+");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid SRV record: " + value);
+            }
+            final String host = parts[3].endsWith(".") ? parts[3].substring(0, parts[3].length() - 1) : parts[3];
+            return new SrvRecord(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                Integer.parseInt(parts[2]), host);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering.discovery;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.cxf.clustering.AbstractStaticFailoverStrategy;
+import org.apache.cxf.common.logging.LogUtils;
+
+/**
+ * Keeps the snapshot of the healthy endpoint addresses obtained from the {@link EndpointSource}
+ * and refreshes it in the background. The snapshot is immutable and is published to the registered
+ * failover strategies (and other listeners) whenever it changes, so the target selectors never
+ * wait for the discovery. If the source fails the last known addresses are kept; if none of the
+ * discovered endpoints is healthy all of them are used rather than none. The endpoints are checked
+ * in parallel, those whose check has not completed within the health check timeout are considered
+ * unhealthy and their checks are cancelled. The timeouts of the {@link HttpHealthCheck} requests
+ * never exceed the health check timeout.
+ */
+public class EndpointDiscovery implements Closeable {
+    public static final long DEFAULT_REFRESH_INTERVAL = 30000L;
+    public static final long DEFAULT_HEALTH_CHECK_TIMEOUT = 5000L;
+    private static final Logger LOG = LogUtils.getL7dLogger(EndpointDiscovery.class);
+
+    private final EndpointSource source;
+    private final List<Consumer<List<String>>> listeners = new CopyOnWriteArrayList<>();
+    private volatile List<String> addresses = Collections.emptyList();
+    private HealthCheck healthCheck;
+    private long refreshInterval = DEFAULT_REFRESH_INTERVAL;
+    private long healthCheckTimeout = DEFAULT_HEALTH_CHECK_TIMEOUT;
+    private ScheduledExecutorService executor;
+    private boolean shutdownExecutor;
+    private ExecutorService healthCheckExecutor;
+    private boolean shutdownHealthCheckExecutor;
+    private ScheduledFuture<?> refreshTask;
+
+    public EndpointDiscovery(EndpointSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Obtains the addresses and schedules their periodic refresh
+     */
+    public synchronized void start() {
+        if (refreshTask != null) {
+            return;
+        }
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread thread = new Thread(r, "cxf-endpoint-discovery");
+                thread.setDaemon(true);
+                return thread;
+            });
+            shutdownExecutor = true;
+        }
+        refresh();
+        refreshTask = executor.scheduleWithFixedDelay(this::refresh, refreshInterval, refreshInterval,
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic refresh
+     */
+    @Override
+    public synchronized void close() {
+        if (refreshTask != null) {
+            refreshTask.cancel(false);
+            refreshTask = null;
+        }
+        if (shutdownExecutor) {
+            executor.shutdownNow();
+            executor = null;
+            shutdownExecutor = false;
+        }
+        if (shutdownHealthCheckExecutor) {
+            healthCheckExecutor.shutdownNow();
+            healthCheckExecutor = null;
+            shutdownHealthCheckExecutor = false;
+        }
+    }
+
+    /**
+     * Obtains the addresses from the source, checks their health and publishes the new snapshot
+     * if it has changed
+     */
+    public void refresh() {
+        // Any failure escaping from here would stop the periodic refresh
+        try {
+            doRefresh();
+        } catch (Exception ex) {
+            LOG.log(Level.WARNING, "Endpoint addresses can not be refreshed, the last known ones are used", ex);
+        }
+    }
+
+    private void doRefresh() {
+        final List<String> discovered;
+        try {
+            discovered = source.getAddresses();
+        } catch (Exception ex) {
+            LOG.log(Level.WARNING, "Endpoint addresses can not be obtained, the last known ones are used", ex);
+            return;
+        }
+
+        List<String> healthy = discovered;
+        if (healthCheck != null) {
+            healthy = checkHealth(discovered);
+            if (healthy.isEmpty() && !discovered.isEmpty()) {
+                LOG.warning("None of the discovered endpoints is healthy, using all of them");
+                healthy = discovered;
+            }
+        }
+        publish(healthy);
+    }
+
+    private List<String> checkHealth(List<String> discovered) {
+        final HealthCheck check = healthCheck;
+        final ExecutorService checkExecutor = getOrCreateHealthCheckExecutor();
+        final int timeout = (int)Math.min(healthCheckTimeout, Integer.MAX_VALUE);
+        final Map<String, Future<Boolean>> checks = new LinkedHashMap<>();
+        for (String address : discovered) {
+            // The submitted task, unlike the CompletableFuture one, is interrupted when cancelled
+            checks.put(address, checkExecutor.submit(() -> check instanceof HttpHealthCheck
+                ? ((HttpHealthCheck)check).isHealthy(address, timeout) : check.isHealthy(address)));
+        }
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(healthCheckTimeout);
+        final List<String> healthy = new ArrayList<>(discovered.size());
+        for (Map.Entry<String, Future<Boolean>> entry : checks.entrySet()) {
+            if (isHealthy(entry.getKey(), entry.getValue(), deadline)) {
+                healthy.add(entry.getKey());
+            } else if (LOG.isLoggable(Level.FINE)) {
+                LOG.fine("Endpoint " + entry.getKey() + " is not healthy");
+            }
+        }
+        return healthy;
+    }
+
+    private static boolean isHealthy(String address, Future<Boolean> check, long deadline) {
+        try {
+            return check.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            check.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException ex) {
+            check.cancel(true);
+            LOG.fine("Health check of " + address + " has not completed in time");
+        } catch (ExecutionException ex) {
+            LOG.log(Level.WARNING, "Health check of " + address + " has failed", ex.getCause());
+        }
+        return false;
+    }
+
+    private synchronized ExecutorService getOrCreateHealthCheckExecutor() {
+        if (healthCheckExecutor == null) {
+            healthCheckExecutor = Executors.newCachedThreadPool(r -> {
+                final Thread thread = new Thread(r, "cxf-endpoint-health-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            shutdownHealthCheckExecutor = true;
+        }
+        return healthCheckExecutor;
+    }
+
+    private synchronized void publish(List<String> healthy) {
+        if (healthy.equals(addresses)) {
+            return;
+        }
+        final List<String> snapshot = Collections.unmodifiableList(new ArrayList<>(healthy));
+        addresses = snapshot;
+        for (Consumer<List<String>> listener : listeners) {
+            try {
+                listener.accept(snapshot);
+            } catch (RuntimeException ex) {
+                LOG.log(Level.WARNING, "Endpoint addresses listener has failed", ex);
+            }
+        }
+    }
+
+    /**
+     * Returns the current snapshot of the healthy endpoint addresses
+     */
+    public List<String> getAddresses() {
+        return addresses;
+    }
+
+    /**
+     * Registers the listener which gets every new snapshot of the addresses, and the current one
+     * if the addresses have already been obtained
+     */
+    public synchronized void addListener(Consumer<List<String>> listener) {
+        listeners.add(listener);
+        if (!addresses.isEmpty()) {
+            listener.accept(addresses);
+        }
+    }
+
+    public void removeListener(Consumer<List<String>> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Keeps the alternate addresses of the strategy up to date
+     */
+    public void register(AbstractStaticFailoverStrategy strategy) {
+        addListener(strategy::setAlternateAddresses);
+    }
+
+    public EndpointSource getSource() {
+        return source;
+    }
+
+    public void setHealthCheck(HealthCheck healthCheck) {
+        this.healthCheck = healthCheck;
+    }
+
+    public HealthCheck getHealthCheck() {
+        return healthCheck;
+    }
+
+    /**
+     * Sets the interval in milliseconds between the refreshes
+     */
+    public void setRefreshInterval(long refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public long getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Sets the executor running the refreshes, a single daemon thread is used by default
+     */
+    public void setExecutor(ScheduledExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the maximum time in milliseconds the refresh waits for the health checks
+     */
+    public void setHealthCheckTimeout(long healthCheckTimeout) {
+        this.healthCheckTimeout = healthCheckTimeout;
+    }
+
+    public long getHealthCheckTimeout() {
+        return healthCheckTimeout;
+    }
+
+    /**
+     * Sets the executor running the health checks in parallel, a cached pool of daemon threads
+     * is used by default
+     */
+    public synchronized void setHealthCheckExecutor(ExecutorService healthCheckExecutor) {
+        if (shutdownHealthCheckExecutor) {
+            this.healthCheckExecutor.shutdownNow();
+        }
+        this.healthCheckExecutor = healthCheckExecutor;
+        this.shutdownHealthCheckExecutor = false;
+    }
+
+    public synchronized ExecutorService getHealthCheckExecutor() {
+        return healthCheckExecutor;
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering.discovery;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Provides the current addresses of the service endpoints, for example from a file,
+ * DNS SRV records or the results of a WS-Discovery probe.
+ */
+public interface EndpointSource {
+    /**
+     * Returns the addresses of the service endpoints.
+     * @return the list of addresses, possibly empty
+     * @throws IOException if the addresses can not be obtained at the moment, the last
+     * known addresses are used in this case
+     */
+    List<String> getAddresses() throws IOException;
+}
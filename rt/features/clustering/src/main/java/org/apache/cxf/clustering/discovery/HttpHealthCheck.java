@@ -0,0 +1,193 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering.discovery;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.service.model.EndpointInfo;
+import org.apache.cxf.transport.Conduit;
+import org.apache.cxf.transport.ConduitInitiator;
+import org.apache.cxf.transport.ConduitInitiatorManager;
+
+/**
+ * Considers the endpoint healthy if the GET request to its address (optionally followed by
+ * the health check path) returns a 2xx status. The request is sent through the conduit the bus
+ * creates for the health check address, so the conduit configuration of the bus (TLS, proxy,
+ * authorization) applies to it; the conduit customizer can apply the settings of the client's
+ * own conduit. The endpoints whose transport is not known to the bus are considered healthy.
+ */
+public class HttpHealthCheck implements HealthCheck {
+    public static final int DEFAULT_TIMEOUT = 2000;
+    private static final Logger LOG = LogUtils.getL7dLogger(HttpHealthCheck.class);
+
+    private final Bus bus;
+    private String path = "";
+    private int timeout = DEFAULT_TIMEOUT;
+    private Consumer<Conduit> conduitCustomizer;
+
+    public HttpHealthCheck() {
+        this(BusFactory.getThreadDefaultBus());
+    }
+
+    public HttpHealthCheck(String path) {
+        this();
+        setPath(path);
+    }
+
+    public HttpHealthCheck(Bus bus) {
+        this.bus = bus;
+    }
+
+    @Override
+    public boolean isHealthy(String address) {
+        return isHealthy(address, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Checks the endpoint with the timeouts not exceeding the given one
+     */
+    boolean isHealthy(String address, int maxTimeout) {
+        final String healthCheckAddress = getHealthCheckAddress(address);
+        final ConduitInitiatorManager manager = bus.getExtension(ConduitInitiatorManager.class);
+        final ConduitInitiator initiator = manager == null ? null
+            : manager.getConduitInitiatorForUri(healthCheckAddress);
+        if (initiator == null) {
+            return true;
+        }
+
+        Conduit conduit = null;
+        try {
+            final EndpointInfo endpointInfo = new EndpointInfo();
+            endpointInfo.setAddress(healthCheckAddress);
+            conduit = initiator.getConduit(endpointInfo, bus);
+            if (conduitCustomizer != null) {
+                conduitCustomizer.accept(conduit);
+            }
+            final AtomicInteger status = new AtomicInteger();
+            conduit.setMessageObserver(response -> {
+                final Integer code = (Integer)response.get(Message.RESPONSE_CODE);
+                status.set(code == null ? 0 : code);
+                closeQuietly(response.getContent(InputStream.class));
+            });
+
+            final Message request = createRequest(healthCheckAddress, Math.min(getEffectiveTimeout(), maxTimeout));
+            conduit.prepare(request);
+            // The exchange is synchronous, the response is handled once the request is sent
+            final OutputStream os = request.getContent(OutputStream.class);
+            if (os != null) {
+                os.close();
+            }
+            return status.get() >= 200 && status.get() < 300;
+        } catch (IOException | RuntimeException ex) {
+            LOG.log(Level.FINE, "Health check of " + address + " has failed", ex);
+            return false;
+        } finally {
+            if (conduit != null) {
+                conduit.close();
+            }
+        }
+    }
+
+    private Message createRequest(String healthCheckAddress, int requestTimeout) {
+        final Message request = new MessageImpl();
+        final Exchange exchange = new ExchangeImpl();
+        exchange.put(Bus.class, bus);
+        exchange.setOutMessage(request);
+        request.setExchange(exchange);
+        request.put(Message.REQUESTOR_ROLE, Boolean.TRUE);
+        request.put(Message.HTTP_REQUEST_METHOD, "GET");
+        request.put(Message.ENDPOINT_ADDRESS, healthCheckAddress);
+        request.put(Message.CONNECTION_TIMEOUT, requestTimeout);
+        request.put(Message.RECEIVE_TIMEOUT, requestTimeout);
+        return request;
+    }
+
+    // The conduit would wait forever for the endpoint which does not respond
+    private int getEffectiveTimeout() {
+        return timeout > 0 ? timeout : DEFAULT_TIMEOUT;
+    }
+
+    private static void closeQuietly(InputStream is) {
+        if (is != null) {
+            try {
+                is.close();
+            } catch (IOException ex) {
+                // ignore
+            }
+        }
+    }
+
+    private String getHealthCheckAddress(String address) {
+        if (path.isEmpty()) {
+            return address;
+        }
+        if (address.endsWith("/")) {
+            return path.startsWith("/") ? address + path.substring(1) : address + path;
+        }
+        return path.startsWith("/") ? address + path : address + "/" + path;
+    }
+
+    /**
+     * Sets the path relative to the endpoint address the health check request is sent to
+     */
+    public void setPath(String path) {
+        this.path = path == null ? "" : path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Sets the connection and receive timeout in milliseconds, the default one is used
+     * if it is not positive
+     */
+    public void setTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
+    public int getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets the customizer of the conduits sending the health check requests, for example
+     * copying the TLS client parameters of the client's HTTP conduit
+     */
+    public void setConduitCustomizer(Consumer<Conduit> conduitCustomizer) {
+        this.conduitCustomizer = conduitCustomizer;
+    }
+
+    public Consumer<Conduit> getConduitCustomizer() {
+        return conduitCustomizer;
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering.discovery;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the addresses from the file, one address per line, the empty lines and
+ * the lines starting with '#' are ignored. The file is only read again after it
+ * has been modified.
+ */
+public class StaticFileEndpointSource implements EndpointSource {
+    private final Path file;
+    private FileTime lastModified;
+    private List<String> addresses = Collections.emptyList();
+
+    public StaticFileEndpointSource(String file) {
+        this(Paths.get(file));
+    }
+
+    public StaticFileEndpointSource(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized List<String> getAddresses() throws IOException {
+        final FileTime modified = Files.getLastModifiedTime(file);
+        if (!modified.equals(lastModified)) {
+            final List<String> read = new ArrayList<>();
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                final String address = line.trim();
+                if (!address.isEmpty() && !address.startsWith("#")) {
+                    read.add(address);
+                }
+            }
+            addresses = Collections.unmodifiableList(read);
+            lastModified = modified;
+        }
+        return addresses;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyAwareStrategyTest {
+    private static final String FAST = "http://localhost:8080/fast";
+    private static final String SLOW = "http://localhost:8080/slow";
+
+    private LatencyAwareStrategy strategy;
+    private ScheduledExecutorService scheduler;
+
+    @Before
+    public void setUp() {
+        strategy = new LatencyAwareStrategy();
+        strategy.setAlternateAddresses(Arrays.asList(FAST, SLOW));
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testFasterAddressIsSelected() {
+        record(FAST, 10);
+        record(SLOW, 500);
+        for (int i = 0; i < 10; i++) {
+            List<String> addresses = strategy.getAlternateAddresses(null);
+            assertEquals(FAST, strategy.selectAlternateAddress(addresses));
+            assertEquals(Arrays.asList(SLOW), addresses);
+        }
+    }
+
+    @Test
+    public void testLessLoadedAddressIsSelected() {
+        record(FAST, 10);
+        record(SLOW, 30);
+        for (int i = 0; i < 5; i++) {
+            strategy.requestStarted(FAST);
+        }
+        assertEquals(5, strategy.getOutstandingRequests(FAST));
+        assertEquals(SLOW, strategy.selectAlternateAddress(strategy.getAlternateAddresses(null)));
+    }
+
+    @Test
+    public void testFailurePenalty() {
+        record(FAST, 10);
+        strategy.requestStarted(FAST);
+        strategy.requestCompleted(FAST, TimeUnit.MILLISECONDS.toNanos(1), true);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1000), strategy.getLatencyPercentile(FAST, 1.0));
+    }
+
+    @Test
+    public void testSlowRequestIsHedged() throws Exception {
+        record(FAST, 10);
+        record(SLOW, 20);
+        strategy.setMinHedgingDelay(50);
+
+        final CompletableFuture<String> stuck = new CompletableFuture<>();
+        final String response = new HedgingInvoker(strategy, scheduler).<String>invoke(address ->
+            FAST.equals(address) ? stuck : CompletableFuture.completedFuture(address)).get(5, TimeUnit.SECONDS);
+        assertEquals(SLOW, response);
+        // the slower request is still outstanding until it completes and its latency is recorded
+        assertFalse(stuck.isDone());
+        assertEquals(1, strategy.getOutstandingRequests(FAST));
+        assertEquals(0, strategy.getOutstandingRequests(SLOW));
+        stuck.complete(FAST);
+        assertEquals(0, strategy.getOutstandingRequests(FAST));
+        assertTrue(strategy.getLatencyPercentile(FAST, 1.0) >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    public void testSubMillisecondLatencyIsHedged() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            strategy.requestStarted(FAST);
+            strategy.requestCompleted(FAST, TimeUnit.MICROSECONDS.toNanos(200), false);
+        }
+        record(SLOW, 20);
+        assertEquals(0, strategy.getHedgingDelay(FAST));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(200), strategy.getHedgingDelayNanos(FAST));
+
+        final CompletableFuture<String> stuck = new CompletableFuture<>();
+        final String response = new HedgingInvoker(strategy, scheduler).<String>invoke(address ->
+            FAST.equals(address) ? stuck : CompletableFuture.completedFuture(address)).get(5, TimeUnit.SECONDS);
+        assertEquals(SLOW, response);
+        stuck.complete(FAST);
+    }
+
+    @Test
+    public void testZeroDelayHedgesImmediately() throws Exception {
+        strategy.setInitialHedgingDelay(0);
+        final List<String> requested = new CopyOnWriteArrayList<>();
+        final CompletableFuture<String> stuck = new CompletableFuture<>();
+        final CompletableFuture<String> result = new HedgingInvoker(strategy, scheduler).invoke(address -> {
+            requested.add(address);
+            return stuck;
+        });
+        // both requests have been sent without waiting for the scheduler
+        assertEquals(2, requested.size());
+        stuck.complete("done");
+        assertEquals("done", result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCancelledRequestIsNotSampled() throws Exception {
+        record(FAST, 10);
+        strategy.setAlternateAddresses(Arrays.asList(FAST));
+
+        final CompletableFuture<String> cancelled = new CompletableFuture<>();
+        final CompletableFuture<String> result = new HedgingInvoker(strategy, scheduler).invoke(address -> cancelled);
+        cancelled.cancel(true);
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(0, strategy.getOutstandingRequests(FAST));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), strategy.getLatencyPercentile(FAST, 0.0));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), strategy.getAverageLatency(FAST));
+    }
+
+    @Test
+    public void testRequestIsHedgedBeforeFirstSample() throws Exception {
+        strategy.setInitialHedgingDelay(50);
+        assertEquals(50, strategy.getHedgingDelay(FAST));
+
+        final CompletableFuture<String> stuck = new CompletableFuture<>();
+        final List<String> requested = new CopyOnWriteArrayList<>();
+        final String response = new HedgingInvoker(strategy, scheduler).<String>invoke(address -> {
+            requested.add(address);
+            return requested.size() == 1 ? stuck : CompletableFuture.completedFuture(address);
+        }).get(5, TimeUnit.SECONDS);
+        assertEquals(2, requested.size());
+        assertEquals(requested.get(1), response);
+        stuck.complete(requested.get(0));
+    }
+
+    @Test
+    public void testAddressWithOutstandingFirstRequestIsAvoided() {
+        record(SLOW, 500);
+        strategy.requestStarted(FAST);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(SLOW, strategy.selectAlternateAddress(strategy.getAlternateAddresses(null)));
+        }
+    }
+
+    @Test
+    public void testStatisticsOfRemovedAddressesAreDropped() {
+        record(FAST, 10);
+        record(SLOW, 20);
+        strategy.requestStarted(SLOW);
+        strategy.setAlternateAddresses(Arrays.asList(FAST));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), strategy.getAverageLatency(FAST));
+        // the outstanding request is still tracked until it completes
+        assertEquals(1, strategy.getOutstandingRequests(SLOW));
+        strategy.requestCompleted(SLOW, TimeUnit.MILLISECONDS.toNanos(20), false);
+        assertEquals(0, strategy.getAverageLatency(SLOW));
+    }
+
+    @Test
+    public void testTrackedAddressesAreBounded() {
+        strategy.setAlternateAddresses(null);
+        for (int i = 0; i < LatencyAwareStrategy.MAX_ADDRESSES + 10; i++) {
+            record("http://localhost:8080/" + i, 10);
+        }
+        assertEquals(0, strategy.getAverageLatency("http://localhost:8080/0"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10),
+            strategy.getAverageLatency("http://localhost:8080/" + (LatencyAwareStrategy.MAX_ADDRESSES + 9)));
+    }
+
+    @Test
+    public void testFailedRequestIsHedgedImmediately() throws Exception {
+        record(FAST, 10);
+        record(SLOW, 20);
+        strategy.setMinHedgingDelay(60000);
+
+        final String response = new HedgingInvoker(strategy, scheduler).<String>invoke(address -> {
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            if (FAST.equals(address)) {
+                future.completeExceptionally(new IllegalStateException());
+            } else {
+                future.complete(address);
+            }
+            return future;
+        }).get(5, TimeUnit.SECONDS);
+        assertEquals(SLOW, response);
+    }
+
+    private void record(String address, long latency) {
+        strategy.requestStarted(address);
+        strategy.requestCompleted(address, TimeUnit.MILLISECONDS.toNanos(latency), false);
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering.circuitbreaker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cxf.clustering.circuitbreaker.SlidingWindowCircuitBreakerFactory.WindowType;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SlidingWindowCircuitBreakerTest {
+    private SlidingWindowCircuitBreakerFactory factory;
+    private List<String> transitions;
+
+    @Before
+    public void setUp() {
+        transitions = new ArrayList<>();
+        factory = new SlidingWindowCircuitBreakerFactory();
+        factory.setWindowSize(10);
+        factory.setMinimumNumberOfCalls(4);
+        factory.setFailureRateThreshold(50);
+        factory.setWaitDuration(100);
+        factory.setPermittedCallsInHalfOpenState(2);
+        factory.setListener(new CircuitBreakerListener() {
+            @Override
+            public void onStateTransition(String name, CircuitBreakerState from, CircuitBreakerState to) {
+                transitions.add(from + "->" + to);
+            }
+
+            @Override
+            public void onCallNotPermitted(String name) {
+            }
+
+            @Override
+            public void onCallCompleted(String name, boolean failed, boolean slow, long duration) {
+            }
+        });
+    }
+
+    @Test
+    public void testOpensWhenFailureRateIsReached() {
+        final SlidingWindowCircuitBreaker breaker = new SlidingWindowCircuitBreaker("test", factory);
+        breaker.markFailure(null);
+        breaker.markFailure(null);
+        breaker.markSuccess();
+        // not enough calls yet
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+        breaker.markSuccess();
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    public void testOldOutcomesLeaveCountWindow() {
+        final SlidingWindowCircuitBreaker breaker = new SlidingWindowCircuitBreaker("test", factory);
+        breaker.markFailure(null);
+        for (int i = 0; i < 9; i++) {
+            breaker.markSuccess();
+        }
+        assertEquals(10f, breaker.getFailureRate(), 0f);
+        breaker.markSuccess();
+        assertEquals(0f, breaker.getFailureRate(), 0f);
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void testOpensWhenSlowCallRateIsReached() {
+        factory.setSlowCallDuration(10);
+        factory.setSlowCallRateThreshold(50);
+        final SlidingWindowCircuitBreaker breaker = new SlidingWindowCircuitBreaker("test", factory);
+        for (int i = 0; i < 4; i++) {
+            breaker.markSuccess(TimeUnit.MILLISECONDS.toNanos(20));
+        }
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void testHalfOpenPermitsLimitedProbes() throws Exception {
+        final SlidingWindowCircuitBreaker breaker = new SlidingWindowCircuitBreaker("test", factory);
+        for (int i = 0; i < 4; i++) {
+            breaker.markFailure(null);
+        }
+        Thread.sleep(150);
+
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreakerState.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+
+        breaker.markSuccess();
+        breaker.markSuccess();
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+        assertTrue(breaker.allowRequest());
+        assertEquals("[CLOSED->OPEN, OPEN->HALF_OPEN, HALF_OPEN->CLOSED]", transitions.toString());
+    }
+
+    @Test
+    public void testFailedProbeOpensAgain() throws Exception {
+        final SlidingWindowCircuitBreaker breaker = new SlidingWindowCircuitBreaker("test", factory);
+        for (int i = 0; i < 4; i++) {
+            breaker.markFailure(null);
+        }
+        Thread.sleep(150);
+
+        assertTrue(breaker.allowRequest());
+        assertTrue(breaker.allowRequest());
+        breaker.markFailure(null);
+        breaker.markSuccess();
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void testTimeBasedWindow() {
+        factory.setWindowType(WindowType.TIME_BASED);
+        final SlidingWindowCircuitBreaker breaker = new SlidingWindowCircuitBreaker("test", factory);
+        breaker.markSuccess();
+        breaker.markSuccess();
+        breaker.markFailure(null);
+        assertEquals(100f / 3, breaker.getFailureRate(), 0.01f);
+        breaker.markFailure(null);
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void testCallsStartedBeforeHalfOpenAreNotProbes() throws Exception {
+        final SlidingWindowCircuitBreaker breaker = new SlidingWindowCircuitBreaker("test", factory);
+        for (int i = 0; i < 4; i++) {
+            breaker.markFailure(null);
+        }
+        Thread.sleep(150);
+
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreakerState.HALF_OPEN, breaker.getState());
+        // a call permitted while the circuit breaker was closed
+        breaker.markSuccess(TimeUnit.MILLISECONDS.toNanos(500));
+        // the probe, and a call of unknown duration exceeding the permitted probes
+        breaker.markSuccess();
+        breaker.markSuccess();
+        assertEquals(CircuitBreakerState.HALF_OPEN, breaker.getState());
+
+        assertTrue(breaker.allowRequest());
+        breaker.markFailure(null, 0);
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void testTimeBasedWindowCountsConcurrentCalls() throws Exception {
+        factory.setWindowType(WindowType.TIME_BASED);
+        factory.setMinimumNumberOfCalls(Integer.MAX_VALUE);
+        final SlidingWindowCircuitBreaker breaker = new SlidingWindowCircuitBreaker("test", factory);
+        final int threads = 8;
+        final int calls = 1000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final boolean failing = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < calls; j++) {
+                        if (failing) {
+                            breaker.markFailure(null);
+                        } else {
+                            breaker.markSuccess();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(50f, breaker.getFailureRate(), 0f);
+    }
+}
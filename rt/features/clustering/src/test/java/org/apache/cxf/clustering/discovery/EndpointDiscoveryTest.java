@@ -0,0 +1,194 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering.discovery;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.cxf.clustering.SequentialStrategy;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EndpointDiscoveryTest {
+    private static final String ADDRESS1 = "http://localhost:8080/service";
+    private static final String ADDRESS2 = "http://localhost:8081/service";
+    private static final String ADDRESS3 = "http://localhost:8082/service";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testFileIsReloaded() throws Exception {
+        final File file = folder.newFile("endpoints.txt");
+        Files.write(file.toPath(), Arrays.asList("# endpoints", ADDRESS1, ""), StandardCharsets.UTF_8);
+
+        final EndpointDiscovery discovery = new EndpointDiscovery(new StaticFileEndpointSource(file.toPath()));
+        final SequentialStrategy strategy = new SequentialStrategy();
+        discovery.register(strategy);
+        discovery.refresh();
+        assertEquals(Collections.singletonList(ADDRESS1), strategy.getAlternateAddresses(null));
+
+        Files.write(file.toPath(), Arrays.asList(ADDRESS1, ADDRESS2), StandardCharsets.UTF_8);
+        file.setLastModified(file.lastModified() + 2000);
+        discovery.refresh();
+        assertEquals(Arrays.asList(ADDRESS1, ADDRESS2), strategy.getAlternateAddresses(null));
+    }
+
+    @Test
+    public void testUnhealthyEndpointIsFiltered() {
+        final EndpointDiscovery discovery = new EndpointDiscovery(() -> Arrays.asList(ADDRESS1, ADDRESS2));
+        discovery.setHealthCheck(ADDRESS2::equals);
+        discovery.refresh();
+        assertEquals(Collections.singletonList(ADDRESS2), discovery.getAddresses());
+
+        discovery.setHealthCheck(address -> false);
+        discovery.refresh();
+        assertEquals(Arrays.asList(ADDRESS1, ADDRESS2), discovery.getAddresses());
+    }
+
+    @Test
+    public void testHealthChecksRunInParallelWithTimeout() {
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final CountDownLatch never = new CountDownLatch(1);
+        final EndpointDiscovery discovery = new EndpointDiscovery(() -> Arrays.asList(ADDRESS1, ADDRESS2, ADDRESS3));
+        discovery.setHealthCheckTimeout(1000);
+        discovery.setHealthCheck(address -> {
+            try {
+                if (ADDRESS3.equals(address)) {
+                    return never.await(10, TimeUnit.SECONDS);
+                }
+                // only succeeds if the other check runs at the same time
+                bothStarted.countDown();
+                return bothStarted.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                return false;
+            }
+        });
+        try {
+            final long started = System.nanoTime();
+            discovery.refresh();
+            assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(5));
+            assertEquals(Arrays.asList(ADDRESS1, ADDRESS2), discovery.getAddresses());
+        } finally {
+            never.countDown();
+            discovery.close();
+        }
+    }
+
+    @Test
+    public void testTimedOutHealthCheckIsCancelled() throws Exception {
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final EndpointDiscovery discovery = new EndpointDiscovery(() -> Arrays.asList(ADDRESS1, ADDRESS2));
+        discovery.setHealthCheckTimeout(500);
+        discovery.setHealthCheck(address -> {
+            if (ADDRESS2.equals(address)) {
+                try {
+                    Thread.sleep(10000);
+                } catch (InterruptedException ex) {
+                    interrupted.countDown();
+                }
+            }
+            return true;
+        });
+        try {
+            discovery.refresh();
+            assertEquals(Collections.singletonList(ADDRESS1), discovery.getAddresses());
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            discovery.close();
+        }
+    }
+
+    @Test
+    public void testFailingHealthCheckAndListener() {
+        final EndpointDiscovery discovery = new EndpointDiscovery(() -> Arrays.asList(ADDRESS1, ADDRESS2));
+        discovery.setHealthCheck(address -> {
+            if (ADDRESS1.equals(address)) {
+                throw new IllegalStateException("broken");
+            }
+            return true;
+        });
+        final List<List<String>> published = new ArrayList<>();
+        discovery.addListener(addresses -> {
+            throw new IllegalStateException("broken");
+        });
+        discovery.addListener(published::add);
+        try {
+            discovery.refresh();
+            assertEquals(Collections.singletonList(ADDRESS2), discovery.getAddresses());
+            assertEquals(Collections.singletonList(Collections.singletonList(ADDRESS2)), published);
+        } finally {
+            discovery.close();
+        }
+    }
+
+    @Test
+    public void testRefreshContinuesAfterFailure() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final EndpointDiscovery discovery = new EndpointDiscovery(() -> {
+            if (calls.incrementAndGet() <= 2) {
+                return null;
+            }
+            return Collections.singletonList(ADDRESS1);
+        });
+        discovery.setRefreshInterval(50);
+        discovery.start();
+        try {
+            for (int i = 0; i < 100 && discovery.getAddresses().isEmpty(); i++) {
+                Thread.sleep(50);
+            }
+            assertEquals(Collections.singletonList(ADDRESS1), discovery.getAddresses());
+        } finally {
+            discovery.close();
+        }
+    }
+
+    @Test
+    public void testLastAddressesAreKeptOnFailure() {
+        final AtomicBoolean failing = new AtomicBoolean();
+        final EndpointDiscovery discovery = new EndpointDiscovery(() -> {
+            if (failing.get()) {
+                throw new IOException("unavailable");
+            }
+            return Collections.singletonList(ADDRESS1);
+        });
+        discovery.refresh();
+        final Object snapshot = discovery.getAddresses();
+
+        failing.set(true);
+        discovery.refresh();
+        assertSame(snapshot, discovery.getAddresses());
+    }
+}
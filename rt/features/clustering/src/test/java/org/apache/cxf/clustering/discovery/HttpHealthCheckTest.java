@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.clustering.discovery;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.BusFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.apache.cxf.clustering.discovery.HttpHealthCheck.DEFAULT_TIMEOUT;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HttpHealthCheckTest {
+    private HttpServer server;
+    private ExecutorService executor;
+    private Bus bus;
+    private String address;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/service/health", exchange -> respond(exchange, 200));
+        server.createContext("/service/sick", exchange -> respond(exchange, 503));
+        server.createContext("/service/slow", exchange -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200);
+        });
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        address = "http://localhost:" + server.getAddress().getPort() + "/service";
+        bus = BusFactory.newInstance().createBus();
+    }
+
+    @After
+    public void tearDown() {
+        bus.shutdown(true);
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testHealthyEndpoint() {
+        final HttpHealthCheck check = new HttpHealthCheck(bus);
+        check.setPath("health");
+        assertTrue(check.isHealthy(address));
+        assertTrue(check.isHealthy(address + "/"));
+    }
+
+    @Test
+    public void testUnhealthyEndpoint() {
+        final HttpHealthCheck check = new HttpHealthCheck(bus);
+        check.setPath("/sick");
+        assertFalse(check.isHealthy(address));
+    }
+
+    @Test
+    public void testUnreachableEndpoint() throws IOException {
+        final int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        final HttpHealthCheck check = new HttpHealthCheck(bus);
+        check.setTimeout(1000);
+        assertFalse(check.isHealthy("http://localhost:" + port + "/service"));
+    }
+
+    @Test
+    public void testTimeoutIsBounded() {
+        final HttpHealthCheck check = new HttpHealthCheck(bus);
+        check.setPath("slow");
+        check.setTimeout(0);
+        final long started = System.nanoTime();
+        assertFalse(check.isHealthy(address, 500));
+        assertTrue(System.nanoTime() - started < TimeUnit.MILLISECONDS.toNanos(DEFAULT_TIMEOUT));
+    }
+
+    @Test
+    public void testConduitIsCustomized() {
+        final HttpHealthCheck check = new HttpHealthCheck(bus);
+        check.setPath("health");
+        check.setConduitCustomizer(conduit -> {
+            throw new IllegalStateException("rejected");
+        });
+        assertFalse(check.isHealthy(address));
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+}
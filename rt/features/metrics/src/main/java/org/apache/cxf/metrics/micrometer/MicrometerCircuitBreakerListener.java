@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.metrics.micrometer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cxf.clustering.circuitbreaker.CircuitBreakerListener;
+import org.apache.cxf.clustering.circuitbreaker.CircuitBreakerState;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the events of the client circuit breakers: the state transitions, the calls which have
+ * not been permitted and the completed calls (the calls of unknown duration are only counted, so they
+ * do not skew the timer statistics).
+ */
+public class MicrometerCircuitBreakerListener implements CircuitBreakerListener {
+    public static final String DEFAULT_METRIC_NAME = "cxf.client.circuitbreaker";
+
+    private final MeterRegistry registry;
+    private final String metricName;
+
+    public MicrometerCircuitBreakerListener(MeterRegistry registry) {
+        this(registry, DEFAULT_METRIC_NAME);
+    }
+
+    public MicrometerCircuitBreakerListener(MeterRegistry registry, String metricName) {
+        this.registry = registry;
+        this.metricName = metricName;
+    }
+
+    @Override
+    public void onStateTransition(String name, CircuitBreakerState from, CircuitBreakerState to) {
+        registry.counter(metricName + ".transitions", "name", name, "from", from.name(), "to", to.name())
+            .increment();
+    }
+
+    @Override
+    public void onCallNotPermitted(String name) {
+        registry.counter(metricName + ".not.permitted.calls", "name", name).increment();
+    }
+
+    @Override
+    public void onCallCompleted(String name, boolean failed, boolean slow, long duration) {
+        if (duration < 0) {
+            registry.counter(metricName + ".untimed.calls", "name", name, "outcome", failed ? "failure" : "success")
+                .increment();
+            return;
+        }
+        final Timer timer = Timer.builder(metricName + ".calls")
+            .tag("name", name)
+            .tag("outcome", failed ? "failure" : "success")
+            .tag("slow", Boolean.toString(slow))
+            .register(registry);
+        timer.record(duration, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.metrics.micrometer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.cxf.clustering.circuitbreaker.SlidingWindowCircuitBreaker;
+import org.apache.cxf.clustering.circuitbreaker.SlidingWindowCircuitBreakerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class MicrometerCircuitBreakerListenerTest {
+    @Test
+    public void testCircuitBreakerEventsAreRecorded() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final SlidingWindowCircuitBreakerFactory factory = new SlidingWindowCircuitBreakerFactory();
+        factory.setMinimumNumberOfCalls(2);
+        factory.setListener(new MicrometerCircuitBreakerListener(registry));
+
+        final SlidingWindowCircuitBreaker breaker = (SlidingWindowCircuitBreaker)factory.create("http://localhost");
+        breaker.markSuccess(TimeUnit.MILLISECONDS.toNanos(5));
+        breaker.markFailure(null, TimeUnit.MILLISECONDS.toNanos(5));
+        breaker.allowRequest();
+
+        assertThat(registry.get("cxf.client.circuitbreaker.calls").tag("outcome", "success").timer().count(),
+            equalTo(1L));
+        assertThat(registry.get("cxf.client.circuitbreaker.calls").tag("outcome", "failure").timer().count(),
+            equalTo(1L));
+        assertThat(registry.get("cxf.client.circuitbreaker.transitions").tag("to", "OPEN").counter().count(),
+            equalTo(1.0));
+        assertThat(registry.get("cxf.client.circuitbreaker.not.permitted.calls").counter().count(),
+            equalTo(1.0));
+    }
+
+    @Test
+    public void testCallsOfUnknownDurationAreNotTimed() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final SlidingWindowCircuitBreakerFactory factory = new SlidingWindowCircuitBreakerFactory();
+        factory.setListener(new MicrometerCircuitBreakerListener(registry));
+
+        final SlidingWindowCircuitBreaker breaker = (SlidingWindowCircuitBreaker)factory.create("http://localhost");
+        breaker.markSuccess();
+        breaker.markSuccess(TimeUnit.MILLISECONDS.toNanos(5));
+
+        final Timer timer = registry.get("cxf.client.circuitbreaker.calls").tag("outcome", "success").timer();
+        assertThat(timer.count(), equalTo(1L));
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS), equalTo(5.0));
+        assertThat(registry.get("cxf.client.circuitbreaker.untimed.calls").tag("outcome", "success").counter()
+            .count(), equalTo(1.0));
+    }
+}
@@ -50,6 +50,7 @@ import org.apache.cxf.interceptor.InterceptorChain.State;
 import org.apache.cxf.jaxrs.impl.AsyncResponseImpl;
 import org.apache.cxf.jaxrs.impl.MetadataMap;
 import org.apache.cxf.jaxrs.impl.ResourceContextImpl;
+import org.apache.cxf.jaxrs.impl.tl.ContextCarrier;
 import org.apache.cxf.jaxrs.lifecycle.ResourceProvider;
 import org.apache.cxf.jaxrs.model.ClassResourceInfo;
 import org.apache.cxf.jaxrs.model.OperationResourceInfo;
@@ -205,7 +206,7 @@ public class JAXRSInvoker extends AbstractInvoker {
             if (asyncResponse != null) {
                 if (!asyncResponse.suspendContinuationIfNeeded()) {
                     result = handleAsyncResponse(exchange, asyncResponse);
-                } else {
+                } else if (!ContextCarrier.isBound(inMessage)) {
                     providerFactory.clearThreadLocalProxies();
                 }
             }
@@ -28,8 +28,10 @@ public class AbstractThreadLocalProxy<T> implements ThreadLocalProxy<T> {
 
     }
 
+    @SuppressWarnings("unchecked")
     public T get() {
-        return infos.get();
+        T value = infos.get();
+        return value != null ? value : (T)ContextCarrier.getCurrentValue(this);
     }
 
     public void remove() {
@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.impl.tl;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageUtils;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+
+/**
+ * Per-request carrier of the context values injected into the singleton resources and providers.
+ * When enabled, the values are bound to the current Exchange instead of being set on and
+ * then removed from every thread local proxy, the proxies resolve them from the exchange of the
+ * current message which also works after the request has been resumed on a different thread.
+ */
+public final class ContextCarrier {
+    /**
+     * Contextual property which, if set to true, binds the context values to the request
+     * Exchange instead of the thread local proxies
+     */
+    public static final String CONTEXT_CARRIER_ENABLED = "org.apache.cxf.jaxrs.context.carrier";
+
+    private final Map<Object, Object> values = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private ContextCarrier() {
+
+    }
+
+    /**
+     * Creates a carrier for the current request if it has been enabled for the endpoint
+     * @param m the current message
+     * @return the carrier or null if the thread local proxies have to be used
+     */
+    public static ContextCarrier bind(Message m) {
+        Exchange exchange = m.getExchange();
+        ContextCarrier carrier = exchange.get(ContextCarrier.class);
+        if (carrier == null && MessageUtils.getContextualBoolean(m, CONTEXT_CARRIER_ENABLED, false)) {
+            carrier = new ContextCarrier();
+            exchange.put(ContextCarrier.class, carrier);
+        }
+        return carrier;
+    }
+
+    public static ContextCarrier getCarrier(Message m) {
+        Exchange exchange = m == null ? null : m.getExchange();
+        return exchange == null ? null : exchange.get(ContextCarrier.class);
+    }
+
+    public static boolean isBound(Message m) {
+        return getCarrier(m) != null;
+    }
+
+    public void set(ThreadLocalProxy<?> proxy, Object value) {
+        Object key = getKey(proxy);
+        if (value == null) {
+            values.remove(key);
+        } else {
+            values.put(key, value);
+        }
+    }
+
+    public Object get(ThreadLocalProxy<?> proxy) {
+        return values.get(getKey(proxy));
+    }
+
+    static Object getCurrentValue(ThreadLocalProxy<?> proxy) {
+        ContextCarrier carrier = getCarrier(PhaseInterceptorChain.getCurrentMessage());
+        return carrier == null ? null : carrier.values.get(proxy);
+    }
+
+    // Generic proxies delegate to ThreadLocalInvocationHandler which is what looks up the value
+    private static Object getKey(ThreadLocalProxy<?> proxy) {
+        return Proxy.isProxyClass(proxy.getClass()) ? Proxy.getInvocationHandler(proxy) : proxy;
+    }
+}
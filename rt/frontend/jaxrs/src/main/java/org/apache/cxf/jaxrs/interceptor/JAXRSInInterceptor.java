@@ -43,6 +43,7 @@ import org.apache.cxf.interceptor.OutgoingChainInterceptor;
 import org.apache.cxf.jaxrs.impl.MetadataMap;
 import org.apache.cxf.jaxrs.impl.RequestPreprocessor;
 import org.apache.cxf.jaxrs.impl.UriInfoImpl;
+import org.apache.cxf.jaxrs.impl.tl.ContextCarrier;
 import org.apache.cxf.jaxrs.lifecycle.ResourceProvider;
 import org.apache.cxf.jaxrs.lifecycle.SingletonResourceProvider;
 import org.apache.cxf.jaxrs.model.ClassResourceInfo;
@@ -76,7 +77,7 @@ public class JAXRSInInterceptor extends AbstractPhaseInterceptor<Message> {
         if (response == null) {
             try {
                 processRequest(message, exchange);
-                if (exchange.isOneWay()) {
+                if (exchange.isOneWay() && !ContextCarrier.isBound(message)) {
                     ServerProviderFactory.getInstance(message).clearThreadLocalProxies();
                 }
             } catch (Fault ex) {
@@ -99,6 +100,7 @@ public class JAXRSInInterceptor extends AbstractPhaseInterceptor<Message> {
     private void processRequest(Message message, Exchange exchange) throws IOException {
 
         ServerProviderFactory providerFactory = ServerProviderFactory.getInstance(message);
+        ContextCarrier.bind(message);
 
         RequestPreprocessor rp = providerFactory.getRequestPreprocessor();
         if (rp != null) {
@@ -150,7 +152,7 @@ public class JAXRSInInterceptor extends AbstractPhaseInterceptor<Message> {
         }
         List<MediaType> acceptContentTypes = null;
         try {
-            acceptContentTypes = JAXRSUtils.sortMediaTypes(acceptTypes, JAXRSUtils.MEDIA_TYPE_Q_PARAM);
+            acceptContentTypes = JAXRSUtils.sortAcceptTypes(acceptTypes);
         } catch (IllegalArgumentException ex) {
             throw ExceptionUtils.toNotAcceptableException(null, null);
         }
@@ -218,7 +220,9 @@ public class JAXRSInInterceptor extends AbstractPhaseInterceptor<Message> {
     private void convertExceptionToResponseIfPossible(Throwable ex, Message message) {
         Response excResponse = JAXRSUtils.convertFaultToResponse(ex, message);
         if (excResponse == null) {
-            ServerProviderFactory.getInstance(message).clearThreadLocalProxies();
+            if (!ContextCarrier.isBound(message)) {
+                ServerProviderFactory.getInstance(message).clearThreadLocalProxies();
+            }
             message.getExchange().put(Message.PROPOGATE_EXCEPTION,
                                       ExceptionUtils.propogateException(message));
             throw ex instanceof RuntimeException ? (RuntimeException)ex
@@ -24,7 +24,9 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
@@ -33,12 +35,15 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
 
+import org.apache.cxf.common.util.SystemPropertyAction;
 import org.apache.cxf.jaxrs.ext.Oneway;
 import org.apache.cxf.jaxrs.utils.AnnotationUtils;
 import org.apache.cxf.jaxrs.utils.JAXRSUtils;
 import org.apache.cxf.jaxrs.utils.ResourceUtils;
 
 public class OperationResourceInfo {
+    private static final int MAX_MT_MATCH_CACHE_SIZE =
+        SystemPropertyAction.getInteger("org.apache.cxf.jaxrs.max_mediatype_match_cache_size", 50);
     private URITemplate uriTemplate;
     private ClassResourceInfo classResourceInfo;
     private Method methodToInvoke;
@@ -56,6 +61,8 @@ public class OperationResourceInfo {
     private Type[] actualInGenericParamTypes;
     private Annotation[][] actualInParamAnnotations;
     private Annotation[] actualOutParamAnnotations;
+    private final Map<MediaType, Boolean> consumeTypeMatches = new ConcurrentHashMap<>();
+    private final Map<MediaType, Boolean> produceTypeMatches = new ConcurrentHashMap<>();
 
     public OperationResourceInfo(Method mInvoke, ClassResourceInfo cri) {
         this(mInvoke, mInvoke, cri);
@@ -226,6 +233,48 @@ public class OperationResourceInfo {
         return consumeMimes;
     }
 
+    /**
+     * Checks if the request Content-Type intersects with the types this operation consumes,
+     * the result is remembered for the subsequent requests with the same Content-Type.
+     */
+    public boolean isConsumeTypeCompatible(MediaType requestContentType) {
+        return matchMediaType(consumeTypeMatches, consumeMimes, requestContentType);
+    }
+
+    /**
+     * Checks if the acceptable type intersects with the types this operation produces,
+     * the result is remembered for the subsequent requests with the same acceptable type.
+     */
+    public boolean isProduceTypeCompatible(MediaType acceptContentType) {
+        return matchMediaType(produceTypeMatches, produceMimes, acceptContentType);
+    }
+
+    private static boolean matchMediaType(Map<MediaType, Boolean> matches,
+                                          List<MediaType> supportedTypes,
+                                          MediaType type) {
+        // the parameters such as charset or boundary only affect the match if the supported types have them
+        MediaType key = type.getParameters().isEmpty() || hasParameters(supportedTypes)
+            ? type : new MediaType(type.getType(), type.getSubtype());
+        Boolean result = matches.get(key);
+        if (result == null) {
+            result = JAXRSUtils.doMimeTypesIntersect(supportedTypes, type);
+            if (matches.size() >= MAX_MT_MATCH_CACHE_SIZE) {
+                matches.clear();
+            }
+            matches.put(key, result);
+        }
+        return result;
+    }
+
+    private static boolean hasParameters(List<MediaType> types) {
+        for (MediaType type : types) {
+            if (!type.getParameters().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void checkMediaTypes(String consumeMediaTypes,
                                  String produceMediaTypes) {
         if (consumeMediaTypes != null) {
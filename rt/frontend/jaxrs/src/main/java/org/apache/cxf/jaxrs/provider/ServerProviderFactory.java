@@ -57,6 +57,7 @@ import org.apache.cxf.jaxrs.impl.FeatureContextImpl;
 import org.apache.cxf.jaxrs.impl.RequestPreprocessor;
 import org.apache.cxf.jaxrs.impl.ResourceInfoImpl;
 import org.apache.cxf.jaxrs.impl.WebApplicationExceptionMapper;
+import org.apache.cxf.jaxrs.impl.tl.ContextCarrier;
 import org.apache.cxf.jaxrs.lifecycle.ResourceProvider;
 import org.apache.cxf.jaxrs.model.AbstractResourceInfo;
 import org.apache.cxf.jaxrs.model.ApplicationInfo;
@@ -461,6 +462,10 @@ public final class ServerProviderFactory extends ProviderFactory {
         clearThreadLocalProxies(ServerProviderFactory.getInstance(message), message);
     }
     public static void clearThreadLocalProxies(ServerProviderFactory factory, Message message) {
+        if (ContextCarrier.isBound(message)) {
+            // the context values go away together with the exchange
+            return;
+        }
         factory.clearThreadLocalProxies();
         ClassResourceInfo cri =
             (ClassResourceInfo)message.getExchange().get(JAXRSUtils.ROOT_RESOURCE_CLASS);
@@ -82,6 +82,7 @@ import org.apache.cxf.jaxrs.ext.MessageContext;
 import org.apache.cxf.jaxrs.ext.ProtocolHeaders;
 import org.apache.cxf.jaxrs.impl.MetadataMap;
 import org.apache.cxf.jaxrs.impl.PathSegmentImpl;
+import org.apache.cxf.jaxrs.impl.tl.ContextCarrier;
 import org.apache.cxf.jaxrs.impl.tl.ThreadLocalContextResolver;
 import org.apache.cxf.jaxrs.impl.tl.ThreadLocalHttpHeaders;
 import org.apache.cxf.jaxrs.impl.tl.ThreadLocalInvocationHandler;
@@ -1241,19 +1242,33 @@ public final class InjectionUtils {
         injectContextProxiesAndApplication(cri, instance, null, null);
     }
 
-    @SuppressWarnings("unchecked")
     public static void injectContextField(AbstractResourceInfo cri,
                                           Field f, Object o, Object value) {
+        injectContextField(cri, f, o, value, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void injectContextField(AbstractResourceInfo cri,
+                                          Field f, Object o, Object value, Message m) {
         if (!cri.isSingleton()) {
             InjectionUtils.injectFieldValue(f, o, value);
         } else {
             ThreadLocalProxy<Object> proxy = (ThreadLocalProxy<Object>)cri.getContextFieldProxy(f);
             if (proxy != null) {
-                proxy.set(value);
+                setContextProxyValue(proxy, value, m);
             }
         }
     }
 
+    private static void setContextProxyValue(ThreadLocalProxy<Object> proxy, Object value, Message m) {
+        ContextCarrier carrier = ContextCarrier.getCarrier(m);
+        if (carrier != null) {
+            carrier.set(proxy, value);
+        } else {
+            proxy.set(value);
+        }
+    }
+
     public static void injectContexts(Object requestObject,
                                  AbstractResourceInfo resource,
                                  Message message) {
@@ -1285,7 +1300,7 @@ public final class InjectionUtils {
                     ThreadLocalProxy<Object> proxy
                         = (ThreadLocalProxy<Object>)cri.getContextSetterProxy(method);
                     if (proxy != null) {
-                        proxy.set(o);
+                        setContextProxyValue(proxy, o, message);
                     }
                 }
 
@@ -1302,7 +1317,7 @@ public final class InjectionUtils {
                 continue;
             }
             Object value = JAXRSUtils.createContextValue(m, f.getGenericType(), f.getType());
-            InjectionUtils.injectContextField(cri, f, o, value);
+            InjectionUtils.injectContextField(cri, f, o, value, m);
         }
     }
 
@@ -1315,7 +1330,7 @@ public final class InjectionUtils {
         if (proxies != null) {
             for (Map.Entry<Class<?>, ThreadLocalProxy<?>> entry : proxies.entrySet()) {
                 Object value = JAXRSUtils.createContextValue(m, entry.getKey(), entry.getKey());
-                ((ThreadLocalProxy<Object>)entry.getValue()).set(value);
+                setContextProxyValue((ThreadLocalProxy<Object>)entry.getValue(), value, m);
             }
         }
     }
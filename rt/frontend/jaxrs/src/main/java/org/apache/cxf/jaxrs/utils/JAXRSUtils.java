@@ -42,6 +42,7 @@ import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -88,6 +89,7 @@ import org.apache.cxf.common.util.PackageUtils;
 import org.apache.cxf.common.util.PropertyUtils;
 import org.apache.cxf.common.util.ReflectionUtil;
 import org.apache.cxf.common.util.StringUtils;
+import org.apache.cxf.common.util.SystemPropertyAction;
 import org.apache.cxf.helpers.DOMUtils;
 import org.apache.cxf.helpers.IOUtils;
 import org.apache.cxf.helpers.LoadingByteArrayOutputStream;
@@ -169,6 +171,9 @@ public final class JAXRSUtils {
     private static final Annotation[] EMPTY_ANNOTATIONS = new Annotation[0];
     private static final Set<Class<?>> STREAMING_OUT_TYPES = new HashSet<>(
         Arrays.asList(InputStream.class, Reader.class, StreamingOutput.class));
+    private static final int MAX_ACCEPT_TYPES_CACHE_SIZE =
+        SystemPropertyAction.getInteger("org.apache.cxf.jaxrs.max_accept_types_cache_size", 200);
+    private static final Map<String, MediaType[]> SORTED_ACCEPT_TYPES = new ConcurrentHashMap<>();
 
     private JAXRSUtils() {
     }
@@ -1485,14 +1490,25 @@ public final class JAXRSUtils {
 
     public static boolean matchConsumeTypes(MediaType requestContentType,
                                             OperationResourceInfo ori) {
-
-        return doMimeTypesIntersect(ori.getConsumeTypes(), requestContentType);
+        if (isPartialSubtypeCheck()) {
+            return doMimeTypesIntersect(ori.getConsumeTypes(), requestContentType);
+        }
+        return ori.isConsumeTypeCompatible(requestContentType);
     }
 
     public static boolean matchProduceTypes(MediaType acceptContentType,
                                               OperationResourceInfo ori) {
+        if (isPartialSubtypeCheck()) {
+            return doMimeTypesIntersect(ori.getProduceTypes(), acceptContentType);
+        }
+        return ori.isProduceTypeCompatible(acceptContentType);
+    }
 
-        return doMimeTypesIntersect(ori.getProduceTypes(), acceptContentType);
+    // The per-operation match results are only valid for the default composite subtype check
+    private static boolean isPartialSubtypeCheck() {
+        Message message = PhaseInterceptorChain.getCurrentMessage();
+        return message != null
+            && MessageUtils.getContextualBoolean(message, PARTIAL_HIERARCHICAL_MEDIA_SUBTYPE_CHECK);
     }
 
     public static boolean matchMimeTypes(MediaType requestContentType,
@@ -1687,6 +1703,29 @@ public final class JAXRSUtils {
     public static List<MediaType> sortMediaTypes(String mediaTypes, String qs) {
         return sortMediaTypes(JAXRSUtils.parseMediaTypes(mediaTypes), qs);
     }
+
+    /**
+     * Parses the Accept header value and sorts it by the quality factor. The sorted
+     * types are cached per header value given that clients usually send only a handful
+     * of distinct Accept values, a new modifiable list is returned to the caller.
+     *
+     * @param acceptTypes the Accept header value
+     * @return the sorted list of acceptable media types
+     */
+    public static List<MediaType> sortAcceptTypes(String acceptTypes) {
+        if (acceptTypes == null) {
+            return parseMediaTypes(null);
+        }
+        MediaType[] sorted = SORTED_ACCEPT_TYPES.get(acceptTypes);
+        if (sorted == null) {
+            sorted = sortMediaTypes(acceptTypes, MEDIA_TYPE_Q_PARAM).toArray(new MediaType[0]);
+            if (SORTED_ACCEPT_TYPES.size() >= MAX_ACCEPT_TYPES_CACHE_SIZE) {
+                SORTED_ACCEPT_TYPES.clear();
+            }
+            SORTED_ACCEPT_TYPES.put(acceptTypes, sorted);
+        }
+        return new ArrayList<>(Arrays.asList(sorted));
+    }
     public static List<MediaType> sortMediaTypes(List<MediaType> types, final String qs) {
         if (types.size() > 1) {
             Collections.sort(types, new Comparator<MediaType>() {
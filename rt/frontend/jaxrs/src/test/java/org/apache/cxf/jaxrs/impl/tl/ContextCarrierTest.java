@@ -0,0 +1,145 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.impl.tl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.core.UriInfo;
+
+import org.apache.cxf.bus.managers.PhaseManagerImpl;
+import org.apache.cxf.jaxrs.impl.UriInfoImpl;
+import org.apache.cxf.jaxrs.utils.InjectionUtils;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ContextCarrierTest {
+
+    @Test
+    public void testCarrierNotEnabled() {
+        Message m = createMessage();
+        assertNull(ContextCarrier.bind(m));
+        assertNull(ContextCarrier.getCarrier(m));
+    }
+
+    @Test
+    public void testBindCarrier() {
+        Message m = createMessage();
+        m.put(ContextCarrier.CONTEXT_CARRIER_ENABLED, true);
+        ContextCarrier carrier = ContextCarrier.bind(m);
+        assertNotNull(carrier);
+        assertSame(carrier, ContextCarrier.bind(m));
+        assertSame(carrier, ContextCarrier.getCarrier(m.getExchange().getOutMessage()));
+    }
+
+    @Test
+    public void testSetContextValue() {
+        Message m = createMessage();
+        m.put(ContextCarrier.CONTEXT_CARRIER_ENABLED, true);
+        ContextCarrier carrier = ContextCarrier.bind(m);
+
+        ThreadLocalUriInfo proxy = new ThreadLocalUriInfo();
+        UriInfo uriInfo = new UriInfoImpl(m);
+        carrier.set(proxy, uriInfo);
+        assertSame(uriInfo, carrier.get(proxy));
+        // the thread local itself has not been touched
+        assertNull(proxy.get());
+
+        carrier.set(proxy, null);
+        assertNull(carrier.get(proxy));
+    }
+
+    @Test
+    public void testSetGenericProxyValue() {
+        Message m = createMessage();
+        m.put(ContextCarrier.CONTEXT_CARRIER_ENABLED, true);
+        ContextCarrier carrier = ContextCarrier.bind(m);
+
+        ThreadLocalProxy<Custom> proxy = InjectionUtils.createThreadLocalProxy(Custom.class);
+        Custom custom = new Custom() {
+        };
+        carrier.set(proxy, custom);
+        assertSame(custom, carrier.get(proxy));
+    }
+
+    @Test
+    public void testProxyResolvesThroughCurrentMessage() {
+        final ThreadLocalUriInfo proxy = new ThreadLocalUriInfo();
+
+        Message m1 = createMessage();
+        m1.put(ContextCarrier.CONTEXT_CARRIER_ENABLED, true);
+        UriInfo uriInfo1 = new UriInfoImpl(m1);
+        ContextCarrier.bind(m1).set(proxy, uriInfo1);
+
+        Message m2 = createMessage();
+        m2.put(ContextCarrier.CONTEXT_CARRIER_ENABLED, true);
+        UriInfo uriInfo2 = new UriInfoImpl(m2);
+        ContextCarrier.bind(m2).set(proxy, uriInfo2);
+
+        final List<Object> resolved = new ArrayList<>();
+        AbstractPhaseInterceptor<Message> recorder = new AbstractPhaseInterceptor<Message>(Phase.INVOKE) {
+            public void handleMessage(Message message) {
+                resolved.add(proxy.get());
+            }
+        };
+
+        // the chain makes each message the current one in turn, the out message
+        // shares the carrier of the exchange it belongs to
+        for (Message m : new Message[] {m1, m2, m1.getExchange().getOutMessage(), m1}) {
+            PhaseInterceptorChain chain = new PhaseInterceptorChain(new PhaseManagerImpl().getInPhases());
+            chain.add(recorder);
+            chain.doIntercept(m);
+        }
+
+        assertEquals(4, resolved.size());
+        assertSame(uriInfo1, resolved.get(0));
+        assertSame(uriInfo2, resolved.get(1));
+        assertSame(uriInfo1, resolved.get(2));
+        assertSame(uriInfo1, resolved.get(3));
+        // no message is active outside of the chain
+        assertNull(proxy.get());
+    }
+
+    private static Message createMessage() {
+        Message m = new MessageImpl();
+        Exchange e = new ExchangeImpl();
+        e.setInMessage(m);
+        m.setExchange(e);
+        Message out = new MessageImpl();
+        out.setExchange(e);
+        e.setOutMessage(out);
+        return m;
+    }
+
+    public interface Custom {
+    }
+}
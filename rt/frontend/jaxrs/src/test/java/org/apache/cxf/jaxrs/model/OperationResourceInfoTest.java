@@ -36,6 +36,8 @@ import org.easymock.EasyMock;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class OperationResourceInfoTest {
 
@@ -50,6 +52,10 @@ public class OperationResourceInfoTest {
         public void doThat() {
             // empty
         };
+        @Consumes("text/plain;charset=UTF-8")
+        public void doCharset() {
+            // empty
+        };
 
     }
 
@@ -94,6 +100,39 @@ public class OperationResourceInfoTest {
                      "text/xml", ctypes.get(0).toString());
     }
 
+    @Test
+    public void testMediaTypeCompatibility() throws Exception {
+        OperationResourceInfo ori = new OperationResourceInfo(
+                                 TestClass.class.getMethod("doThat", new Class[]{}),
+                                 new ClassResourceInfo(TestClass.class));
+        for (int i = 0; i < 2; i++) {
+            assertTrue(ori.isConsumeTypeCompatible(MediaType.valueOf("application/atom+xml")));
+            assertTrue(ori.isConsumeTypeCompatible(MediaType.WILDCARD_TYPE));
+            assertFalse(ori.isConsumeTypeCompatible(MediaType.APPLICATION_JSON_TYPE));
+            assertTrue(ori.isProduceTypeCompatible(MediaType.valueOf("text/*")));
+            assertFalse(ori.isProduceTypeCompatible(MediaType.TEXT_PLAIN_TYPE));
+        }
+    }
+
+    @Test
+    public void testMediaTypeCompatibilityWithParameters() throws Exception {
+        OperationResourceInfo ori = new OperationResourceInfo(
+                                 TestClass.class.getMethod("doThat", new Class[]{}),
+                                 new ClassResourceInfo(TestClass.class));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(ori.isConsumeTypeCompatible(MediaType.valueOf("application/atom+xml;boundary=" + i)));
+        }
+
+        OperationResourceInfo charsetOri = new OperationResourceInfo(
+                                 TestClass.class.getMethod("doCharset", new Class[]{}),
+                                 new ClassResourceInfo(TestClass.class));
+        for (int i = 0; i < 2; i++) {
+            assertTrue(charsetOri.isConsumeTypeCompatible(MediaType.valueOf("text/plain;charset=utf-8")));
+            assertFalse(charsetOri.isConsumeTypeCompatible(MediaType.valueOf("text/plain;charset=ISO-8859-1")));
+            assertTrue(charsetOri.isConsumeTypeCompatible(MediaType.TEXT_PLAIN_TYPE));
+        }
+    }
+
     @Test
     public void testComparator1() throws Exception {
         OperationResourceInfo ori1 = new OperationResourceInfo(
@@ -694,6 +694,19 @@ public class JAXRSUtilsTest {
                    && "text/*".equals(types.get(3).toString()));
     }
 
+    @Test
+    public void testSortAcceptTypes() throws Exception {
+        String accept = "text/*,text/plain;q=.2,text/xml,TEXT/BAR";
+        List<MediaType> types = JAXRSUtils.sortAcceptTypes(accept);
+        assertEquals(sortMediaTypes(accept), types);
+        types.clear();
+
+        List<MediaType> cached = JAXRSUtils.sortAcceptTypes(accept);
+        assertEquals(4, cached.size());
+        assertEquals("text/xml", cached.get(0).toString());
+        assertEquals("text/*", cached.get(3).toString());
+    }
+
     @Test
     public void testCompareMediaTypes() throws Exception {
         MediaType m1 = MediaType.valueOf("text/xml");
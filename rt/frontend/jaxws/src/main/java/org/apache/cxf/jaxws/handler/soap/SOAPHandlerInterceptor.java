@@ -34,6 +34,7 @@ import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPHeader;
 import javax.xml.soap.SOAPMessage;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.dom.DOMSource;
@@ -43,6 +44,8 @@ import javax.xml.ws.handler.MessageContext;
 import javax.xml.ws.handler.soap.SOAPHandler;
 import javax.xml.ws.handler.soap.SOAPMessageContext;
 
+import org.w3c.dom.Element;
+
 import org.apache.cxf.binding.soap.HeaderUtil;
 import org.apache.cxf.binding.soap.SoapMessage;
 import org.apache.cxf.binding.soap.interceptor.AbstractSoapInterceptor;
@@ -52,6 +55,7 @@ import org.apache.cxf.binding.soap.saaj.SAAJInInterceptor;
 import org.apache.cxf.binding.soap.saaj.SAAJOutInterceptor;
 import org.apache.cxf.binding.soap.saaj.SAAJUtils;
 import org.apache.cxf.endpoint.Endpoint;
+import org.apache.cxf.headers.Header;
 import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.interceptor.Interceptor;
@@ -62,6 +66,7 @@ import org.apache.cxf.jaxws.handler.HandlerChainInvoker;
 import org.apache.cxf.message.Exchange;
 import org.apache.cxf.message.Message;
 import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.message.MessageUtils;
 import org.apache.cxf.phase.Phase;
 import org.apache.cxf.staxutils.StaxUtils;
 import org.apache.cxf.transport.MessageObserver;
@@ -70,6 +75,12 @@ import org.apache.cxf.ws.addressing.Names;
 public class SOAPHandlerInterceptor extends
         AbstractProtocolHandlerInterceptor<SoapMessage> implements
         SoapInterceptor {
+    /**
+     * If enabled, the SAAJ model of the inbound message is only created when a handler asks for
+     * the SOAPMessage; the handlers which only read the headers or the properties get them from the
+     * already parsed message and the original stream is then read by the rest of the chain.
+     */
+    public static final String LAZY_SAAJ = "org.apache.cxf.jaxws.handler.soap.lazySAAJ";
     private static final SAAJOutInterceptor SAAJ_OUT = new SAAJOutInterceptor();
 
     AbstractSoapInterceptor ending = new AbstractSoapInterceptor(
@@ -247,10 +258,14 @@ public class SOAPHandlerInterceptor extends
 
     @Override
     protected MessageContext createProtocolMessageContext(SoapMessage message) {
-        SOAPMessageContextImpl sm = new SOAPMessageContextImpl(message);
+        boolean lazy = !isOutbound(message) && MessageUtils.getContextualBoolean(message, LAZY_SAAJ, false);
+        SOAPMessageContextImpl sm = new SOAPMessageContextImpl(message, lazy);
 
         Exchange exch = message.getExchange();
         setupBindingOperationInfo(exch, sm);
+        if (lazy && !sm.hasMessage()) {
+            return createLazyProtocolMessageContext(message, sm);
+        }
         SOAPMessage msg = sm.getMessage();
         if (msg != null) {
             try {
@@ -285,6 +300,38 @@ public class SOAPHandlerInterceptor extends
         return sm;
     }
 
+    private MessageContext createLazyProtocolMessageContext(SoapMessage message, SOAPMessageContextImpl sm) {
+        List<Element> params = new ArrayList<>();
+        message.put(MessageContext.REFERENCE_PARAMETERS, params);
+        for (Header header : message.getHeaders()) {
+            if (header.getObject() instanceof Element) {
+                Element el = (Element)header.getObject();
+                String isReferenceParameter = el.getAttributeNS(Names.WSA_NAMESPACE_NAME, "IsReferenceParameter");
+                if ("1".equals(isReferenceParameter) || Boolean.parseBoolean(isReferenceParameter)) {
+                    params.add(el);
+                }
+            }
+        }
+        if (isRequestor(message)) {
+            QName firstBodyElement = getFirstBodyElementName(message);
+            if (firstBodyElement != null && firstBodyElement.equals(message.getVersion().getFault())) {
+                return null;
+            }
+        }
+        return sm;
+    }
+
+    /**
+     * Returns the name of the first body element the stream reader is positioned at, if any
+     */
+    private static QName getFirstBodyElementName(SoapMessage message) {
+        XMLStreamReader reader = message.getContent(XMLStreamReader.class);
+        if (reader != null && reader.getEventType() == XMLStreamConstants.START_ELEMENT) {
+            return reader.getName();
+        }
+        return null;
+    }
+
     private XMLStreamReader createXMLStreamReaderFromSOAPMessage(SOAPMessage soapMessage) {
         // responseMsg.setContent(SOAPMessage.class, soapMessage);
         XMLStreamReader xmlReader = null;
@@ -314,6 +361,11 @@ public class SOAPHandlerInterceptor extends
 
     protected QName getOpQName(Exchange ex, Object data) {
         SOAPMessageContextImpl sm = (SOAPMessageContextImpl)data;
+        SoapMessage message = (SoapMessage)sm.getWrappedMessage();
+        if (!sm.hasMessage() && !isOutbound(message)
+            && MessageUtils.getContextualBoolean(message, LAZY_SAAJ, false)) {
+            return getFirstBodyElementName(message);
+        }
         try {
             SOAPMessage msg = sm.getMessage();
             if (msg == null) {
@@ -38,9 +38,13 @@ import javax.xml.ws.WebServiceException;
 import javax.xml.ws.handler.MessageContext;
 import javax.xml.ws.handler.soap.SOAPMessageContext;
 
+import org.w3c.dom.Element;
+
+import org.apache.cxf.binding.soap.SoapHeader;
 import org.apache.cxf.binding.soap.SoapMessage;
 import org.apache.cxf.binding.soap.saaj.SAAJInInterceptor;
 import org.apache.cxf.common.jaxb.JAXBUtils;
+import org.apache.cxf.headers.Header;
 import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.jaxws.context.WrappedMessageContext;
 import org.apache.cxf.message.Message;
@@ -49,9 +53,20 @@ public class SOAPMessageContextImpl extends WrappedMessageContext implements SOA
     private static final SAAJInInterceptor SAAJ_IN = new SAAJInInterceptor();
 
     private Set<String> roles = new HashSet<>();
+    private final boolean lazy;
 
     public SOAPMessageContextImpl(Message m) {
+        this(m, false);
+    }
+
+    /**
+     * @param m the message
+     * @param lazy if true the SAAJ model of the inbound message is only created if the handler asks
+     * for the SOAPMessage, the headers are read from the already parsed message headers until then
+     */
+    public SOAPMessageContextImpl(Message m, boolean lazy) {
         super(m, Scope.HANDLER);
+        this.lazy = lazy;
         roles.add(getWrappedSoapMessage().getVersion().getNextRole());
     }
 
@@ -83,7 +98,21 @@ public class SOAPMessageContextImpl extends WrappedMessageContext implements SOA
         return message;
     }
 
+    /**
+     * @return true if the SAAJ model of the message has been created or set
+     */
+    boolean hasMessage() {
+        return getWrappedMessage().getContent(Object.class) instanceof SOAPMessage
+            || getWrappedMessage().getContent(SOAPMessage.class) != null;
+    }
+
     public Object[] getHeaders(QName name, JAXBContext context, boolean allRoles) {
+        if (lazy && !hasMessage()) {
+            Object[] headers = getParsedHeaders(name, context, allRoles);
+            if (headers != null) {
+                return headers;
+            }
+        }
         SOAPMessage msg = getMessage();
         SOAPHeader header;
         try {
@@ -107,6 +136,28 @@ public class SOAPMessageContextImpl extends WrappedMessageContext implements SOA
         }
     }
 
+    private Object[] getParsedHeaders(QName name, JAXBContext context, boolean allRoles) {
+        List<Object> ret = new ArrayList<>();
+        try {
+            for (Header header : getWrappedSoapMessage().getHeaders()) {
+                if (!name.equals(header.getName())) {
+                    continue;
+                }
+                if (!(header.getObject() instanceof Element)) {
+                    // the header has already been read by the data binding, only SAAJ can provide it
+                    return null;
+                }
+                String actor = header instanceof SoapHeader ? ((SoapHeader)header).getActor() : null;
+                if (allRoles || roles.contains(actor)) {
+                    ret.add(JAXBUtils.unmarshall(context, (Element)header.getObject()));
+                }
+            }
+        } catch (JAXBException e) {
+            throw new WebServiceException(e);
+        }
+        return ret.toArray(new Object[0]);
+    }
+
     public Set<String> getRoles() {
         return roles;
     }
@@ -23,11 +23,14 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.soap.MessageFactory;
@@ -82,6 +85,8 @@ import static org.easymock.EasyMock.createNiceControl;
 import static org.easymock.EasyMock.expect;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class SOAPHandlerInterceptorTest {
@@ -450,6 +455,68 @@ public class SOAPHandlerInterceptorTest {
         assertEquals("sendReceiveData", qn.getLocalPart());
     }
 
+    @Test
+    public void testGetSOAPHeaderInBoundWithoutSAAJ() throws Exception {
+        final JAXBContext context = JAXBContext.newInstance(Header1.class);
+        final List<Object> headers = new ArrayList<>();
+        @SuppressWarnings("rawtypes")
+        List<Handler> list = new ArrayList<>();
+        list.add(new SOAPHandler<SOAPMessageContext>() {
+            public boolean handleMessage(SOAPMessageContext smc) {
+                headers.addAll(Arrays.asList(smc.getHeaders(
+                    new QName("http://apache.org/hello_world_rpclit/types", "header1"), context, true)));
+                return true;
+            }
+
+            public boolean handleFault(SOAPMessageContext smc) {
+                return true;
+            }
+
+            public Set<QName> getHeaders() {
+                return null;
+            }
+
+            public void close(MessageContext messageContext) {
+            }
+        });
+        HandlerChainInvoker invoker = new HandlerChainInvoker(list);
+
+        IMocksControl control = createNiceControl();
+        Binding binding = control.createMock(Binding.class);
+        expect(binding.getHandlerChain()).andReturn(list).anyTimes();
+        Exchange exchange = control.createMock(Exchange.class);
+        expect(exchange.get(HandlerChainInvoker.class)).andReturn(invoker).anyTimes();
+        // This is to set direction to inbound
+        expect(exchange.getOutMessage()).andReturn(null);
+
+        SoapMessage message = new SoapMessage(new MessageImpl());
+        message.setExchange(exchange);
+        message.put(SOAPHandlerInterceptor.LAZY_SAAJ, Boolean.TRUE);
+        XMLStreamReader reader = preparemXMLStreamReader("resources/greetMeRpcLitReq.xml");
+        message.setContent(XMLStreamReader.class, reader);
+        Object[] headerInfo = prepareSOAPHeader();
+        Node node = ((Element) headerInfo[1]).getFirstChild();
+        message.getHeaders().add(new Header(new QName(node.getNamespaceURI(), node.getLocalName()), node));
+
+        control.replay();
+
+        SOAPHandlerInterceptor li = new SOAPHandlerInterceptor(binding);
+        li.handleMessage(message);
+        control.verify();
+
+        assertEquals(1, headers.size());
+        assertTrue(headers.get(0) instanceof Header1);
+
+        // The SAAJ model has not been created and the original reader is left for the rest of the chain
+        assertNull(message.getContent(SOAPMessage.class));
+        assertSame(reader, message.getContent(XMLStreamReader.class));
+        assertEquals("sendReceiveData", reader.getName().getLocalPart());
+    }
+
+    @XmlRootElement(name = "header1", namespace = "http://apache.org/hello_world_rpclit/types")
+    public static class Header1 {
+    }
+
     @Test
     public void testGetUnderstoodHeadersReturnsNull() {
         @SuppressWarnings("rawtypes")
@@ -126,11 +126,16 @@ public abstract class AbstractClient implements Client {
     private static final Set<String> KNOWN_METHODS = new HashSet<>(
         Arrays.asList("GET", "POST", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE"));
 
-    protected ClientConfiguration cfg = new ClientConfiguration();
+    protected ClientConfiguration cfg;
     private ClientState state;
     private final AtomicBoolean closed = new AtomicBoolean();
     protected AbstractClient(ClientState initialState) {
+        this(initialState, new ClientConfiguration());
+    }
+
+    AbstractClient(ClientState initialState, ClientConfiguration config) {
         this.state = initialState;
+        this.cfg = config;
     }
 
     /**
@@ -949,6 +954,15 @@ public abstract class AbstractClient implements Client {
             @Override
             protected void initializeInterceptors(Exchange ex, PhaseInterceptorChain chain) {
                 chain.add(cfg.getInFaultInterceptors());
+                // the fault interceptors registered by the request filters for the current request only
+                final Message outMessage = ex.getOutMessage();
+                if (outMessage != null) {
+                    Collection<Interceptor<? extends Message>> is
+                        = CastUtils.cast((Collection<?>)outMessage.get(Message.FAULT_IN_INTERCEPTORS));
+                    if (is != null) {
+                        chain.add(is);
+                    }
+                }
                 chain.add(new ConnectionFaultInterceptor());
             }
         };
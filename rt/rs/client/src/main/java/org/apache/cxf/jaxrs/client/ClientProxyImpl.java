@@ -43,6 +43,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -113,6 +114,9 @@ public class ClientProxyImpl extends AbstractClient implements
     protected Map<String, Object> valuesMap = Collections.emptyMap();
     protected BodyWriter bodyWriter = new BodyWriter();
     protected Client proxy;
+    private Map<Method, InvocationPlan> invocationPlans = new ConcurrentHashMap<>();
+    // shared by all the subresource proxies created from the same root proxy
+    private Map<Method, InvocationPlan> subResourcePlans = new ConcurrentHashMap<>();
     public ClientProxyImpl(URI baseURI,
                            ClassLoader loader,
                            ClassResourceInfo cri,
@@ -279,28 +283,28 @@ public class ClientProxyImpl extends AbstractClient implements
             reportInvalidResourceMethod(m, "INVALID_RESOURCE_METHOD");
         }
 
-        MultivaluedMap<ParameterType, Parameter> types = getParametersInfo(m, params, ori);
-        List<Parameter> beanParamsList = getParameters(types, ParameterType.BEAN);
+        InvocationPlan plan = getInvocationPlan(m, params, ori);
+        MultivaluedMap<ParameterType, Parameter> types = plan.getParameterTypes();
+        List<Parameter> beanParamsList = plan.getBeanParameters();
 
-        int bodyIndex = getBodyIndex(types, ori);
+        int bodyIndex = plan.getBodyIndex();
 
-        List<Object> pathParams = getPathParamValues(m, params, types, beanParamsList, ori, bodyIndex);
+        List<Object> pathParams = getPathParamValues(plan, params);
 
         UriBuilder builder = getCurrentBuilder().clone();
-        if (isRoot) {
-            addNonEmptyPath(builder, ori.getClassResourceInfo().getURITemplate().getValue());
+        for (String path : plan.getPaths()) {
+            builder.path(path);
         }
-        addNonEmptyPath(builder, ori.getURITemplate().getValue());
 
-        handleMatrixes(m, params, types, beanParamsList, builder);
-        handleQueries(m, params, types, beanParamsList, builder);
+        handleMatrixes(plan, params, builder);
+        handleQueries(plan, params, builder);
 
         URI uri = builder.buildFromEncoded(pathParams.toArray()).normalize();
 
         MultivaluedMap<String, String> headers = getHeaders();
         MultivaluedMap<String, String> paramHeaders = new MetadataMap<>();
-        handleHeaders(m, params, paramHeaders, beanParamsList, types);
-        handleCookies(m, params, paramHeaders, beanParamsList, types);
+        handleHeaders(plan, params, paramHeaders);
+        handleCookies(plan, params, paramHeaders);
 
         if (ori.isSubResourceLocator()) {
             ClassResourceInfo subCri = cri.getSubResource(m.getReturnType(), m.getReturnType());
@@ -318,6 +322,8 @@ public class ClientProxyImpl extends AbstractClient implements
             ClientProxyImpl proxyImpl =
                 new ClientProxyImpl(newState, proxyLoader, subCri, false, inheritHeaders);
             proxyImpl.setConfiguration(getConfiguration());
+            proxyImpl.invocationPlans = isRoot ? subResourcePlans : invocationPlans;
+            proxyImpl.subResourcePlans = proxyImpl.invocationPlans;
             return JAXRSClientFactory.createProxy(m.getReturnType(), proxyLoader, proxyImpl);
         }
         headers.putAll(paramHeaders);
@@ -331,24 +337,56 @@ public class ClientProxyImpl extends AbstractClient implements
                 bodyIndex = -1;
             }
         } else if (types.containsKey(ParameterType.FORM))  {
-            body = handleForm(m, params, types, beanParamsList);
+            body = handleForm(plan, params);
         } else if (types.containsKey(ParameterType.REQUEST_BODY))  {
             body = handleMultipart(types, ori, params);
         } else if (hasFormParams(params, beanParamsList)) {
-            body = handleForm(m, params, types, beanParamsList);
+            body = handleForm(plan, params);
         }
         
         setRequestHeaders(headers, ori, types.containsKey(ParameterType.FORM),
             body == null ? null : body.getClass(), m.getReturnType());
 
         try {
-            return doChainedInvocation(uri, headers, ori, params, body, bodyIndex, null, null);
+            return doChainedInvocation(uri, headers, plan, params, body, bodyIndex, null, null);
         } finally {
             resetResponseStateImmediatelyIfNeeded();
         }
 
     }
 
+    /**
+     * Returns the invocation plan of the given method, the parameter and path information
+     * which does not depend on the actual parameter values is computed only once per method.
+     */
+    protected InvocationPlan getInvocationPlan(Method m, Object[] params, OperationResourceInfo ori) {
+        InvocationPlan plan = invocationPlans.get(m);
+        if (plan == null || plan.getOperation() != ori) {
+            MultivaluedMap<ParameterType, Parameter> types = getParametersInfo(m, params, ori);
+            List<String> paths = new ArrayList<>(2);
+            if (isRoot && !SLASH.equals(ori.getClassResourceInfo().getURITemplate().getValue())) {
+                paths.add(ori.getClassResourceInfo().getURITemplate().getValue());
+            }
+            if (!SLASH.equals(ori.getURITemplate().getValue())) {
+                paths.add(ori.getURITemplate().getValue());
+            }
+            plan = new InvocationPlan(m, ori, types, getBodyIndex(types, ori), paths);
+            invocationPlans.put(m, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Creates the plan for the helpers called with the method and its parameters directly,
+     * outside of {@link #invoke(Object, Method, Object[])}
+     */
+    private static InvocationPlan createInvocationPlan(Method m,
+                                                       OperationResourceInfo ori,
+                                                       MultivaluedMap<ParameterType, Parameter> map,
+                                                       int bodyIndex) {
+        return new InvocationPlan(m, ori, map, bodyIndex, Collections.emptyList());
+    }
+
     protected void addNonEmptyPath(UriBuilder builder, String pathValue) {
         if (!SLASH.equals(pathValue)) {
             builder.path(pathValue);
@@ -514,6 +552,14 @@ public class ClientProxyImpl extends AbstractClient implements
                                             List<Parameter> beanParams,
                                             OperationResourceInfo ori,
                                             int bodyIndex) {
+        return getPathParamValues(createInvocationPlan(m, ori, map, bodyIndex), params);
+    }
+
+    protected List<Object> getPathParamValues(InvocationPlan plan, Object[] params) {
+        OperationResourceInfo ori = plan.getOperation();
+        MultivaluedMap<ParameterType, Parameter> map = plan.getParameterTypes();
+        List<Parameter> beanParams = plan.getBeanParameters();
+        int bodyIndex = plan.getBodyIndex();
         List<Object> list = new ArrayList<>();
 
         List<String> methodVars = ori.getURITemplate().getVariables();
@@ -558,8 +604,8 @@ public class ClientProxyImpl extends AbstractClient implements
             Parameter p = paramsMap.remove(varName);
             if (p != null) {
                 list.add(convertParamValue(params[p.getIndex()],
-                        m.getParameterTypes()[p.getIndex()],
-                        getParamAnnotations(m, p)));
+                        plan.getParameterType(p.getIndex()),
+                        plan.getParameterAnnotations(p)));
             } else if (beanParamValues.containsKey(varName)) {
                 BeanPair pair = beanParamValues.get(varName);
                 list.add(convertParamValue(pair.getValue(), pair.getAnns()));
@@ -604,14 +650,18 @@ public class ClientProxyImpl extends AbstractClient implements
                                MultivaluedMap<ParameterType, Parameter> map,
                                List<Parameter> beanParams,
                                UriBuilder ub) {
-        List<Parameter> qs = getParameters(map, ParameterType.QUERY);
+        handleQueries(createInvocationPlan(m, null, map, -1), params, ub);
+    }
+
+    protected void handleQueries(InvocationPlan plan, Object[] params, UriBuilder ub) {
+        List<Parameter> qs = getParameters(plan.getParameterTypes(), ParameterType.QUERY);
         qs.stream().
                 filter(p -> params[p.getIndex()] != null).
                 forEachOrdered(p -> {
                     addMatrixQueryParamsToBuilder(ub, p.getName(), ParameterType.QUERY,
-                            getParamAnnotations(m, p), params[p.getIndex()]);
+                            plan.getParameterAnnotations(p), params[p.getIndex()]);
                 });
-        beanParams.stream().
+        plan.getBeanParameters().stream().
                 map(p -> getValuesFromBeanParam(params[p.getIndex()], QueryParam.class)).
                 forEachOrdered(values -> {
                     values.forEach((key, value) -> {
@@ -706,14 +756,18 @@ public class ClientProxyImpl extends AbstractClient implements
                                 MultivaluedMap<ParameterType, Parameter> map,
                                 List<Parameter> beanParams,
                                 UriBuilder ub) {
-        List<Parameter> mx = getParameters(map, ParameterType.MATRIX);
+        handleMatrixes(createInvocationPlan(m, null, map, -1), params, ub);
+    }
+
+    protected void handleMatrixes(InvocationPlan plan, Object[] params, UriBuilder ub) {
+        List<Parameter> mx = getParameters(plan.getParameterTypes(), ParameterType.MATRIX);
         mx.stream().
                 filter(p -> params[p.getIndex()] != null).
                 forEachOrdered(p -> {
                     addMatrixQueryParamsToBuilder(ub, p.getName(), ParameterType.MATRIX,
-                            getParamAnnotations(m, p), params[p.getIndex()]);
+                            plan.getParameterAnnotations(p), params[p.getIndex()]);
                 });
-        beanParams.stream().
+        plan.getBeanParameters().stream().
                 map(p -> getValuesFromBeanParam(params[p.getIndex()], MatrixParam.class)).
                 forEachOrdered(values -> {
                     values.forEach((key, value) -> {
@@ -729,14 +783,18 @@ public class ClientProxyImpl extends AbstractClient implements
                                                       Object[] params,
                                                       MultivaluedMap<ParameterType, Parameter> map,
                                                       List<Parameter> beanParams) {
+        return handleForm(createInvocationPlan(m, null, map, -1), params);
+    }
+
+    protected MultivaluedMap<String, String> handleForm(InvocationPlan plan, Object[] params) {
 
         MultivaluedMap<String, String> form = new MetadataMap<>();
 
-        List<Parameter> fm = getParameters(map, ParameterType.FORM);
+        List<Parameter> fm = getParameters(plan.getParameterTypes(), ParameterType.FORM);
         fm.forEach(p -> {
-            addFormValue(form, p.getName(), params[p.getIndex()], getParamAnnotations(m, p));
+            addFormValue(form, p.getName(), params[p.getIndex()], plan.getParameterAnnotations(p));
         });
-        beanParams.stream().
+        plan.getBeanParameters().stream().
                 map(p -> getValuesFromBeanParam(params[p.getIndex()], FormParam.class)).
                 forEachOrdered(values -> {
                     values.forEach((key, value) -> {
@@ -786,13 +844,17 @@ public class ClientProxyImpl extends AbstractClient implements
                                MultivaluedMap<String, String> headers,
                                List<Parameter> beanParams,
                                MultivaluedMap<ParameterType, Parameter> map) {
-        List<Parameter> hs = getParameters(map, ParameterType.HEADER);
+        handleHeaders(createInvocationPlan(m, null, map, -1), params, headers);
+    }
+
+    protected void handleHeaders(InvocationPlan plan, Object[] params, MultivaluedMap<String, String> headers) {
+        List<Parameter> hs = getParameters(plan.getParameterTypes(), ParameterType.HEADER);
         hs.stream().
                 filter(p -> params[p.getIndex()] != null).
                 forEachOrdered(p -> {
-                    headers.add(p.getName(), convertParamValue(params[p.getIndex()], getParamAnnotations(m, p)));
+                    headers.add(p.getName(), convertParamValue(params[p.getIndex()], plan.getParameterAnnotations(p)));
                 });
-        beanParams.stream().
+        plan.getBeanParameters().stream().
                 map(p -> getValuesFromBeanParam(params[p.getIndex()], HeaderParam.class)).
                 forEachOrdered(values -> {
                     values.forEach((key, value) -> {
@@ -814,15 +876,19 @@ public class ClientProxyImpl extends AbstractClient implements
                                MultivaluedMap<String, String> headers,
                                List<Parameter> beanParams,
                                MultivaluedMap<ParameterType, Parameter> map) {
-        List<Parameter> cs = getParameters(map, ParameterType.COOKIE);
+        handleCookies(createInvocationPlan(m, null, map, -1), params, headers);
+    }
+
+    protected void handleCookies(InvocationPlan plan, Object[] params, MultivaluedMap<String, String> headers) {
+        List<Parameter> cs = getParameters(plan.getParameterTypes(), ParameterType.COOKIE);
         cs.stream().
                 filter(p -> params[p.getIndex()] != null).
                 forEachOrdered(p -> {
                     headers.add(HttpHeaders.COOKIE,
                             p.getName() + '='
-                            + convertParamValue(params[p.getIndex()].toString(), getParamAnnotations(m, p)));
+                            + convertParamValue(params[p.getIndex()].toString(), plan.getParameterAnnotations(p)));
                 });
-        beanParams.stream().
+        plan.getBeanParameters().stream().
                 map(p -> getValuesFromBeanParam(params[p.getIndex()], CookieParam.class)).
                 forEachOrdered(values -> {
                     values.forEach((key, value) -> {
@@ -855,6 +921,24 @@ public class ClientProxyImpl extends AbstractClient implements
                                        Exchange exchange,
                                        Map<String, Object> invocationContext) throws Throwable {
     //CHECKSTYLE:ON
+        InvocationPlan plan = invocationPlans.get(ori.getMethodToInvoke());
+        if (plan == null || plan.getOperation() != ori) {
+            plan = createInvocationPlan(ori.getMethodToInvoke(), ori, null, bodyIndex);
+        }
+        return doChainedInvocation(uri, headers, plan, methodParams, body, bodyIndex, exchange, invocationContext);
+    }
+
+    //CHECKSTYLE:OFF
+    protected Object doChainedInvocation(URI uri,
+                                       MultivaluedMap<String, String> headers,
+                                       InvocationPlan plan,
+                                       Object[] methodParams,
+                                       Object body,
+                                       int bodyIndex,
+                                       Exchange exchange,
+                                       Map<String, Object> invocationContext) throws Throwable {
+    //CHECKSTYLE:ON
+        OperationResourceInfo ori = plan.getOperation();
         Bus configuredBus = getConfiguration().getBus();
         Bus origBus = BusFactory.getAndSetThreadDefaultBus(configuredBus);
         ClassLoaderHolder origLoader = null;
@@ -865,8 +949,9 @@ public class ClientProxyImpl extends AbstractClient implements
             }
             Message outMessage = createMessage(body, ori, headers, uri, exchange, invocationContext, true);
             if (bodyIndex != -1) {
-                outMessage.put(Type.class, ori.getMethodToInvoke().getGenericParameterTypes()[bodyIndex]);
+                outMessage.put(Type.class, plan.getGenericParameterTypes()[bodyIndex]);
             }
+            outMessage.put(InvocationPlan.class, plan);
             outMessage.getExchange().setOneWay(ori.isOneway());
             setSupportOnewayResponseProperty(outMessage);
             outMessage.setContent(OperationResourceInfo.class, ori);
@@ -1081,17 +1166,20 @@ public class ClientProxyImpl extends AbstractClient implements
 
             Method method = ori.getMethodToInvoke();
             int bodyIndex = (Integer)outMessage.get(PROXY_METHOD_PARAM_BODY_INDEX);
+            InvocationPlan plan = (InvocationPlan)outMessage.get(InvocationPlan.class);
 
             Annotation[] anns = customAnns != null ? customAnns
                 : getMethodAnnotations(ori.getAnnotatedMethod(), bodyIndex);
             try {
                 if (bodyIndex != -1) {
-                    Class<?> paramClass = method.getParameterTypes()[bodyIndex];
+                    Class<?> paramClass = plan != null ? plan.getParameterType(bodyIndex)
+                        : method.getParameterTypes()[bodyIndex];
                     Class<?> bodyClass =
                         paramClass.isAssignableFrom(body.getClass()) ? paramClass : body.getClass();
                     Type genericType = bodyType;
                     if (genericType == null) {
-                        Type[] genericParameterTypes = method.getGenericParameterTypes();
+                        Type[] genericParameterTypes = plan != null ? plan.getGenericParameterTypes()
+                            : method.getGenericParameterTypes();
                         if (bodyIndex < genericParameterTypes.length) {
                             genericType = genericParameterTypes[bodyIndex];
                         }
@@ -1116,6 +1204,79 @@ public class ClientProxyImpl extends AbstractClient implements
 
     }
 
+    /**
+     * Immutable per-method information computed on the first invocation: the parameters grouped
+     * by their types, the body parameter index, the URI template paths to append and the
+     * parameter types and annotations which would otherwise be copied on every call.
+     */
+    protected static class InvocationPlan {
+        private final OperationResourceInfo ori;
+        private final MultivaluedMap<ParameterType, Parameter> types;
+        private final List<Parameter> beanParams;
+        private final int bodyIndex;
+        private final List<String> paths;
+        private final Class<?>[] paramTypes;
+        private final Type[] genericParamTypes;
+        private final Annotation[][] paramAnnotations;
+        private final Method method;
+
+        protected InvocationPlan(Method m,
+                                 OperationResourceInfo ori,
+                                 MultivaluedMap<ParameterType, Parameter> types,
+                                 int bodyIndex,
+                                 List<String> paths) {
+            this.method = m;
+            this.ori = ori;
+            this.types = types != null ? types : new MetadataMap<>();
+            this.beanParams = getParameters(this.types, ParameterType.BEAN);
+            this.bodyIndex = bodyIndex;
+            this.paths = Collections.unmodifiableList(paths);
+            this.paramTypes = m.getParameterTypes();
+            this.genericParamTypes = m.getGenericParameterTypes();
+            this.paramAnnotations = m.getParameterAnnotations();
+        }
+
+        public OperationResourceInfo getOperation() {
+            return ori;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public MultivaluedMap<ParameterType, Parameter> getParameterTypes() {
+            return types;
+        }
+
+        public List<Parameter> getBeanParameters() {
+            return beanParams;
+        }
+
+        public int getBodyIndex() {
+            return bodyIndex;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        Class<?> getParameterType(int index) {
+            return paramTypes[index];
+        }
+
+        Type[] getGenericParameterTypes() {
+            return genericParamTypes;
+        }
+
+        Annotation[][] getParameterAnnotations() {
+            return paramAnnotations;
+        }
+
+        Annotation[] getParameterAnnotations(Parameter p) {
+            return paramAnnotations[p.getIndex()];
+        }
+    }
+
     protected static class BeanPair {
         protected Object value;
         protected Annotation[] anns;
@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.client;
+
+import java.net.URI;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriBuilder;
+
+import org.apache.cxf.jaxrs.impl.MetadataMap;
+import org.apache.cxf.jaxrs.utils.JAXRSUtils;
+
+/**
+ * Immutable request specification created with {@link WebClient#spec()}.
+ * Every method returning a RequestSpec returns a new instance, so a single
+ * specification can be shared by any number of threads, for example:
+ * <pre>
+ * RequestSpec books = WebClient.create("http://localhost:8080/store").accept("application/json").spec();
+ * Book book = books.path("books").path(id).get(Book.class);
+ * </pre>
+ * Each invocation runs with its own client state while the configuration, including the bus,
+ * conduit selector and interceptors, is shared with the originating WebClient which owns it.
+ */
+public final class RequestSpec {
+    private final ClientConfiguration config;
+    private final URI baseURI;
+    private final URI currentURI;
+    private final MultivaluedMap<String, String> headers;
+
+    RequestSpec(ClientConfiguration config, URI baseURI, URI currentURI, MultivaluedMap<String, String> headers) {
+        this.config = config;
+        this.baseURI = baseURI;
+        this.currentURI = currentURI;
+        this.headers = headers;
+    }
+
+    public URI getBaseURI() {
+        return baseURI;
+    }
+
+    public URI getCurrentURI() {
+        return currentURI;
+    }
+
+    public MultivaluedMap<String, String> getHeaders() {
+        return new MetadataMap<>(headers, false, true);
+    }
+
+    /**
+     * Appends the path segment, it may contain template variables
+     * @param path new relative path segment
+     * @param values template variable values
+     * @return the new specification
+     */
+    public RequestSpec path(Object path, Object... values) {
+        URI uri = UriBuilder.fromUri(currentURI).path(path.toString()).build(values);
+        return new RequestSpec(config, baseURI, uri, headers);
+    }
+
+    public RequestSpec query(String name, Object... values) {
+        URI uri = UriBuilder.fromUri(currentURI).queryParam(name, values).build();
+        return new RequestSpec(config, baseURI, uri, headers);
+    }
+
+    public RequestSpec header(String name, Object... values) {
+        MultivaluedMap<String, String> newHeaders = getHeaders();
+        for (Object value : values) {
+            newHeaders.add(name, value.toString());
+        }
+        return new RequestSpec(config, baseURI, currentURI, newHeaders);
+    }
+
+    public RequestSpec accept(MediaType... types) {
+        MultivaluedMap<String, String> newHeaders = getHeaders();
+        newHeaders.remove(HttpHeaders.ACCEPT);
+        for (MediaType mt : types) {
+            newHeaders.add(HttpHeaders.ACCEPT, JAXRSUtils.mediaTypeToString(mt));
+        }
+        return new RequestSpec(config, baseURI, currentURI, newHeaders);
+    }
+
+    public RequestSpec accept(String... types) {
+        MultivaluedMap<String, String> newHeaders = getHeaders();
+        newHeaders.remove(HttpHeaders.ACCEPT);
+        for (String mt : types) {
+            newHeaders.add(HttpHeaders.ACCEPT, mt);
+        }
+        return new RequestSpec(config, baseURI, currentURI, newHeaders);
+    }
+
+    public RequestSpec type(MediaType type) {
+        return type(JAXRSUtils.mediaTypeToString(type));
+    }
+
+    public RequestSpec type(String type) {
+        MultivaluedMap<String, String> newHeaders = getHeaders();
+        newHeaders.putSingle(HttpHeaders.CONTENT_TYPE, type);
+        return new RequestSpec(config, baseURI, currentURI, newHeaders);
+    }
+
+    public Response get() {
+        return invoke(HttpMethod.GET, null);
+    }
+
+    public <T> T get(Class<T> responseClass) {
+        return invoke(HttpMethod.GET, null, responseClass);
+    }
+
+    public <T> T get(GenericType<T> responseType) {
+        return newClient().invoke(HttpMethod.GET, null, responseType);
+    }
+
+    public Response post(Object body) {
+        return invoke(HttpMethod.POST, body);
+    }
+
+    public <T> T post(Object body, Class<T> responseClass) {
+        return invoke(HttpMethod.POST, body, responseClass);
+    }
+
+    public Response put(Object body) {
+        return invoke(HttpMethod.PUT, body);
+    }
+
+    public <T> T put(Object body, Class<T> responseClass) {
+        return invoke(HttpMethod.PUT, body, responseClass);
+    }
+
+    public Response delete() {
+        return invoke(HttpMethod.DELETE, null);
+    }
+
+    public Response invoke(String httpMethod, Object body) {
+        return newClient().invoke(httpMethod, body);
+    }
+
+    public <T> T invoke(String httpMethod, Object body, Class<T> responseClass) {
+        return newClient().invoke(httpMethod, body, responseClass);
+    }
+
+    /**
+     * Creates the single-use client the request is executed with, it does not own
+     * the shared configuration and must not be closed
+     * @return the client
+     */
+    WebClient newClient() {
+        LocalClientState state = new LocalClientState(baseURI, currentURI);
+        state.setRequestHeaders(getHeaders());
+        return new WebClient(state, config);
+    }
+}
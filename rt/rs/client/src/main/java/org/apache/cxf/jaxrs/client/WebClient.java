@@ -28,6 +28,8 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
@@ -66,6 +68,7 @@ import org.apache.cxf.helpers.CastUtils;
 import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.jaxrs.client.spec.ClientImpl.WebTargetImpl;
 import org.apache.cxf.jaxrs.client.spec.InvocationBuilderImpl;
+import org.apache.cxf.jaxrs.impl.MetadataMap;
 import org.apache.cxf.jaxrs.impl.ResponseImpl;
 import org.apache.cxf.jaxrs.impl.UriBuilderImpl;
 import org.apache.cxf.jaxrs.model.ParameterType;
@@ -110,6 +113,14 @@ public class WebClient extends AbstractClient {
         cfg.getInInterceptors().add(new ClientAsyncResponseInterceptor());
     }
 
+    /**
+     * Creates a client which shares the already initialized configuration
+     * of another WebClient, see {@link RequestSpec}
+     */
+    WebClient(ClientState state, ClientConfiguration config) {
+        super(state, config);
+    }
+
 
 
 
@@ -318,6 +329,17 @@ public class WebClient extends AbstractClient {
         return webClient;
     }
 
+    /**
+     * Creates an immutable request specification which starts from the current URI
+     * and headers of this client and can be shared between threads. Every request
+     * made from the specification uses its own state and this client's configuration.
+     * @return the request specification
+     */
+    public RequestSpec spec() {
+        return new RequestSpec(getConfiguration(), getBaseURI(), getCurrentURI(),
+                               new MetadataMap<>(getState().getRequestHeaders(), false, true));
+    }
+
     /**
      * Converts object to Client
      * @param object the object
@@ -476,6 +498,60 @@ public class WebClient extends AbstractClient {
         return castResponse(r, responseClass);
     }
 
+    /**
+     * Does asynchronous HTTP invocation, the returned future is completed by the transport
+     * once the response is available so no thread is blocked waiting for it
+     * @param httpMethod HTTP method
+     * @param body request body, can be null or Entity
+     * @param responseClass expected type of response object
+     * @return the future completed with the typed object or the error
+     */
+    public <T> CompletableFuture<T> invokeAsync(String httpMethod, Object body, Class<T> responseClass) {
+        return doInvokeAsync(httpMethod, body, responseClass, responseClass, null);
+    }
+
+    /**
+     * Does asynchronous HTTP invocation, the request is prepared by the calling thread but
+     * its body is written by the executor, so the caller is not blocked by the entities
+     * producing the body over time, such as the publishers
+     * @param httpMethod HTTP method
+     * @param body request body, can be null or Entity
+     * @param responseClass expected type of response object
+     * @param executor the executor writing the request body
+     * @return the future completed with the typed object or the error
+     */
+    public <T> CompletableFuture<T> invokeAsync(String httpMethod, Object body, Class<T> responseClass,
+                                                Executor executor) {
+        return doInvokeAsync(httpMethod, body, responseClass, responseClass, executor);
+    }
+
+    /**
+     * Does asynchronous HTTP invocation, the returned future is completed by the transport
+     * once the response is available so no thread is blocked waiting for it
+     * @param httpMethod HTTP method
+     * @param body request body, can be null or Entity
+     * @param responseType generic response type
+     * @return the future completed with the typed object or the error
+     */
+    public <T> CompletableFuture<T> invokeAsync(String httpMethod, Object body, GenericType<T> responseType) {
+        return doInvokeAsync(httpMethod, body, responseType.getRawType(), responseType.getType(), null);
+    }
+
+    /**
+     * Does asynchronous HTTP invocation, the request is prepared by the calling thread but
+     * its body is written by the executor, so the caller is not blocked by the entities
+     * producing the body over time, such as the publishers
+     * @param httpMethod HTTP method
+     * @param body request body, can be null or Entity
+     * @param responseType generic response type
+     * @param executor the executor writing the request body
+     * @return the future completed with the typed object or the error
+     */
+    public <T> CompletableFuture<T> invokeAsync(String httpMethod, Object body, GenericType<T> responseType,
+                                                Executor executor) {
+        return doInvokeAsync(httpMethod, body, responseType.getRawType(), responseType.getType(), executor);
+    }
+
     @SuppressWarnings("unchecked")
     private <T> T castResponse(Response r, Class<T> responseClass) {
         return (T)(responseClass == Response.class ? r : r.getEntity());
@@ -965,6 +1041,41 @@ public class WebClient extends AbstractClient {
         return cb.createFuture();
     }
 
+    private <T> CompletableFuture<T> doInvokeAsync(String httpMethod,
+                                                   Object body,
+                                                   Class<?> respClass,
+                                                   Type outType,
+                                                   Executor executor) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final Class<?> requestClass = body == null ? null : body.getClass();
+        try {
+            JaxrsClientCallback<T> cb = new JaxrsClientCallback<>(
+                new InvocationCallback<T>() {
+                    @Override
+                    public void completed(T response) {
+                        future.complete(response);
+                    }
+
+                    @Override
+                    public void failed(Throwable error) {
+                        future.completeExceptionally(error);
+                    }
+                }, respClass, outType);
+            if (executor == null) {
+                prepareAsyncClient(httpMethod, body, requestClass, requestClass, respClass, outType, cb);
+            } else {
+                // The message is prepared with the current client state, only the chain writing
+                // the request body is run by the executor
+                final Message m = prepareAsyncMessage(httpMethod, body, requestClass, requestClass,
+                    respClass, outType, cb);
+                executor.execute(() -> doRunInterceptorChain(m));
+            }
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
     protected void prepareAsyncClient(String httpMethod,
                                    Object body,
                                    Class<?> requestClass,
@@ -972,6 +1083,16 @@ public class WebClient extends AbstractClient {
                                    Class<?> respClass,
                                    Type outType,
                                    JaxrsClientCallback<?> cb) {
+        doRunInterceptorChain(prepareAsyncMessage(httpMethod, body, requestClass, inType, respClass, outType, cb));
+    }
+
+    private Message prepareAsyncMessage(String httpMethod,
+                                        Object body,
+                                        Class<?> requestClass,
+                                        Type inType,
+                                        Class<?> respClass,
+                                        Type outType,
+                                        JaxrsClientCallback<?> cb) {
         Annotation[] inAnns = null;
         if (body instanceof Entity) {
             Entity<?> entity = (Entity<?>)body;
@@ -997,8 +1118,7 @@ public class WebClient extends AbstractClient {
         m.getExchange().setSynchronous(false);
         setAsyncMessageObserverIfNeeded(m.getExchange());
         m.getExchange().put(JaxrsClientCallback.class, cb);
-
-        doRunInterceptorChain(m);
+        return m;
     }
 
 
@@ -0,0 +1,56 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.client.cache;
+
+import java.util.List;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Registers {@link RequestCoalescingFilter}, the clients configured with the same feature
+ * instance share the in-flight requests.
+ */
+@Provider
+public class RequestCoalescingFeature implements Feature {
+    private final RequestCoalescingFilter filter = new RequestCoalescingFilter();
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        context.register(filter);
+        return true;
+    }
+
+    public void setMaxWait(long maxWait) {
+        filter.setMaxWait(maxWait);
+    }
+
+    public void setKeyHeaders(List<String> keyHeaders) {
+        filter.setKeyHeaders(keyHeaders);
+    }
+
+    public long getCoalescedRequestCount() {
+        return filter.getCoalescedRequestCount();
+    }
+
+    public long getTimedOutRequestCount() {
+        return filter.getTimedOutRequestCount();
+    }
+}
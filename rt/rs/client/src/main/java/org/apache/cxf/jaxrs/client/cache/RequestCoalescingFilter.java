@@ -0,0 +1,312 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.client.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Priority;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import org.apache.cxf.helpers.CastUtils;
+import org.apache.cxf.helpers.IOUtils;
+import org.apache.cxf.interceptor.Interceptor;
+import org.apache.cxf.jaxrs.impl.MetadataMap;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+
+/**
+ * Coalesces the identical idempotent requests which are in flight at the same time: the first
+ * request (the leader) goes to the server while the others (the followers) wait for its response
+ * and get a copy of it, the response entity is buffered for this purpose only if the followers have
+ * joined the leader by the time its response arrives. The requests are identical
+ * if they have the same HTTP method, URI and values of the key headers, which by default include
+ * the credentials so the responses are never shared between the different principals. The followers
+ * which do not get the response within the maximum wait time or whose leader fails send their own
+ * requests. The asynchronous requests can lead but never wait for a leader as the request filters
+ * can not suspend them, they are sent to the server if the identical request is in flight.
+ */
+@Priority(Priorities.USER)
+public class RequestCoalescingFilter implements ClientRequestFilter, ClientResponseFilter {
+    public static final long DEFAULT_MAX_WAIT = 30000L;
+    static final String IN_FLIGHT_PROPERTY = "client_coalescing_in_flight";
+    private static final List<String> DEFAULT_KEY_HEADERS = Arrays.asList(HttpHeaders.ACCEPT,
+        HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.ACCEPT_ENCODING, HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE);
+
+    private final ConcurrentMap<RequestKey, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalescedRequests = new LongAdder();
+    private final LongAdder timedOutRequests = new LongAdder();
+    private long maxWait = DEFAULT_MAX_WAIT;
+    private List<String> keyHeaders = DEFAULT_KEY_HEADERS;
+
+    @Override
+    public void filter(ClientRequestContext request) throws IOException {
+        if (!HttpMethod.GET.equals(request.getMethod()) && !HttpMethod.HEAD.equals(request.getMethod())) {
+            return;
+        }
+
+        final Message m = PhaseInterceptorChain.getCurrentMessage();
+        final boolean async = m != null && m.getExchange() != null && !m.getExchange().isSynchronous();
+        final RequestKey key = new RequestKey(request.getMethod(), request.getUri(), getKeyHeaderValues(request));
+        final InFlightRequest leader = new InFlightRequest(key);
+        while (true) {
+            final InFlightRequest current = inFlight.putIfAbsent(key, leader);
+            if (current == null) {
+                request.setProperty(IN_FLIGHT_PROPERTY, leader);
+                if (m != null) {
+                    addLeaderFaultInterceptor(m, leader);
+                }
+                return;
+            } else if (async) {
+                return;
+            } else if (!current.isStale(maxWait) && current.addFollower()) {
+                follow(request, current);
+                return;
+            }
+            // The leader has failed without its fault being reported or has already got its response
+            // without the followers, replacing it
+            inFlight.remove(key, current);
+        }
+    }
+
+    @Override
+    public void filter(ClientRequestContext request, ClientResponseContext response) throws IOException {
+        final Object leader = request.getProperty(IN_FLIGHT_PROPERTY);
+        if (!(leader instanceof InFlightRequest)) {
+            return;
+        }
+        request.removeProperty(IN_FLIGHT_PROPERTY);
+
+        final InFlightRequest inFlightRequest = (InFlightRequest)leader;
+        inFlight.remove(inFlightRequest.key, inFlightRequest);
+        if (!inFlightRequest.close()) {
+            // no one is waiting, the entity is left as is
+            return;
+        }
+
+        byte[] entity = null;
+        if (response.hasEntity()) {
+            entity = IOUtils.readBytesFromStream(response.getEntityStream());
+            response.setEntityStream(new ByteArrayInputStream(entity));
+        }
+        inFlightRequest.response.complete(
+            new SharedResponse(response.getStatus(), new MetadataMap<>(response.getHeaders()), entity));
+    }
+
+    private void follow(ClientRequestContext request, InFlightRequest leader) {
+        try {
+            final SharedResponse response = leader.response.get(maxWait, TimeUnit.MILLISECONDS);
+            coalescedRequests.increment();
+            request.abortWith(response.toResponse());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            // the leader has failed, the request is going to be sent to the server
+        } catch (TimeoutException ex) {
+            timedOutRequests.increment();
+        }
+    }
+
+    // The response filters are not run if the leader fails without getting the response,
+    // the followers are released by the in fault chain of the leader instead
+    private void addLeaderFaultInterceptor(Message m, InFlightRequest leader) {
+        Collection<Interceptor<? extends Message>> interceptors =
+            CastUtils.cast((Collection<?>)m.get(Message.FAULT_IN_INTERCEPTORS));
+        if (interceptors == null) {
+            interceptors = new ArrayList<>();
+            m.put(Message.FAULT_IN_INTERCEPTORS, interceptors);
+        }
+        interceptors.add(new LeaderFaultInterceptor(leader));
+    }
+
+    private List<String> getKeyHeaderValues(ClientRequestContext request) {
+        final List<String> values = new ArrayList<>(keyHeaders.size());
+        for (String header : keyHeaders) {
+            values.add(request.getHeaderString(header));
+        }
+        return values;
+    }
+
+    /**
+     * Sets the maximum time in milliseconds the followers wait for the leader's response
+     */
+    public void setMaxWait(long maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Sets the names of the request headers which must have the same values for the requests
+     * to be coalesced
+     */
+    public void setKeyHeaders(List<String> keyHeaders) {
+        this.keyHeaders = new ArrayList<>(keyHeaders);
+    }
+
+    public List<String> getKeyHeaders() {
+        return keyHeaders;
+    }
+
+    /**
+     * Returns the number of the requests which have got the response of the identical request
+     */
+    public long getCoalescedRequestCount() {
+        return coalescedRequests.sum();
+    }
+
+    /**
+     * Returns the number of the requests which have not got the response of the identical request
+     * in time and have been sent to the server
+     */
+    public long getTimedOutRequestCount() {
+        return timedOutRequests.sum();
+    }
+
+    private static final class RequestKey {
+        private final String method;
+        private final URI uri;
+        private final List<String> headers;
+        private final int hash;
+
+        RequestKey(String method, URI uri, List<String> headers) {
+            this.method = method;
+            this.uri = uri;
+            this.headers = headers;
+            this.hash = 31 * (31 * method.hashCode() + uri.hashCode()) + headers.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RequestKey)) {
+                return false;
+            }
+            final RequestKey other = (RequestKey)o;
+            return method.equals(other.method) && uri.equals(other.uri) && headers.equals(other.headers);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class InFlightRequest {
+        private final RequestKey key;
+        private final CompletableFuture<SharedResponse> response = new CompletableFuture<>();
+        private final long started = System.nanoTime();
+        // the number of the followers, -1 once the leader has got its response
+        private final AtomicInteger followers = new AtomicInteger();
+
+        InFlightRequest(RequestKey key) {
+            this.key = key;
+        }
+
+        boolean addFollower() {
+            int count = followers.get();
+            while (count >= 0) {
+                if (followers.compareAndSet(count, count + 1)) {
+                    return true;
+                }
+                count = followers.get();
+            }
+            return false;
+        }
+
+        // stops the followers from joining, returns true if any have joined
+        boolean close() {
+            return followers.getAndSet(-1) > 0;
+        }
+
+        boolean isStale(long maxWait) {
+            return System.nanoTime() - started > TimeUnit.MILLISECONDS.toNanos(maxWait);
+        }
+    }
+
+    private final class LeaderFaultInterceptor extends AbstractPhaseInterceptor<Message> {
+        private final InFlightRequest leader;
+
+        LeaderFaultInterceptor(InFlightRequest leader) {
+            super(Phase.RECEIVE);
+            this.leader = leader;
+        }
+
+        @Override
+        public void handleMessage(Message message) {
+            inFlight.remove(leader.key, leader);
+            final Exception ex = message.getContent(Exception.class);
+            leader.response.completeExceptionally(ex != null ? ex : new ProcessingException("Request failed"));
+        }
+    }
+
+    private static final class SharedResponse {
+        private final int status;
+        private final MultivaluedMap<String, String> headers;
+        private final byte[] entity;
+
+        SharedResponse(int status, MultivaluedMap<String, String> headers, byte[] entity) {
+            this.status = status;
+            this.headers = headers;
+            this.entity = entity;
+        }
+
+        Response toResponse() {
+            final Response.ResponseBuilder rb = Response.status(status);
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                for (String value : header.getValue()) {
+                    rb.header(header.getKey(), value);
+                }
+            }
+            if (entity != null) {
+                rb.entity(new ByteArrayInputStream(entity));
+            }
+            return rb.build();
+        }
+    }
+}
@@ -19,6 +19,8 @@
 
 package org.apache.cxf.jaxrs.client;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +40,8 @@ import org.apache.cxf.interceptor.Fault;
 import org.apache.cxf.interceptor.InterceptorProvider;
 import org.apache.cxf.jaxrs.JAXRSServerFactoryBean;
 import org.apache.cxf.jaxrs.impl.ResponseImpl;
+import org.apache.cxf.jaxrs.model.OperationResourceInfo;
+import org.apache.cxf.jaxrs.model.ParameterType;
 import org.apache.cxf.jaxrs.model.UserOperation;
 import org.apache.cxf.jaxrs.model.UserResource;
 import org.apache.cxf.jaxrs.resources.Book;
@@ -67,6 +71,52 @@ public class JAXRSClientFactoryBeanTest {
         assertTrue(bean.create() instanceof BookStore);
     }
 
+    @Test
+    public void testInvocationPlanIsCached() throws Exception {
+        JAXRSClientFactoryBean bean = new JAXRSClientFactoryBean();
+        bean.setAddress("http://bar");
+        bean.setResourceClass(BookStore.class);
+        BookStore store = bean.create(BookStore.class);
+        ClientProxyImpl impl = (ClientProxyImpl)((InvocationHandlerAware)store).getInvocationHandler();
+
+        Method m = BookStore.class.getMethod("deleteBook", String.class);
+        OperationResourceInfo ori = impl.cri.getMethodDispatcher().getOperationResourceInfo(m);
+        ClientProxyImpl.InvocationPlan plan = impl.getInvocationPlan(m, new Object[]{"1"}, ori);
+        assertSame(plan, impl.getInvocationPlan(m, new Object[]{"2"}, ori));
+        assertSame(ori, plan.getOperation());
+        assertEquals(Arrays.asList("/bookstore/", "/books/{bookId}/"), plan.getPaths());
+        assertEquals(-1, plan.getBodyIndex());
+        assertEquals(1, plan.getParameterTypes().get(ParameterType.PATH).size());
+    }
+
+    @Test
+    public void testSubresourceProxiesShareInvocationPlans() throws Exception {
+        JAXRSClientFactoryBean bean = new JAXRSClientFactoryBean();
+        bean.setAddress("http://bar");
+        bean.setResourceClass(BookStoreSubresourcesOnly.class);
+        BookStoreSubresourcesOnly store = bean.create(BookStoreSubresourcesOnly.class, 1, 2, 3);
+        BookStoreSubresourcesOnly sub = store.getItself();
+        BookStoreSubresourcesOnly sub2 = store.getItself();
+        BookStoreSubresourcesOnly subSub = sub.getItself();
+
+        ClientProxyImpl root = (ClientProxyImpl)((InvocationHandlerAware)store).getInvocationHandler();
+        ClientProxyImpl impl = (ClientProxyImpl)((InvocationHandlerAware)sub).getInvocationHandler();
+        ClientProxyImpl impl2 = (ClientProxyImpl)((InvocationHandlerAware)sub2).getInvocationHandler();
+        ClientProxyImpl subImpl = (ClientProxyImpl)((InvocationHandlerAware)subSub).getInvocationHandler();
+
+        Method m = BookStoreSubresourcesOnly.class.getMethod("getItself");
+        OperationResourceInfo rootOri = root.cri.getMethodDispatcher().getOperationResourceInfo(m);
+        OperationResourceInfo ori = impl.cri.getMethodDispatcher().getOperationResourceInfo(m);
+        ClientProxyImpl.InvocationPlan plan = impl.getInvocationPlan(m, new Object[]{}, ori);
+        assertSame(plan, impl2.getInvocationPlan(m, new Object[]{}, ori));
+        assertSame(plan, subImpl.getInvocationPlan(m, new Object[]{}, ori));
+        assertEquals(Arrays.asList("/sub1"), plan.getPaths());
+        assertEquals(Arrays.asList("/bookstore/{id}/{id2}/{id3}", "/sub1"),
+                     root.getInvocationPlan(m, new Object[]{}, rootOri).getPaths());
+        assertEquals("http://bar/bookstore/1/2/3/sub1/sub1",
+                     WebClient.client(subSub).getCurrentURI().toString());
+    }
+
     @Test
     public void testCreateClientCustomLoader() throws Exception {
         ProxyClassLoader loader = new ProxyClassLoader(BookStore.class.getClassLoader());
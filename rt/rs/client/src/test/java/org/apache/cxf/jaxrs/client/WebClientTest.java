@@ -35,6 +35,7 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -60,6 +61,28 @@ public class WebClientTest {
         assertEquals(0, wc.getHeaders().size());
     }
 
+    @Test
+    public void testRequestSpec() {
+        WebClient wc = WebClient.create("http://foo").path("store").accept("application/json");
+        RequestSpec base = wc.spec();
+        RequestSpec books = base.path("books/{id}", 1).query("a", "b");
+        RequestSpec withHeader = books.header("a", "c");
+        wc.path("other").header("d", "e");
+
+        assertEquals("http://foo/store", base.getCurrentURI().toString());
+        assertEquals("http://foo/store/books/1?a=b", books.getCurrentURI().toString());
+        assertEquals(1, books.getHeaders().size());
+        assertEquals(2, withHeader.getHeaders().size());
+        assertEquals("c", withHeader.getHeaders().getFirst("A"));
+
+        WebClient client = withHeader.newClient();
+        assertEquals("http://foo/store/books/1?a=b", client.getCurrentURI().toString());
+        assertEquals("application/json", client.getHeaders().getFirst(HttpHeaders.ACCEPT));
+        assertSame(WebClient.getConfig(wc), WebClient.getConfig(client));
+        client.header("x", "y");
+        assertEquals(2, withHeader.getHeaders().size());
+    }
+
     @Test
     public void testEncoding() {
         URI u = WebClient.create("http://foo").path("bar+ %2B").matrix("a", "value+ ")
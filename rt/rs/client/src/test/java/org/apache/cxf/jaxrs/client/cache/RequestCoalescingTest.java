@@ -0,0 +1,280 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.client.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Priority;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+
+import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.jaxrs.JAXRSServerFactoryBean;
+import org.apache.cxf.jaxrs.lifecycle.SingletonResourceProvider;
+import org.apache.cxf.transport.local.LocalTransportFactory;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestCoalescingTest {
+    public static final String ADDRESS = "local://coalescing";
+    private static final TheServer SERVICE = new TheServer();
+    private static Server server;
+
+    @BeforeClass
+    public static void bind() throws Exception {
+        final JAXRSServerFactoryBean sf = new JAXRSServerFactoryBean();
+        sf.setResourceClasses(TheServer.class);
+        sf.setResourceProvider(TheServer.class, new SingletonResourceProvider(SERVICE, false));
+        sf.setTransportId(LocalTransportFactory.TRANSPORT_ID);
+        sf.setAddress(ADDRESS);
+        server = sf.create();
+    }
+
+    @AfterClass
+    public static void unbind() throws Exception {
+        server.stop();
+        server.destroy();
+    }
+
+    @Before
+    public void reset() {
+        SERVICE.reset();
+    }
+
+    @Test
+    public void testIdenticalRequestsAreCoalesced() throws Exception {
+        final RequestCoalescingFeature feature = new RequestCoalescingFeature();
+        final WebTarget target = ClientBuilder.newBuilder().register(feature).build().target(ADDRESS);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<String>> responses = new ArrayList<>();
+            responses.add(get(executor, target.request("text/plain")));
+            assertTrue(SERVICE.entered.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                responses.add(get(executor, target.request("text/plain")));
+            }
+            // let the followers find the request in flight
+            Thread.sleep(500);
+            SERVICE.release.countDown();
+
+            for (Future<String> response : responses) {
+                assertEquals("1", response.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, SERVICE.invocations.get());
+            assertEquals(3, feature.getCoalescedRequestCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSequentialRequestsAreNotCoalesced() {
+        final RequestCoalescingFeature feature = new RequestCoalescingFeature();
+        final WebTarget target = ClientBuilder.newBuilder().register(feature).build().target(ADDRESS);
+        SERVICE.release.countDown();
+
+        assertEquals("1", target.request("text/plain").get(String.class));
+        assertEquals("2", target.request("text/plain").header(HttpHeaders.AUTHORIZATION, "Basic YTpi")
+            .get(String.class));
+        assertEquals("3", target.request("text/plain").get(String.class));
+        assertEquals(0, feature.getCoalescedRequestCount());
+    }
+
+    @Test
+    public void testResponseIsBufferedOnlyForFollowers() throws Exception {
+        final RequestCoalescingFeature feature = new RequestCoalescingFeature();
+        final EntityStreamFilter entityFilter = new EntityStreamFilter();
+        final WebTarget target = ClientBuilder.newBuilder().register(feature).register(entityFilter).build()
+            .target(ADDRESS);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<String> leader = get(executor, target.request("text/plain"));
+            assertTrue(SERVICE.entered.await(5, TimeUnit.SECONDS));
+            final Future<String> follower = get(executor, target.request("text/plain"));
+            // let the follower find the request in flight
+            Thread.sleep(500);
+            SERVICE.release.countDown();
+
+            assertEquals("1", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("1", follower.get(5, TimeUnit.SECONDS));
+            assertEquals(1, feature.getCoalescedRequestCount());
+            assertEquals(1, entityFilter.buffered.get());
+
+            // the leader without followers keeps its entity stream
+            final int responses = entityFilter.responses.get();
+            assertEquals("2", target.request("text/plain").get(String.class));
+            assertEquals(responses + 1, entityFilter.responses.get());
+            assertEquals(1, entityFilter.buffered.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFollowersAreReleasedWhenLeaderFails() throws Exception {
+        final RequestCoalescingFeature feature = new RequestCoalescingFeature();
+        final FailingFilter failingFilter = new FailingFilter();
+        final WebTarget target = ClientBuilder.newBuilder().register(feature).register(failingFilter).build()
+            .target(ADDRESS);
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        SERVICE.release.countDown();
+        try {
+            final Future<String> leader = get(executor,
+                target.request("text/plain").header(FailingFilter.FAIL_HEADER, "true"));
+            assertTrue(failingFilter.entered.await(5, TimeUnit.SECONDS));
+            final List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                followers.add(get(executor, target.request("text/plain")));
+            }
+            // let the followers find the request in flight
+            Thread.sleep(500);
+            failingFilter.fail.countDown();
+
+            try {
+                leader.get(5, TimeUnit.SECONDS);
+                fail("The leader is expected to fail");
+            } catch (ExecutionException ex) {
+                assertTrue(ex.getCause() instanceof ProcessingException);
+            }
+            // The followers do not wait for the maximum wait time but send their own requests
+            for (Future<String> follower : followers) {
+                assertNotNull(follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(2, SERVICE.invocations.get() + feature.getCoalescedRequestCount());
+            assertEquals(0, feature.getTimedOutRequestCount());
+
+            // The failed leader is no longer in flight
+            assertEquals(Integer.toString(SERVICE.invocations.get() + 1),
+                target.request("text/plain").get(String.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAsyncRequestsDoNotWaitForLeader() throws Exception {
+        final RequestCoalescingFeature feature = new RequestCoalescingFeature();
+        final WebTarget target = ClientBuilder.newBuilder().register(feature).build().target(ADDRESS);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<String> leader = get(executor, target.request("text/plain"));
+            assertTrue(SERVICE.entered.await(5, TimeUnit.SECONDS));
+
+            final Future<String> async = target.request("text/plain").async().get(String.class);
+            SERVICE.release.countDown();
+
+            assertEquals("1", leader.get(5, TimeUnit.SECONDS));
+            assertEquals("2", async.get(5, TimeUnit.SECONDS));
+            assertEquals(0, feature.getCoalescedRequestCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // The builders are created by the test thread, WebTarget.request() is not thread-safe
+    private static Future<String> get(ExecutorService executor, Invocation.Builder builder) {
+        return executor.submit(() -> builder.get(String.class));
+    }
+
+    @Priority(Priorities.USER + 1)
+    public static class FailingFilter implements ClientRequestFilter {
+        static final String FAIL_HEADER = "X-Fail";
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch fail = new CountDownLatch(1);
+
+        @Override
+        public void filter(ClientRequestContext context) throws IOException {
+            if (context.getHeaderString(FAIL_HEADER) != null) {
+                entered.countDown();
+                try {
+                    fail.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new ConnectException("Connection refused");
+            }
+        }
+    }
+
+    @Priority(Priorities.USER - 1)
+    public static class EntityStreamFilter implements ClientResponseFilter {
+        private final AtomicInteger responses = new AtomicInteger();
+        private final AtomicInteger buffered = new AtomicInteger();
+
+        @Override
+        public void filter(ClientRequestContext request, ClientResponseContext response) {
+            responses.incrementAndGet();
+            if (response.getEntityStream() instanceof ByteArrayInputStream) {
+                buffered.incrementAndGet();
+            }
+        }
+    }
+
+    @Path("/")
+    public static class TheServer {
+        private final AtomicInteger invocations = new AtomicInteger();
+        private volatile CountDownLatch entered;
+        private volatile CountDownLatch release;
+
+        void reset() {
+            invocations.set(0);
+            entered = new CountDownLatch(1);
+            release = new CountDownLatch(1);
+        }
+
+        @GET
+        @Produces("text/plain")
+        public String getString() throws InterruptedException {
+            final int invocation = invocations.incrementAndGet();
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Integer.toString(invocation);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.provider.batch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.apache.cxf.common.logging.LogUtils;
+import org.apache.cxf.configuration.security.AuthorizationPolicy;
+import org.apache.cxf.helpers.CastUtils;
+import org.apache.cxf.jaxrs.utils.HttpUtils;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.security.SecurityContext;
+import org.apache.cxf.security.transport.TLSSessionInfo;
+import org.apache.cxf.transport.AbstractConduit;
+import org.apache.cxf.transport.Conduit;
+import org.apache.cxf.transport.Destination;
+import org.apache.cxf.transport.MessageObserver;
+import org.apache.cxf.ws.addressing.EndpointReferenceType;
+
+/**
+ * Dispatches the requests embedded in the batch envelope through the endpoint's
+ * interceptor chain, the responses are captured by the back channel conduit instead
+ * of being written to the transport. The embedded requests run either on the thread of
+ * the batch request, one after another, or on the executor. The context proxies they clear
+ * once handled are injected again before any provider of the batch request uses them.
+ * All of the embedded requests share a single deadline, counted from the creation of the
+ * dispatcher, the requests which have not completed by then are answered with 503.
+ * <p>
+ * An embedded request carries the credentials and the security context of the batch request
+ * unless it provides its own Authorization header, the endpoint's authentication and
+ * authorization interceptors and filters check it like any other request. It also carries
+ * the servlet context and config of the batch request, but not the servlet request and
+ * response, which describe the batch request itself.
+ */
+public class BatchDispatcher {
+    /**
+     * Set on the messages created for the embedded requests
+     */
+    public static final String BATCH_REQUEST = "org.apache.cxf.jaxrs.batch.request";
+    private static final Logger LOG = LogUtils.getL7dLogger(BatchDispatcher.class);
+    private static final List<String> INHERITED_HEADERS =
+        Collections.unmodifiableList(Arrays.asList(HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE));
+    private static final List<String> INHERITED_PROPERTIES =
+        Collections.unmodifiableList(Arrays.asList("HTTP.CONTEXT", "HTTP.CONFIG"));
+
+    private final Message batchMessage;
+    private final long deadline;
+    private final Executor executor;
+
+    /**
+     * @param timeout the time in milliseconds all of the embedded requests have to complete in
+     * @param executor the executor running the embedded requests started with
+     *        {@link #dispatchAsync(BatchRequest)}, if null they run on the calling thread
+     */
+    public BatchDispatcher(Message batchMessage, long timeout, Executor executor) {
+        this.batchMessage = batchMessage;
+        this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        this.executor = executor;
+    }
+
+    /**
+     * Runs the embedded request on the calling thread and waits for its response
+     */
+    public BatchResponse dispatch(BatchRequest request) {
+        if (deadline - System.nanoTime() <= 0) {
+            return timedOut(request);
+        }
+        return getResponse(request, dispatch(request, Runnable::run));
+    }
+
+    /**
+     * Starts the embedded request on the executor
+     * @return the future completed once the response has been captured
+     */
+    public CompletableFuture<BatchResponse> dispatchAsync(BatchRequest request) {
+        return dispatch(request, executor != null ? executor : Runnable::run);
+    }
+
+    private CompletableFuture<BatchResponse> dispatch(BatchRequest request, Executor theExecutor) {
+        Destination destination = batchMessage.getExchange().getDestination();
+        CompletableFuture<BatchResponse> future = new CompletableFuture<>();
+        BatchDestination batchDestination = new BatchDestination(destination, future);
+
+        MessageImpl m = new MessageImpl();
+        Exchange exchange = new ExchangeImpl();
+        exchange.setInMessage(m);
+        exchange.setDestination(batchDestination);
+        m.setExchange(exchange);
+        m.setDestination(batchDestination);
+        try {
+            populateMessage(m, request);
+        } catch (IllegalArgumentException ex) {
+            LOG.fine("Batch request " + request.getMethod() + " " + request.getUri() + " is invalid: "
+                + ex.getMessage());
+            future.complete(new BatchResponse(Response.Status.BAD_REQUEST.getStatusCode(), null, null));
+            return future;
+        }
+
+        MessageObserver observer = destination.getMessageObserver();
+        try {
+            theExecutor.execute(() -> {
+                try {
+                    observer.onMessage(m);
+                } catch (RuntimeException ex) {
+                    future.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            LOG.warning("Batch request " + request.getMethod() + " " + request.getUri() + " has been rejected");
+            future.complete(new BatchResponse(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), null, null));
+        }
+        return future;
+    }
+
+    /**
+     * Waits until the deadline for the response of the embedded request started with
+     * {@link #dispatchAsync(BatchRequest)}
+     */
+    public BatchResponse getResponse(BatchRequest request, CompletableFuture<BatchResponse> future) {
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            return timedOut(request);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return new BatchResponse(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), null, null);
+        } catch (ExecutionException | RuntimeException ex) {
+            LOG.log(Level.FINE, "Batch request " + request.getMethod() + " " + request.getUri() + " has failed", ex);
+            return new BatchResponse(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(), null, null);
+        }
+    }
+
+    private static BatchResponse timedOut(BatchRequest request) {
+        LOG.warning("Batch request " + request.getMethod() + " " + request.getUri() + " has timed out");
+        return new BatchResponse(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), null, null);
+    }
+
+    private void populateMessage(Message m, BatchRequest request) {
+        String endpointAddress = HttpUtils.getEndpointAddress(batchMessage);
+        URI target = URI.create(request.getUri());
+        String uri = resolvePath(HttpUtils.getBaseAddress(batchMessage), target.getRawPath());
+        String query = target.getRawQuery();
+
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(request.getHeaders());
+        Map<String, List<String>> batchHeaders =
+            CastUtils.cast((Map<?, ?>)batchMessage.get(Message.PROTOCOL_HEADERS));
+        if (batchHeaders != null) {
+            for (String name : INHERITED_HEADERS) {
+                List<String> values = batchHeaders.get(name);
+                if (values != null && !headers.containsKey(name)) {
+                    headers.put(name, values);
+                }
+            }
+        }
+
+        boolean ownCredentials = request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION);
+        m.put(Message.BASE_PATH, endpointAddress);
+        m.put(Message.REQUEST_URI, uri);
+        m.put(Message.QUERY_STRING, query);
+        m.put(Message.HTTP_REQUEST_METHOD, request.getMethod());
+        m.put(Message.PROTOCOL_HEADERS, headers);
+        m.put(Message.CONTENT_TYPE, request.getFirstHeader(HttpHeaders.CONTENT_TYPE));
+        m.put(Message.ACCEPT_CONTENT_TYPE, request.getFirstHeader(HttpHeaders.ACCEPT));
+        m.put(Message.ENCODING, batchMessage.get(Message.ENCODING));
+        m.put(BATCH_REQUEST, Boolean.TRUE);
+        if (!ownCredentials) {
+            copyProperty(m, SecurityContext.class);
+            copyProperty(m, AuthorizationPolicy.class);
+        }
+        copyProperty(m, TLSSessionInfo.class);
+        for (String name : INHERITED_PROPERTIES) {
+            Object value = batchMessage.get(name);
+            if (value != null) {
+                m.put(name, value);
+            }
+        }
+        m.setContent(InputStream.class, new ByteArrayInputStream(request.getBody()));
+    }
+
+    private <T> void copyProperty(Message m, Class<T> cls) {
+        T value = batchMessage.get(cls);
+        if (value != null) {
+            m.put(cls, value);
+        }
+    }
+
+    /**
+     * Resolves the path of the embedded request against the base path of the endpoint,
+     * the paths which are already within the base path are kept as is, the others are
+     * relative to it and may not escape it
+     */
+    static String resolvePath(String basePath, String path) {
+        String base = basePath.endsWith("/") ? basePath.substring(0, basePath.length() - 1) : basePath;
+        if (path == null || path.isEmpty()) {
+            return base.isEmpty() ? "/" : base;
+        }
+        String resolved;
+        if (isWithin(base, path)) {
+            resolved = path;
+        } else if (path.startsWith("/")) {
+            resolved = base + path;
+        } else {
+            resolved = base + "/" + path;
+        }
+        resolved = URI.create(resolved).normalize().getRawPath();
+        if (!isWithin(base, resolved)) {
+            throw new IllegalArgumentException("Path " + path + " is outside of the endpoint");
+        }
+        return resolved;
+    }
+
+    private static boolean isWithin(String base, String path) {
+        return path.startsWith("/")
+            && (base.isEmpty() || path.equals(base) || path.startsWith(base + "/"));
+    }
+
+    private static class BatchDestination implements Destination {
+        private final Destination destination;
+        private final CompletableFuture<BatchResponse> future;
+
+        BatchDestination(Destination destination, CompletableFuture<BatchResponse> future) {
+            this.destination = destination;
+            this.future = future;
+        }
+
+        @Override
+        public EndpointReferenceType getAddress() {
+            return destination.getAddress();
+        }
+
+        @Override
+        public Conduit getBackChannel(Message inMessage) throws IOException {
+            return new BatchConduit(destination.getAddress(), future);
+        }
+
+        @Override
+        public void shutdown() {
+            // the actual destination is not affected
+        }
+
+        @Override
+        public void setMessageObserver(MessageObserver observer) {
+            // the actual destination observer is used
+        }
+
+        @Override
+        public MessageObserver getMessageObserver() {
+            return destination.getMessageObserver();
+        }
+    }
+
+    private static class BatchConduit extends AbstractConduit {
+        private final CompletableFuture<BatchResponse> future;
+
+        BatchConduit(EndpointReferenceType target, CompletableFuture<BatchResponse> future) {
+            super(target);
+            this.future = future;
+        }
+
+        @Override
+        public void prepare(Message message) throws IOException {
+            message.setContent(OutputStream.class, new ResponseOutputStream(message, future));
+        }
+
+        @Override
+        protected Logger getLogger() {
+            return LOG;
+        }
+    }
+
+    private static class ResponseOutputStream extends ByteArrayOutputStream {
+        private final Message message;
+        private final CompletableFuture<BatchResponse> future;
+
+        ResponseOutputStream(Message message, CompletableFuture<BatchResponse> future) {
+            this.message = message;
+            this.future = future;
+        }
+
+        @Override
+        public void close() throws IOException {
+            Integer status = (Integer)message.get(Message.RESPONSE_CODE);
+            Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            Map<String, List<Object>> protocolHeaders =
+                CastUtils.cast((Map<?, ?>)message.get(Message.PROTOCOL_HEADERS));
+            if (protocolHeaders != null) {
+                for (Map.Entry<String, List<Object>> entry : protocolHeaders.entrySet()) {
+                    List<String> values = new ArrayList<>(entry.getValue().size());
+                    for (Object value : entry.getValue()) {
+                        values.add(String.valueOf(value));
+                    }
+                    headers.put(entry.getKey(), values);
+                }
+            }
+            String contentType = (String)message.get(Message.CONTENT_TYPE);
+            if (contentType != null && size() > 0) {
+                headers.put(HttpHeaders.CONTENT_TYPE, Collections.singletonList(contentType));
+            }
+            future.complete(new BatchResponse(status == null ? Response.Status.OK.getStatusCode() : status,
+                                              headers, toByteArray()));
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.provider.batch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.apache.cxf.helpers.CastUtils;
+import org.apache.cxf.jaxrs.json.basic.JsonMapObjectReaderWriter;
+
+/**
+ * Reads the embedded requests from and writes the embedded responses to
+ * the multipart/mixed (with application/http parts) or JSON batch envelopes.
+ */
+public final class BatchEnvelope {
+    public static final String APPLICATION_HTTP = "application/http";
+    public static final MediaType MULTIPART_MIXED_TYPE = new MediaType("multipart", "mixed");
+    private static final String CRLF = "\r\n";
+
+    private BatchEnvelope() {
+    }
+
+    public static boolean isJson(MediaType mt) {
+        return mt != null && ("json".equals(mt.getSubtype()) || mt.getSubtype().endsWith("+json"));
+    }
+
+    public static boolean isMultipart(MediaType mt) {
+        return mt != null && MULTIPART_MIXED_TYPE.isCompatible(mt);
+    }
+
+    public static List<BatchRequest> readMultipart(MediaType mt, byte[] envelope) {
+        return readMultipart(mt, envelope, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads the multipart envelope, the parsing stops with the 413 error as soon as it has more
+     * than the given number of requests
+     */
+    public static List<BatchRequest> readMultipart(MediaType mt, byte[] envelope, int maxRequests) {
+        String boundary = mt.getParameters().get("boundary");
+        if (boundary == null) {
+            throw new IllegalArgumentException("Multipart boundary is missing");
+        }
+        String content = new String(envelope, StandardCharsets.ISO_8859_1);
+        String delimiter = "--" + unquote(boundary);
+        List<BatchRequest> requests = new ArrayList<>();
+        int index = content.indexOf(delimiter);
+        while (index != -1) {
+            int partStart = index + delimiter.length();
+            if (content.startsWith("--", partStart)) {
+                break;
+            }
+            int next = content.indexOf(CRLF + delimiter, partStart);
+            if (next == -1) {
+                throw new IllegalArgumentException("Multipart closing boundary is missing");
+            }
+            if (requests.size() == maxRequests) {
+                throw tooManyRequests();
+            }
+            String part = content.substring(skipLineBreak(content, partStart), next);
+            requests.add(readHttpPart(part));
+            index = next + CRLF.length();
+        }
+        return requests;
+    }
+
+    public static byte[] writeMultipart(List<BatchResponse> responses, String boundary) {
+        StringBuilder sb = new StringBuilder(256);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        for (BatchResponse r : responses) {
+            sb.append("--").append(boundary).append(CRLF);
+            sb.append(HttpHeaders.CONTENT_TYPE).append(": ").append(APPLICATION_HTTP).append(CRLF);
+            sb.append("Content-Transfer-Encoding: binary").append(CRLF).append(CRLF);
+            sb.append("HTTP/1.1 ").append(r.getStatus()).append(' ').append(getReasonPhrase(r.getStatus()));
+            sb.append(CRLF);
+            for (Map.Entry<String, List<String>> entry : r.getHeaders().entrySet()) {
+                for (String value : entry.getValue()) {
+                    sb.append(entry.getKey()).append(": ").append(value).append(CRLF);
+                }
+            }
+            sb.append(CRLF);
+            write(bos, sb);
+            bos.write(r.getBody(), 0, r.getBody().length);
+            sb.append(CRLF);
+        }
+        sb.append("--").append(boundary).append("--").append(CRLF);
+        write(bos, sb);
+        return bos.toByteArray();
+    }
+
+    public static String createBoundary() {
+        return "batch_" + UUID.randomUUID().toString();
+    }
+
+    public static List<BatchRequest> readJson(byte[] envelope) {
+        return readJson(envelope, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads the JSON envelope, the top level array is counted before it is parsed and the 413
+     * error is returned as soon as it has more than the given number of requests
+     */
+    public static List<BatchRequest> readJson(byte[] envelope, int maxRequests) {
+        String json = new String(envelope, StandardCharsets.UTF_8);
+        if (countJsonElements(json, maxRequests) > maxRequests) {
+            throw tooManyRequests();
+        }
+        JsonMapObjectReaderWriter reader = new JsonMapObjectReaderWriter();
+        List<BatchRequest> requests = new ArrayList<>();
+        for (Object value : reader.fromJsonAsList(json)) {
+            if (!(value instanceof Map)) {
+                throw new IllegalArgumentException("Batch request must be a JSON object");
+            }
+            Map<String, Object> map = CastUtils.cast((Map<?, ?>)value);
+            String method = (String)map.get("method");
+            String uri = (String)map.get("uri");
+            if (method == null || uri == null) {
+                throw new IllegalArgumentException("Batch request method or uri is missing");
+            }
+            Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            Object headersValue = map.get("headers");
+            if (headersValue instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>)headersValue).entrySet()) {
+                    headers.put(entry.getKey().toString(), toStringList(entry.getValue()));
+                }
+            }
+            Object body = map.get("body");
+            String bodyStr = null;
+            if (body instanceof Map) {
+                bodyStr = reader.toJson(CastUtils.<String, Object>cast((Map<?, ?>)body));
+            } else if (body instanceof List) {
+                bodyStr = reader.toJson(CastUtils.<Object>cast((List<?>)body));
+            } else if (body != null) {
+                bodyStr = body.toString();
+            }
+            requests.add(new BatchRequest(method, uri, headers,
+                bodyStr == null ? null : bodyStr.getBytes(StandardCharsets.UTF_8)));
+        }
+        return requests;
+    }
+
+    public static byte[] writeJson(List<BatchResponse> responses) {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append('[');
+        for (int i = 0; i < responses.size(); i++) {
+            BatchResponse r = responses.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"status\":").append(r.getStatus()).append(",\"headers\":{");
+            boolean first = true;
+            for (Map.Entry<String, List<String>> entry : r.getHeaders().entrySet()) {
+                if (!first) {
+                    sb.append(',');
+                }
+                first = false;
+                appendJsonString(sb, entry.getKey());
+                sb.append(':');
+                appendJsonString(sb, String.join(",", entry.getValue()));
+            }
+            sb.append('}');
+            if (r.getBody().length > 0) {
+                sb.append(",\"body\":");
+                String body = new String(r.getBody(), StandardCharsets.UTF_8);
+                List<String> ct = r.getHeaders().get(HttpHeaders.CONTENT_TYPE);
+                if (ct != null && !ct.isEmpty() && isJson(MediaType.valueOf(ct.get(0)))) {
+                    sb.append(body);
+                } else {
+                    appendJsonString(sb, body);
+                }
+            }
+            sb.append('}');
+        }
+        sb.append(']');
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Counts the elements of the top level JSON array, the counting stops once the limit is exceeded
+     */
+    static int countJsonElements(String json, int limit) {
+        int count = 0;
+        int depth = 0;
+        boolean inString = false;
+        boolean pending = false;
+        for (int i = 0; i < json.length() && count <= limit; i++) {
+            char c = json.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (depth == 1 && c != ']' && c != ',' && !pending) {
+                // the first character of a new element
+                pending = true;
+                count++;
+            }
+            switch (c) {
+            case '"':
+                inString = true;
+                break;
+            case '[':
+            case '{':
+                depth++;
+                break;
+            case ']':
+            case '}':
+                depth--;
+                break;
+            case ',':
+                if (depth == 1) {
+                    pending = false;
+                }
+                break;
+            default:
+                break;
+            }
+        }
+        return count;
+    }
+
+    private static WebApplicationException tooManyRequests() {
+        return new WebApplicationException(Response.Status.REQUEST_ENTITY_TOO_LARGE);
+    }
+
+    static BatchRequest readHttpPart(String part) {
+        int headersEnd = part.indexOf(CRLF + CRLF);
+        String head = headersEnd == -1 ? part : part.substring(0, headersEnd);
+        String[] lines = head.split(CRLF);
+        // the part may start with its own MIME headers such as Content-Type: application/http
+        Map<String, List<String>> mimeHeaders = readHeaders(lines, 0);
+        if (!mimeHeaders.isEmpty()) {
+            int bodyStart = headersEnd + 2 * CRLF.length();
+            part = part.substring(Math.min(bodyStart, part.length()));
+            headersEnd = part.indexOf(CRLF + CRLF);
+            head = headersEnd == -1 ? part : part.substring(0, headersEnd);
+            lines = head.split(CRLF);
+        }
+        String[] requestLine = lines[0].trim().split(" ");
+        if (requestLine.length < 2) {
+            throw new IllegalArgumentException("Invalid request line: " + lines[0]);
+        }
+        Map<String, List<String>> headers = readHeaders(lines, 1);
+        byte[] body = null;
+        if (headersEnd != -1) {
+            body = part.substring(headersEnd + 2 * CRLF.length()).getBytes(StandardCharsets.ISO_8859_1);
+        }
+        return new BatchRequest(requestLine[0], requestLine[1], headers, body);
+    }
+
+    private static Map<String, List<String>> readHeaders(String[] lines, int from) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = from; i < lines.length; i++) {
+            int colon = lines[i].indexOf(':');
+            if (colon <= 0 || lines[i].indexOf(' ') != -1 && lines[i].indexOf(' ') < colon) {
+                if (from == 0) {
+                    return Collections.emptyMap();
+                }
+                continue;
+            }
+            headers.computeIfAbsent(lines[i].substring(0, colon).trim(), k -> new ArrayList<>())
+                .add(lines[i].substring(colon + 1).trim());
+        }
+        return headers;
+    }
+
+    private static List<String> toStringList(Object value) {
+        List<String> values = new ArrayList<>();
+        if (value instanceof List) {
+            for (Object o : (List<?>)value) {
+                values.add(String.valueOf(o));
+            }
+        } else if (value != null) {
+            values.add(value.toString());
+        }
+        return values;
+    }
+
+    private static void appendJsonString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                sb.append("\\\"");
+                break;
+            case '\\':
+                sb.append("\\\\");
+                break;
+            case '\n':
+                sb.append("\\n");
+                break;
+            case '\r':
+                sb.append("\\r");
+                break;
+            case '\t':
+                sb.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    sb.append(String.format("\\u%04x", (int)c));
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    private static String getReasonPhrase(int status) {
+        Response.Status s = Response.Status.fromStatusCode(status);
+        return s == null ? "" : s.getReasonPhrase();
+    }
+
+    private static int skipLineBreak(String content, int index) {
+        return content.startsWith(CRLF, index) ? index + CRLF.length() : index;
+    }
+
+    private static String unquote(String value) {
+        return value.length() > 1 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"'
+            ? value.substring(1, value.length() - 1) : value;
+    }
+
+    private static void write(ByteArrayOutputStream bos, StringBuilder sb) {
+        try {
+            bos.write(sb.toString().getBytes(StandardCharsets.ISO_8859_1));
+        } catch (IOException ex) {
+            // ByteArrayOutputStream does not throw
+        }
+        sb.setLength(0);
+    }
+}
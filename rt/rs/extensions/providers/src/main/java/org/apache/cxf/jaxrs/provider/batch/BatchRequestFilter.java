@@ -0,0 +1,205 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.provider.batch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import javax.annotation.Priority;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.apache.cxf.Bus;
+import org.apache.cxf.helpers.IOUtils;
+import org.apache.cxf.io.CacheSizeExceededException;
+import org.apache.cxf.io.CachedOutputStream;
+import org.apache.cxf.jaxrs.utils.JAXRSUtils;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.workqueue.WorkQueueManager;
+
+/**
+ * Accepts a POST to the batch path, for example "/$batch", with either a multipart/mixed envelope
+ * of application/http parts or a JSON array of {"method", "uri", "headers", "body"} objects, and
+ * dispatches every embedded request through the endpoint without the extra network round trips.
+ * The responses are returned in the same order and in the same envelope format. The envelope
+ * size and the number of the embedded requests are limited, the envelopes exceeding either
+ * limit are rejected with 413 before any of the embedded requests is dispatched.
+ * <p>
+ * The embedded requests go through the CXF interceptors and filters of the endpoint, including
+ * the authentication and authorization ones, but the security constraints of the servlet
+ * container only apply to the batch path itself. The embedded requests carry no servlet request
+ * and response of their own, the ones of the batch request are not passed to them.
+ */
+@PreMatching
+@Priority(Priorities.USER)
+public class BatchRequestFilter implements ContainerRequestFilter {
+    public static final String DEFAULT_BATCH_PATH = "$batch";
+    private static final int DEFAULT_MAX_REQUESTS = 100;
+    private static final long DEFAULT_TIMEOUT = 60000L;
+    private static final long DEFAULT_MAX_ENVELOPE_SIZE = 10 * 1024 * 1024L;
+
+    private String batchPath = DEFAULT_BATCH_PATH;
+    private int maxRequests = DEFAULT_MAX_REQUESTS;
+    private long timeout = DEFAULT_TIMEOUT;
+    private long maxEnvelopeSize = DEFAULT_MAX_ENVELOPE_SIZE;
+    private boolean parallel;
+    private Executor executor;
+
+    @Override
+    public void filter(ContainerRequestContext context) throws IOException {
+        if (!HttpMethod.POST.equals(context.getMethod()) || !isBatchPath(context.getUriInfo().getPath())) {
+            return;
+        }
+        Message message = JAXRSUtils.getCurrentMessage();
+        if (message.get(BatchDispatcher.BATCH_REQUEST) != null) {
+            context.abortWith(Response.status(Response.Status.BAD_REQUEST).build());
+            return;
+        }
+        MediaType mt = context.getMediaType();
+        boolean json = BatchEnvelope.isJson(mt);
+        if (!json && !BatchEnvelope.isMultipart(mt)) {
+            context.abortWith(Response.status(Response.Status.UNSUPPORTED_MEDIA_TYPE).build());
+            return;
+        }
+
+        List<BatchRequest> requests;
+        try {
+            byte[] envelope = readEnvelope(context.getEntityStream());
+            requests = json ? BatchEnvelope.readJson(envelope, maxRequests)
+                : BatchEnvelope.readMultipart(mt, envelope, maxRequests);
+        } catch (WebApplicationException ex) {
+            context.abortWith(ex.getResponse());
+            return;
+        } catch (RuntimeException ex) {
+            context.abortWith(Response.status(Response.Status.BAD_REQUEST).build());
+            return;
+        }
+
+        List<BatchResponse> responses = dispatch(message, requests);
+        if (json) {
+            context.abortWith(Response.ok(BatchEnvelope.writeJson(responses), MediaType.APPLICATION_JSON_TYPE)
+                                  .build());
+        } else {
+            String boundary = BatchEnvelope.createBoundary();
+            MediaType responseType = new MediaType("multipart", "mixed",
+                                                   Collections.singletonMap("boundary", boundary));
+            context.abortWith(Response.ok(BatchEnvelope.writeMultipart(responses, boundary), responseType)
+                                  .build());
+        }
+    }
+
+    protected List<BatchResponse> dispatch(Message message, List<BatchRequest> requests) {
+        List<BatchResponse> responses = new ArrayList<>(requests.size());
+        if (!parallel || requests.size() == 1) {
+            // the batch thread runs the embedded requests itself rather than waiting for
+            // the work queue threads which may all be busy with the batch requests
+            BatchDispatcher dispatcher = new BatchDispatcher(message, timeout, null);
+            for (BatchRequest request : requests) {
+                responses.add(dispatcher.dispatch(request));
+            }
+            return responses;
+        }
+
+        BatchDispatcher dispatcher = new BatchDispatcher(message, timeout, getExecutor(message));
+        List<CompletableFuture<BatchResponse>> futures = new ArrayList<>(requests.size());
+        for (BatchRequest request : requests) {
+            futures.add(dispatcher.dispatchAsync(request));
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            responses.add(dispatcher.getResponse(requests.get(i), futures.get(i)));
+        }
+        return responses;
+    }
+
+    private byte[] readEnvelope(InputStream is) throws IOException {
+        try (CachedOutputStream cos = new CachedOutputStream()) {
+            cos.setMaxSize(maxEnvelopeSize);
+            IOUtils.copy(is, cos);
+            return cos.getBytes();
+        } catch (CacheSizeExceededException ex) {
+            throw new WebApplicationException(Response.Status.REQUEST_ENTITY_TOO_LARGE);
+        }
+    }
+
+    private Executor getExecutor(Message message) {
+        if (executor != null) {
+            return executor;
+        }
+        Bus bus = message.getExchange().getBus();
+        WorkQueueManager manager = bus == null ? null : bus.getExtension(WorkQueueManager.class);
+        // without the work queue the embedded requests run on the thread of the batch request
+        return manager != null ? manager.getAutomaticWorkQueue() : null;
+    }
+
+    private boolean isBatchPath(String path) {
+        String thePath = path.startsWith("/") ? path.substring(1) : path;
+        return thePath.equals(batchPath);
+    }
+
+    public void setBatchPath(String batchPath) {
+        this.batchPath = batchPath.startsWith("/") ? batchPath.substring(1) : batchPath;
+    }
+
+    /**
+     * Sets the maximum size in bytes of the batch envelope, 10 MB by default
+     */
+    public void setMaxEnvelopeSize(long maxEnvelopeSize) {
+        this.maxEnvelopeSize = maxEnvelopeSize;
+    }
+
+    public void setMaxRequests(int maxRequests) {
+        this.maxRequests = maxRequests;
+    }
+
+    /**
+     * Sets the maximum time in milliseconds all of the embedded requests of the batch have
+     * to complete in, whether they are dispatched sequentially or concurrently
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Sets whether the embedded requests can be dispatched concurrently on the executor, they are
+     * dispatched sequentially in their envelope order on the thread of the batch request by default
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Sets the executor running the embedded requests dispatched concurrently, the automatic work
+     * queue of the bus is used by default
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+}
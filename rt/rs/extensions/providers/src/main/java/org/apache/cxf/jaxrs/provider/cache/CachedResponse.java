@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.provider.cache;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.HttpHeaders;
+
+/**
+ * Serialized response body together with the status and the response headers.
+ */
+public class CachedResponse implements Serializable {
+    private static final long serialVersionUID = 6212904587113260343L;
+
+    private final int status;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+    private final long createdAt;
+    private final long expiresAt;
+
+    public CachedResponse(int status, Map<String, List<String>> headers, byte[] body, long maxAge) {
+        this.status = status;
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+        this.body = body;
+        this.createdAt = System.currentTimeMillis();
+        this.expiresAt = createdAt + maxAge * 1000L;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired() {
+        return System.currentTimeMillis() >= expiresAt;
+    }
+
+    /**
+     * @return the age of this response in seconds
+     */
+    public long getAge() {
+        return (System.currentTimeMillis() - createdAt) / 1000L;
+    }
+
+    public String getEntityTag() {
+        return getFirstHeader(HttpHeaders.ETAG);
+    }
+
+    public String getLastModified() {
+        return getFirstHeader(HttpHeaders.LAST_MODIFIED);
+    }
+
+    /**
+     * @return the approximate number of bytes this response occupies
+     */
+    public long getSize() {
+        long size = body.length;
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            size += entry.getKey().length();
+            for (String value : entry.getValue()) {
+                size += value.length();
+            }
+        }
+        return size;
+    }
+
+    private String getFirstHeader(String name) {
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey()) && !entry.getValue().isEmpty()) {
+                return entry.getValue().get(0);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.provider.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory store which evicts the least recently used responses once either the maximum
+ * number of entries or the maximum total size of the cached responses is exceeded.
+ */
+public class InMemoryResponseCacheStore implements ResponseCacheStore {
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+
+    private final Map<ResponseCacheKey, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxEntries;
+    private final long maxSize;
+    private long size;
+
+    public InMemoryResponseCacheStore() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_SIZE);
+    }
+
+    public InMemoryResponseCacheStore(int maxEntries, long maxSize) {
+        this.maxEntries = maxEntries;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public synchronized CachedResponse get(ResponseCacheKey key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public synchronized void put(ResponseCacheKey key, CachedResponse response) {
+        long responseSize = response.getSize();
+        if (responseSize > maxSize) {
+            return;
+        }
+        CachedResponse previous = entries.put(key, response);
+        if (previous != null) {
+            size -= previous.getSize();
+        }
+        size += responseSize;
+
+        Iterator<CachedResponse> it = entries.values().iterator();
+        while ((entries.size() > maxEntries || size > maxSize) && it.hasNext()) {
+            size -= it.next().getSize();
+            it.remove();
+        }
+    }
+
+    @Override
+    public synchronized void remove(ResponseCacheKey key) {
+        CachedResponse previous = entries.remove(key);
+        if (previous != null) {
+            size -= previous.getSize();
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.provider.cache;
+
+import javax.cache.Cache;
+
+/**
+ * Keeps the cached responses in a JCache, the expiry and the eviction policies
+ * are controlled by the cache configuration.
+ */
+public class JCacheResponseCacheStore implements ResponseCacheStore {
+    private final Cache<ResponseCacheKey, CachedResponse> cache;
+
+    public JCacheResponseCacheStore(Cache<ResponseCacheKey, CachedResponse> cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public CachedResponse get(ResponseCacheKey key) {
+        return cache.get(key);
+    }
+
+    @Override
+    public void put(ResponseCacheKey key, CachedResponse response) {
+        cache.put(key, response);
+    }
+
+    @Override
+    public void remove(ResponseCacheKey key) {
+        cache.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.provider.cache;
+
+import java.util.List;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Registers {@link ResponseCacheFilter} with the server endpoint.
+ */
+@Provider
+public class ResponseCacheFeature implements Feature {
+    private ResponseCacheStore store;
+    private List<String> varyHeaders;
+    private long defaultMaxAge;
+    private Integer maxEntrySize;
+
+    @Override
+    public boolean configure(FeatureContext context) {
+        ResponseCacheFilter filter = store == null ? new ResponseCacheFilter() : new ResponseCacheFilter(store);
+        if (varyHeaders != null) {
+            filter.setVaryHeaders(varyHeaders);
+        }
+        filter.setDefaultMaxAge(defaultMaxAge);
+        if (maxEntrySize != null) {
+            filter.setMaxEntrySize(maxEntrySize);
+        }
+        context.register(filter);
+        return true;
+    }
+
+    public void setStore(ResponseCacheStore store) {
+        this.store = store;
+    }
+
+    public void setVaryHeaders(List<String> varyHeaders) {
+        this.varyHeaders = varyHeaders;
+    }
+
+    public void setDefaultMaxAge(long defaultMaxAge) {
+        this.defaultMaxAge = defaultMaxAge;
+    }
+
+    public void setMaxEntrySize(int maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+}
@@ -0,0 +1,394 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.provider.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.Priority;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.ext.RuntimeDelegate.HeaderDelegate;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.apache.cxf.common.util.StringUtils;
+import org.apache.cxf.jaxrs.utils.HttpUtils;
+
+/**
+ * Caches the serialized responses of GET requests and replays them without invoking the
+ * resource. The responses are only cached if their Cache-Control header allows it or if
+ * the default max age is set, the request URI, the values of the request headers the
+ * response may vary on and the authenticated principal identify the cached response.
+ * Conditional requests matching the ETag or Last-Modified headers of the cached response
+ * are answered with 304. The responses setting cookies or varying on the request headers
+ * which are not part of the key and the anonymous requests carrying credentials or cookies
+ * are never cached.
+ */
+@Priority(Priorities.USER - 1)
+public class ResponseCacheFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+    static final String CACHE_KEY_PROPERTY = "org.apache.cxf.jaxrs.response.cache.key";
+    static final String CACHE_MAX_AGE_PROPERTY = "org.apache.cxf.jaxrs.response.cache.max-age";
+    static final String CACHED_RESPONSE_PROPERTY = "org.apache.cxf.jaxrs.response.cache.cached";
+    private static final String AGE_HEADER = "Age";
+    private static final String VARY_ALL = "*";
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String SET_COOKIE2_HEADER = "Set-Cookie2";
+    private static final Set<String> EXCLUDED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    static {
+        EXCLUDED_HEADERS.addAll(Arrays.asList(AGE_HEADER, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.SET_COOKIE, SET_COOKIE2_HEADER,
+            // hop-by-hop headers
+            "Connection", "Keep-Alive", "Proxy-Authenticate", "Proxy-Authorization",
+            "TE", "Trailer", "Transfer-Encoding", "Upgrade"));
+    }
+
+    private ResponseCacheStore store;
+    private List<String> varyHeaders =
+        Arrays.asList(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.ACCEPT_ENCODING);
+    private long defaultMaxAge;
+    private int maxEntrySize = 1024 * 1024;
+
+    public ResponseCacheFilter() {
+        this(new InMemoryResponseCacheStore());
+    }
+
+    public ResponseCacheFilter(ResponseCacheStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext context) throws IOException {
+        if (!HttpMethod.GET.equals(context.getMethod())) {
+            return;
+        }
+        CacheControl requestControl = getCacheControl(context.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        if (requestControl != null && requestControl.isNoStore()) {
+            return;
+        }
+        ResponseCacheKey key = createKey(context);
+        if (key == null) {
+            return;
+        }
+        context.setProperty(CACHE_KEY_PROPERTY, key);
+        if (requestControl != null && requestControl.isNoCache()) {
+            // the response has to be recomputed but it can still replace the cached one
+            return;
+        }
+
+        CachedResponse cached = store.get(key);
+        if (cached == null) {
+            return;
+        }
+        if (cached.isExpired()) {
+            store.remove(key);
+            return;
+        }
+        context.setProperty(CACHED_RESPONSE_PROPERTY, Boolean.TRUE);
+        if (isNotModified(context, cached)) {
+            Response.ResponseBuilder rb = Response.notModified();
+            copyHeader(cached, rb, HttpHeaders.ETAG);
+            copyHeader(cached, rb, HttpHeaders.LAST_MODIFIED);
+            copyHeader(cached, rb, HttpHeaders.CACHE_CONTROL);
+            copyHeader(cached, rb, HttpHeaders.VARY);
+            context.abortWith(rb.build());
+        } else {
+            Response.ResponseBuilder rb = Response.status(cached.getStatus()).entity(cached.getBody());
+            for (Map.Entry<String, List<String>> entry : cached.getHeaders().entrySet()) {
+                for (String value : entry.getValue()) {
+                    rb.header(entry.getKey(), value);
+                }
+            }
+            rb.header(AGE_HEADER, cached.getAge());
+            context.abortWith(rb.build());
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+        throws IOException {
+        if (requestContext.getProperty(CACHE_KEY_PROPERTY) == null
+            || requestContext.getProperty(CACHED_RESPONSE_PROPERTY) != null) {
+            return;
+        }
+        long maxAge = getMaxAge(requestContext, responseContext);
+        if (maxAge > 0) {
+            requestContext.setProperty(CACHE_MAX_AGE_PROPERTY, maxAge);
+        } else {
+            requestContext.removeProperty(CACHE_KEY_PROPERTY);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+        ResponseCacheKey key = (ResponseCacheKey)context.getProperty(CACHE_KEY_PROPERTY);
+        Long maxAge = (Long)context.getProperty(CACHE_MAX_AGE_PROPERTY);
+        if (key == null || maxAge == null) {
+            context.proceed();
+            return;
+        }
+        context.removeProperty(CACHE_MAX_AGE_PROPERTY);
+
+        CapturingOutputStream os = new CapturingOutputStream(context.getOutputStream(), maxEntrySize);
+        context.setOutputStream(os);
+        context.proceed();
+        if (os.isCaptured()) {
+            store.put(key, new CachedResponse(Response.Status.OK.getStatusCode(),
+                                              toStringHeaders(context.getHeaders()),
+                                              os.getBytes(),
+                                              maxAge));
+        }
+    }
+
+    protected ResponseCacheKey createKey(ContainerRequestContext context) {
+        List<String> varyValues = new ArrayList<>(varyHeaders.size());
+        for (String header : varyHeaders) {
+            varyValues.add(context.getHeaderString(header));
+        }
+        SecurityContext sc = context.getSecurityContext();
+        Principal principal = sc == null ? null : sc.getUserPrincipal();
+        if (principal == null
+            && (context.getHeaderString(AUTHORIZATION_HEADER) != null
+                || context.getHeaderString(HttpHeaders.COOKIE) != null)) {
+            // the response may depend on the credentials or the session the key does not capture
+            return null;
+        }
+        return new ResponseCacheKey(context.getUriInfo().getRequestUri().toString(),
+                                    varyValues,
+                                    principal == null ? null : principal.getName());
+    }
+
+    protected long getMaxAge(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (responseContext.getStatus() != Response.Status.OK.getStatusCode() || !responseContext.hasEntity()) {
+            return 0;
+        }
+        if (responseContext.getHeaderString(HttpHeaders.SET_COOKIE) != null
+            || responseContext.getHeaderString(SET_COOKIE2_HEADER) != null) {
+            return 0;
+        }
+        if (!isVaryCovered(responseContext.getHeaderString(HttpHeaders.VARY))) {
+            return 0;
+        }
+        CacheControl cc = getCacheControl(responseContext.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        if (cc == null) {
+            return defaultMaxAge;
+        }
+        if (cc.isNoStore() || cc.isNoCache()) {
+            return 0;
+        }
+        ResponseCacheKey key = (ResponseCacheKey)requestContext.getProperty(CACHE_KEY_PROPERTY);
+        if (cc.isPrivate() && key.getPrincipal() == null) {
+            return 0;
+        }
+        if (cc.getSMaxAge() >= 0) {
+            return cc.getSMaxAge();
+        }
+        return cc.getMaxAge() >= 0 ? cc.getMaxAge() : defaultMaxAge;
+    }
+
+    private boolean isVaryCovered(String vary) {
+        if (StringUtils.isEmpty(vary)) {
+            return true;
+        }
+        for (String name : vary.split(",")) {
+            name = name.trim();
+            if (VARY_ALL.equals(name)) {
+                return false;
+            }
+            if (!name.isEmpty() && !containsIgnoreCase(varyHeaders, name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsIgnoreCase(List<String> values, String value) {
+        for (String s : values) {
+            if (s.equalsIgnoreCase(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isNotModified(ContainerRequestContext context, CachedResponse cached) {
+        String ifNoneMatch = context.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String etag = cached.getEntityTag();
+            return etag != null && matchEntityTag(ifNoneMatch, etag);
+        }
+        String ifModifiedSince = context.getHeaderString(HttpHeaders.IF_MODIFIED_SINCE);
+        String lastModified = cached.getLastModified();
+        if (ifModifiedSince != null && lastModified != null) {
+            Date since = HttpUtils.getHttpDate(ifModifiedSince);
+            Date modified = HttpUtils.getHttpDate(lastModified);
+            return since != null && modified != null && !modified.after(since);
+        }
+        return false;
+    }
+
+    private static boolean matchEntityTag(String ifNoneMatch, String etag) {
+        if (VARY_ALL.equals(ifNoneMatch.trim())) {
+            return true;
+        }
+        String cachedValue = EntityTag.valueOf(etag).getValue();
+        for (String value : ifNoneMatch.split(",")) {
+            try {
+                // weak comparison is used for the GET requests
+                if (cachedValue.equals(EntityTag.valueOf(value.trim()).getValue())) {
+                    return true;
+                }
+            } catch (IllegalArgumentException ex) {
+                // ignore the malformed tag
+            }
+        }
+        return false;
+    }
+
+    private static void copyHeader(CachedResponse cached, Response.ResponseBuilder rb, String name) {
+        List<String> values = cached.getHeaders().get(name);
+        if (values != null) {
+            for (String value : values) {
+                rb.header(name, value);
+            }
+        }
+    }
+
+    private static CacheControl getCacheControl(String value) {
+        return StringUtils.isEmpty(value) ? null : CacheControl.valueOf(value);
+    }
+
+    private static Map<String, List<String>> toStringHeaders(MultivaluedMap<String, Object> headers) {
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Object>> entry : headers.entrySet()) {
+            if (EXCLUDED_HEADERS.contains(entry.getKey())) {
+                continue;
+            }
+            List<String> list = new ArrayList<>(entry.getValue().size());
+            for (Object o : entry.getValue()) {
+                if (o instanceof String) {
+                    list.add((String)o);
+                } else if (o != null) {
+                    HeaderDelegate<Object> hd = HttpUtils.getHeaderDelegate(o);
+                    list.add(hd != null ? hd.toString(o) : o.toString());
+                }
+            }
+            values.put(entry.getKey(), Collections.unmodifiableList(list));
+        }
+        return values;
+    }
+
+    public ResponseCacheStore getStore() {
+        return store;
+    }
+
+    public void setStore(ResponseCacheStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Sets the names of the request headers the cached responses may vary on,
+     * Accept, Accept-Language and Accept-Encoding are used by default. The responses
+     * with a Vary header listing other request headers are not cached.
+     */
+    public void setVaryHeaders(List<String> varyHeaders) {
+        this.varyHeaders = varyHeaders;
+    }
+
+    /**
+     * Sets the max age in seconds of the responses without the Cache-Control header,
+     * such responses are not cached by default.
+     */
+    public void setDefaultMaxAge(long defaultMaxAge) {
+        this.defaultMaxAge = defaultMaxAge;
+    }
+
+    /**
+     * Sets the maximum size of the response body which can be cached.
+     */
+    public void setMaxEntrySize(int maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    private static class CapturingOutputStream extends FilterOutputStream {
+        private final int limit;
+        private ByteArrayOutputStream bos = new ByteArrayOutputStream();
+
+        CapturingOutputStream(OutputStream os, int limit) {
+            super(os);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (bos != null) {
+                bos.write(b);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (bos != null) {
+                bos.write(b, off, len);
+                checkLimit();
+            }
+        }
+
+        private void checkLimit() {
+            if (bos.size() > limit) {
+                bos = null;
+            }
+        }
+
+        boolean isCaptured() {
+            return bos != null;
+        }
+
+        byte[] getBytes() {
+            return bos.toByteArray();
+        }
+    }
+}
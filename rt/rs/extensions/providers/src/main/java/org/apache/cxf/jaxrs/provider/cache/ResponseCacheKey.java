@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.provider.cache;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Identifies the cached response, the request URI is combined with the values of the
+ * request headers the response may vary on and the name of the authenticated principal.
+ */
+public class ResponseCacheKey implements Serializable {
+    private static final long serialVersionUID = -2403584826271467911L;
+
+    private final String uri;
+    private final List<String> varyValues;
+    private final String principal;
+    private final int hash;
+
+    public ResponseCacheKey(String uri, List<String> varyValues, String principal) {
+        this.uri = uri;
+        this.varyValues = varyValues == null ? Collections.emptyList() : varyValues;
+        this.principal = principal;
+
+        int result = uri.hashCode();
+        result = 31 * result + this.varyValues.hashCode();
+        result = 31 * result + (principal != null ? principal.hashCode() : 0);
+        this.hash = result;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public List<String> getVaryValues() {
+        return varyValues;
+    }
+
+    public String getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || ResponseCacheKey.class != o.getClass()) {
+            return false;
+        }
+        ResponseCacheKey key = (ResponseCacheKey)o;
+        return hash == key.hash
+            && uri.equals(key.uri)
+            && varyValues.equals(key.varyValues)
+            && (principal != null ? principal.equals(key.principal) : key.principal == null);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
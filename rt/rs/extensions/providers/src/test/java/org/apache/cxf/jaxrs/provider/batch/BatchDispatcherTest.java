@@ -0,0 +1,301 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.provider.batch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.ws.rs.core.UriInfo;
+
+import org.apache.cxf.helpers.IOUtils;
+import org.apache.cxf.jaxrs.impl.UriInfoImpl;
+import org.apache.cxf.jaxrs.impl.tl.ThreadLocalUriInfo;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.security.SecurityContext;
+import org.apache.cxf.transport.Conduit;
+import org.apache.cxf.transport.Destination;
+import org.apache.cxf.transport.MessageObserver;
+import org.apache.cxf.ws.addressing.EndpointReferenceType;
+import org.apache.cxf.ws.addressing.EndpointReferenceUtils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class BatchDispatcherTest {
+    static final Executor THREAD_PER_REQUEST = r -> new Thread(r).start();
+
+    @Test
+    public void testDispatch() {
+        Message batch = createBatchMessage(new EchoObserver());
+        BatchDispatcher dispatcher = new BatchDispatcher(batch, 5000, THREAD_PER_REQUEST);
+        BatchResponse r = dispatcher.dispatch(new BatchRequest("POST", "/app/books?limit=1",
+            Collections.singletonMap("Content-Type", Collections.singletonList("text/plain")),
+            "CXF".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(200, r.getStatus());
+        assertEquals("POST /app/books limit=1 CXF", new String(r.getBody(), StandardCharsets.UTF_8));
+        assertEquals("text/plain", r.getHeaders().get("Content-Type").get(0));
+    }
+
+    @Test
+    public void testResolvePath() {
+        assertEquals("/app/books", BatchDispatcher.resolvePath("/app", "/app/books"));
+        assertEquals("/app", BatchDispatcher.resolvePath("/app/", "/app"));
+        assertEquals("/app/books", BatchDispatcher.resolvePath("/app", "books"));
+        assertEquals("/app/books", BatchDispatcher.resolvePath("/app", "/books"));
+        // the base path only matches on the segment boundary
+        assertEquals("/app/application/books", BatchDispatcher.resolvePath("/app", "/application/books"));
+        assertEquals("/app/books", BatchDispatcher.resolvePath("/app", "/app/store/../books"));
+        assertEquals("/books", BatchDispatcher.resolvePath("/", "books"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testResolvePathOutsideOfEndpoint() {
+        BatchDispatcher.resolvePath("/app", "../admin");
+    }
+
+    @Test
+    public void testDispatchAbsoluteAndInvalidUri() {
+        Message batch = createBatchMessage(new EchoObserver());
+        BatchDispatcher dispatcher = new BatchDispatcher(batch, 5000, THREAD_PER_REQUEST);
+        BatchResponse r = dispatcher.dispatch(new BatchRequest("GET", "http://localhost:8080/app/books", null, null));
+        assertEquals("GET /app/books null ", new String(r.getBody(), StandardCharsets.UTF_8));
+
+        r = dispatcher.dispatch(new BatchRequest("GET", "/app/../admin", null, null));
+        assertEquals(400, r.getStatus());
+    }
+
+    @Test
+    public void testContextIsolation() {
+        final ThreadLocalUriInfo proxy = new ThreadLocalUriInfo();
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        EchoObserver observer = new EchoObserver() {
+            @Override
+            public void onMessage(Message message) {
+                thread.set(Thread.currentThread());
+                proxy.set(new UriInfoImpl(message));
+                super.onMessage(message);
+                // the endpoint clears the context proxies once the request has been handled
+                proxy.remove();
+            }
+        };
+        Message batch = createBatchMessage(observer);
+        UriInfo uriInfo = new UriInfoImpl(batch);
+        proxy.set(uriInfo);
+        try {
+            BatchDispatcher dispatcher = new BatchDispatcher(batch, 5000, THREAD_PER_REQUEST);
+            BatchRequest request = new BatchRequest("GET", "/app/books", null, null);
+            assertEquals(200, dispatcher.getResponse(request, dispatcher.dispatchAsync(request)).getStatus());
+            assertNotSame(Thread.currentThread(), thread.get());
+            assertSame(uriInfo, proxy.get());
+        } finally {
+            proxy.remove();
+        }
+    }
+
+    @Test
+    public void testSequentialDispatchRunsOnCallingThread() {
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        EchoObserver observer = new EchoObserver() {
+            @Override
+            public void onMessage(Message message) {
+                thread.set(Thread.currentThread());
+                super.onMessage(message);
+            }
+        };
+        BatchDispatcher dispatcher = new BatchDispatcher(createBatchMessage(observer), 5000, THREAD_PER_REQUEST);
+        assertEquals(200, dispatcher.dispatch(new BatchRequest("GET", "/app/books", null, null)).getStatus());
+        assertSame(Thread.currentThread(), thread.get());
+    }
+
+    @Test
+    public void testDeadlineIsSharedByAllRequests() {
+        final AtomicInteger dispatched = new AtomicInteger();
+        EchoObserver observer = new EchoObserver() {
+            @Override
+            public void onMessage(Message message) {
+                dispatched.incrementAndGet();
+                try {
+                    Thread.sleep(150);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onMessage(message);
+            }
+        };
+        BatchDispatcher dispatcher = new BatchDispatcher(createBatchMessage(observer), 200, null);
+        assertEquals(200, dispatcher.dispatch(new BatchRequest("GET", "/app/books", null, null)).getStatus());
+        assertEquals(200, dispatcher.dispatch(new BatchRequest("GET", "/app/books", null, null)).getStatus());
+        // the time of the whole batch is over, the request is not dispatched
+        assertEquals(503, dispatcher.dispatch(new BatchRequest("GET", "/app/books", null, null)).getStatus());
+        assertEquals(2, dispatched.get());
+    }
+
+    @Test
+    public void testInheritServletContext() {
+        final AtomicReference<Message> embedded = new AtomicReference<>();
+        EchoObserver observer = new EchoObserver() {
+            @Override
+            public void onMessage(Message message) {
+                embedded.set(message);
+                super.onMessage(message);
+            }
+        };
+        Message batch = createBatchMessage(observer);
+        Object servletContext = new Object();
+        batch.put("HTTP.CONTEXT", servletContext);
+        batch.put("HTTP.REQUEST", new Object());
+        new BatchDispatcher(batch, 5000, null).dispatch(new BatchRequest("GET", "/app/books", null, null));
+        assertSame(servletContext, embedded.get().get("HTTP.CONTEXT"));
+        assertNull(embedded.get().get("HTTP.REQUEST"));
+    }
+
+    @Test
+    public void testInheritSecurityContext() {
+        final AtomicReference<SecurityContext> sc = new AtomicReference<>();
+        EchoObserver observer = new EchoObserver() {
+            @Override
+            public void onMessage(Message message) {
+                sc.set(message.get(SecurityContext.class));
+                super.onMessage(message);
+            }
+        };
+        Message batch = createBatchMessage(observer);
+        SecurityContext batchSc = new TestSecurityContext();
+        batch.put(SecurityContext.class, batchSc);
+        BatchDispatcher dispatcher = new BatchDispatcher(batch, 5000, THREAD_PER_REQUEST);
+
+        dispatcher.dispatch(new BatchRequest("GET", "/app/books", null, null));
+        assertSame(batchSc, sc.get());
+
+        // the request with its own credentials is authenticated on its own
+        dispatcher.dispatch(new BatchRequest("GET", "/app/books",
+            Collections.singletonMap("Authorization", Collections.singletonList("Basic YTpi")), null));
+        assertNull(sc.get());
+    }
+
+    @Test
+    public void testTimeout() {
+        Message batch = createBatchMessage(message -> {
+            // no response is ever written
+        });
+        BatchDispatcher dispatcher = new BatchDispatcher(batch, 100, THREAD_PER_REQUEST);
+        assertEquals(503, dispatcher.dispatch(new BatchRequest("GET", "/app/books", null, null)).getStatus());
+    }
+
+    @Test
+    public void testRejected() {
+        Message batch = createBatchMessage(new EchoObserver());
+        BatchDispatcher dispatcher = new BatchDispatcher(batch, 5000, r -> {
+            throw new RejectedExecutionException();
+        });
+        BatchRequest request = new BatchRequest("GET", "/app/books", null, null);
+        assertEquals(503, dispatcher.getResponse(request, dispatcher.dispatchAsync(request)).getStatus());
+    }
+
+    static Message createBatchMessage(MessageObserver observer) {
+        Message m = new MessageImpl();
+        Exchange e = new ExchangeImpl();
+        e.setInMessage(m);
+        m.setExchange(e);
+        e.setDestination(new TestDestination(observer));
+        m.put(Message.BASE_PATH, "http://localhost:8080/app");
+        return m;
+    }
+
+    /**
+     * Writes the method, path, query and body of the request to the response
+     */
+    static class EchoObserver implements MessageObserver {
+        @Override
+        public void onMessage(Message message) {
+            try {
+                String body = IOUtils.toString(message.getContent(InputStream.class));
+                Message out = new MessageImpl();
+                out.setExchange(message.getExchange());
+                out.put(Message.RESPONSE_CODE, 200);
+                out.put(Message.CONTENT_TYPE, "text/plain");
+                Conduit conduit = message.getDestination().getBackChannel(message);
+                conduit.prepare(out);
+                try (OutputStream os = out.getContent(OutputStream.class)) {
+                    os.write((message.get(Message.HTTP_REQUEST_METHOD) + " " + message.get(Message.REQUEST_URI)
+                        + " " + message.get(Message.QUERY_STRING) + " " + body).getBytes(StandardCharsets.UTF_8));
+                }
+            } catch (IOException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+
+    static class TestDestination implements Destination {
+        private final MessageObserver observer;
+
+        TestDestination(MessageObserver observer) {
+            this.observer = observer;
+        }
+
+        @Override
+        public EndpointReferenceType getAddress() {
+            return EndpointReferenceUtils.getEndpointReference("http://localhost:8080/app");
+        }
+
+        @Override
+        public Conduit getBackChannel(Message inMessage) throws IOException {
+            return null;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public void setMessageObserver(MessageObserver o) {
+        }
+
+        @Override
+        public MessageObserver getMessageObserver() {
+            return observer;
+        }
+    }
+
+    private static class TestSecurityContext implements SecurityContext {
+        public Principal getUserPrincipal() {
+            return () -> "alice";
+        }
+
+        public boolean isUserInRole(String role) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.provider.batch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchEnvelopeTest {
+
+    @Test
+    public void testReadMultipart() {
+        String envelope = "--b1\r\n"
+            + "Content-Type: application/http\r\n"
+            + "\r\n"
+            + "GET /books/1 HTTP/1.1\r\n"
+            + "Accept: application/json\r\n"
+            + "\r\n"
+            + "\r\n--b1\r\n"
+            + "Content-Type: application/http\r\n"
+            + "\r\n"
+            + "POST /books HTTP/1.1\r\n"
+            + "Content-Type: text/plain\r\n"
+            + "\r\n"
+            + "CXF in Action"
+            + "\r\n--b1--\r\n";
+        List<BatchRequest> requests = BatchEnvelope.readMultipart(
+            MediaType.valueOf("multipart/mixed; boundary=\"b1\""), envelope.getBytes(StandardCharsets.UTF_8));
+        assertEquals(2, requests.size());
+        assertEquals("GET", requests.get(0).getMethod());
+        assertEquals("/books/1", requests.get(0).getUri());
+        assertEquals("application/json", requests.get(0).getFirstHeader("accept"));
+        assertEquals(0, requests.get(0).getBody().length);
+        assertEquals("POST", requests.get(1).getMethod());
+        assertEquals("text/plain", requests.get(1).getFirstHeader("Content-Type"));
+        assertEquals("CXF in Action", new String(requests.get(1).getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWriteMultipart() {
+        BatchResponse r = new BatchResponse(404, Collections.singletonMap("Content-Type",
+            Collections.singletonList("text/plain")), "Not here".getBytes(StandardCharsets.UTF_8));
+        String envelope = new String(BatchEnvelope.writeMultipart(Collections.singletonList(r), "b2"),
+                                     StandardCharsets.UTF_8);
+        assertTrue(envelope.startsWith("--b2\r\nContent-Type: application/http\r\n"));
+        assertTrue(envelope.contains("HTTP/1.1 404 Not Found\r\nContent-Type: text/plain\r\n\r\nNot here\r\n"));
+        assertTrue(envelope.endsWith("--b2--\r\n"));
+    }
+
+    @Test
+    public void testReadJson() {
+        String envelope = "[{\"method\":\"GET\",\"uri\":\"/books/1\",\"headers\":{\"Accept\":\"text/plain\"}},"
+            + "{\"method\":\"PUT\",\"uri\":\"/books/2\",\"body\":{\"name\":\"CXF\"}}]";
+        List<BatchRequest> requests = BatchEnvelope.readJson(envelope.getBytes(StandardCharsets.UTF_8));
+        assertEquals(2, requests.size());
+        assertEquals("text/plain", requests.get(0).getFirstHeader("Accept"));
+        assertEquals("PUT", requests.get(1).getMethod());
+        assertEquals("{\"name\":\"CXF\"}", new String(requests.get(1).getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWriteJson() {
+        BatchResponse r1 = new BatchResponse(200, Collections.singletonMap("Content-Type",
+            Collections.singletonList("application/json")), "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        BatchResponse r2 = new BatchResponse(200, Collections.singletonMap("Content-Type",
+            Collections.singletonList("text/plain")), "a \"b\"\n".getBytes(StandardCharsets.UTF_8));
+        String envelope = new String(BatchEnvelope.writeJson(Arrays.asList(r1, r2)), StandardCharsets.UTF_8);
+        assertEquals("[{\"status\":200,\"headers\":{\"Content-Type\":\"application/json\"},\"body\":{\"id\":1}},"
+            + "{\"status\":200,\"headers\":{\"Content-Type\":\"text/plain\"},\"body\":\"a \\\"b\\\"\\n\"}]",
+            envelope);
+    }
+}
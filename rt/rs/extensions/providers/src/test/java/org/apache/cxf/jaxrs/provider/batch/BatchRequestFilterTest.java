@@ -0,0 +1,190 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.provider.batch;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.core.Response;
+
+import org.apache.cxf.bus.managers.PhaseManagerImpl;
+import org.apache.cxf.interceptor.Fault;
+import org.apache.cxf.jaxrs.impl.ContainerRequestContextImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchRequestFilterTest {
+    private static final String JSON_ENVELOPE = "[{\"method\":\"GET\",\"uri\":\"/app/books/1\"},"
+        + "{\"method\":\"GET\",\"uri\":\"books/2\"},"
+        + "{\"method\":\"POST\",\"uri\":\"/books\",\"body\":\"CXF\"}]";
+    private static final String MULTIPART_ENVELOPE = "--b1\r\n"
+        + "Content-Type: application/http\r\n"
+        + "\r\n"
+        + "GET /app/books/1 HTTP/1.1\r\n"
+        + "\r\n"
+        + "\r\n--b1\r\n"
+        + "Content-Type: application/http\r\n"
+        + "\r\n"
+        + "GET /app/books/2 HTTP/1.1\r\n"
+        + "\r\n"
+        + "\r\n--b1--\r\n";
+
+    private final AtomicInteger dispatched = new AtomicInteger();
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    @Test
+    public void testDispatchJson() {
+        BatchRequestFilter filter = createFilter();
+        Response r = filter(filter, "application/json", JSON_ENVELOPE);
+        assertEquals(200, r.getStatus());
+        String body = new String((byte[])r.getEntity(), StandardCharsets.UTF_8);
+        assertTrue(body, body.contains("GET /app/books/1 null "));
+        assertTrue(body, body.indexOf("GET /app/books/2") > body.indexOf("GET /app/books/1"));
+        assertTrue(body, body.indexOf("POST /app/books null CXF") > body.indexOf("GET /app/books/2"));
+        assertEquals(3, dispatched.get());
+    }
+
+    @Test
+    public void testDispatchParallel() {
+        BatchRequestFilter filter = createFilter();
+        filter.setParallel(true);
+        Response r = filter(filter, "application/json", JSON_ENVELOPE);
+        String body = new String((byte[])r.getEntity(), StandardCharsets.UTF_8);
+        // the responses keep the order of the requests
+        assertTrue(body, body.indexOf("GET /app/books/2") > body.indexOf("GET /app/books/1"));
+        assertTrue(body, body.indexOf("POST /app/books") > body.indexOf("GET /app/books/2"));
+        assertEquals(3, dispatched.get());
+    }
+
+    @Test
+    public void testDispatchMultipart() {
+        Response r = filter(createFilter(), "multipart/mixed; boundary=b1", MULTIPART_ENVELOPE);
+        assertEquals(200, r.getStatus());
+        String body = new String((byte[])r.getEntity(), StandardCharsets.UTF_8);
+        assertTrue(body, body.contains("HTTP/1.1 200 OK"));
+        assertEquals(2, dispatched.get());
+    }
+
+    @Test
+    public void testEnvelopeTooLarge() {
+        BatchRequestFilter filter = createFilter();
+        filter.setMaxEnvelopeSize(16);
+        assertEquals(413, filter(filter, "application/json", JSON_ENVELOPE).getStatus());
+        assertEquals(0, dispatched.get());
+    }
+
+    @Test
+    public void testTooManyRequests() {
+        BatchRequestFilter filter = createFilter();
+        filter.setMaxRequests(2);
+        assertEquals(413, filter(filter, "application/json", JSON_ENVELOPE).getStatus());
+        filter.setMaxRequests(1);
+        assertEquals(413, filter(filter, "multipart/mixed; boundary=b1", MULTIPART_ENVELOPE).getStatus());
+        assertEquals(0, dispatched.get());
+    }
+
+    @Test
+    public void testCountJsonElements() {
+        assertEquals(0, BatchEnvelope.countJsonElements("[ ]", 10));
+        assertEquals(3, BatchEnvelope.countJsonElements(JSON_ENVELOPE, 10));
+        assertEquals(2, BatchEnvelope.countJsonElements("[{\"a\":[1,2,\"],[\"]},\"x,\\\"y\"]", 10));
+        // the counting stops once the limit is exceeded
+        assertEquals(2, BatchEnvelope.countJsonElements(JSON_ENVELOPE, 1));
+    }
+
+    @Test
+    public void testParallelWithoutWorkQueueRunsOnBatchThread() {
+        BatchRequestFilter filter = new BatchRequestFilter();
+        filter.setParallel(true);
+        Response r = filter(filter, "application/json", JSON_ENVELOPE);
+        assertEquals(200, r.getStatus());
+        assertEquals(3, dispatched.get());
+        assertEquals(Collections.singleton(Thread.currentThread()), threads);
+    }
+
+    @Test
+    public void testNestedBatchRejected() {
+        BatchRequestFilter filter = createFilter();
+        Message m = createMessage("application/json", JSON_ENVELOPE);
+        m.put(BatchDispatcher.BATCH_REQUEST, Boolean.TRUE);
+        assertEquals(400, filter(filter, m).getStatus());
+    }
+
+    private BatchRequestFilter createFilter() {
+        BatchRequestFilter filter = new BatchRequestFilter();
+        filter.setExecutor(BatchDispatcherTest.THREAD_PER_REQUEST);
+        return filter;
+    }
+
+    private Response filter(BatchRequestFilter filter, String contentType, String envelope) {
+        return filter(filter, createMessage(contentType, envelope));
+    }
+
+    private static Response filter(final BatchRequestFilter filter, Message m) {
+        // the filter expects to run as part of the interceptor chain
+        PhaseInterceptorChain chain = new PhaseInterceptorChain(new PhaseManagerImpl().getInPhases());
+        chain.add(new AbstractPhaseInterceptor<Message>(Phase.PRE_STREAM) {
+            public void handleMessage(Message message) {
+                try {
+                    filter.filter(new ContainerRequestContextImpl(message, true, false));
+                } catch (IOException ex) {
+                    throw new Fault(ex);
+                }
+            }
+        });
+        chain.doIntercept(m);
+        return m.getExchange().get(Response.class);
+    }
+
+    private Message createMessage(String contentType, String envelope) {
+        Message m = BatchDispatcherTest.createBatchMessage(new BatchDispatcherTest.EchoObserver() {
+            @Override
+            public void onMessage(Message message) {
+                dispatched.incrementAndGet();
+                threads.add(Thread.currentThread());
+                super.onMessage(message);
+            }
+        });
+        m.put(Message.HTTP_REQUEST_METHOD, "POST");
+        m.put(Message.REQUEST_URI, "/app/$batch");
+        m.put(Message.CONTENT_TYPE, contentType);
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.put("Content-Type", Collections.singletonList(contentType));
+        m.put(Message.PROTOCOL_HEADERS, headers);
+        m.setContent(InputStream.class, new ByteArrayInputStream(envelope.getBytes(StandardCharsets.UTF_8)));
+        return m;
+    }
+}
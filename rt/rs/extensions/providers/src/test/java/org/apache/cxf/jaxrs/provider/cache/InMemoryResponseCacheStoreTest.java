@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.provider.cache;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.HttpHeaders;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class InMemoryResponseCacheStoreTest {
+
+    @Test
+    public void testEvictLeastRecentlyUsedEntry() {
+        InMemoryResponseCacheStore store = new InMemoryResponseCacheStore(2, 1024);
+        ResponseCacheKey key1 = createKey("/a");
+        ResponseCacheKey key2 = createKey("/b");
+        ResponseCacheKey key3 = createKey("/c");
+        store.put(key1, createResponse(10));
+        store.put(key2, createResponse(10));
+        assertNotNull(store.get(key1));
+        store.put(key3, createResponse(10));
+
+        assertEquals(2, store.getEntryCount());
+        assertNotNull(store.get(key1));
+        assertNull(store.get(key2));
+        assertNotNull(store.get(key3));
+    }
+
+    @Test
+    public void testEvictBySize() {
+        InMemoryResponseCacheStore store = new InMemoryResponseCacheStore(10, 100);
+        ResponseCacheKey key1 = createKey("/a");
+        ResponseCacheKey key2 = createKey("/b");
+        store.put(key1, createResponse(60));
+        store.put(key2, createResponse(60));
+
+        assertEquals(1, store.getEntryCount());
+        assertEquals(60, store.getSize());
+        assertNull(store.get(key1));
+        assertNotNull(store.get(key2));
+
+        store.put(createKey("/c"), createResponse(200));
+        assertEquals(1, store.getEntryCount());
+
+        store.remove(key2);
+        assertEquals(0, store.getSize());
+    }
+
+    @Test
+    public void testCachedResponseHeaders() {
+        Map<String, List<String>> headers =
+            Collections.singletonMap(HttpHeaders.ETAG, Collections.singletonList("\"123\""));
+        CachedResponse response = new CachedResponse(200, headers, new byte[0], 60);
+        assertEquals("\"123\"", response.getEntityTag());
+        assertNull(response.getLastModified());
+        assertFalse(response.isExpired());
+    }
+
+    @Test
+    public void testKeyEquality() {
+        assertEquals(createKey("/a"), createKey("/a"));
+        assertFalse(createKey("/a").equals(new ResponseCacheKey("/a", Collections.singletonList("text/xml"), "bob")));
+    }
+
+    private static ResponseCacheKey createKey(String uri) {
+        return new ResponseCacheKey(uri, Collections.singletonList("text/xml"), null);
+    }
+
+    private static CachedResponse createResponse(int size) {
+        return new CachedResponse(200, Collections.emptyMap(), new byte[size], 60);
+    }
+}
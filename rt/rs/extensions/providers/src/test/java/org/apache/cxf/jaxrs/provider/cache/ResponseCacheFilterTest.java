@@ -0,0 +1,280 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.provider.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.NewCookie;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.apache.cxf.jaxrs.impl.ContainerRequestContextImpl;
+import org.apache.cxf.jaxrs.impl.ContainerResponseContextImpl;
+import org.apache.cxf.jaxrs.impl.ResponseImpl;
+import org.apache.cxf.jaxrs.impl.WriterInterceptorContextImpl;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class ResponseCacheFilterTest {
+    private static final String BODY = "book";
+
+    private final TestStore store = new TestStore();
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(store);
+    private int invocations;
+
+    @Test
+    public void testCacheHit() throws Exception {
+        Response r1 = get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "max-age=60"));
+        assertEquals(200, r1.getStatus());
+        assertEquals(1, invocations);
+
+        Response r2 = get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "max-age=60"));
+        assertEquals(1, invocations);
+        assertEquals(200, r2.getStatus());
+        assertEquals(BODY, new String((byte[])r2.getEntity(), StandardCharsets.UTF_8));
+        assertEquals("max-age=60", r2.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        assertNotNull(r2.getHeaderString("Age"));
+    }
+
+    @Test
+    public void testNotModified() throws Exception {
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "max-age=60").header(HttpHeaders.ETAG, "\"1\""));
+
+        Response r = get(Response.ok(BODY), HttpHeaders.IF_NONE_MATCH, "\"1\"");
+        assertEquals(1, invocations);
+        assertEquals(304, r.getStatus());
+        assertEquals("\"1\"", r.getHeaderString(HttpHeaders.ETAG));
+        assertNull(r.getEntity());
+
+        // a different tag gets the full cached response
+        r = get(Response.ok(BODY), HttpHeaders.IF_NONE_MATCH, "\"2\"");
+        assertEquals(1, invocations);
+        assertEquals(200, r.getStatus());
+    }
+
+    @Test
+    public void testNoStore() throws Exception {
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "no-store"));
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "no-store"));
+        assertEquals(2, invocations);
+        assertEquals(0, store.entries.size());
+
+        // the request can bypass the cache too
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "max-age=60"), HttpHeaders.CACHE_CONTROL, "no-store");
+        assertEquals(3, invocations);
+        assertEquals(0, store.entries.size());
+    }
+
+    @Test
+    public void testPrivate() throws Exception {
+        // private responses are not shared between the anonymous users
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "private, max-age=60"));
+        assertEquals(0, store.entries.size());
+
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "private, max-age=60"), "alice");
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "private, max-age=60"), "alice");
+        assertEquals(2, invocations);
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "private, max-age=60"), "bob");
+        assertEquals(3, invocations);
+        assertEquals(2, store.entries.size());
+    }
+
+    @Test
+    public void testMaxAgeExpiry() throws Exception {
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "max-age=60"));
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "max-age=60"));
+        assertEquals(1, invocations);
+
+        store.expireAll();
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "max-age=60"));
+        assertEquals(2, invocations);
+        // the fresh response replaced the expired one
+        assertFalse(store.entries.values().iterator().next().isExpired());
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "max-age=60"));
+        assertEquals(2, invocations);
+    }
+
+    @Test
+    public void testResponseSettingCookieNotCached() throws Exception {
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "max-age=60").cookie(new NewCookie("id", "1")));
+        assertEquals(0, store.entries.size());
+    }
+
+    @Test
+    public void testHopByHopHeadersNotStored() throws Exception {
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+            .header("Connection", "close").header("X-Custom", "1"));
+        CachedResponse cached = store.entries.values().iterator().next();
+        assertNull(cached.getHeaders().get("Connection"));
+        assertEquals(Collections.singletonList("1"), cached.getHeaders().get("X-Custom"));
+    }
+
+    @Test
+    public void testAnonymousRequestWithCredentialsNotCached() throws Exception {
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "max-age=60"), HttpHeaders.COOKIE, "session=1");
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "max-age=60"), "Authorization", "Basic YTpi");
+        assertEquals(0, store.entries.size());
+    }
+
+    @Test
+    public void testUnknownVaryHeaderNotCached() throws Exception {
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "max-age=60").header(HttpHeaders.VARY, "X-Tenant"));
+        assertEquals(0, store.entries.size());
+
+        get(Response.ok(BODY).header(HttpHeaders.CACHE_CONTROL, "max-age=60").header(HttpHeaders.VARY, "accept"));
+        assertEquals(1, store.entries.size());
+    }
+
+    private Response get(Response.ResponseBuilder rb) throws IOException {
+        return get(rb, null, null, null);
+    }
+
+    private Response get(Response.ResponseBuilder rb, String user) throws IOException {
+        return get(rb, user, null, null);
+    }
+
+    private Response get(Response.ResponseBuilder rb, String header, String value) throws IOException {
+        return get(rb, null, header, value);
+    }
+
+    private Response get(Response.ResponseBuilder rb, String user, String header, String value)
+        throws IOException {
+        Message in = new MessageImpl();
+        Exchange exchange = new ExchangeImpl();
+        exchange.setInMessage(in);
+        in.setExchange(exchange);
+        in.put(Message.HTTP_REQUEST_METHOD, "GET");
+        in.put(Message.ENDPOINT_ADDRESS, "http://localhost:8080/bookstore");
+        in.put(Message.REQUEST_URI, "/bookstore/books");
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (header != null) {
+            headers.put(header, Collections.singletonList(value));
+        }
+        in.put(Message.PROTOCOL_HEADERS, headers);
+        if (user != null) {
+            in.put(SecurityContext.class, new TestSecurityContext(user));
+        }
+
+        ContainerRequestContextImpl request = new ContainerRequestContextImpl(in, false, false);
+        filter.filter(request);
+        Response aborted = exchange.get(Response.class);
+        if (aborted != null) {
+            return aborted;
+        }
+
+        invocations++;
+        Message out = new MessageImpl();
+        out.setExchange(exchange);
+        exchange.setOutMessage(out);
+        ResponseImpl response = (ResponseImpl)rb.build();
+        out.put(Message.PROTOCOL_HEADERS, response.getMetadata());
+        filter.filter(request, new ContainerResponseContextImpl(response, out, null, null));
+
+        List<WriterInterceptor> writers = new ArrayList<>(Arrays.asList(filter, new EntityWriter()));
+        WriterInterceptorContextImpl writer = new WriterInterceptorContextImpl(response.getEntity(),
+            String.class, String.class, new Annotation[]{}, new ByteArrayOutputStream(), out, writers);
+        writer.proceed();
+        return response;
+    }
+
+    private static class EntityWriter implements WriterInterceptor {
+        @Override
+        public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException {
+            OutputStream os = context.getOutputStream();
+            os.write(context.getEntity().toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static class TestStore implements ResponseCacheStore {
+        private final Map<ResponseCacheKey, CachedResponse> entries = new HashMap<>();
+
+        public CachedResponse get(ResponseCacheKey key) {
+            return entries.get(key);
+        }
+
+        public void put(ResponseCacheKey key, CachedResponse response) {
+            entries.put(key, response);
+        }
+
+        public void remove(ResponseCacheKey key) {
+            entries.remove(key);
+        }
+
+        public void clear() {
+            entries.clear();
+        }
+
+        void expireAll() {
+            for (Map.Entry<ResponseCacheKey, CachedResponse> entry : entries.entrySet()) {
+                CachedResponse r = entry.getValue();
+                entry.setValue(new CachedResponse(r.getStatus(), r.getHeaders(), r.getBody(), 0));
+            }
+        }
+    }
+
+    private static class TestSecurityContext implements SecurityContext {
+        private final String user;
+
+        TestSecurityContext(String user) {
+            this.user = user;
+        }
+
+        public Principal getUserPrincipal() {
+            return () -> user;
+        }
+
+        public boolean isUserInRole(String role) {
+            return false;
+        }
+
+        public boolean isSecure() {
+            return false;
+        }
+
+        public String getAuthenticationScheme() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.reactivestreams.client;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.Variant;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import org.apache.cxf.jaxrs.impl.MetadataMap;
+import org.apache.cxf.jaxrs.provider.ProviderFactory;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Writes the elements emitted by the publisher as the JSON array or, if the media type is
+ * application/x-ndjson, as the newline delimited JSON stream. The elements are requested one
+ * by one as they are written, so the request body is never buffered as a whole.
+ */
+public class JsonStreamingPublisherOutput<T> implements StreamingOutput {
+    public static final String NDJSON = "application/x-ndjson";
+    public static final MediaType NDJSON_TYPE = MediaType.valueOf(NDJSON);
+
+    private static final Annotation[] EMPTY_ANNOTATIONS = new Annotation[0];
+    private static final Object COMPLETE = new Object();
+
+    private final Publisher<T> publisher;
+    private final ProviderFactory providerFactory;
+    private final boolean ndjson;
+    private MessageBodyWriter<Object> writer;
+    private Class<?> writerType;
+
+    public JsonStreamingPublisherOutput(Publisher<T> publisher, ProviderFactory providerFactory, MediaType mt) {
+        this.publisher = publisher;
+        this.providerFactory = providerFactory;
+        this.ndjson = mt != null && mt.isCompatible(NDJSON_TYPE);
+    }
+
+    /**
+     * Replaces the publisher entity with the one streaming its elements, other entities
+     * are returned as is
+     */
+    public static Entity<?> toStreamingEntity(Entity<?> entity, ProviderFactory providerFactory) {
+        if (entity == null || !(entity.getEntity() instanceof Publisher)) {
+            return entity;
+        }
+        final MediaType mt = entity.getMediaType() != null ? entity.getMediaType() : MediaType.APPLICATION_JSON_TYPE;
+        final Publisher<?> publisher = (Publisher<?>)entity.getEntity();
+        // Selecting the writer by the StreamingOutput type, the JSON providers may otherwise
+        // try to serialize this class as a bean
+        final StreamingOutput output = new JsonStreamingPublisherOutput<>(publisher, providerFactory, mt);
+        return Entity.entity(new GenericEntity<StreamingOutput>(output, StreamingOutput.class),
+            new Variant(mt, entity.getLanguage(), entity.getEncoding()), entity.getAnnotations());
+    }
+
+    @Override
+    public void write(OutputStream os) throws IOException, WebApplicationException {
+        final ElementSubscriber subscriber = new ElementSubscriber();
+        publisher.subscribe(subscriber);
+
+        // The element writers must not close the entity stream
+        final OutputStream out = new FilterOutputStream(os) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+
+        try {
+            if (!ndjson) {
+                os.write('[');
+            }
+            boolean first = true;
+            Object signal = subscriber.take();
+            while (signal != COMPLETE) {
+                if (signal instanceof ErrorSignal) {
+                    throw new ProcessingException(((ErrorSignal)signal).error);
+                }
+                if (!first && !ndjson) {
+                    os.write(',');
+                }
+                writeElement(signal, out);
+                if (ndjson) {
+                    os.write('\n');
+                }
+                first = false;
+                subscriber.request();
+                signal = subscriber.take();
+            }
+            if (!ndjson) {
+                os.write(']');
+            }
+        } catch (IOException | RuntimeException ex) {
+            subscriber.cancel();
+            throw ex;
+        }
+    }
+
+    private void writeElement(Object element, OutputStream os) throws IOException {
+        final Class<?> cls = element.getClass();
+        getWriter(cls).writeTo(element, cls, cls, EMPTY_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE,
+            new MetadataMap<String, Object>(), os);
+    }
+
+    // The writer is selected again only if the element type changes
+    @SuppressWarnings("unchecked")
+    private MessageBodyWriter<Object> getWriter(Class<?> cls) {
+        if (writer == null || writerType != cls) {
+            // The output is written by the outbound interceptor chain
+            Message m = PhaseInterceptorChain.getCurrentMessage();
+            if (m == null) {
+                m = new MessageImpl();
+            }
+            writer = (MessageBodyWriter<Object>)providerFactory.createMessageBodyWriter(cls, cls, EMPTY_ANNOTATIONS,
+                MediaType.APPLICATION_JSON_TYPE, m);
+            if (writer == null) {
+                throw new ProcessingException("No JSON message body writer for " + cls.getName());
+            }
+            writerType = cls;
+        }
+        return writer;
+    }
+
+    private class ElementSubscriber implements Subscriber<T> {
+        private final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+        private volatile Subscription subscription;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+            s.request(1);
+        }
+
+        @Override
+        public void onNext(T element) {
+            signals.add(element);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            signals.add(new ErrorSignal(t));
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add(COMPLETE);
+        }
+
+        Object take() throws IOException {
+            try {
+                return signals.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the request body element");
+            }
+        }
+
+        void request() {
+            subscription.request(1);
+        }
+
+        void cancel() {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+
+    private static class ErrorSignal {
+        private final Throwable error;
+
+        ErrorSignal(Throwable error) {
+            this.error = error;
+        }
+    }
+}
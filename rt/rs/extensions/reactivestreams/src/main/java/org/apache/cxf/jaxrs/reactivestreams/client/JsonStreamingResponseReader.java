@@ -0,0 +1,256 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.reactivestreams.client;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.MessageBodyReader;
+
+import org.apache.cxf.jaxrs.impl.ResponseImpl;
+import org.apache.cxf.jaxrs.provider.ProviderFactory;
+import org.apache.cxf.jaxrs.utils.ParameterizedCollectionType;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+
+/**
+ * Reads the elements of the JSON array or the newline delimited JSON (NDJSON) stream from
+ * the response one by one, so only the element being decoded is kept in memory. Every element
+ * is decoded with the JSON message body reader selected for the element type.
+ * <p>
+ * The responses with the non JSON media types can not be split and are read as a whole
+ * by the message body reader selected for the collection of the element type.
+ */
+public class JsonStreamingResponseReader<T> implements Iterator<T>, Closeable {
+    private static final Annotation[] EMPTY_ANNOTATIONS = new Annotation[0];
+    private static final int NO_CHAR = -2;
+
+    private final Response response;
+    private final Class<T> type;
+    private final ProviderFactory providerFactory;
+    private final MediaType mediaType;
+    private final InputStream is;
+    private final Iterator<T> entities;
+    private final ByteArrayOutputStream element = new ByteArrayOutputStream(256);
+    private MessageBodyReader<T> reader;
+    private int pending = NO_CHAR;
+    private boolean started;
+    private boolean array;
+    private boolean finished;
+    private byte[] next;
+
+    public JsonStreamingResponseReader(Response response, Class<T> type, ProviderFactory providerFactory) {
+        this.response = response;
+        this.type = type;
+        this.providerFactory = providerFactory;
+        final MediaType mt = response.getMediaType();
+        if (mt == null || isJson(mt)) {
+            final InputStream entity = response.hasEntity() ? response.readEntity(InputStream.class) : null;
+            this.mediaType = mt == null || mt.isCompatible(JsonStreamingPublisherOutput.NDJSON_TYPE)
+                ? MediaType.APPLICATION_JSON_TYPE : mt;
+            this.is = entity == null ? null : new BufferedInputStream(entity);
+            this.entities = null;
+            this.finished = entity == null;
+        } else {
+            final Collection<T> collection = response.hasEntity()
+                ? response.readEntity(new GenericType<Collection<T>>(new ParameterizedCollectionType(type))) : null;
+            this.mediaType = mt;
+            this.is = null;
+            this.entities = collection == null ? Collections.emptyIterator() : collection.iterator();
+            this.finished = true;
+        }
+    }
+
+    /**
+     * Returns true if the elements of the response with the given media type can be read one by one
+     */
+    public static boolean isJson(MediaType mt) {
+        final String subtype = mt.getSubtype().toLowerCase(Locale.ENGLISH);
+        return "json".equals(subtype) || subtype.endsWith("+json")
+            || mt.isCompatible(JsonStreamingPublisherOutput.NDJSON_TYPE);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (entities != null) {
+            return entities.hasNext();
+        }
+        if (next == null && !finished) {
+            try {
+                next = readElement();
+            } catch (IOException ex) {
+                throw new ProcessingException(ex);
+            }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (entities != null) {
+            return entities.next();
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final byte[] bytes = next;
+        next = null;
+        try {
+            return getReader().readFrom(type, type, EMPTY_ANNOTATIONS, mediaType, response.getStringHeaders(),
+                new ByteArrayInputStream(bytes));
+        } catch (IOException ex) {
+            throw new ProcessingException(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        response.close();
+    }
+
+    private MessageBodyReader<T> getReader() {
+        if (reader == null) {
+            Message m = response instanceof ResponseImpl ? ((ResponseImpl)response).getOutMessage() : null;
+            if (m == null) {
+                m = new MessageImpl();
+            }
+            reader = providerFactory.createMessageBodyReader(type, type, EMPTY_ANNOTATIONS, mediaType, m);
+            if (reader == null) {
+                throw new ProcessingException("No JSON message body reader for " + type.getName());
+            }
+        }
+        return reader;
+    }
+
+    /**
+     * Returns the bytes of the next top level element or null if there are no more elements.
+     * The UTF-8 encoded multi-byte characters never match the ASCII structural characters
+     * so the bytes can be scanned directly.
+     */
+    private byte[] readElement() throws IOException {
+        int c = skipWhitespace();
+        if (!started) {
+            started = true;
+            if (c == '[') {
+                array = true;
+                c = skipWhitespace();
+            }
+        }
+        if (array) {
+            if (c == ',') {
+                c = skipWhitespace();
+            }
+            if (c == ']') {
+                return null;
+            }
+        }
+        if (c == -1) {
+            if (array) {
+                throw new IOException("Unexpected end of the JSON array");
+            }
+            return null;
+        }
+
+        element.reset();
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        while (true) {
+            if (c == -1) {
+                if (depth > 0 || inString) {
+                    throw new IOException("Unexpected end of the JSON stream");
+                }
+                break;
+            }
+            if (inString) {
+                element.write(c);
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                    if (depth == 0) {
+                        break;
+                    }
+                }
+            } else if (c == '"') {
+                element.write(c);
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                element.write(c);
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (depth == 0) {
+                    // the end of the enclosing array
+                    pending = c;
+                    break;
+                }
+                element.write(c);
+                if (--depth == 0) {
+                    break;
+                }
+            } else if (depth == 0 && (c == ',' || isWhitespace(c))) {
+                pending = c;
+                break;
+            } else {
+                element.write(c);
+            }
+            c = read();
+        }
+        return element.toByteArray();
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c = read();
+        while (isWhitespace(c)) {
+            c = read();
+        }
+        return c;
+    }
+
+    private int read() throws IOException {
+        if (pending != NO_CHAR) {
+            final int c = pending;
+            pending = NO_CHAR;
+            return c;
+        }
+        return is.read();
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+}
@@ -28,11 +28,10 @@ import org.apache.cxf.jaxrs.impl.AsyncResponseImpl;
 import org.apache.cxf.message.Message;
 import org.reactivestreams.Publisher;
 
-
 public abstract class AbstractReactiveInvoker extends JAXRSInvoker {
     private boolean useStreamingSubscriberIfPossible = true;
-    
-    
+    private int streamingPrefetch = StreamingAsyncSubscriber.DEFAULT_PREFETCH;
+
     protected Object handleThrowable(AsyncResponseImpl asyncResponse, Throwable t) {
         if (t instanceof CancellationException) {
             asyncResponse.cancel();
@@ -54,14 +53,32 @@ public abstract class AbstractReactiveInvoker extends JAXRSInvoker {
                                                 AsyncResponse asyncResponse, 
                                                 Message inMessage) {
         if (isUseStreamingSubscriberIfPossible() && isJsonResponse(inMessage)) {
-            publisher.subscribe(new JsonStreamingAsyncSubscriber<>(asyncResponse));
+            subscribeStreaming(publisher, asyncResponse);
             return true;
         } else {
             return false;
         }
     }
     
+    private <T> void subscribeStreaming(Publisher<T> publisher, AsyncResponse asyncResponse) {
+        final JsonStreamingAsyncSubscriber<T> subscriber = new JsonStreamingAsyncSubscriber<>(asyncResponse);
+        subscriber.setPrefetch(streamingPrefetch);
+        publisher.subscribe(subscriber);
+    }
+
     public void setUseStreamingSubscriberIfPossible(boolean useStreamingSubscriberIfPossible) {
         this.useStreamingSubscriberIfPossible = useStreamingSubscriberIfPossible;
     }
+
+    public int getStreamingPrefetch() {
+        return streamingPrefetch;
+    }
+
+    /**
+     * Sets the number of the elements the streaming subscriber requests from the publisher
+     * in advance, Integer.MAX_VALUE disables the backpressure
+     */
+    public void setStreamingPrefetch(int streamingPrefetch) {
+        this.streamingPrefetch = streamingPrefetch;
+    }
 }
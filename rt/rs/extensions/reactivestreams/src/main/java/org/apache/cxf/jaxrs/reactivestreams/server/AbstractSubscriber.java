@@ -59,7 +59,7 @@ public abstract class AbstractSubscriber<T> implements Subscriber<T> {
     @Override
     public void onSubscribe(Subscription inSubscription) {
         this.subscription = inSubscription;
-        requestAll();
+        requestInitial();
     }
 
     @Override
@@ -79,6 +79,13 @@ public abstract class AbstractSubscriber<T> implements Subscriber<T> {
         return subscription;
     }
 
+    /**
+     * Signals the demand to the just subscribed publisher, requests all the elements by default
+     */
+    protected void requestInitial() {
+        requestAll();
+    }
+
     protected void requestNext() {
         request(1);
     }
@@ -90,4 +97,10 @@ public abstract class AbstractSubscriber<T> implements Subscriber<T> {
     protected final void request(long elements) {
         this.subscription.request(elements);
     }
+
+    protected void cancel() {
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
 }
@@ -19,6 +19,8 @@
 package org.apache.cxf.jaxrs.reactivestreams.server;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -31,14 +33,27 @@ import org.apache.cxf.common.util.StringUtils;
 import org.apache.cxf.jaxrs.ext.StreamingResponse;
 import org.reactivestreams.Subscription;
 
+/**
+ * Streams the elements emitted by the publisher using {@link StreamingResponse}. The demand is
+ * bounded by the prefetch size and is replenished only after the elements have been written out,
+ * so the slow clients slow down the publisher instead of the elements being accumulated in memory.
+ * The elements available at once are written in a batch followed by a single flush, and the
+ * subscription is cancelled if the response can not be written (for example, when the client
+ * disconnects).
+ */
 public class StreamingAsyncSubscriber<T> extends AbstractSubscriber<T> {
+    public static final int DEFAULT_PREFETCH = 128;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+    private static final Object COMPLETE = new Object();
 
-    private BlockingQueue<T> queue = new LinkedBlockingQueue<>();
+    private BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
     private String openTag;
     private String closeTag;
     private String separator;
     private long pollTimeout;
     private long asyncTimeout;
+    private int prefetch = DEFAULT_PREFETCH;
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
     private volatile boolean completed;
     private volatile Throwable throwable;
     
@@ -71,18 +86,28 @@ public class StreamingAsyncSubscriber<T> extends AbstractSubscriber<T> {
         }
         super.onSubscribe(subscription);
     }
+    @Override
+    protected void requestInitial() {
+        if (prefetch == Integer.MAX_VALUE) {
+            requestAll();
+        } else {
+            request(prefetch);
+        }
+    }
     private void resumeAsyncResponse() {
         super.resume(new StreamingResponseImpl());
     }
     @Override
     public void onComplete() {
         completed = true;
+        queue.add(COMPLETE);
     }
     
     @Override
     public void onError(Throwable t) {
         throwable = t;
         completed = true;
+        queue.add(COMPLETE);
         // The AsyncResponse implementation is resumable only once. If the
         // onNext() has been called, the throwable will be propagated using
         // StreamingResponseImpl, otherwise using normal resume operation.
@@ -95,30 +120,99 @@ public class StreamingAsyncSubscriber<T> extends AbstractSubscriber<T> {
             resumeAsyncResponse();
         }
         queue.add(bean);
-        super.requestNext();
     }
+
+    /**
+     * Sets the number of the elements requested from the publisher in advance, Integer.MAX_VALUE
+     * requests all the elements at once. Should be set before subscribing.
+     */
+    public void setPrefetch(int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("The prefetch size must be positive");
+        }
+        this.prefetch = prefetch;
+    }
+
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    /**
+     * Sets the maximum number of the elements written before the entity stream is flushed
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
     private class StreamingResponseImpl implements StreamingResponse<T> {
+        private int consumed;
 
         @Override
         public void writeTo(Writer<T> writer) throws IOException {
+            try {
+                doWriteTo(writer);
+            } catch (IOException | RuntimeException ex) {
+                // Most likely the client has gone away, no reason to keep the publisher busy
+                if (!completed) {
+                    cancel();
+                }
+                throw ex;
+            }
+        }
+
+        private void doWriteTo(Writer<T> writer) throws IOException {
+            final List<Object> batch = new ArrayList<>(maxBatchSize);
+            boolean done = false;
+
+            while (!done) {
+                final Object first;
+                try {
+                    first = queue.poll(pollTimeout, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException ex) {
+                    // ignore
+                    continue;
+                }
+
+                if (first == null) {
+                    continue;
+                } else if (first == COMPLETE) {
+                    break;
+                }
 
-            while (!completed || !queue.isEmpty()) {
                 if (tagsWriteDone.compareAndSet(false, true) && openTag != null) {
                     writer.getEntityStream().write(StringUtils.toBytesUTF8(openTag));
                 }
-                
-                try {
-                    T bean = queue.poll(pollTimeout, TimeUnit.MILLISECONDS);
-                    if (bean != null) {
-                        if (firstWriteDone.getAndSet(true)) {
-                            writer.getEntityStream().write(StringUtils.toBytesUTF8(separator));
-                        }
-                        writer.write(bean);
+
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+
+                int written = 0;
+                for (Object item : batch) {
+                    if (item == COMPLETE) {
+                        done = true;
+                        break;
                     }
-                } catch (InterruptedException ex) {
-                    // ignore
+                    if (firstWriteDone.getAndSet(true)) {
+                        writer.getEntityStream().write(StringUtils.toBytesUTF8(separator));
+                    }
+                    @SuppressWarnings("unchecked")
+                    final T bean = (T)item;
+                    writer.write(bean);
+                    ++written;
                 }
+                batch.clear();
+
+                writer.getEntityStream().flush();
+                replenish(written);
             }
+
             if (closeTag != null && tagsWriteDone.get()) {
                 writer.getEntityStream().write(StringUtils.toBytesUTF8(closeTag));
             }
@@ -148,6 +242,19 @@ public class StreamingAsyncSubscriber<T> extends AbstractSubscriber<T> {
             }
         }
 
+        // Requests more elements once a quarter of the prefetched ones have been written
+        // out, so the publisher is neither stalled nor able to run far ahead of the client
+        private void replenish(int written) {
+            if (prefetch == Integer.MAX_VALUE || completed) {
+                return;
+            }
+            consumed += written;
+            if (consumed >= Math.max(1, prefetch >> 2)) {
+                request(consumed);
+                consumed = 0;
+            }
+        }
+
     }
     public class TimeoutHandlerImpl implements TimeoutHandler {
 
@@ -0,0 +1,96 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.reactivestreams.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.reactivestreams.Subscription;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractSubscriberTest {
+
+    @Test
+    public void testRequestAllInitially() {
+        TestSubscription subscription = new TestSubscription();
+        TestSubscriber subscriber = new TestSubscriber(new TestAsyncResponse());
+        subscriber.onSubscribe(subscription);
+        assertEquals(1, subscription.requests.size());
+        assertEquals(Long.MAX_VALUE, subscription.requests.get(0).longValue());
+    }
+
+    @Test
+    public void testRequestInitialOverride() {
+        TestSubscription subscription = new TestSubscription();
+        TestAsyncResponse ar = new TestAsyncResponse();
+        TestSubscriber subscriber = new TestSubscriber(ar) {
+            @Override
+            protected void requestInitial() {
+                requestNext();
+            }
+        };
+        subscriber.onSubscribe(subscription);
+        assertEquals(1, subscription.requests.size());
+        assertEquals(1L, subscription.requests.get(0).longValue());
+
+        subscriber.onNext("a");
+        assertSame("a", ar.getResponse());
+    }
+
+    @Test
+    public void testCancel() {
+        TestSubscriber subscriber = new TestSubscriber(new TestAsyncResponse());
+        // nothing to cancel yet
+        subscriber.cancel();
+
+        TestSubscription subscription = new TestSubscription();
+        subscriber.onSubscribe(subscription);
+        assertFalse(subscription.cancelled);
+        subscriber.cancel();
+        assertTrue(subscription.cancelled);
+    }
+
+    private static class TestSubscriber extends AbstractSubscriber<String> {
+        TestSubscriber(TestAsyncResponse ar) {
+            super(ar);
+        }
+    }
+
+    private static class TestSubscription implements Subscription {
+        private final List<Long> requests = new ArrayList<>();
+        private boolean cancelled;
+
+        @Override
+        public void request(long n) {
+            requests.add(n);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
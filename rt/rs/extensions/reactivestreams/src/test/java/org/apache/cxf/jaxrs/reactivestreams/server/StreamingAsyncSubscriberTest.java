@@ -0,0 +1,191 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.reactivestreams.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.cxf.jaxrs.ext.StreamingResponse;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StreamingAsyncSubscriberTest {
+
+    @Test
+    public void testRequestPrefetchInitially() {
+        StreamingAsyncSubscriber<String> subscriber = createSubscriber(new TestAsyncResponse());
+        RangeSubscription subscription = new RangeSubscription(subscriber, 1000);
+        subscriber.onSubscribe(subscription);
+        assertEquals(StreamingAsyncSubscriber.DEFAULT_PREFETCH, subscription.requested);
+
+        subscriber = createSubscriber(new TestAsyncResponse());
+        subscriber.setPrefetch(Integer.MAX_VALUE);
+        subscription = new RangeSubscription(subscriber, 1000);
+        subscriber.onSubscribe(subscription);
+        assertEquals(Long.MAX_VALUE, subscription.requested);
+    }
+
+    @Test
+    public void testPrefetchBoundsOutstandingElements() throws Exception {
+        TestAsyncResponse ar = new TestAsyncResponse();
+        StreamingAsyncSubscriber<String> subscriber = createSubscriber(ar);
+        subscriber.setPrefetch(8);
+        subscriber.setMaxBatchSize(4);
+        RangeSubscription subscription = new RangeSubscription(subscriber, 20);
+        subscriber.onSubscribe(subscription);
+        assertEquals(8, subscription.requested);
+
+        TestWriter writer = new TestWriter(subscription);
+        getStreamingResponse(ar).writeTo(writer);
+
+        StringBuilder expected = new StringBuilder("[");
+        for (int i = 0; i < 20; i++) {
+            expected.append(i == 0 ? "" : ",").append(i);
+        }
+        assertEquals(expected.append(']').toString(), writer.toString());
+        // more elements are only requested once the written ones have made room for them
+        assertTrue(subscription.maxOutstanding <= 8);
+        // every batch of up to 4 elements is flushed once
+        assertEquals(5, writer.flushes);
+    }
+
+    @Test
+    public void testWriteAvailableElementsAsOneBatch() throws Exception {
+        TestAsyncResponse ar = new TestAsyncResponse();
+        StreamingAsyncSubscriber<String> subscriber = createSubscriber(ar);
+        RangeSubscription subscription = new RangeSubscription(subscriber, 10);
+        subscriber.onSubscribe(subscription);
+
+        TestWriter writer = new TestWriter(subscription);
+        getStreamingResponse(ar).writeTo(writer);
+        assertEquals("[0,1,2,3,4,5,6,7,8,9]", writer.toString());
+        assertEquals(1, writer.flushes);
+    }
+
+    @Test
+    public void testCancelOnWriteFailure() throws Exception {
+        TestAsyncResponse ar = new TestAsyncResponse();
+        StreamingAsyncSubscriber<String> subscriber = createSubscriber(ar);
+        RangeSubscription subscription = new RangeSubscription(subscriber, 1000);
+        subscriber.onSubscribe(subscription);
+
+        TestWriter writer = new TestWriter(subscription) {
+            @Override
+            public void write(String data) throws IOException {
+                throw new IOException("client has gone away");
+            }
+        };
+        try {
+            getStreamingResponse(ar).writeTo(writer);
+            fail("IOException expected");
+        } catch (IOException ex) {
+            assertTrue(subscription.cancelled);
+        }
+    }
+
+    private static StreamingAsyncSubscriber<String> createSubscriber(TestAsyncResponse ar) {
+        return new StreamingAsyncSubscriber<>(ar, "[", "]", ",", 100);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static StreamingResponse<String> getStreamingResponse(TestAsyncResponse ar) {
+        return (StreamingResponse<String>)ar.getResponse();
+    }
+
+    /**
+     * Emits the requested elements synchronously, completes once all of them have been emitted
+     */
+    private static class RangeSubscription implements Subscription {
+        private final Subscriber<String> subscriber;
+        private final int count;
+        private long requested;
+        private int emitted;
+        private int written;
+        private int maxOutstanding;
+        private boolean cancelled;
+
+        RangeSubscription(Subscriber<String> subscriber, int count) {
+            this.subscriber = subscriber;
+            this.count = count;
+        }
+
+        @Override
+        public void request(long n) {
+            requested = n == Long.MAX_VALUE ? n : requested + n;
+            while (emitted < count && emitted < requested && !cancelled) {
+                subscriber.onNext(Integer.toString(emitted++));
+                maxOutstanding = Math.max(maxOutstanding, emitted - written);
+            }
+            if (emitted == count) {
+                subscriber.onComplete();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private static class TestWriter implements StreamingResponse.Writer<String> {
+        private final RangeSubscription subscription;
+        private final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        private int flushes;
+        private final OutputStream os = new OutputStream() {
+            @Override
+            public void write(int b) {
+                bos.write(b);
+            }
+
+            @Override
+            public void flush() {
+                flushes++;
+            }
+        };
+
+        TestWriter(RangeSubscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void write(String data) throws IOException {
+            os.write(data.getBytes(StandardCharsets.UTF_8));
+            subscription.written++;
+        }
+
+        @Override
+        public OutputStream getEntityStream() {
+            return os;
+        }
+
+        @Override
+        public String toString() {
+            return new String(bos.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
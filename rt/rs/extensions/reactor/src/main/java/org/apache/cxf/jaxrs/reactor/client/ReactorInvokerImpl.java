@@ -18,35 +18,36 @@
  */
 package org.apache.cxf.jaxrs.reactor.client;
 
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.util.List;
-import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
-import java.util.stream.StreamSupport;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.Response;
 
+import org.apache.cxf.jaxrs.client.ClientProviderFactory;
 import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.jaxrs.reactivestreams.client.JsonStreamingPublisherOutput;
+import org.apache.cxf.jaxrs.reactivestreams.client.JsonStreamingResponseReader;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import static org.apache.cxf.jaxrs.reactor.client.ReactorUtils.TRACE;
-import static org.apache.cxf.jaxrs.reactor.client.ReactorUtils.toCompletableFuture;
 
 
 public class ReactorInvokerImpl implements ReactorInvoker {
     private final WebClient webClient;
-    private final ExecutorService executorService;
+    private final Scheduler scheduler;
 
     ReactorInvokerImpl(WebClient webClient, ExecutorService executorService) {
         this.webClient = webClient;
-        this.executorService = executorService;
+        this.scheduler = executorService == null ? null : Schedulers.fromExecutorService(executorService);
     }
 
     @Override
@@ -76,7 +77,7 @@ public class ReactorInvokerImpl implements ReactorInvoker {
 
     @Override
     public <R> Mono<R> put(Entity<?> entity, Class<R> responseType) {
-        return method(HttpMethod.PUT, responseType);
+        return method(HttpMethod.PUT, entity, responseType);
     }
 
     @Override
@@ -181,12 +182,12 @@ public class ReactorInvokerImpl implements ReactorInvoker {
 
     @Override
     public <R> Mono<R> method(String name, Class<R> responseType) {
-        return mono(webClient.async().method(name, responseType));
+        return mono(webClient.invokeAsync(name, null, responseType));
     }
 
     @Override
     public <R> Mono<R> method(String name, GenericType<R> genericType) {
-        return mono(webClient.async().method(name, genericType));
+        return mono(webClient.invokeAsync(name, null, genericType));
     }
 
     @Override
@@ -196,62 +197,59 @@ public class ReactorInvokerImpl implements ReactorInvoker {
 
     @Override
     public <R> Mono<R> method(String name, Entity<?> entity, Class<R> responseType) {
-        return mono(webClient.async().method(name, entity, responseType));
+        return mono(webClient.invokeAsync(name, toStreamingEntity(entity), responseType, getBodyExecutor(entity)));
     }
 
     @Override
     public <T> Flux<T> flux(String name, Entity<?> entity, Class<T> responseType) {
-        Future<Response> futureResponse = webClient.async().method(name, entity);
-        return Flux.fromStream(() -> 
-            StreamSupport.stream(toIterable(futureResponse, responseType).spliterator(), false));
+        return flux(webClient.invokeAsync(name, toStreamingEntity(entity), Response.class, getBodyExecutor(entity)),
+            responseType);
     }
 
     @Override
     public <T> Flux<T> flux(String name, Class<T> responseType) {
-        Future<Response> futureResponse = webClient.async().method(name);
-        return Flux.fromStream(() -> 
-            StreamSupport.stream(toIterable(futureResponse, responseType).spliterator(), false));
+        return flux(webClient.invokeAsync(name, null, Response.class), responseType);
     }
 
     @Override
     public <R> Mono<R> method(String name, Entity<?> entity, GenericType<R> genericType) {
-        return mono(webClient.async().method(name, entity, genericType));
+        return mono(webClient.invokeAsync(name, toStreamingEntity(entity), genericType, getBodyExecutor(entity)));
     }
 
-    private <R> Mono<R> mono(Future<R> future) {
-        return Mono.fromFuture(toCompletableFuture(future, executorService));
+    private <R> Mono<R> mono(CompletableFuture<R> future) {
+        // The errors are reported wrapped as they used to be by Future.get()
+        final Mono<R> mono = Mono.fromFuture(future).onErrorMap(ExecutionException::new);
+        return scheduler == null ? mono : mono.publishOn(scheduler);
     }
 
-    private <R> Iterable<R> toIterable(Future<Response> futureResponse, Class<R> type) {
-        try {
-            Response response = futureResponse.get();
-            GenericType<List<R>> rGenericType = new GenericType<>(new WrappedType<R>(type));
-            return response.readEntity(rGenericType);
-        } catch (InterruptedException | ExecutionException e) {
-            throw new CompletionException(e);
-        }
+    // The elements are read from the response stream as they are requested, the blocking
+    // reads are done by the worker threads rather than by the transport ones
+    private <T> Flux<T> flux(CompletableFuture<Response> futureResponse, Class<T> responseType) {
+        final Scheduler readScheduler = getScheduler();
+        return Mono.fromFuture(futureResponse).flatMapMany(response -> Flux.using(
+            () -> new JsonStreamingResponseReader<>(response, responseType, getProviderFactory()),
+            reader -> Flux.fromIterable(() -> reader),
+            JsonStreamingResponseReader::close).subscribeOn(readScheduler));
     }
 
-    private class WrappedType<R> implements ParameterizedType {
-        private final Class<R> rClass;
-
-        WrappedType(Class<R> rClass) {
-            this.rClass = rClass;
+    // The publisher entity is written as its elements are emitted, the worker thread rather
+    // than the caller one waits for them
+    private Executor getBodyExecutor(Entity<?> entity) {
+        if (entity == null || !(entity.getEntity() instanceof Publisher)) {
+            return null;
         }
+        return getScheduler()::schedule;
+    }
 
-        @Override
-        public Type[] getActualTypeArguments() {
-            return new Type[]{rClass };
-        }
+    private Scheduler getScheduler() {
+        return scheduler == null ? Schedulers.boundedElastic() : scheduler;
+    }
 
-        @Override
-        public Type getRawType() {
-            return List.class;
-        }
+    private Entity<?> toStreamingEntity(Entity<?> entity) {
+        return JsonStreamingPublisherOutput.toStreamingEntity(entity, getProviderFactory());
+    }
 
-        @Override
-        public Type getOwnerType() {
-            return List.class;
-        }
+    private ClientProviderFactory getProviderFactory() {
+        return ClientProviderFactory.getInstance(WebClient.getConfig(webClient).getEndpoint());
     }
 }
@@ -103,5 +103,15 @@ public interface FlowableRxInvoker extends RxInvoker<Flowable> {
 
     @Override
     <T> Flowable<T> method(String name, Entity<?> entity, GenericType<T> responseType);
+
+    /**
+     * Streams the elements of the JSON array or NDJSON response as they are read
+     */
+    <T> Flowable<T> stream(String name, Class<T> responseType);
+
+    /**
+     * Streams the elements of the JSON array or NDJSON response as they are read
+     */
+    <T> Flowable<T> stream(String name, Entity<?> entity, Class<T> responseType);
 }
 
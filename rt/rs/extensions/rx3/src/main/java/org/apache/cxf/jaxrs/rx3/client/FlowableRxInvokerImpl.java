@@ -18,6 +18,9 @@
  */
 package org.apache.cxf.jaxrs.rx3.client;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 
@@ -27,6 +30,13 @@ import javax.ws.rs.client.SyncInvoker;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.Response;
 
+import org.apache.cxf.jaxrs.client.ClientProviderFactory;
+import org.apache.cxf.jaxrs.client.SyncInvokerImpl;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.jaxrs.reactivestreams.client.JsonStreamingPublisherOutput;
+import org.apache.cxf.jaxrs.reactivestreams.client.JsonStreamingResponseReader;
+import org.reactivestreams.Publisher;
+
 import io.reactivex.rxjava3.core.BackpressureStrategy;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.core.FlowableEmitter;
@@ -37,9 +47,12 @@ import io.reactivex.rxjava3.schedulers.Schedulers;
 public class FlowableRxInvokerImpl implements FlowableRxInvoker {
     private final Scheduler sc;
     private final SyncInvoker syncInvoker;
+    private final WebClient webClient;
     
     public FlowableRxInvokerImpl(SyncInvoker syncInvoker, ExecutorService ex) {
         this.syncInvoker = syncInvoker;
+        this.webClient = syncInvoker instanceof SyncInvokerImpl
+            ? ((SyncInvokerImpl)syncInvoker).getWebClient() : null;
         this.sc = ex == null ? null : Schedulers.from(ex);
     }
 
@@ -150,24 +163,76 @@ public class FlowableRxInvokerImpl implements FlowableRxInvoker {
 
     @Override
     public <T> Flowable<T> method(String name, Entity<?> entity, Class<T> responseType) {
+        if (webClient != null) {
+            return createAsync(() -> webClient.invokeAsync(name, toStreamingEntity(entity), responseType,
+                getBodyExecutor(entity)));
+        }
         return create(() -> syncInvoker.method(name, entity, responseType));
     }
     
     @Override
     public <T> Flowable<T> method(String name, Entity<?> entity, GenericType<T> responseType) {
+        if (webClient != null) {
+            return createAsync(() -> webClient.invokeAsync(name, toStreamingEntity(entity), responseType,
+                getBodyExecutor(entity)));
+        }
         return create(() -> syncInvoker.method(name, entity, responseType));
     }
 
     @Override
     public <T> Flowable<T> method(String name, Class<T> responseType) {
+        if (webClient != null) {
+            return createAsync(() -> webClient.invokeAsync(name, null, responseType));
+        }
         return create(() -> syncInvoker.method(name, responseType));
     }
 
     @Override
     public <T> Flowable<T> method(String name, GenericType<T> responseType) {
+        if (webClient != null) {
+            return createAsync(() -> webClient.invokeAsync(name, null, responseType));
+        }
         return create(() -> syncInvoker.method(name, responseType));
     }
     
+    @Override
+    public <T> Flowable<T> stream(String name, Class<T> responseType) {
+        return stream(name, null, responseType);
+    }
+
+    @Override
+    public <T> Flowable<T> stream(String name, Entity<?> entity, Class<T> responseType) {
+        // The elements are read from the response stream as they are requested, the blocking
+        // reads are done by the scheduler threads rather than by the transport ones
+        return method(name, entity, Response.class).flatMap(response -> Flowable.using(
+            () -> new JsonStreamingResponseReader<>(response, responseType, getProviderFactory()),
+            reader -> Flowable.fromIterable(() -> reader),
+            JsonStreamingResponseReader::close).subscribeOn(sc == null ? Schedulers.io() : sc));
+    }
+
+    // Completes the flowable from the transport callback, no thread waits for the response
+    private <T> Flowable<T> createAsync(Callable<CompletableFuture<T>> invocation) {
+        Flowable<T> flowable = Flowable.create(new FlowableOnSubscribe<T>() {
+            @Override
+            public void subscribe(FlowableEmitter<T> emitter) throws Exception {
+                invocation.call().whenComplete((response, error) -> {
+                    if (emitter.isCancelled()) {
+                        return;
+                    } else if (error != null) {
+                        emitter.onError(error);
+                    } else {
+                        if (response != null) {
+                            emitter.onNext(response);
+                        }
+                        emitter.onComplete();
+                    }
+                });
+            }
+        }, BackpressureStrategy.BUFFER);
+
+        return sc == null ? flowable : flowable.observeOn(sc);
+    }
+
     private <T> Flowable<T> create(Supplier<T> supplier) {
         Flowable<T> flowable = Flowable.create(new FlowableOnSubscribe<T>() {
             @Override
@@ -196,4 +261,21 @@ public class FlowableRxInvokerImpl implements FlowableRxInvoker {
         return flowable.subscribeOn(sc).observeOn(sc);
     }
 
+    // The publisher entity is written as its elements are emitted, the scheduler thread rather
+    // than the subscribing one waits for them
+    private Executor getBodyExecutor(Entity<?> entity) {
+        if (entity == null || !(entity.getEntity() instanceof Publisher)) {
+            return null;
+        }
+        final Scheduler scheduler = sc == null ? Schedulers.io() : sc;
+        return scheduler::scheduleDirect;
+    }
+
+    private Entity<?> toStreamingEntity(Entity<?> entity) {
+        return JsonStreamingPublisherOutput.toStreamingEntity(entity, getProviderFactory());
+    }
+
+    private ClientProviderFactory getProviderFactory() {
+        return ClientProviderFactory.getInstance(WebClient.getConfig(webClient).getEndpoint());
+    }
 }
@@ -396,13 +396,12 @@ public class MicroProfileClientProxyImpl extends ClientProxyImpl {
 
     @Override
     @SuppressWarnings("unchecked")
-    protected void handleHeaders(Method m,
+    protected void handleHeaders(InvocationPlan plan,
                                  Object[] params,
-                                 MultivaluedMap<String, String> headers,
-                                 List<Parameter> beanParams,
-                                 MultivaluedMap<ParameterType, Parameter> map) {
-        super.handleHeaders(m, params, headers, beanParams, map);
+                                 MultivaluedMap<String, String> headers) {
+        super.handleHeaders(plan, params, headers);
 
+        Method m = plan.getMethod();
         try {
             Class<?> declaringClass = m.getDeclaringClass();
             ClientHeaderParam[] clientHeaderAnnosOnInterface = declaringClass
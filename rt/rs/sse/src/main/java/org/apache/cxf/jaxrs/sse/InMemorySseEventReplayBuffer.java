@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.sse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.sse.OutboundSseEvent;
+
+/**
+ * Bounded in-memory ring buffer of the recently broadcasted events, the oldest events are
+ * discarded once the maximum number of events is reached or the maximum age is exceeded.
+ */
+public class InMemorySseEventReplayBuffer implements SseEventReplayBuffer {
+    public static final int DEFAULT_MAX_EVENTS = 1000;
+
+    private final Deque<RetainedEvent> events = new ArrayDeque<>();
+    private final int maxEvents;
+    private final long maxAge;
+
+    public InMemorySseEventReplayBuffer() {
+        this(DEFAULT_MAX_EVENTS);
+    }
+
+    public InMemorySseEventReplayBuffer(int maxEvents) {
+        this(maxEvents, -1, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param maxEvents the maximum number of the retained events
+     * @param maxAge the maximum age of the retained events, negative value means no limit
+     * @param unit the time unit of the maximum age
+     */
+    public InMemorySseEventReplayBuffer(int maxEvents, long maxAge, TimeUnit unit) {
+        if (maxEvents <= 0) {
+            throw new IllegalArgumentException("The maximum number of events must be positive");
+        }
+        this.maxEvents = maxEvents;
+        this.maxAge = maxAge < 0 ? -1 : unit.toNanos(maxAge);
+    }
+
+    @Override
+    public synchronized void append(OutboundSseEvent event) {
+        final long now = System.nanoTime();
+        expire(now);
+        if (events.size() == maxEvents) {
+            events.removeFirst();
+        }
+        events.addLast(new RetainedEvent(event, now));
+    }
+
+    @Override
+    public synchronized List<OutboundSseEvent> getEventsAfter(String lastEventId) {
+        if (lastEventId == null) {
+            return Collections.emptyList();
+        }
+
+        expire(System.nanoTime());
+
+        // Looking from the most recent events since the reconnecting clients are usually not far behind
+        final Iterator<RetainedEvent> it = events.descendingIterator();
+        int missed = 0;
+        while (it.hasNext()) {
+            if (lastEventId.equals(it.next().event.getId())) {
+                final List<OutboundSseEvent> result = new ArrayList<>(missed);
+                final Iterator<RetainedEvent> tail = events.descendingIterator();
+                for (int i = 0; i < missed; ++i) {
+                    result.add(tail.next().event);
+                }
+                Collections.reverse(result);
+                return result;
+            }
+            ++missed;
+        }
+
+        return Collections.emptyList();
+    }
+
+    public synchronized int size() {
+        return events.size();
+    }
+
+    private void expire(long now) {
+        if (maxAge >= 0) {
+            while (!events.isEmpty() && now - events.peekFirst().timestamp > maxAge) {
+                events.removeFirst();
+            }
+        }
+    }
+
+    private static class RetainedEvent {
+        private final OutboundSseEvent event;
+        private final long timestamp;
+
+        RetainedEvent(OutboundSseEvent event, long timestamp) {
+            this.event = event;
+            this.timestamp = timestamp;
+        }
+    }
+}
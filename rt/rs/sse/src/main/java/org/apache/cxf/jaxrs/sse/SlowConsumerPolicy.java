@@ -0,0 +1,38 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.jaxrs.sse;
+
+/**
+ * Determines what the broadcaster does with a sink which has too many events queued.
+ */
+public enum SlowConsumerPolicy {
+    /**
+     * The event is offered to the sink which fails it once its buffer is full
+     */
+    FAIL,
+    /**
+     * The event is not sent to the sink, the sink will receive the later events
+     */
+    DROP,
+    /**
+     * The sink is closed and removed from the broadcaster
+     */
+    EVICT
+}
@@ -18,29 +18,55 @@
  */
 package org.apache.cxf.jaxrs.sse;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.servlet.AsyncContext;
 import javax.servlet.AsyncEvent;
 import javax.servlet.AsyncListener;
+import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.sse.OutboundSseEvent;
 import javax.ws.rs.sse.SseBroadcaster;
 import javax.ws.rs.sse.SseEventSink;
 
+import org.apache.cxf.common.logging.LogUtils;
+
 public final class SseBroadcasterImpl implements SseBroadcaster {
+    public static final String SERIALIZE_ONCE_PROPERTY = "org.apache.cxf.sse.broadcaster.serialize.once";
+    public static final String SLOW_CONSUMER_POLICY_PROPERTY = "org.apache.cxf.sse.broadcaster.slow.consumer.policy";
+    public static final String MAX_QUEUED_EVENTS_PROPERTY = "org.apache.cxf.sse.broadcaster.max.queued.events";
+    public static final String REPLAY_BUFFER_PROPERTY = "org.apache.cxf.sse.broadcaster.replay.buffer";
+    public static final String REPLAY_BUFFER_SIZE_PROPERTY = "org.apache.cxf.sse.broadcaster.replay.buffer.size";
+    public static final String REPLAY_BUFFER_MAX_AGE_PROPERTY = "org.apache.cxf.sse.broadcaster.replay.buffer.max.age";
+
+    private static final Annotation[] EMPTY_ANNOTATIONS = new Annotation [] {};
+    private static final Logger LOG = LogUtils.getL7dLogger(SseBroadcasterImpl.class);
+
     private final Set<SseEventSink> subscribers = new CopyOnWriteArraySet<>();
     private final Set<Consumer<SseEventSink>> closers = new CopyOnWriteArraySet<>();
     private final Set<BiConsumer<SseEventSink, Throwable>> exceptioners = new CopyOnWriteArraySet<>();
     private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder evictedSinks = new LongAdder();
+    private boolean serializeOnce;
+    private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.FAIL;
+    private int maxQueuedEvents = Integer.MAX_VALUE;
+    private final Object replayLock = new Object();
+    private volatile SseEventReplayBuffer replayBuffer;
 
     @Override
     public void register(SseEventSink sink) {
@@ -75,17 +101,55 @@ public final class SseBroadcasterImpl implements SseBroadcaster {
             }
         });
 
-        subscribers.add(sink);
+        final SseEventReplayBuffer buffer = replayBuffer;
+        if (buffer == null) {
+            subscribers.add(sink);
+        } else {
+            // The missed events are queued while holding the lock so none of the
+            // concurrently broadcasted events could be sent before them or lost
+            synchronized (replayLock) {
+                final List<OutboundSseEvent> missed = buffer.getEventsAfter(sinkImpl.getLastEventId());
+                subscribers.add(sink);
+                for (OutboundSseEvent event: missed) {
+                    try {
+                        sink.send(event);
+                    } catch (final Exception ex) {
+                        exceptioners.forEach(exceptioner -> exceptioner.accept(sink, ex));
+                    }
+                }
+            }
+        }
     }
 
     @Override
     public CompletionStage<?> broadcast(OutboundSseEvent event) {
         assertNotClosed();
 
+        final OutboundSseEvent theEvent = serializeOnce ? serialize(event) : event;
+        final Collection<SseEventSink> sinks;
+        final SseEventReplayBuffer buffer = replayBuffer;
+        if (buffer == null) {
+            sinks = subscribers;
+        } else {
+            synchronized (replayLock) {
+                buffer.append(theEvent);
+                sinks = new ArrayList<>(subscribers);
+            }
+        }
+
         final Collection<CompletableFuture<?>> futures = new ArrayList<>();
-        for (SseEventSink sink: subscribers) {
+        for (SseEventSink sink: sinks) {
+            if (isSlowConsumer(sink)) {
+                if (slowConsumerPolicy == SlowConsumerPolicy.DROP) {
+                    droppedEvents.increment();
+                    continue;
+                } else if (slowConsumerPolicy == SlowConsumerPolicy.EVICT) {
+                    evict(sink);
+                    continue;
+                }
+            }
             try {
-                futures.add(sink.send(event).toCompletableFuture());
+                futures.add(sink.send(theEvent).toCompletableFuture());
             } catch (final Exception ex) {
                 exceptioners.forEach(exceptioner -> exceptioner.accept(sink, ex));
             }
@@ -115,6 +179,87 @@ public final class SseBroadcasterImpl implements SseBroadcaster {
         }
     }
 
+    /**
+     * Sets whether the event is serialized only once into the frame shared by all the sinks,
+     * the message body writers of the first registered sink are used. It should only be enabled
+     * when all the sinks are created by the same endpoint.
+     */
+    public void setSerializeOnce(boolean serializeOnce) {
+        this.serializeOnce = serializeOnce;
+    }
+
+    public void setSlowConsumerPolicy(SlowConsumerPolicy slowConsumerPolicy) {
+        this.slowConsumerPolicy = slowConsumerPolicy;
+    }
+
+    /**
+     * Sets the number of queued events after which the sink is considered to be a slow consumer,
+     * the sink buffer size is used by default
+     */
+    public void setMaxQueuedEvents(int maxQueuedEvents) {
+        this.maxQueuedEvents = maxQueuedEvents;
+    }
+
+    /**
+     * Sets the buffer retaining the broadcasted events, the sinks registered by the clients
+     * reconnecting with the Last-Event-ID header receive the events they have missed first.
+     */
+    public void setReplayBuffer(SseEventReplayBuffer replayBuffer) {
+        this.replayBuffer = replayBuffer;
+    }
+
+    public SseEventReplayBuffer getReplayBuffer() {
+        return replayBuffer;
+    }
+
+    /**
+     * Returns the number of the events which have not been sent to the slow consumers
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Returns the number of the slow consumers which have been evicted
+     */
+    public long getEvictedSinkCount() {
+        return evictedSinks.sum();
+    }
+
+    private boolean isSlowConsumer(SseEventSink sink) {
+        if (slowConsumerPolicy == SlowConsumerPolicy.FAIL || !(sink instanceof SseEventSinkImpl)) {
+            return false;
+        }
+        final SseEventSinkImpl sinkImpl = (SseEventSinkImpl)sink;
+        return sinkImpl.getQueuedEvents() >= Math.min(maxQueuedEvents, sinkImpl.getBufferSize());
+    }
+
+    private void evict(SseEventSink sink) {
+        if (subscribers.remove(sink)) {
+            LOG.fine("Evicting the slow SSE consumer");
+            evictedSinks.increment();
+            ((SseEventSinkImpl)sink).abort();
+        }
+    }
+
+    private OutboundSseEvent serialize(OutboundSseEvent event) {
+        for (SseEventSink sink: subscribers) {
+            if (sink instanceof SseEventSinkImpl && ((SseEventSinkImpl)sink).getWriter() != null) {
+                final MessageBodyWriter<OutboundSseEvent> writer = ((SseEventSinkImpl)sink).getWriter();
+                try {
+                    final ByteArrayOutputStream os = new ByteArrayOutputStream();
+                    writer.writeTo(event, event.getClass(), event.getGenericType(), EMPTY_ANNOTATIONS,
+                        event.getMediaType(), null, os);
+                    return new SerializedSseEvent(event, os.toByteArray());
+                } catch (final Exception ex) {
+                    LOG.log(Level.FINE, "SSE event can not be serialized once, every sink will serialize it", ex);
+                }
+                break;
+            }
+        }
+        return event;
+    }
+
     private void assertNotClosed() {
         if (closed.get()) {
             throw new IllegalStateException("The SSE broadcaster is already closed");
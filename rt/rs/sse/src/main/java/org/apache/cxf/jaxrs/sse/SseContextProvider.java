@@ -26,6 +26,6 @@ import org.apache.cxf.message.Message;
 public class SseContextProvider implements ContextProvider<Sse> {
     @Override
     public Sse createContext(Message message) {
-        return new SseImpl();
+        return new SseImpl(message);
     }
 }
@@ -0,0 +1,45 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.sse;
+
+import java.util.List;
+
+import javax.ws.rs.sse.OutboundSseEvent;
+
+/**
+ * Retains the events broadcasted by {@link SseBroadcasterImpl} so that the clients
+ * reconnecting with the Last-Event-ID header could receive the events they have missed
+ * before being switched to the live stream. The implementations may keep the events
+ * in memory or delegate to the external stores and must be thread-safe.
+ */
+public interface SseEventReplayBuffer {
+    /**
+     * Retains the broadcasted event
+     * @param event the event
+     */
+    void append(OutboundSseEvent event);
+
+    /**
+     * Returns the retained events which have been broadcasted after the event with the
+     * given identifier, in the order they have been broadcasted.
+     * @param lastEventId the identifier of the last event received by the client
+     * @return the missed events or an empty list if the event is not known (anymore)
+     */
+    List<OutboundSseEvent> getEventsAfter(String lastEventId);
+}
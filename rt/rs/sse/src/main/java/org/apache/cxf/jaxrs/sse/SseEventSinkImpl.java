@@ -34,7 +34,9 @@ import java.util.logging.Logger;
 import javax.servlet.AsyncContext;
 import javax.servlet.AsyncEvent;
 import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.sse.OutboundSseEvent;
 import javax.ws.rs.sse.SseEventSink;
@@ -124,16 +126,54 @@ public class SseEventSinkImpl implements SseEventSink {
     public AsyncContext getAsyncContext() {
         return ctx;
     }
-    
+
+    /**
+     * Returns the value of the Last-Event-ID header sent by the reconnecting client (if any)
+     */
+    public String getLastEventId() {
+        try {
+            if (ctx.getRequest() instanceof HttpServletRequest) {
+                return ((HttpServletRequest)ctx.getRequest()).getHeader(HttpHeaders.LAST_EVENT_ID_HEADER);
+            }
+        } catch (final IllegalStateException ex) {
+            LOG.fine("Unable to retrieve the Last-Event-ID header: " + ex.getMessage());
+        }
+        return null;
+    }
+
+    MessageBodyWriter<OutboundSseEvent> getWriter() {
+        return writer;
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+
+    int getQueuedEvents() {
+        return buffer.size();
+    }
+
     @Override
     public void close() {
+        close(true);
+    }
+
+    /**
+     * Closes the sink without waiting for the queued events to be sent, the events
+     * which have not been sent yet are completed exceptionally.
+     */
+    void abort() {
+        close(false);
+    }
+
+    private void close(boolean awaitDrain) {
         if (closed.compareAndSet(false, true)) {
             LOG.fine("Closing SSE sink now");
             
             // In case we are still dispatching, give the events the chance to be
             // sent over to the consumers. The good example would be sent(event) call,
             // immediately followed by the close() call.
-            if (!awaitQueueToDrain(5, TimeUnit.SECONDS)) {
+            if (awaitDrain && !awaitQueueToDrain(5, TimeUnit.SECONDS)) {
                 LOG.warning("There are still SSE events the queue which may not be delivered (closing now)");
             }
             
@@ -235,8 +275,12 @@ public class SseEventSinkImpl implements SseEventSink {
                     if (error == null) {
                         LOG.fine("Dispatching SSE event over the wire");
                         
-                        writer.writeTo(event, event.getClass(), event.getGenericType(), EMPTY_ANNOTATIONS,
-                            event.getMediaType(), null, ctx.getResponse().getOutputStream());
+                        if (event instanceof SerializedSseEvent) {
+                            ctx.getResponse().getOutputStream().write(((SerializedSseEvent)event).getFrame());
+                        } else {
+                            writer.writeTo(event, event.getClass(), event.getGenericType(), EMPTY_ANNOTATIONS,
+                                event.getMediaType(), null, ctx.getResponse().getOutputStream());
+                        }
                         ctx.getResponse().flushBuffer();
                         
                         LOG.fine("Completing the future successfully");
@@ -18,12 +18,25 @@
  */
 package org.apache.cxf.jaxrs.sse;
 
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
 import javax.ws.rs.sse.OutboundSseEvent.Builder;
 import javax.ws.rs.sse.Sse;
 import javax.ws.rs.sse.SseBroadcaster;
 
+import org.apache.cxf.common.util.PropertyUtils;
+import org.apache.cxf.message.Message;
+
 class SseImpl implements Sse {
+    private final Message message;
+
     SseImpl() {
+        this(null);
+    }
+
+    SseImpl(Message message) {
+        this.message = message;
     }
 
     @Override
@@ -33,6 +46,37 @@ class SseImpl implements Sse {
 
     @Override
     public SseBroadcaster newBroadcaster() {
-        return new SseBroadcasterImpl();
+        final SseBroadcasterImpl broadcaster = new SseBroadcasterImpl();
+        if (message != null) {
+            broadcaster.setSerializeOnce(
+                PropertyUtils.isTrue(message.getContextualProperty(SseBroadcasterImpl.SERIALIZE_ONCE_PROPERTY)));
+            final Object policy = message.getContextualProperty(SseBroadcasterImpl.SLOW_CONSUMER_POLICY_PROPERTY);
+            if (policy != null) {
+                broadcaster.setSlowConsumerPolicy(
+                    SlowConsumerPolicy.valueOf(policy.toString().toUpperCase(Locale.ENGLISH)));
+            }
+            final Integer maxQueuedEvents =
+                PropertyUtils.getInteger(message, SseBroadcasterImpl.MAX_QUEUED_EVENTS_PROPERTY);
+            if (maxQueuedEvents != null) {
+                broadcaster.setMaxQueuedEvents(maxQueuedEvents);
+            }
+            broadcaster.setReplayBuffer(getReplayBuffer());
+        }
+        return broadcaster;
+    }
+
+    private SseEventReplayBuffer getReplayBuffer() {
+        final Object buffer = message.getContextualProperty(SseBroadcasterImpl.REPLAY_BUFFER_PROPERTY);
+        if (buffer instanceof SseEventReplayBuffer) {
+            return (SseEventReplayBuffer)buffer;
+        }
+
+        final Integer size = PropertyUtils.getInteger(message, SseBroadcasterImpl.REPLAY_BUFFER_SIZE_PROPERTY);
+        final Long maxAge = PropertyUtils.getLong(message, SseBroadcasterImpl.REPLAY_BUFFER_MAX_AGE_PROPERTY);
+        if (size == null && maxAge == null && !PropertyUtils.isTrue(buffer)) {
+            return null;
+        }
+        return new InMemorySseEventReplayBuffer(size != null ? size : InMemorySseEventReplayBuffer.DEFAULT_MAX_EVENTS,
+            maxAge != null ? maxAge : -1, TimeUnit.MILLISECONDS);
     }
 }
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.cxf.jaxrs.sse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.sse.OutboundSseEvent;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class InMemorySseEventReplayBufferTest {
+    @Test
+    public void testEventsAfterLastEventIdAreReturned() {
+        final InMemorySseEventReplayBuffer buffer = new InMemorySseEventReplayBuffer(10);
+        for (int i = 0; i < 5; ++i) {
+            buffer.append(newEvent(i));
+        }
+
+        final List<OutboundSseEvent> events = buffer.getEventsAfter("2");
+        assertThat(events.size(), equalTo(2));
+        assertThat(events.get(0).getId(), equalTo("3"));
+        assertThat(events.get(1).getId(), equalTo("4"));
+        assertTrue(buffer.getEventsAfter("4").isEmpty());
+        assertTrue(buffer.getEventsAfter(null).isEmpty());
+    }
+
+    @Test
+    public void testOldestEventsAreDiscarded() {
+        final InMemorySseEventReplayBuffer buffer = new InMemorySseEventReplayBuffer(3);
+        for (int i = 0; i < 5; ++i) {
+            buffer.append(newEvent(i));
+        }
+
+        assertThat(buffer.size(), equalTo(3));
+        assertTrue(buffer.getEventsAfter("1").isEmpty());
+        assertThat(buffer.getEventsAfter("2").size(), equalTo(2));
+    }
+
+    @Test
+    public void testExpiredEventsAreDiscarded() throws InterruptedException {
+        final InMemorySseEventReplayBuffer buffer = new InMemorySseEventReplayBuffer(10, 50, TimeUnit.MILLISECONDS);
+        buffer.append(newEvent(0));
+        buffer.append(newEvent(1));
+        Thread.sleep(100);
+
+        assertTrue(buffer.getEventsAfter("0").isEmpty());
+        assertThat(buffer.size(), equalTo(0));
+    }
+
+    private static OutboundSseEvent newEvent(int id) {
+        return new OutboundSseEventImpl.BuilderImpl().id(Integer.toString(id)).data("event " + id).build();
+    }
+}
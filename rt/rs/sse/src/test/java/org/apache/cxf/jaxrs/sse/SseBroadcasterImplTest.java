@@ -25,6 +25,7 @@ import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.LongAdder;
 
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.sse.OutboundSseEvent;
 import javax.ws.rs.sse.SseBroadcaster;
@@ -38,8 +39,13 @@ import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class SseBroadcasterImplTest {
@@ -119,4 +125,80 @@ public class SseBroadcasterImplTest {
 
         assertThat(adder.intValue(), equalTo(1));
     }
+
+    @Test
+    public void testEventIsSerializedOnce() throws WebApplicationException, IOException {
+        final SseBroadcasterImpl serializingBroadcaster = new SseBroadcasterImpl();
+        serializingBroadcaster.setSerializeOnce(true);
+        serializingBroadcaster.register(new SseEventSinkImpl(writer, null, ctx));
+        serializingBroadcaster.register(new SseEventSinkImpl(writer, null,
+            new MockAsyncContext(new MockHttpServletRequest(), new MockHttpServletResponse())));
+
+        final OutboundSseEvent event = new OutboundSseEventImpl.BuilderImpl().data("tick").build();
+        serializingBroadcaster.broadcast(event);
+
+        verify(writer, times(1)).writeTo(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testSlowConsumerEventIsDropped() throws WebApplicationException, IOException {
+        final SseBroadcasterImpl droppingBroadcaster = new SseBroadcasterImpl();
+        droppingBroadcaster.setSlowConsumerPolicy(SlowConsumerPolicy.DROP);
+        droppingBroadcaster.setMaxQueuedEvents(10);
+        final SseEventSinkImpl sink = new SlowSseEventSink(writer, ctx);
+        droppingBroadcaster.register(sink);
+
+        droppingBroadcaster.broadcast(new OutboundSseEventImpl.BuilderImpl().data("tick").build());
+
+        verify(writer, never()).writeTo(any(), any(), any(), any(), any(), any(), any());
+        assertThat(droppingBroadcaster.getDroppedEventCount(), equalTo(1L));
+        assertThat(sink.isClosed(), equalTo(false));
+    }
+
+    @Test
+    public void testSlowConsumerIsEvicted() throws WebApplicationException, IOException {
+        final SseBroadcasterImpl evictingBroadcaster = new SseBroadcasterImpl();
+        evictingBroadcaster.setSlowConsumerPolicy(SlowConsumerPolicy.EVICT);
+        evictingBroadcaster.setMaxQueuedEvents(10);
+        final SseEventSinkImpl sink = new SlowSseEventSink(writer, ctx);
+        evictingBroadcaster.register(sink);
+
+        evictingBroadcaster.broadcast(new OutboundSseEventImpl.BuilderImpl().data("tick").build());
+        evictingBroadcaster.broadcast(new OutboundSseEventImpl.BuilderImpl().data("tick").build());
+
+        verify(writer, never()).writeTo(any(), any(), any(), any(), any(), any(), any());
+        assertThat(evictingBroadcaster.getEvictedSinkCount(), equalTo(1L));
+        assertTrue(sink.isClosed());
+    }
+
+    @Test
+    public void testMissedEventsAreReplayed() throws WebApplicationException, IOException {
+        final SseBroadcasterImpl replayingBroadcaster = new SseBroadcasterImpl();
+        replayingBroadcaster.setReplayBuffer(new InMemorySseEventReplayBuffer(10));
+        replayingBroadcaster.register(new SseEventSinkImpl(writer, null, ctx));
+
+        final OutboundSseEvent first = new OutboundSseEventImpl.BuilderImpl().id("1").data("first").build();
+        final OutboundSseEvent second = new OutboundSseEventImpl.BuilderImpl().id("2").data("second").build();
+        replayingBroadcaster.broadcast(first);
+        replayingBroadcaster.broadcast(second);
+
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.LAST_EVENT_ID_HEADER, "1");
+        replayingBroadcaster.register(new SseEventSinkImpl(writer, null,
+            new MockAsyncContext(request, new MockHttpServletResponse())));
+
+        verify(writer, times(1)).writeTo(eq(first), any(), any(), any(), any(), any(), any());
+        verify(writer, times(2)).writeTo(eq(second), any(), any(), any(), any(), any(), any());
+    }
+
+    private static class SlowSseEventSink extends SseEventSinkImpl {
+        SlowSseEventSink(MessageBodyWriter<OutboundSseEvent> writer, MockAsyncContext ctx) {
+            super(writer, null, ctx);
+        }
+
+        @Override
+        int getQueuedEvents() {
+            return 10;
+        }
+    }
 }
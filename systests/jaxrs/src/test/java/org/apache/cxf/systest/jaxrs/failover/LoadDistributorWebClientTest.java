@@ -21,9 +21,11 @@ package org.apache.cxf.systest.jaxrs.failover;
 
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import org.apache.cxf.clustering.LatencyAwareStrategy;
 import org.apache.cxf.clustering.LoadDistributorFeature;
 import org.apache.cxf.clustering.SequentialStrategy;
 import org.apache.cxf.jaxrs.client.WebClient;
@@ -78,7 +80,31 @@ public class LoadDistributorWebClientTest extends AbstractBusClientServerTestBas
         b = webClient.get(Book.class);
         assertEquals(124L, b.getId());
         assertEquals("root", b.getName());
+    }
+
+    @Test
+    public void testLatencyAwareLoadDistributor() throws Exception {
+        URL busFile = LoadDistributorWebClientTest.class.getResource("cxf-client.xml");
+
+        String address1 = "http://localhost:" + PORT1 + "/bookstore";
+        String address2 = "http://localhost:" + PORT2 + "/bookstore";
+
+        LoadDistributorFeature feature = new LoadDistributorFeature();
+        LatencyAwareStrategy strategy = new LatencyAwareStrategy();
+        strategy.setAlternateAddresses(Arrays.asList(address1, address2));
+        feature.setStrategy(strategy);
+
+        WebClient webClient = WebClient.create(address1, null,
+                                               Collections.singletonList(feature),
+                                               busFile.toString()).accept("application/xml");
 
+        for (int i = 0; i < 4; i++) {
+            Book b = webClient.get(Book.class);
+            assertEquals(124L, b.getId());
+            assertEquals("root", b.getName());
+        }
+        assertEquals(0, strategy.getOutstandingRequests(address1) + strategy.getOutstandingRequests(address2));
+        assertTrue(strategy.getAverageLatency(address1) > 0 || strategy.getAverageLatency(address2) > 0);
     }
 
-}
\ No newline at end of file
+}
@@ -24,9 +24,11 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import javax.ws.rs.HttpMethod;
 import javax.ws.rs.InternalServerErrorException;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
@@ -38,9 +40,11 @@ import org.apache.cxf.jaxrs.client.WebClient;
 import org.apache.cxf.jaxrs.model.AbstractResourceInfo;
 import org.apache.cxf.jaxrs.rx3.client.FlowableRxInvoker;
 import org.apache.cxf.jaxrs.rx3.client.FlowableRxInvokerProvider;
+import org.apache.cxf.systest.jaxrs.Book;
 import org.apache.cxf.testutil.common.AbstractBusClientServerTestBase;
 
 import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.processors.UnicastProcessor;
 import io.reactivex.rxjava3.subscribers.TestSubscriber;
 
 import org.junit.BeforeClass;
@@ -264,6 +268,66 @@ public class JAXRSRxJava3FlowableTest extends AbstractBusClientServerTestBase {
         subscriber.assertResult(new HelloWorldBean("Hello", "World"));
     }
 
+    @Test
+    public void testStreamHelloWorldJson() throws Exception {
+        String address = "http://localhost:" + PORT + "/rx3/flowable/textJsonImplicitListAsyncStream";
+        List<Object> providers = new LinkedList<>();
+        providers.add(new JacksonJsonProvider());
+        providers.add(new FlowableRxInvokerProvider());
+        WebClient wc = WebClient.create(address, providers);
+        Flowable<HelloWorldBean> obs = wc.accept("application/json")
+            .rx(FlowableRxInvoker.class)
+            .stream(HttpMethod.GET, HelloWorldBean.class);
+
+        final TestSubscriber<HelloWorldBean> subscriber = new TestSubscriber<>();
+        obs.subscribe(subscriber);
+
+        subscriber.await(3, TimeUnit.SECONDS);
+        subscriber.assertResult(new HelloWorldBean("Hello"), new HelloWorldBean("Ciao"));
+    }
+
+    @Test
+    public void testStreamBooksXml() throws Exception {
+        String address = "http://localhost:" + PORT + "/rx3/flowable/books";
+        WebClient wc = WebClient.create(address, Collections.singletonList(new FlowableRxInvokerProvider()));
+        Flowable<Book> obs = wc.accept("application/xml")
+            .rx(FlowableRxInvoker.class)
+            .stream(HttpMethod.GET, Book.class);
+
+        final TestSubscriber<Book> subscriber = new TestSubscriber<>();
+        obs.subscribe(subscriber);
+
+        subscriber.await(3, TimeUnit.SECONDS);
+        subscriber.assertComplete();
+        assertEquals(2, subscriber.values().size());
+        assertEquals("CXF", subscriber.values().get(0).getName());
+        assertEquals("JAX-RS", subscriber.values().get(1).getName());
+    }
+
+    @Test(timeout = 10000)
+    public void testStreamPublisherBody() throws Exception {
+        String address = "http://localhost:" + PORT + "/rx3/flowable/echo";
+        List<Object> providers = new LinkedList<>();
+        providers.add(new JacksonJsonProvider());
+        providers.add(new FlowableRxInvokerProvider());
+        WebClient wc = WebClient.create(address, providers);
+        final UnicastProcessor<HelloWorldBean> body = UnicastProcessor.create();
+        Flowable<HelloWorldBean> obs = wc.accept("application/json")
+            .rx(FlowableRxInvoker.class)
+            .stream(HttpMethod.POST, Entity.json(body), HelloWorldBean.class);
+
+        final TestSubscriber<HelloWorldBean> subscriber = new TestSubscriber<>();
+        obs.subscribe(subscriber);
+
+        // The body is written by the scheduler, the elements are emitted after subscribing
+        body.onNext(new HelloWorldBean("Hello"));
+        body.onNext(new HelloWorldBean("Ciao"));
+        body.onComplete();
+
+        subscriber.await(3, TimeUnit.SECONDS);
+        subscriber.assertResult(new HelloWorldBean("Hello"), new HelloWorldBean("Ciao"));
+    }
+
     @Test
     public void testGetHelloWorldJsonImplicitListAsync() throws Exception {
         String address = "http://localhost:" + PORT + "/rx3/flowable/textJsonImplicitListAsync";
@@ -20,13 +20,16 @@
 package org.apache.cxf.systest.jaxrs.reactive;
 
 
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import javax.ws.rs.Consumes;
 import javax.ws.rs.ForbiddenException;
 import javax.ws.rs.GET;
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.container.AsyncResponse;
@@ -35,6 +38,7 @@ import javax.ws.rs.core.MediaType;
 
 import org.apache.cxf.jaxrs.reactivestreams.server.AbstractSubscriber;
 import org.apache.cxf.jaxrs.reactivestreams.server.JsonStreamingAsyncSubscriber;
+import org.apache.cxf.systest.jaxrs.Book;
 
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
@@ -109,6 +113,21 @@ public class RxJava2FlowableService {
         return Single.fromFuture(completableFuture);
     }
     
+    @POST
+    @Consumes("application/json")
+    @Produces("application/json")
+    @Path("echo")
+    public List<HelloWorldBean> echo(List<HelloWorldBean> beans) {
+        return beans;
+    }
+
+    @GET
+    @Produces("application/xml")
+    @Path("books")
+    public List<Book> getBooks() {
+        return Arrays.asList(new Book("CXF", 1L), new Book("JAX-RS", 2L));
+    }
+
     private static void sleep() {
         try {
             Thread.sleep(1000);
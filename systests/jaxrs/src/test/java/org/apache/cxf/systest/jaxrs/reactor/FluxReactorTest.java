@@ -22,6 +22,7 @@ package org.apache.cxf.systest.jaxrs.reactor;
 import java.util.List;
 
 import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
 
@@ -31,6 +32,8 @@ import org.apache.cxf.jaxrs.model.AbstractResourceInfo;
 import org.apache.cxf.jaxrs.reactor.client.ReactorInvoker;
 import org.apache.cxf.jaxrs.reactor.client.ReactorInvokerProvider;
 import org.apache.cxf.testutil.common.AbstractBusClientServerTestBase;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 import org.junit.BeforeClass;
@@ -64,6 +67,69 @@ public class FluxReactorTest extends AbstractBusClientServerTestBase {
             .verify();
     }
     
+    @Test
+    public void testGetHelloWorldJsonLines() throws Exception {
+        String address = "http://localhost:" + PORT + "/reactor/flux/textJsonLines";
+        StepVerifier
+            .create(ClientBuilder
+                .newClient()
+                .register(new JacksonJsonProvider())
+                .register(new ReactorInvokerProvider())
+                .target(address)
+                .request("application/x-ndjson")
+                .rx(ReactorInvoker.class)
+                .getFlux(HelloWorldBean.class))
+            .expectNextMatches(bean -> bean.getGreeting().equals("Hello 1") && bean.getAudience().equals("World"))
+            .expectNextMatches(bean -> bean.getGreeting().equals("Hello 2") && bean.getAudience().equals("World"))
+            .expectComplete()
+            .verify();
+    }
+
+    @Test
+    public void testPostPublisherBody() throws Exception {
+        String address = "http://localhost:" + PORT + "/reactor/flux/echo";
+        StepVerifier
+            .create(ClientBuilder
+                .newClient()
+                .register(new JacksonJsonProvider())
+                .register(new ReactorInvokerProvider())
+                .target(address)
+                .request(MediaType.APPLICATION_JSON)
+                .rx(ReactorInvoker.class)
+                .postFlux(Entity.json(Flux.just(new HelloWorldBean("Hello 1"), new HelloWorldBean("Hello 2"))),
+                    HelloWorldBean.class))
+            .expectNextMatches(bean -> bean.getGreeting().equals("Hello 1"))
+            .expectNextMatches(bean -> bean.getGreeting().equals("Hello 2"))
+            .expectComplete()
+            .verify();
+    }
+
+    @Test(timeout = 10000)
+    public void testPostPublisherBodyEmittedLater() throws Exception {
+        String address = "http://localhost:" + PORT + "/reactor/flux/echo";
+        final Sinks.Many<HelloWorldBean> body = Sinks.many().unicast().onBackpressureBuffer();
+        final Flux<HelloWorldBean> flux = ClientBuilder
+            .newClient()
+            .register(new JacksonJsonProvider())
+            .register(new ReactorInvokerProvider())
+            .target(address)
+            .request(MediaType.APPLICATION_JSON)
+            .rx(ReactorInvoker.class)
+            .postFlux(Entity.json(body.asFlux()), HelloWorldBean.class);
+
+        // The body is written by the worker thread, the elements are emitted after the invocation
+        body.tryEmitNext(new HelloWorldBean("Hello 1"));
+        body.tryEmitNext(new HelloWorldBean("Hello 2"));
+        body.tryEmitComplete();
+
+        StepVerifier
+            .create(flux)
+            .expectNextMatches(bean -> bean.getGreeting().equals("Hello 1"))
+            .expectNextMatches(bean -> bean.getGreeting().equals("Hello 2"))
+            .expectComplete()
+            .verify();
+    }
+
     @Test
     public void testGetHelloWorldJsonMany() throws Exception {
         String address = "http://localhost:" + PORT + "/reactor2/flux/textJsonMany";
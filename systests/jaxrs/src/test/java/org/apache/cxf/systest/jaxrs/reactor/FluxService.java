@@ -19,9 +19,13 @@
 
 package org.apache.cxf.systest.jaxrs.reactor;
 
+import java.util.List;
+
+import javax.ws.rs.Consumes;
 import javax.ws.rs.ForbiddenException;
 import javax.ws.rs.GET;
 import javax.ws.rs.NotFoundException;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.container.AsyncResponse;
@@ -52,6 +56,22 @@ public class FluxService {
             .flatMap(item -> Mono.just(new HelloWorldBean("Hello " + item))); 
     }
 
+    @GET
+    @Produces("application/x-ndjson")
+    @Path("textJsonLines")
+    public String getJsonLines() {
+        return "{\"greeting\":\"Hello 1\",\"audience\":\"World\"}\n"
+            + "{\"greeting\":\"Hello 2\",\"audience\":\"World\"}\n";
+    }
+
+    @POST
+    @Consumes("application/json")
+    @Produces("application/json")
+    @Path("echo")
+    public List<HelloWorldBean> echo(List<HelloWorldBean> beans) {
+        return beans;
+    }
+
     @GET
     @Produces("application/json")
     @Path("textJsonImplicitListAsyncStream")
@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.cxf.systest.jaxws;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.ws.Endpoint;
+
+import org.apache.cxf.helpers.CastUtils;
+import org.apache.cxf.interceptor.FIStaxOutInterceptor;
+import org.apache.cxf.jaxws.JaxWsProxyFactoryBean;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+import org.apache.cxf.testutil.common.AbstractBusClientServerTestBase;
+import org.apache.cxf.testutil.common.AbstractBusTestServerBase;
+import org.apache.cxf.testutil.common.TestUtil;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class FastInfosetVocabularyTest extends AbstractBusClientServerTestBase {
+
+    public static final String ADDRESS
+        = "http://localhost:" + TestUtil.getPortNumber(FastInfosetVocabularyTest.class)
+            + "/fivocabulary";
+
+    public static class Server extends AbstractBusTestServerBase {
+
+        protected void run() {
+            Endpoint.publish(ADDRESS, new FastInfosetVocabularyServiceImpl());
+        }
+
+        public static void main(String[] args) {
+            try {
+                Server s = new Server();
+                s.start();
+            } catch (Exception ex) {
+                ex.printStackTrace();
+                System.exit(-1);
+            } finally {
+                System.out.println("done!");
+            }
+        }
+    }
+
+    @BeforeClass
+    public static void startServers() throws Exception {
+        assertTrue("server did not launch correctly", launchServer(Server.class, true));
+    }
+
+    @Test
+    public void testVocabularyNegotiation() throws Exception {
+        HeaderRecorder requests = new HeaderRecorder(Phase.WRITE);
+        HeaderRecorder responses = new HeaderRecorder(Phase.RECEIVE);
+
+        JaxWsProxyFactoryBean factory = new JaxWsProxyFactoryBean();
+        factory.setServiceClass(FastInfosetVocabularyService.class);
+        factory.setAddress(ADDRESS);
+        factory.getOutInterceptors().add(requests);
+        factory.getInInterceptors().add(responses);
+        FastInfosetVocabularyService port = (FastInfosetVocabularyService)factory.create();
+
+        assertEquals("first", port.echo("first"));
+        assertEquals("second", port.echo("second"));
+        assertEquals("third", port.echo("third"));
+
+        // the first request is plain XML, it advertises the vocabulary and asks for FastInfoset
+        String uri = requests.vocabularies.get(0);
+        assertNotNull(uri);
+        assertTrue(requests.contentTypes.get(0).contains("text/xml"));
+
+        // the server answers with FastInfoset and echoes the vocabulary it shares with the client
+        for (int i = 0; i < 3; i++) {
+            assertTrue(responses.contentTypes.get(i).contains("fastinfoset"));
+            assertEquals(uri, responses.vocabularies.get(i));
+        }
+
+        // subsequent requests are FastInfoset encoded with the negotiated vocabulary
+        for (int i = 1; i < 3; i++) {
+            assertTrue(requests.contentTypes.get(i).contains("fastinfoset"));
+            assertEquals(uri, requests.vocabularies.get(i));
+        }
+    }
+
+    static class HeaderRecorder extends AbstractPhaseInterceptor<Message> {
+        final List<String> contentTypes = new ArrayList<>();
+        final List<String> vocabularies = new ArrayList<>();
+
+        HeaderRecorder(String phase) {
+            super(phase);
+        }
+
+        public void handleMessage(Message message) {
+            contentTypes.add((String)message.get(Message.CONTENT_TYPE));
+            Map<String, List<String>> headers
+                = CastUtils.cast((Map<?, ?>)message.get(Message.PROTOCOL_HEADERS));
+            List<String> values = headers == null ? null : headers.get(FIStaxOutInterceptor.FI_VOCABULARY_HEADER);
+            vocabularies.add(values == null || values.isEmpty() ? null : values.get(0));
+        }
+    }
+}